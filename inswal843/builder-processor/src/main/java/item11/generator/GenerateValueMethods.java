@@ -0,0 +1,22 @@
+package item11.generator;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 불변 값 클래스에 붙이면 컴파일 시점에 <클래스명>_Values 를 생성한다.
+// 생성된 클래스의 정적 메서드 equals(self, o), hashCode(self) 를 대상 클래스의 equals / hashCode 에서 호출하면 된다.
+// 대상 클래스의 조건
+//  1. final 클래스이거나 레코드다. (instanceof 로 비교해도 대칭성이 깨지지 않는다)
+//  2. 인스턴스 필드는 모두 final 이다.
+//  3. private 필드는 필드명과 같은 이름의 접근자 메서드가 있어야 한다.
+// cacheHash = true 면 <클래스명>_Values 는 대상 클래스가 상속하는 추상 클래스가 된다. (레코드는 쓸 수 없다)
+// 그 클래스가 private 해시 캐시 필드와 final equals / hashCode 를 가지므로 대상 클래스는 둘 다 선언하지 않는다.
+// 필드 값은 접근자로 읽으므로 모든 필드에 접근자가 있어야 한다. 해시는 String 처럼 처음 호출될 때 계산해서 저장한다.
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateValueMethods {
+
+    boolean cacheHash() default false;
+}
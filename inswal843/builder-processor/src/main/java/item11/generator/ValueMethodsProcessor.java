@@ -0,0 +1,304 @@
+package item11.generator;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+// @GenerateValueMethods 가 붙은 클래스마다 <클래스명>_Values 소스를 생성하는 애너테이션 프로세서
+// HashCodeEx 의 UnivStudent 처럼 손으로 쓰는 equals / hashCode 를 대신 만든다.
+//  - Objects.hash 를 쓰지 않으므로 가변인수 배열도, 기본 타입 필드의 박싱도 없다.
+//  - 기본 타입은 Long.hashCode, Double.hashCode 같은 정적 메서드로 섞고 31 을 곱해 누적한다.
+//  - equals 는 비교 비용이 싼 기본 타입 필드부터 비교한다. (double / float 은 Double.compare 기준)
+//  - cacheHash = false 면 정적 메서드 equals(self, o), hashCode(self) 만 가진 <클래스명>_Values 를 만든다.
+//  - cacheHash = true 면 <클래스명>_Values 를 대상 클래스가 상속할 추상 클래스로 만든다.
+//    private int hash 필드와 final equals / hashCode 를 가지고, 필드 값은 추상 접근자 메서드로 읽는다.
+//    해시 캐시는 String 과 같은 racy single-check 라서 동기화가 없다.
+//    불변 객체라 여러 스레드가 동시에 계산해도 같은 값을 쓰게 되고, int 쓰기는 원자적이라 반쯤 쓴 값이 보이지 않는다.
+//    계산 결과가 0 이면 1 로 바꿔 저장해서 "아직 계산 안 함" 과 구분한다.
+//    두 객체 모두 해시가 캐시돼 있고 서로 다르면 필드 비교 없이 바로 false 를 반환한다.
+@SupportedAnnotationTypes("item11.generator.GenerateValueMethods")
+public class ValueMethodsProcessor extends AbstractProcessor {
+
+    private static final String SUFFIX = "_Values";
+
+    // 필드 하나의 생성 정보, reader 는 객체 뒤에 붙여 값을 읽는 식 (필드명 또는 접근자 호출)
+    private record Field(String name, String reader, TypeMirror type) {
+
+        boolean primitive() {
+            return type.getKind().isPrimitive();
+        }
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(GenerateValueMethods.class)) {
+            if (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.RECORD) {
+                error(element, "@GenerateValueMethods 는 클래스나 레코드에만 사용할 수 있습니다.");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            if (type.getNestingKind() != NestingKind.TOP_LEVEL) {
+                error(type, "@GenerateValueMethods 는 최상위 클래스에만 사용할 수 있습니다.");
+                continue;
+            }
+            if (!type.getModifiers().contains(Modifier.FINAL)) {
+                error(type, "@GenerateValueMethods 대상은 final 클래스여야 합니다. (하위 클래스가 있으면 equals 대칭성이 깨집니다)");
+                continue;
+            }
+            boolean cacheHash = type.getAnnotation(GenerateValueMethods.class).cacheHash();
+            List<Field> fields = type.getKind() == ElementKind.RECORD
+                    ? collectComponents(type, cacheHash)
+                    : collectFields(type, cacheHash);
+            if (fields == null) {
+                continue;
+            }
+            if (cacheHash) {
+                writeBase(type, fields);
+            } else {
+                writeHelper(type, fields);
+            }
+        }
+        return true;
+    }
+
+    private List<Field> collectComponents(TypeElement type, boolean cacheHash) {
+        if (cacheHash) {
+            error(type, "레코드는 다른 클래스를 상속할 수 없어서 해시를 캐시하는 상위 클래스를 쓸 수 없으므로 cacheHash 를 쓸 수 없습니다.");
+            return null;
+        }
+        List<Field> fields = new ArrayList<>();
+        for (RecordComponentElement component : ElementFilter.recordComponentsIn(type.getEnclosedElements())) {
+            String name = component.getSimpleName().toString();
+            fields.add(new Field(name, name + "()", component.asType()));
+        }
+        return fields;
+    }
+
+    // 인스턴스 필드를 선언 순서대로 읽는다. 조건에 맞지 않으면 에러를 보고하고 null 을 반환한다.
+    // cacheHash 면 생성된 상위 클래스를 상속해야 하고, 상위 클래스는 필드를 접근자로만 읽으므로 모든 필드에 접근자가 필요하다.
+    private List<Field> collectFields(TypeElement type, boolean cacheHash) {
+        List<Field> fields = new ArrayList<>();
+        List<ExecutableElement> methods = ElementFilter.methodsIn(type.getEnclosedElements());
+        boolean valid = true;
+
+        if (cacheHash) {
+            String base = type.getSimpleName() + SUFFIX;
+            String superclass = type.getSuperclass().toString();
+            if (!superclass.equals(base) && !superclass.endsWith("." + base)) {
+                error(type, "cacheHash = true 이면 생성되는 " + base + " 를 상속해야 합니다.");
+                valid = false;
+            }
+        }
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            String name = field.getSimpleName().toString();
+            if (!field.getModifiers().contains(Modifier.FINAL)) {
+                error(field, "@GenerateValueMethods 대상의 필드는 모두 final 이어야 합니다. (해시 캐시가 틀어집니다)");
+                valid = false;
+                continue;
+            }
+
+            String reader = name;
+            if (cacheHash || field.getModifiers().contains(Modifier.PRIVATE)) {
+                reader = findAccessor(methods, name, field.asType());
+                if (reader == null) {
+                    error(field, (cacheHash ? "cacheHash = true 이면 필드 " : "private 필드 ") + name
+                            + " 를 읽을 접근자 메서드 " + name + "() 가 필요합니다.");
+                    valid = false;
+                    continue;
+                }
+            }
+            fields.add(new Field(name, reader, field.asType()));
+        }
+        return valid ? fields : null;
+    }
+
+    private String findAccessor(List<ExecutableElement> methods, String name, TypeMirror type) {
+        for (ExecutableElement method : methods) {
+            if (method.getSimpleName().contentEquals(name)
+                    && method.getParameters().isEmpty()
+                    && processingEnv.getTypeUtils().isSameType(method.getReturnType(), type)
+                    && !method.getModifiers().contains(Modifier.PRIVATE)
+                    && !method.getModifiers().contains(Modifier.STATIC)) {
+                return name + "()";
+            }
+        }
+        return null;
+    }
+
+    // cacheHash = false: 대상 클래스의 equals / hashCode 가 위임할 정적 메서드
+    private void writeHelper(TypeElement type, List<Field> fields) {
+        String packageName = packageName(type);
+        String target = type.getSimpleName().toString();
+        String values = target + SUFFIX;
+
+        StringBuilder src = header(packageName);
+        src.append("public final class ").append(values).append(" {\n\n");
+        src.append("    private ").append(values).append("() {\n");
+        src.append("        throw new AssertionError();\n");
+        src.append("    }\n\n");
+
+        src.append("    public static boolean equals(").append(target).append(" self, Object o) {\n");
+        src.append("        if (self == o) return true;\n");
+        src.append("        if (!(o instanceof ").append(target).append(" other)) return false;\n");
+        appendComparisons(src, fields, "self.");
+        src.append("    }\n\n");
+
+        src.append("    public static int hashCode(").append(target).append(" self) {\n");
+        appendHash(src, fields, "self.");
+        src.append("    }\n");
+        src.append("}\n");
+        writeSource(type, packageName, values, src);
+    }
+
+    // cacheHash = true: 대상 클래스가 상속하는 추상 클래스
+    // 해시 캐시 필드는 private 이라 대상 클래스나 같은 패키지의 다른 코드가 건드릴 수 없다.
+    private void writeBase(TypeElement type, List<Field> fields) {
+        String packageName = packageName(type);
+        String target = type.getSimpleName().toString();
+        String values = target + SUFFIX;
+
+        StringBuilder src = header(packageName);
+        src.append("public abstract class ").append(values).append(" {\n\n");
+        src.append("    private int hash;\n\n");
+        src.append("    ").append(values).append("() {\n");
+        src.append("    }\n\n");
+        for (Field field : fields) {
+            src.append("    abstract ").append(field.type()).append(" ").append(field.reader()).append(";\n\n");
+        }
+
+        src.append("    @Override\n");
+        src.append("    public final boolean equals(Object o) {\n");
+        src.append("        if (this == o) return true;\n");
+        src.append("        if (!(o instanceof ").append(target).append(" other)) return false;\n");
+        src.append("        int h1 = hash;\n");
+        src.append("        int h2 = ((").append(values).append(") other).hash;\n");
+        src.append("        if (h1 != 0 && h2 != 0 && h1 != h2) return false;\n");
+        appendComparisons(src, fields, "");
+        src.append("    }\n\n");
+
+        src.append("    @Override\n");
+        src.append("    public final int hashCode() {\n");
+        src.append("        int h = hash;\n");
+        src.append("        if (h == 0) {\n");
+        src.append("            h = computeHashCode();\n");
+        src.append("            if (h == 0) {\n");
+        src.append("                h = 1;\n");
+        src.append("            }\n");
+        src.append("            hash = h;\n");
+        src.append("        }\n");
+        src.append("        return h;\n");
+        src.append("    }\n\n");
+
+        src.append("    private int computeHashCode() {\n");
+        appendHash(src, fields, "");
+        src.append("    }\n");
+        src.append("}\n");
+        writeSource(type, packageName, values, src);
+    }
+
+    private String packageName(TypeElement type) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        return pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+    }
+
+    private StringBuilder header(String packageName) {
+        StringBuilder src = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            src.append("package ").append(packageName).append(";\n\n");
+        }
+        src.append("@javax.annotation.processing.Generated(\"").append(ValueMethodsProcessor.class.getName()).append("\")\n");
+        return src;
+    }
+
+    // equals 의 필드 비교, 기본 타입 필드를 먼저 비교한다. self 는 비교하는 쪽 객체를 가리키는 접두사다. ("self." 또는 "")
+    private void appendComparisons(StringBuilder src, List<Field> fields, String self) {
+        List<Field> ordered = new ArrayList<>(fields);
+        ordered.sort(Comparator.comparing(field -> !field.primitive()));
+        if (ordered.isEmpty()) {
+            src.append("        return true;\n");
+            return;
+        }
+        List<String> comparisons = new ArrayList<>();
+        for (Field field : ordered) {
+            comparisons.add(equalsExpression(field, self));
+        }
+        src.append("        return ").append(String.join("\n                && ", comparisons)).append(";\n");
+    }
+
+    private void appendHash(StringBuilder src, List<Field> fields, String self) {
+        src.append("        int result = 0;\n");
+        for (Field field : fields) {
+            src.append("        result = 31 * result + ").append(hashExpression(field, self)).append(";\n");
+        }
+        src.append("        return result;\n");
+    }
+
+    private void writeSource(TypeElement type, String packageName, String values, StringBuilder src) {
+        String qualifiedName = packageName.isEmpty() ? values : packageName + "." + values;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(src.toString());
+            }
+        } catch (IOException e) {
+            error(type, "equals / hashCode 생성 실패: " + e.getMessage());
+        }
+    }
+
+    private String equalsExpression(Field field, String self) {
+        String a = self + field.reader();
+        String b = "other." + field.reader();
+        return switch (field.type().getKind()) {
+            case DOUBLE -> "Double.compare(" + a + ", " + b + ") == 0";
+            case FLOAT -> "Float.compare(" + a + ", " + b + ") == 0";
+            case BOOLEAN, BYTE, SHORT, CHAR, INT, LONG -> a + " == " + b;
+            case ARRAY -> "java.util.Arrays.equals(" + a + ", " + b + ")";
+            default -> "java.util.Objects.equals(" + a + ", " + b + ")";
+        };
+    }
+
+    private String hashExpression(Field field, String self) {
+        String value = self + field.reader();
+        return switch (field.type().getKind()) {
+            case BOOLEAN -> "Boolean.hashCode(" + value + ")";
+            case BYTE, SHORT, CHAR, INT -> value;
+            case LONG -> "Long.hashCode(" + value + ")";
+            case FLOAT -> "Float.hashCode(" + value + ")";
+            case DOUBLE -> "Double.hashCode(" + value + ")";
+            case ARRAY -> "java.util.Arrays.hashCode(" + value + ")";
+            default -> "java.util.Objects.hashCode(" + value + ")";
+        };
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,224 @@
+package item2.generator;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// @GenerateBuilder 가 붙은 클래스마다 <클래스명>_Builder 소스를 생성하는 애너테이션 프로세서
+// 생성되는 빌더는 손으로 작성한 NutritionFactsBuilder.Builder 와 같은 구조다.
+//  - 필드는 모두 기본 타입 int 라서 박싱이 없다.
+//  - @Required 필드는 빌더 생성자의 매개변수가 되고, 나머지는 0 으로 초기화되는 선택 매개변수가 된다.
+//  - validate = true 면 build() 에서 @Required 필드의 최솟값을 검사한다.
+//  - from(대상 객체) 로 기존 값을 복사한 빌더를 얻을 수 있다. (toBuilder 용)
+@SupportedAnnotationTypes({"item2.generator.GenerateBuilder", "item2.generator.Required"})
+public class BuilderProcessor extends AbstractProcessor {
+
+    private static final String SUFFIX = "_Builder";
+
+    // 필드 하나의 생성 정보
+    private record Field(String name, String reader, boolean required, int min) {
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(GenerateBuilder.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@GenerateBuilder 는 클래스에만 사용할 수 있습니다.");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            if (type.getNestingKind() != NestingKind.TOP_LEVEL) {
+                error(type, "@GenerateBuilder 는 최상위 클래스에만 사용할 수 있습니다.");
+                continue;
+            }
+            List<Field> fields = collectFields(type);
+            if (fields == null || !hasCanonicalConstructor(type, fields.size())) {
+                continue;
+            }
+            write(type, fields, type.getAnnotation(GenerateBuilder.class).validate());
+        }
+        return true;
+    }
+
+    // 인스턴스 필드를 선언 순서대로 읽는다. 조건에 맞지 않으면 에러를 보고하고 null 을 반환한다.
+    private List<Field> collectFields(TypeElement type) {
+        List<Field> fields = new ArrayList<>();
+        List<ExecutableElement> methods = ElementFilter.methodsIn(type.getEnclosedElements());
+        boolean valid = true;
+
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            if (field.asType().getKind() != TypeKind.INT || !field.getModifiers().contains(Modifier.FINAL)) {
+                error(field, "@GenerateBuilder 대상의 필드는 모두 final int 여야 합니다.");
+                valid = false;
+                continue;
+            }
+
+            String name = field.getSimpleName().toString();
+            String reader = name;
+            if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                reader = findAccessor(methods, name);
+                if (reader == null) {
+                    error(field, "private 필드 " + name + " 를 읽을 접근자 메서드 " + name + "() 가 필요합니다.");
+                    valid = false;
+                    continue;
+                }
+            }
+
+            Required required = field.getAnnotation(Required.class);
+            fields.add(new Field(name, reader, required != null, required != null ? required.min() : 0));
+        }
+        return valid ? fields : null;
+    }
+
+    private String findAccessor(List<ExecutableElement> methods, String name) {
+        for (ExecutableElement method : methods) {
+            if (method.getSimpleName().contentEquals(name)
+                    && method.getParameters().isEmpty()
+                    && method.getReturnType().getKind() == TypeKind.INT
+                    && !method.getModifiers().contains(Modifier.PRIVATE)
+                    && !method.getModifiers().contains(Modifier.STATIC)) {
+                return name + "()";
+            }
+        }
+        return null;
+    }
+
+    // 모든 필드를 선언 순서대로 받는 private 이 아닌 생성자가 있는지 확인한다.
+    private boolean hasCanonicalConstructor(TypeElement type, int fieldCount) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PRIVATE)
+                    || constructor.getParameters().size() != fieldCount) {
+                continue;
+            }
+            boolean allInt = constructor.getParameters().stream()
+                    .allMatch(p -> p.asType().getKind() == TypeKind.INT);
+            if (allInt) {
+                return true;
+            }
+        }
+        error(type, "모든 필드를 선언 순서대로 받는 private 이 아닌 생성자가 필요합니다.");
+        return false;
+    }
+
+    private void write(TypeElement type, List<Field> fields, boolean validate) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String target = type.getSimpleName().toString();
+        String builder = target + SUFFIX;
+
+        StringBuilder src = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            src.append("package ").append(packageName).append(";\n\n");
+        }
+        src.append("@javax.annotation.processing.Generated(\"").append(BuilderProcessor.class.getName()).append("\")\n");
+        src.append("public final class ").append(builder).append(" {\n");
+
+        for (Field field : fields) {
+            src.append("    private int ").append(field.name()).append(";\n");
+        }
+        src.append('\n');
+
+        // 필수 매개변수만 받는 생성자
+        List<String> requiredParams = new ArrayList<>();
+        for (Field field : fields) {
+            if (field.required()) {
+                requiredParams.add("int " + field.name());
+            }
+        }
+        src.append("    public ").append(builder).append("(").append(String.join(", ", requiredParams)).append(") {\n");
+        for (Field field : fields) {
+            if (field.required()) {
+                src.append("        this.").append(field.name()).append(" = ").append(field.name()).append(";\n");
+            }
+        }
+        src.append("    }\n\n");
+
+        // 기존 객체의 값을 그대로 복사한 빌더 (toBuilder)
+        src.append("    public static ").append(builder).append(" from(").append(target).append(" source) {\n");
+        src.append("        ").append(builder).append(" builder = new ").append(builder).append("(");
+        List<String> requiredArgs = new ArrayList<>();
+        for (Field field : fields) {
+            if (field.required()) {
+                requiredArgs.add("source." + field.reader());
+            }
+        }
+        src.append(String.join(", ", requiredArgs)).append(");\n");
+        for (Field field : fields) {
+            if (!field.required()) {
+                src.append("        builder.").append(field.name()).append(" = source.").append(field.reader()).append(";\n");
+            }
+        }
+        src.append("        return builder;\n");
+        src.append("    }\n\n");
+
+        // 세터 메서드 - toBuilder 로 필수 값도 바꿀 수 있도록 모든 필드에 생성
+        for (Field field : fields) {
+            src.append("    public ").append(builder).append(' ').append(field.name()).append("(int val) {\n");
+            src.append("        this.").append(field.name()).append(" = val;\n");
+            src.append("        return this;\n");
+            src.append("    }\n\n");
+        }
+
+        src.append("    public ").append(target).append(" build() {\n");
+        if (validate) {
+            for (Field field : fields) {
+                if (field.required()) {
+                    src.append("        if (").append(field.name()).append(" < ").append(field.min()).append(") {\n");
+                    src.append("            throw new IllegalArgumentException(\"").append(field.name())
+                            .append(" 는 ").append(field.min()).append(" 이상이어야 합니다: \" + ")
+                            .append(field.name()).append(");\n");
+                    src.append("        }\n");
+                }
+            }
+        }
+        List<String> args = new ArrayList<>();
+        for (Field field : fields) {
+            args.add(field.name());
+        }
+        src.append("        return new ").append(target).append("(").append(String.join(", ", args)).append(");\n");
+        src.append("    }\n");
+        src.append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? builder : packageName + "." + builder;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(src.toString());
+            }
+        } catch (IOException e) {
+            error(type, "빌더 생성 실패: " + e.getMessage());
+        }
+    }
+
+    private void error(Element element, String message) {
+        Messager messager = processingEnv.getMessager();
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,20 @@
+package item2.generator;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// NutritionFacts 처럼 int 필드만 가진 불변 클래스에 붙이면 컴파일 시점에 <클래스명>_Builder 를 생성한다.
+// 대상 클래스의 조건
+//  1. 모든 인스턴스 필드가 final int 이다.
+//  2. 필드 선언 순서 그대로 모든 필드를 받는 생성자가 있다. (private 이 아니어야 한다)
+//  3. private 필드는 필드명과 같은 이름의 접근자 메서드가 있어야 toBuilder 용 from() 에서 읽을 수 있다.
+// 리플렉션은 전혀 사용하지 않고 일반 자바 코드만 생성한다.
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateBuilder {
+
+    // true 면 build() 시점에 @Required 필드가 min 이상인지 검사한다.
+    boolean validate() default false;
+}
@@ -0,0 +1,15 @@
+package item2.generator;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 필수 입력값 - 생성된 빌더의 생성자 매개변수가 된다.
+// @GenerateBuilder(validate = true) 인 경우 build() 에서 min 이상인지 검사한다.
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface Required {
+
+    int min() default 1;
+}
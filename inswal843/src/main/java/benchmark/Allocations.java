@@ -0,0 +1,20 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+
+public final class Allocations {
+
+    // main 하네스들이 함께 쓰는 할당량 측정 도구다.
+    // 현재 스레드가 지금까지 할당한 바이트 수를 읽는다. 측정 구간 앞뒤 값의 차이로 B/op 를 계산한다.
+    // HotSpot 의 com.sun.management.ThreadMXBean 이 없는 JVM 이면 항상 0 을 반환한다.
+    private static final com.sun.management.ThreadMXBean BEAN =
+            ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean ? bean : null;
+
+    private Allocations() {
+        throw new AssertionError();
+    }
+
+    public static long allocatedBytes() {
+        return BEAN != null ? BEAN.getCurrentThreadAllocatedBytes() : 0L;
+    }
+}
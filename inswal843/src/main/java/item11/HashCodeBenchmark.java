@@ -0,0 +1,229 @@
+package item11;
+
+import benchmark.Allocations;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+public class HashCodeBenchmark {
+
+    // 같은 필드(name, studentId, major)를 가진 네 가지 hashCode 구현 비교
+    //  1. Objects.hash       : 가변인수 배열 할당 + studentId 박싱
+    //  2. 31 곱셈 수동 구현  : HashCodeEx.UnivStudent 와 같은 방식, 호출마다 계산
+    //  3. 생성기 (캐시 없음) : UnivStudentRecord, 2 와 같은 계산을 생성된 코드로
+    //  4. 생성기 (캐시)      : UnivStudent, 처음 한 번만 계산하고 생성된 상위 클래스의 private 필드에 저장
+    // 측정 항목
+    //  - hashCode: 같은 객체 4096 개의 hashCode 를 반복 호출 (조인에서 같은 키 객체로 여러 번 조회하는 상황)
+    //  - 조인: 키 n 개로 HashMap 을 만든 뒤, 같은 값의 다른 객체 n 개로 조회를 3 번 반복
+    //    (조회 측 객체도 여러 번 재사용되므로 캐시가 있으면 두 번째부터는 해시를 계산하지 않음)
+    // JMH 를 쓰지 않는 main 하네스다. 3 회 반복 후 마지막 회차만 출력한다.
+    // 실행: java item11.HashCodeBenchmark [조인 키 수]
+
+    private static final String[] NAMES = {"kim-minsu", "lee-jiwon", "park-seoyeon", "choi-hyunwoo"};
+    private static final String[] MAJORS = {"computer science", "mathematics", "physics"};
+
+    private static final class ObjectsHashStudent {
+        private final String name;
+        private final int studentId;
+        private final String major;
+
+        ObjectsHashStudent(String name, int studentId, String major) {
+            this.name = name;
+            this.studentId = studentId;
+            this.major = major;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ObjectsHashStudent that)) return false;
+            return studentId == that.studentId && Objects.equals(name, that.name) && Objects.equals(major, that.major);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, studentId, major);
+        }
+    }
+
+    private static final class ManualStudent {
+        private final String name;
+        private final int studentId;
+        private final String major;
+
+        ManualStudent(String name, int studentId, String major) {
+            this.name = name;
+            this.studentId = studentId;
+            this.major = major;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ManualStudent that)) return false;
+            return studentId == that.studentId && Objects.equals(name, that.name) && Objects.equals(major, that.major);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = name != null ? name.hashCode() : 0;
+            result = 31 * result + studentId;
+            result = 31 * result + (major != null ? major.hashCode() : 0);
+            return result;
+        }
+    }
+
+    // i 번째 학생을 만드는 팩터리
+    // 이름과 전공은 역직렬화한 데이터처럼 객체마다 새 String 으로 만든다. (new String(String) 은 원본의 해시 캐시까지 복사하므로 char[] 에서 생성)
+    private interface StudentFactory extends IntFunction<Object> {
+    }
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        verify();
+
+        StudentFactory[] factories = {
+                i -> new ObjectsHashStudent(name(i), i, major(i)),
+                i -> new ManualStudent(name(i), i, major(i)),
+                i -> new UnivStudentRecord(name(i), i, major(i)),
+                i -> new UnivStudent(name(i), i, major(i))
+        };
+        String[] labels = {"Objects.hash", "31 곱셈 수동", "생성기 (캐시 없음)", "생성기 (캐시)"};
+
+        for (int round = 0; round < 3; round++) {
+            boolean print = round == 2;
+            if (print) {
+                System.out.println("== hashCode 반복 호출 ==");
+            }
+            // 호출 지점이 여러 타입을 보면 hashCode 가 가상 호출로 남으므로 타입마다 따로 루프를 돈다.
+            ObjectsHashStudent[] objectsHash = new ObjectsHashStudent[4_096];
+            ManualStudent[] manual = new ManualStudent[4_096];
+            UnivStudentRecord[] record = new UnivStudentRecord[4_096];
+            UnivStudent[] cached = new UnivStudent[4_096];
+            for (int i = 0; i < 4_096; i++) {
+                objectsHash[i] = new ObjectsHashStudent(name(i), i, major(i));
+                manual[i] = new ManualStudent(name(i), i, major(i));
+                record[i] = new UnivStudentRecord(name(i), i, major(i));
+                cached[i] = new UnivStudent(name(i), i, major(i));
+            }
+            long ops = 4_096L * 2_000;
+            measure(labels[0], ops, print, () -> {
+                long sum = 0;
+                for (int rep = 0; rep < 2_000; rep++) {
+                    for (ObjectsHashStudent key : objectsHash) {
+                        sum += key.hashCode();
+                    }
+                }
+                return sum;
+            });
+            measure(labels[1], ops, print, () -> {
+                long sum = 0;
+                for (int rep = 0; rep < 2_000; rep++) {
+                    for (ManualStudent key : manual) {
+                        sum += key.hashCode();
+                    }
+                }
+                return sum;
+            });
+            measure(labels[2], ops, print, () -> {
+                long sum = 0;
+                for (int rep = 0; rep < 2_000; rep++) {
+                    for (UnivStudentRecord key : record) {
+                        sum += key.hashCode();
+                    }
+                }
+                return sum;
+            });
+            measure(labels[3], ops, print, () -> {
+                long sum = 0;
+                for (int rep = 0; rep < 2_000; rep++) {
+                    for (UnivStudent key : cached) {
+                        sum += key.hashCode();
+                    }
+                }
+                return sum;
+            });
+            if (print) {
+                System.out.println("== 조인 (HashMap 구성 1회 + 조회 3회, 키 " + n + "개) ==");
+            }
+            // 조인은 힙이 찰수록 뒤에 도는 쪽이 GC 로 불리해지므로 Objects.hash 를 마지막에 돌린다.
+            // HashMap 은 노드에 해시를 저장해 두므로 구성 측 캐시의 이득은 없고, 조회 측 재계산만 줄어든다.
+            for (int k = factories.length - 1; k >= 0; k--) {
+                Object[] buildSide = create(factories[k], n);
+                Object[] probeSide = create(factories[k], n);
+                measure(labels[k], 4L * n, print, () -> join(buildSide, probeSide));
+            }
+        }
+    }
+
+    private static String name(int i) {
+        return new String(NAMES[i % NAMES.length].toCharArray());
+    }
+
+    private static String major(int i) {
+        return new String(MAJORS[i % MAJORS.length].toCharArray());
+    }
+
+    private static Object[] create(StudentFactory factory, int count) {
+        Object[] keys = new Object[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = factory.apply(i);
+        }
+        return keys;
+    }
+
+    private static long join(Object[] buildSide, Object[] probeSide) {
+        Map<Object, Integer> table = new HashMap<>(buildSide.length * 2);
+        for (int i = 0; i < buildSide.length; i++) {
+            table.put(buildSide[i], i);
+        }
+        long matched = 0;
+        for (int pass = 0; pass < 3; pass++) {
+            for (Object key : probeSide) {
+                matched += table.get(key) != null ? 1 : 0;
+            }
+        }
+        return matched;
+    }
+
+    private interface Workload {
+        long run();
+    }
+
+    private static void measure(String label, long ops, boolean print, Workload workload) {
+        long allocatedBefore = Allocations.allocatedBytes();
+        long start = System.nanoTime();
+        long result = workload.run();
+        long elapsed = System.nanoTime() - start;
+        long allocated = Allocations.allocatedBytes() - allocatedBefore;
+        if (print) {
+            System.out.printf("%-20s %7.2f ns/op  %6.1f B/op  (결과 %d)%n",
+                    label, (double) elapsed / ops, (double) allocated / ops, result);
+        }
+    }
+
+    // 생성된 equals / hashCode 가 수동 구현과 같은 결과인지 확인한다.
+    private static void verify() {
+        UnivStudent a = new UnivStudent("kim", 1, "cs");
+        UnivStudent b = new UnivStudent(new String("kim"), 1, new String("cs"));
+        UnivStudent c = new UnivStudent("kim", 2, "cs");
+        UnivStudent nulls = new UnivStudent(null, 1, null);
+        ManualStudent manual = new ManualStudent("kim", 1, "cs");
+        check(a.equals(b) && b.equals(a) && !a.equals(c) && !a.equals(nulls) && !nulls.equals(a), "equals");
+        check(a.hashCode() == b.hashCode() && a.hashCode() == manual.hashCode(), "수동 구현과 같은 hashCode");
+        check(a.equals(b) && !a.equals(c), "해시 캐시 후 equals");
+        check(nulls.equals(new UnivStudent(null, 1, null)) && nulls.hashCode() == new UnivStudent(null, 1, null).hashCode(),
+                "null 필드");
+        check(new UnivStudentRecord("kim", 1, "cs").hashCode() == manual.hashCode(), "레코드 hashCode");
+        check(new UnivStudentRecord("kim", 1, "cs").equals(new UnivStudentRecord("kim", 1, "cs")), "레코드 equals");
+        System.out.println("생성된 equals / hashCode 확인 완료");
+    }
+
+    private static void check(boolean condition, String label) {
+        if (!condition) {
+            throw new IllegalStateException(label + " 실패");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package item11;
+
+import item11.generator.GenerateValueMethods;
+
+@GenerateValueMethods(cacheHash = true)
+public final class UnivStudent extends UnivStudent_Values {
+
+    // 값 객체의 equals / hashCode 를 손으로 쓰지 않고 애너테이션 프로세서로 생성하는 방식
+    // 컴파일 시점에 상위 클래스 UnivStudent_Values 가 만들어지고, final equals / hashCode 를 물려받는다.
+    // 생성된 equals / hashCode 는 아래 접근자로 필드를 읽는다.
+    // 불변 객체라 해시를 상위 클래스의 private 필드에 캐시한다. 큰 조인에서 같은 키 객체로 여러 번 조회해도 name, major 의 해시를 다시 계산하지 않는다.
+
+    private final String name;
+    private final int studentId;
+    private final String major;
+
+    public UnivStudent(String name, int studentId, String major) {
+        this.name = name;
+        this.studentId = studentId;
+        this.major = major;
+    }
+
+    public String name()   { return name; }
+    public int studentId() { return studentId; }
+    public String major()  { return major; }
+
+    @Override
+    public String toString() {
+        return "UnivStudent{name=" + name + ", studentId=" + studentId + ", major=" + major + "}";
+    }
+}
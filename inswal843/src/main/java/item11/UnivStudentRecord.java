@@ -0,0 +1,20 @@
+package item11;
+
+import item11.generator.GenerateValueMethods;
+
+// 레코드에도 같은 생성기를 쓸 수 있다. (레코드는 인스턴스 필드를 추가할 수 없어서 해시 캐시는 없다)
+// 레코드가 기본으로 만드는 equals / hashCode 도 박싱은 없지만, 해시를 섞는 방식이 명세에 정해져 있지 않다.
+// 생성기를 쓰면 UnivStudent 와 같은 31 곱셈 결과가 나오므로 두 방식을 같은 조건으로 비교할 수 있다.
+@GenerateValueMethods
+public record UnivStudentRecord(String name, int studentId, String major) {
+
+    @Override
+    public boolean equals(Object o) {
+        return UnivStudentRecord_Values.equals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return UnivStudentRecord_Values.hashCode(this);
+    }
+}
@@ -0,0 +1,64 @@
+package item2;
+
+import benchmark.Allocations;
+
+public class BuilderBenchmark {
+
+    // 손으로 작성한 NutritionFactsBuilder.Builder 와 애너테이션 프로세서가 생성한 빌더의 생성 비용 비교
+    // 생성한 객체를 배열에 담아 JIT 가 할당을 없애지 못하게 하고 ns/op 와 할당 바이트/op 를 출력한다.
+    // 실행: java item2.BuilderBenchmark [반복 횟수]
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        Object[] sink = new Object[n];
+
+        NutritionFactsGenerated base = NutritionFactsGenerated.builder(240, 8).build();
+
+        for (int round = 0; round < 5; round++) {
+            boolean print = round == 4;
+
+            long allocated = Allocations.allocatedBytes();
+            long start = System.nanoTime();
+            handWritten(sink);
+            report("hand-written", print, n, start, allocated);
+
+            allocated = Allocations.allocatedBytes();
+            start = System.nanoTime();
+            generated(sink);
+            report("generated", print, n, start, allocated);
+
+            allocated = Allocations.allocatedBytes();
+            start = System.nanoTime();
+            generatedToBuilder(sink, base);
+            report("generated toBuilder", print, n, start, allocated);
+        }
+    }
+
+    private static void handWritten(Object[] sink) {
+        for (int i = 0; i < sink.length; i++) {
+            sink[i] = new NutritionFactsBuilder.Builder(240, 8)
+                    .calories(i).sodium(35).carbohydrate(27).build();
+        }
+    }
+
+    private static void generated(Object[] sink) {
+        for (int i = 0; i < sink.length; i++) {
+            sink[i] = NutritionFactsGenerated.builder(240, 8)
+                    .calories(i).sodium(35).carbohydrate(27).build();
+        }
+    }
+
+    private static void generatedToBuilder(Object[] sink, NutritionFactsGenerated base) {
+        for (int i = 0; i < sink.length; i++) {
+            sink[i] = base.toBuilder().calories(i).build();
+        }
+    }
+
+    private static void report(String label, boolean print, int n, long start, long allocatedBefore) {
+        long elapsed = System.nanoTime() - start;
+        long allocated = Allocations.allocatedBytes() - allocatedBefore;
+        if (print) {
+            System.out.printf("%-20s %6.2f ns/op  %6.2f B/op%n", label, (double) elapsed / n, (double) allocated / n);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package item2;
+
+import item2.generator.GenerateBuilder;
+import item2.generator.Required;
+
+@GenerateBuilder(validate = true)
+public class NutritionFactsGenerated {
+
+    // NutritionFactsBuilder 와 같은 빌더를 손으로 작성하지 않고 애너테이션 프로세서로 생성하는 방식
+    // 컴파일 시점에 NutritionFactsGenerated_Builder 가 만들어진다.
+    // 생성된 빌더는 기본 타입 int 필드만 가지므로 박싱이 없고 리플렉션도 사용하지 않는다.
+
+    @Required private final int servingSize;      // 필수 입력값
+    @Required private final int servings;         // 필수 입력값
+    private final int calories;                   // 선택 입력값
+    private final int fat;                        // 선택 입력값
+    private final int sodium;                     // 선택 입력값
+    private final int carbohydrate;               // 선택 입력값
+
+    // 생성된 빌더가 호출하는 생성자 - 필드 선언 순서와 같아야 한다.
+    NutritionFactsGenerated(int servingSize, int servings, int calories, int fat, int sodium, int carbohydrate) {
+        this.servingSize = servingSize;
+        this.servings = servings;
+        this.calories = calories;
+        this.fat = fat;
+        this.sodium = sodium;
+        this.carbohydrate = carbohydrate;
+    }
+
+    public static NutritionFactsGenerated_Builder builder(int servingSize, int servings) {
+        return new NutritionFactsGenerated_Builder(servingSize, servings);
+    }
+
+    // 현재 값을 복사한 빌더 - 일부 값만 바꾼 새 불변 객체를 만들 때 사용한다.
+    public NutritionFactsGenerated_Builder toBuilder() {
+        return NutritionFactsGenerated_Builder.from(this);
+    }
+
+    public int servingSize()  { return servingSize; }
+    public int servings()     { return servings; }
+    public int calories()     { return calories; }
+    public int fat()          { return fat; }
+    public int sodium()       { return sodium; }
+    public int carbohydrate() { return carbohydrate; }
+}
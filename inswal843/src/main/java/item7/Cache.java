@@ -0,0 +1,23 @@
+package item7;
+
+public interface Cache<K, V> extends AutoCloseable {
+
+    // item7 의 캐시 구현들이 공통으로 따르는 최소한의 계약
+    // 없는(또는 이미 수거되었거나 만료된) 키는 null 을 돌려준다.
+
+    V get(K key);
+
+    void put(K key, V value);
+
+    V remove(K key);
+
+    // 아직 정리되지 않은 엔트리까지 포함한 현재 엔트리 수
+    int size();
+
+    CacheStats stats();
+
+    // 백그라운드 작업을 쓰는 구현만 정리할 것이 있다.
+    @Override
+    default void close() {
+    }
+}
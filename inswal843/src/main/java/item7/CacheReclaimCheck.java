@@ -0,0 +1,114 @@
+package item7;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+public class CacheReclaimCheck {
+
+    // 작은 힙에서 캐시들이 메모리를 실제로 돌려주는지 확인한다. 하나라도 실패하면 예외를 던진다.
+    // 실행: java -Xmx64m item7.CacheReclaimCheck
+    //  1. WeakKeyCache   : 키를 모두 놓아주면 엔트리가 전부 정리된다.
+    //  2. SoftValueCache : 힙의 몇 배나 되는 값을 넣어도 OutOfMemoryError 없이 GC 가 값을 수거한다.
+    //  3. ExpiringCache  : ttl 이 지나면 조회 없이도 엔트리가 지워진다.
+    //  4. WeakListenerRegistry : 강한 참조가 남은 리스너만 남고 나머지는 자동으로 빠진다.
+
+    private static final int VALUE_SIZE = 1 << 20; // 1MB
+
+    public static void main(String[] args) throws InterruptedException {
+        long maxHeap = Runtime.getRuntime().maxMemory();
+        System.out.printf("최대 힙: %,d MB%n", maxHeap >> 20);
+
+        weakKeys();
+        softValues(maxHeap);
+        expiring();
+        weakListeners();
+    }
+
+    private static void weakKeys() throws InterruptedException {
+        WeakKeyCache<Object, byte[]> cache = new WeakKeyCache<>();
+        List<Object> keys = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            Object key = new Object();
+            keys.add(key);
+            cache.put(key, new byte[1024]);
+        }
+        check("WeakKeyCache 조회", cache.get(keys.get(0)) != null);
+
+        keys.clear();
+        awaitReclaimed(() -> cache.size() == 0);
+        CacheStats stats = cache.stats();
+        check("WeakKeyCache 정리", stats.size() == 0 && stats.reclaimed() == 10_000);
+        System.out.println("WeakKeyCache   " + stats);
+    }
+
+    private static void softValues(long maxHeap) {
+        SoftValueCache<Integer, byte[]> cache = new SoftValueCache<>();
+        // 힙 크기의 4배만큼 값을 넣는다. 부드러운 참조가 아니라면 OutOfMemoryError 가 난다.
+        int count = (int) Math.min(4 * (maxHeap / VALUE_SIZE), 4_096);
+        for (int i = 0; i < count; i++) {
+            cache.put(i, new byte[VALUE_SIZE]);
+        }
+        int alive = 0;
+        for (int i = 0; i < count; i++) {
+            if (cache.get(i) != null) {
+                alive++;
+            }
+        }
+        CacheStats stats = cache.stats();
+        check("SoftValueCache 수거", alive < count && alive * (long) VALUE_SIZE <= maxHeap);
+        System.out.printf("SoftValueCache 넣은 값 %d개 중 살아 있는 값 %d개, %s%n", count, alive, stats);
+    }
+
+    private static void expiring() throws InterruptedException {
+        try (ExpiringCache<Integer, String> cache = new ExpiringCache<>(Duration.ofMillis(100), Duration.ofMillis(20))) {
+            for (int i = 0; i < 1_000; i++) {
+                cache.put(i, "value-" + i);
+            }
+            check("ExpiringCache 조회", "value-1".equals(cache.get(1)));
+            awaitReclaimed(() -> cache.size() == 0);
+            CacheStats stats = cache.stats();
+            check("ExpiringCache 만료", cache.get(1) == null && stats.evictions() == 1_000);
+            System.out.println("ExpiringCache  " + cache.stats());
+        }
+    }
+
+    private static void weakListeners() throws InterruptedException {
+        WeakListenerRegistry<Runnable> registry = new WeakListenerRegistry<>();
+        List<Runnable> kept = new ArrayList<>();
+        int[] calls = new int[1];
+        for (int i = 0; i < 1_000; i++) {
+            Runnable listener = new Runnable() {
+                @Override
+                public void run() {
+                    calls[0]++;
+                }
+            };
+            registry.add(listener);
+            if (i % 100 == 0) {
+                kept.add(listener);
+            }
+        }
+        awaitReclaimed(() -> registry.size() == kept.size());
+        int notified = registry.fire(Runnable::run);
+        check("WeakListenerRegistry 정리", notified == kept.size() && calls[0] == kept.size()
+                && registry.reclaimed() == 1_000 - kept.size());
+        System.out.printf("WeakListenerRegistry 남은 리스너 %d개, 자동 제거 %d개%n", registry.size(), registry.reclaimed());
+    }
+
+    // GC 를 유도하면서 조건이 만족될 때까지 최대 5초 기다린다.
+    private static void awaitReclaimed(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            System.gc();
+            Thread.sleep(20);
+        }
+    }
+
+    private static void check(String label, boolean condition) {
+        if (!condition) {
+            throw new IllegalStateException(label + " 실패");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package item7;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public record CacheStats(int size, long hits, long misses, long evictions, long reclaimed) {
+
+    // evictions : 만료나 명시적 제거처럼 캐시가 스스로 내보낸 엔트리 수
+    // reclaimed : GC 가 키나 값을 수거해서 ReferenceQueue 를 통해 정리된 엔트리 수
+
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    // 구현체들이 함께 쓰는 카운터 묶음
+    static final class Counters {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+        final LongAdder reclaimed = new LongAdder();
+
+        <V> V record(V value) {
+            if (value == null) {
+                misses.increment();
+            } else {
+                hits.increment();
+            }
+            return value;
+        }
+
+        CacheStats snapshot(int size) {
+            return new CacheStats(size, hits.sum(), misses.sum(), evictions.sum(), reclaimed.sum());
+        }
+    }
+}
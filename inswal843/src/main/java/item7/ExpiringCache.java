@@ -0,0 +1,97 @@
+package item7;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class ExpiringCache<K, V> implements Cache<K, V> {
+
+    // 넣은 뒤 ttl 이 지나면 가치가 없어지는 캐시
+    // 만료된 엔트리는 조회 시 없는 것으로만 처리하고, 실제로 지우는 일은 백그라운드 스레드가 주기적으로 한다.
+    // 그래서 get/put 은 정리 비용을 내지 않는다.
+    // 백그라운드 스레드를 쓰므로 다 쓰면 close 해야 한다. (try-with-resources)
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final ConcurrentHashMap<K, Entry<V>> map = new ConcurrentHashMap<>();
+    private final CacheStats.Counters counters = new CacheStats.Counters();
+    private final long ttlNanos;
+    private final ScheduledExecutorService sweeper;
+
+    public ExpiringCache(Duration ttl) {
+        this(ttl, ttl.dividedBy(2));
+    }
+
+    public ExpiringCache(Duration ttl, Duration sweepInterval) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl 은 0 보다 커야 한다: " + ttl);
+        }
+        this.ttlNanos = ttl.toNanos();
+        long intervalNanos = Math.max(sweepInterval.toNanos(), TimeUnit.MILLISECONDS.toNanos(1));
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "item7-expiring-cache-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public V get(K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null || expired(entry, System.nanoTime())) {
+            return counters.record(null);
+        }
+        return counters.record(entry.value());
+    }
+
+    @Override
+    public void put(K key, V value) {
+        Objects.requireNonNull(value);
+        map.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+    }
+
+    @Override
+    public V remove(K key) {
+        Entry<V> removed = map.remove(key);
+        if (removed == null) {
+            return null;
+        }
+        counters.evictions.increment();
+        return removed.value();
+    }
+
+    // 만료된 엔트리를 지운다. 지우는 사이 같은 키로 새로 들어온 엔트리는 건드리지 않는다.
+    void sweep() {
+        long now = System.nanoTime();
+        for (Map.Entry<K, Entry<V>> e : map.entrySet()) {
+            if (expired(e.getValue(), now) && map.remove(e.getKey(), e.getValue())) {
+                counters.evictions.increment();
+            }
+        }
+    }
+
+    private static boolean expired(Entry<?> entry, long now) {
+        return now - entry.expiresAt() >= 0;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return counters.snapshot(map.size());
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+}
@@ -0,0 +1,49 @@
+package item7;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+
+final class ReferenceDrainer {
+
+    // 약한/부드러운 참조가 수거되면 큐에 들어오고, 데몬 스레드 하나가 큐를 비우며 엔트리를 정리한다.
+    // WeakHashMap 은 get/put 할 때마다 expungeStaleEntries() 로 큐를 비우지만
+    // 여기서는 백그라운드에서 비우므로 읽는 쪽은 정리 비용을 내지 않는다.
+    // 모든 캐시와 리스너 레지스트리가 큐 하나와 스레드 하나를 함께 쓴다.
+
+    // 큐에 등록하는 참조는 이 인터페이스를 구현해서 자기 자신을 정리하는 방법을 알려준다.
+    interface Cleanable {
+        void clean();
+    }
+
+    private static final ReferenceQueue<Object> QUEUE = new ReferenceQueue<>();
+
+    static {
+        Thread thread = new Thread(ReferenceDrainer::drain, "item7-reference-drainer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private ReferenceDrainer() {
+        throw new AssertionError();
+    }
+
+    static ReferenceQueue<Object> queue() {
+        return QUEUE;
+    }
+
+    private static void drain() {
+        while (true) {
+            try {
+                Reference<?> reference = QUEUE.remove();
+                if (reference instanceof Cleanable cleanable) {
+                    cleanable.clean();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                // 정리 하나가 실패해도 스레드는 계속 살아 있어야 한다.
+                System.err.println("참조 정리 실패: " + e);
+            }
+        }
+    }
+}
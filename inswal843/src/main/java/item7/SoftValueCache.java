@@ -0,0 +1,65 @@
+package item7;
+
+import java.lang.ref.SoftReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SoftValueCache<K, V> implements Cache<K, V> {
+
+    // 값을 부드러운 참조로 들고 있는 캐시
+    // 메모리가 넉넉하면 값을 유지하고, 힙이 부족해지면 OutOfMemoryError 를 던지기 전에 GC 가 값을 수거한다.
+    // 수거된 값의 엔트리는 ReferenceDrainer 가 백그라운드에서 지우고, 그 전에 조회되면 없는 것으로 처리한다.
+    // 다시 만들 수 있지만 만드는 비용이 큰 값(이미지, 파싱 결과 등)에 알맞다.
+
+    private final class SoftValue extends SoftReference<V> implements ReferenceDrainer.Cleanable {
+        private final K key;
+
+        SoftValue(K key, V value) {
+            super(value, ReferenceDrainer.queue());
+            this.key = key;
+        }
+
+        @Override
+        public void clean() {
+            // 그 사이 같은 키로 새 값이 들어왔다면 지우지 않는다.
+            if (map.remove(key, this)) {
+                counters.reclaimed.increment();
+            }
+        }
+    }
+
+    private final ConcurrentHashMap<K, SoftValue> map = new ConcurrentHashMap<>();
+    private final CacheStats.Counters counters = new CacheStats.Counters();
+
+    @Override
+    public V get(K key) {
+        SoftValue reference = map.get(key);
+        return counters.record(reference == null ? null : reference.get());
+    }
+
+    @Override
+    public void put(K key, V value) {
+        Objects.requireNonNull(value);
+        map.put(key, new SoftValue(key, value));
+    }
+
+    @Override
+    public V remove(K key) {
+        SoftValue removed = map.remove(key);
+        if (removed == null) {
+            return null;
+        }
+        counters.evictions.increment();
+        return removed.get();
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return counters.snapshot(map.size());
+    }
+}
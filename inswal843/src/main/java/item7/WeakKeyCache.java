@@ -0,0 +1,110 @@
+package item7;
+
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class WeakKeyCache<K, V> implements Cache<K, V> {
+
+    // 캐시 밖에서 키를 참조하는 동안만 엔트리가 살아 있는 캐시 (동시성을 지원하는 WeakHashMap)
+    // 키를 약한 참조로 감싸서 저장하고, 키가 수거되면 ReferenceDrainer 가 백그라운드에서 엔트리를 지운다.
+    // 주의: 값이 키를 (직간접적으로) 강하게 참조하면 키가 영원히 수거되지 않는다. (WeakHashMap 과 같은 제약)
+    // 키 비교는 WeakHashMap 처럼 equals/hashCode 를 따른다.
+
+    // 저장용 키와 조회용 키가 서로 같다고 판단할 수 있도록 공통으로 referent 를 꺼내는 방법
+    private interface KeyHolder {
+        Object key();
+    }
+
+    private final class WeakKey extends WeakReference<K> implements KeyHolder, ReferenceDrainer.Cleanable {
+        private final int hash;
+
+        WeakKey(K key) {
+            super(key, ReferenceDrainer.queue());
+            this.hash = key.hashCode();
+        }
+
+        @Override
+        public Object key() {
+            return get();
+        }
+
+        @Override
+        public void clean() {
+            if (map.remove(this) != null) {
+                counters.reclaimed.increment();
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        // 수거된 키는 자기 자신과만 같다. (clean 에서 자기 자신을 지울 수 있도록)
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof KeyHolder other)) {
+                return false;
+            }
+            Object key = get();
+            return key != null && key.equals(other.key());
+        }
+    }
+
+    // 조회할 때만 잠깐 쓰는 강한 참조 키 (ReferenceQueue 에 등록하지 않아서 만드는 비용이 작다)
+    private record LookupKey(Object key, int hash) implements KeyHolder {
+        LookupKey(Object key) {
+            this(key, key.hashCode());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof KeyHolder other && key.equals(other.key());
+        }
+    }
+
+    private final ConcurrentHashMap<Object, V> map = new ConcurrentHashMap<>();
+    private final CacheStats.Counters counters = new CacheStats.Counters();
+
+    @Override
+    public V get(K key) {
+        return counters.record(map.get(new LookupKey(key)));
+    }
+
+    @Override
+    public void put(K key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        // 같은 키가 이미 있으면 map 은 기존 WeakKey 를 유지하고 값만 바꾼다.
+        // 이때 새 WeakKey 는 버려지고, 나중에 큐에 들어와도 자기 자신과만 같으므로 아무것도 지우지 않는다.
+        map.put(new WeakKey(key), value);
+    }
+
+    @Override
+    public V remove(K key) {
+        V removed = map.remove(new LookupKey(key));
+        if (removed != null) {
+            counters.evictions.increment();
+        }
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return counters.snapshot(map.size());
+    }
+}
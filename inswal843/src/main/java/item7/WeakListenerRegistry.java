@@ -0,0 +1,69 @@
+package item7;
+
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+public class WeakListenerRegistry<L> {
+
+    // 콜백을 약한 참조로 들고 있는 리스너 저장소
+    // 등록만 하고 해지하지 않은 리스너도 GC 가 수거하면 ReferenceDrainer 가 백그라운드에서 목록에서 지운다.
+    // 주의: 등록한 쪽이 리스너를 강하게 참조하고 있어야 살아 있다.
+    //      필드에 담지 않은 람다를 바로 넘기면 곧바로 수거되어 호출되지 않을 수 있다.
+
+    private final class ListenerReference extends WeakReference<L> implements ReferenceDrainer.Cleanable {
+
+        ListenerReference(L listener) {
+            super(listener, ReferenceDrainer.queue());
+        }
+
+        @Override
+        public void clean() {
+            if (listeners.remove(this)) {
+                reclaimed.increment();
+            }
+        }
+    }
+
+    // ListenerReference 는 equals 를 재정의하지 않으므로 동일성으로 구분된다.
+    private final Set<ListenerReference> listeners = ConcurrentHashMap.newKeySet();
+    private final LongAdder reclaimed = new LongAdder();
+
+    public void add(L listener) {
+        listeners.add(new ListenerReference(Objects.requireNonNull(listener)));
+    }
+
+    public boolean remove(L listener) {
+        for (ListenerReference reference : listeners) {
+            if (reference.get() == listener) {
+                return listeners.remove(reference);
+            }
+        }
+        return false;
+    }
+
+    // 살아 있는 리스너에게만 이벤트를 전달하고, 전달한 리스너 수를 돌려준다.
+    public int fire(Consumer<? super L> event) {
+        int notified = 0;
+        for (ListenerReference reference : listeners) {
+            L listener = reference.get();
+            if (listener != null) {
+                event.accept(listener);
+                notified++;
+            }
+        }
+        return notified;
+    }
+
+    public int size() {
+        return listeners.size();
+    }
+
+    // GC 가 수거해서 자동으로 지워진 리스너 수
+    public long reclaimed() {
+        return reclaimed.sum();
+    }
+}
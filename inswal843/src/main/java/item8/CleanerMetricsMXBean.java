@@ -0,0 +1,24 @@
+package item8;
+
+public interface CleanerMetricsMXBean {
+
+    // JMX 로 노출하는 안전망 지표 (jconsole 에서 item8:type=CleanerMetrics 로 볼 수 있다.)
+
+    long getRegistered();
+
+    long getLive();
+
+    long getExplicitCloses();
+
+    // close() 를 잊어서 cleaner 가 대신 청소한 수, 0 이 아니면 어딘가에서 누수가 있다.
+    long getCleanerCloses();
+
+    // 등록부터 청소까지 걸린 시간 분포, 약 64 개 중 하나를 잰 표본이다.
+    // i 번째 칸은 2^(i-1) 이상 2^i 마이크로초 미만이고, 0 번째 칸은 1 마이크로초 미만이다.
+    long[] getTimeToCloseHistogram();
+
+    // 누수된 것 중 생성 위치를 기록한 표본의 최근 스택 트레이스
+    String[] getRecentLeakSites();
+
+    int getSampleRate();
+}
@@ -0,0 +1,46 @@
+package item8;
+
+import java.lang.ref.Cleaner;
+
+public class Room implements AutoCloseable {
+
+    // Example 의 cleaner 를 안전망으로 활용하는 Room 을 실제 코드로 옮긴 것
+    // Cleaner 대신 TrackedCleaner 에 등록해서 close() 를 빠뜨려 cleaner 가 대신 청소한 횟수를 알 수 있다.
+    // 모든 Room 의 등록 / 청소를 세고, 약 1000 개 중 하나는 생성 위치도 기록해서 어디서 만든 Room 이 누수되는지 확인할 수 있다.
+    private static final TrackedCleaner cleaner = TrackedCleaner.create("Room", 1_000);
+
+    // 청소가 필요한 자원, **절대 Room을 참조해서는 안된다!**
+    private static class State implements Runnable {
+        int numJunkPiles; // 방 안의 쓰레기 수
+
+        State(int numJunkPiles) {
+            this.numJunkPiles = numJunkPiles;
+        }
+
+        // close 메서드나 cleaner가 호출한다.
+        @Override
+        public void run() {
+            numJunkPiles = 0;
+        }
+    }
+
+    // 방의 상태. cleanable과 공유한다.
+    private final State state;
+
+    // cleanable 객체. 수거 대상이 되면 방을 청소한다.
+    private final Cleaner.Cleanable cleanable;
+
+    public Room(int numJunkPiles) {
+        state = new State(numJunkPiles);
+        cleanable = cleaner.register(this, state);
+    }
+
+    public static TrackedCleaner.Snapshot cleanerMetrics() {
+        return cleaner.snapshot();
+    }
+
+    @Override
+    public void close() {
+        cleanable.clean();
+    }
+}
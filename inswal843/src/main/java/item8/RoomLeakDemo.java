@@ -0,0 +1,37 @@
+package item8;
+
+public class RoomLeakDemo {
+
+    // Example 의 Adult(try-with-resources 사용) 와 Teenager(close 를 잊음) 를 섞어 실행하고
+    // TrackedCleaner 가 두 경우를 구분해서 세는지 확인한다.
+    // 모든 Room 을 세므로 Adult 100_000 번, Teenager 10_000 번이면 close 100_000, cleaner 10_000 이 나와야 한다.
+    // 생성 위치는 약 1000 개 중 하나만 기록하므로 누수 위치는 10 개 안팎이다.
+    // 실행: java item8.RoomLeakDemo
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int i = 0; i < 100_000; i++) {
+            // Adult: 항상 close 된다.
+            try (Room room = new Room(7)) {
+                room.hashCode();
+            }
+        }
+        for (int i = 0; i < 10_000; i++) {
+            // Teenager: close 를 하지 않아서 cleaner 에 맡겨진다.
+            new Room(99);
+        }
+
+        for (int i = 0; i < 20 && Room.cleanerMetrics().cleanerCloses() < 10_000; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+
+        TrackedCleaner.Snapshot snapshot = Room.cleanerMetrics();
+        System.out.printf("등록 %d (위치 1/%d), 남은 방 %d, close %d, cleaner %d, 누수 비율 %.3f, 청소까지 p99 %d us 이하%n",
+                snapshot.registered(), snapshot.sampleRate(), snapshot.live(), snapshot.explicitCloses(),
+                snapshot.cleanerCloses(), snapshot.leakRatio(), snapshot.timeToClosePercentileMicros(0.99));
+        if (!snapshot.recentLeakSites().isEmpty()) {
+            System.out.println("최근 누수 위치:");
+            snapshot.recentLeakSites().get(0).lines().limit(3).forEach(System.out::println);
+        }
+    }
+}
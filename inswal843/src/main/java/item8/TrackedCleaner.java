@@ -0,0 +1,299 @@
+package item8;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Cleaner;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public final class TrackedCleaner {
+
+    // Room 처럼 Cleaner 를 안전망으로 쓰는 클래스에서 안전망이 실제로 얼마나 동작하는지 기록한다.
+    // cleaner 가 대신 청소했다는 것은 누군가 close() 를 잊었다는 뜻이므로 운영 중에 알 수 있어야 한다.
+    // 모든 등록을 세는 Cleanable 로 감싸서 기록하는 것
+    //  - 등록 수, 아직 청소되지 않은 수, close() 로 청소된 수, cleaner 가 대신 청소한 수
+    //  - 등록부터 청소까지 걸린 시간의 log2 히스토그램, System.nanoTime() 두 번이 카운터보다 비싸서 약 64 개 중 하나만 잰다.
+    //  - 생성 위치 스택 트레이스, 비용이 커서 약 sampleRate 개 중 하나만 기록한다. (0 이면 기록하지 않는다.)
+    //    기록한 객체가 누수되면 최근 누수 위치로 보관한다.
+    // 카운터는 스레드마다 따로 두고 그 스레드만 올리므로 등록 / 청소마다 원자적 연산 없이 하나씩만 올린다.
+    // snapshot() 이나 JMX(item8:type=CleanerMetrics,name=이름) 로 조회할 수 있다.
+    // 사용법은 Cleaner 와 같다. register 가 돌려준 Cleanable 의 clean() 을 close() 에서 호출하면 된다.
+
+    private static final int HISTOGRAM_BUCKETS = 40;
+    private static final int MAX_LEAK_SITES = 16;
+    private static final int TIMING_SAMPLE = 64;
+    private static final long UNTIMED = Long.MIN_VALUE;
+
+    // 조회 시점의 지표
+    public record Snapshot(String name, int sampleRate, long registered, long live, long explicitCloses,
+                           long cleanerCloses, long[] timeToCloseHistogram, List<String> recentLeakSites) {
+
+        // 청소된 객체 중 cleaner 가 대신 청소한 비율이다.
+        public double leakRatio() {
+            long closed = explicitCloses + cleanerCloses;
+            return closed == 0 ? 0.0 : (double) cleanerCloses / closed;
+        }
+
+        // 히스토그램으로 추정한 청소 시간의 p 분위수다. (마이크로초, 해당 칸의 상한)
+        public long timeToClosePercentileMicros(double p) {
+            long total = 0;
+            for (long count : timeToCloseHistogram) {
+                total += count;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long target = (long) Math.ceil(p * total);
+            long seen = 0;
+            for (int i = 0; i < timeToCloseHistogram.length; i++) {
+                seen += timeToCloseHistogram[i];
+                if (seen >= target) {
+                    return 1L << i;
+                }
+            }
+            return 1L << (timeToCloseHistogram.length - 1);
+        }
+    }
+
+    // Cleaner 에 등록하는 청소 작업이면서 사용자에게 돌려주는 Cleanable 이다.
+    // close() 에서 clean() 을 부르면 explicit 이 먼저 표시된다. cleaner 스레드가 run() 을 바로 부르면 표시가 없으니 누수다.
+    // registeredAt 과 site 는 표본으로 고른 등록에만 있다. (없으면 UNTIMED, null)
+    // clean() 을 부른 스레드가 delegate.clean() 안에서 run() 까지 실행하므로 explicit 은 volatile 이 아니어도 된다.
+    private final class Tracking implements Runnable, Cleaner.Cleanable {
+        private final Runnable action;
+        private final long registeredAt;
+        private final Throwable site;
+        private Cleaner.Cleanable delegate;
+        private boolean explicit;
+
+        Tracking(Runnable action, long registeredAt, Throwable site) {
+            this.action = action;
+            this.registeredAt = registeredAt;
+            this.site = site;
+        }
+
+        @Override
+        public void clean() {
+            explicit = true;
+            delegate.clean();
+        }
+
+        @Override
+        public void run() {
+            recordClose(explicit, registeredAt, site);
+            action.run();
+        }
+    }
+
+    // 스레드 하나가 올린 카운터와 그 스레드의 다음 표본까지 남은 등록 수다.
+    // 그 스레드만 쓰므로 원자적 연산 없이 setRelease 로 올리고, 조회할 때 모든 스레드의 값을 getAcquire 로 읽어 더한다.
+    // 끝난 스레드의 값도 합계에 들어가야 하므로 allCounters 에 계속 남는다. (스레드 하나당 객체 하나)
+    // 표본 간격은 평균이 n 인 난수라서 일정한 주기로 만들고 버리는 객체만 계속 고르거나 빠뜨리지 않는다.
+    private static final class Counters {
+        private static final VarHandle REGISTERED;
+        private static final VarHandle EXPLICIT_CLOSES;
+        private static final VarHandle CLEANER_CLOSES;
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                REGISTERED = lookup.findVarHandle(Counters.class, "registered", long.class);
+                EXPLICIT_CLOSES = lookup.findVarHandle(Counters.class, "explicitCloses", long.class);
+                CLEANER_CLOSES = lookup.findVarHandle(Counters.class, "cleanerCloses", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private long registered;
+        private long explicitCloses;
+        private long cleanerCloses;
+        private int untilTimed = gap(TIMING_SAMPLE);
+        private int untilSite;
+
+        Counters(int sampleRate) {
+            untilSite = sampleRate == 0 ? 0 : gap(sampleRate);
+        }
+
+        boolean timeNext() {
+            if (--untilTimed > 0) {
+                return false;
+            }
+            untilTimed = gap(TIMING_SAMPLE);
+            return true;
+        }
+
+        boolean recordSiteNext(int sampleRate) {
+            if (sampleRate == 0 || --untilSite > 0) {
+                return false;
+            }
+            untilSite = gap(sampleRate);
+            return true;
+        }
+
+        // 1 이상 2n - 1 이하의 균등 난수다. (평균 n)
+        private static int gap(int n) {
+            return 1 + ThreadLocalRandom.current().nextInt(2 * n - 1);
+        }
+
+        void registered() {
+            REGISTERED.setRelease(this, registered + 1);
+        }
+
+        void closed(boolean explicit) {
+            if (explicit) {
+                EXPLICIT_CLOSES.setRelease(this, explicitCloses + 1);
+            } else {
+                CLEANER_CLOSES.setRelease(this, cleanerCloses + 1);
+            }
+        }
+    }
+
+    private final class Metrics implements CleanerMetricsMXBean {
+        @Override
+        public long getRegistered() {
+            return sum(Counters.REGISTERED);
+        }
+
+        @Override
+        public long getLive() {
+            // 청소 수를 먼저 읽어야 동시에 등록 / 청소가 일어나도 음수가 나오지 않는다.
+            long closed = sum(Counters.EXPLICIT_CLOSES) + sum(Counters.CLEANER_CLOSES);
+            return sum(Counters.REGISTERED) - closed;
+        }
+
+        @Override
+        public long getExplicitCloses() {
+            return sum(Counters.EXPLICIT_CLOSES);
+        }
+
+        @Override
+        public long getCleanerCloses() {
+            return sum(Counters.CLEANER_CLOSES);
+        }
+
+        private long sum(VarHandle counter) {
+            long sum = 0;
+            for (Counters counters : allCounters) {
+                sum += (long) counter.getAcquire(counters);
+            }
+            return sum;
+        }
+
+        @Override
+        public long[] getTimeToCloseHistogram() {
+            long[] histogram = new long[HISTOGRAM_BUCKETS];
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                histogram[i] = timeToClose[i].sum();
+            }
+            return histogram;
+        }
+
+        @Override
+        public String[] getRecentLeakSites() {
+            return leakSites.toArray(new String[0]);
+        }
+
+        @Override
+        public int getSampleRate() {
+            return sampleRate;
+        }
+    }
+
+    private final String name;
+    private final Cleaner cleaner;
+    private final int sampleRate;
+    private final Metrics metrics = new Metrics();
+
+    private final Queue<Counters> allCounters = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Counters> counters = ThreadLocal.withInitial(this::newCounters);
+    private final LongAdder[] timeToClose = new LongAdder[HISTOGRAM_BUCKETS];
+    private final Deque<String> leakSites = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger leakSiteCount = new AtomicInteger();
+
+    // sampleRate 가 0 이면 생성 위치를 기록하지 않고, n 이면 약 n 개 중 하나의 생성 위치를 기록한다.
+    public TrackedCleaner(String name, Cleaner cleaner, int sampleRate) {
+        if (sampleRate < 0) {
+            throw new IllegalArgumentException("sampleRate 는 0 이상이어야 함: " + sampleRate);
+        }
+        this.name = name;
+        this.cleaner = cleaner;
+        this.sampleRate = sampleRate;
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            timeToClose[i] = new LongAdder();
+        }
+    }
+
+    // 새 Cleaner 를 만들고 JMX 에도 등록한다.
+    public static TrackedCleaner create(String name, int sampleRate) {
+        TrackedCleaner trackedCleaner = new TrackedCleaner(name, Cleaner.create(), sampleRate);
+        trackedCleaner.registerMBean();
+        return trackedCleaner;
+    }
+
+    public Cleaner.Cleanable register(Object obj, Runnable action) {
+        Counters local = counters.get();
+        long registeredAt = local.timeNext() ? System.nanoTime() : UNTIMED;
+        Throwable site = local.recordSiteNext(sampleRate) ? new Throwable("생성 위치: " + name) : null;
+        Tracking tracking = new Tracking(action, registeredAt, site);
+        // 청소 수가 등록 수보다 먼저 늘어서 live 가 음수로 보이지 않도록 등록 수를 먼저 올린다.
+        local.registered();
+        tracking.delegate = cleaner.register(obj, tracking);
+        return tracking;
+    }
+
+    private Counters newCounters() {
+        Counters created = new Counters(sampleRate);
+        allCounters.add(created);
+        return created;
+    }
+
+    private void recordClose(boolean explicit, long registeredAt, Throwable site) {
+        counters.get().closed(explicit);
+        if (registeredAt != UNTIMED) {
+            long micros = (System.nanoTime() - registeredAt) / 1_000;
+            int bucket = micros <= 0 ? 0 : Math.min(HISTOGRAM_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+            timeToClose[bucket].increment();
+        }
+        if (!explicit && site != null) {
+            StringWriter trace = new StringWriter();
+            site.printStackTrace(new PrintWriter(trace));
+            leakSites.addFirst(trace.toString());
+            if (leakSiteCount.incrementAndGet() > MAX_LEAK_SITES && leakSites.pollLast() != null) {
+                leakSiteCount.decrementAndGet();
+            }
+        }
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(name, sampleRate, metrics.getRegistered(), metrics.getLive(), metrics.getExplicitCloses(),
+                metrics.getCleanerCloses(), metrics.getTimeToCloseHistogram(), List.copyOf(new ArrayList<>(leakSites)));
+    }
+
+    // 플랫폼 MBeanServer 에 등록한다. 같은 이름이 이미 있으면 교체한다.
+    public void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName("item8:type=CleanerMetrics,name=" + ObjectName.quote(name));
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(metrics, objectName);
+        } catch (JMException e) {
+            System.err.println("CleanerMetrics JMX 등록 실패: " + name + " " + e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package item9;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class FileCopy {
+
+    // Example 의 copy(src, dst) 를 대용량 파일에 쓸 수 있게 옮긴 것
+    // 기본 경로는 FileChannel.transferTo 다. 커널이 지원하면 (리눅스 sendfile / copy_file_range)
+    // 데이터가 사용자 공간의 byte[] 를 거치지 않고 바로 복사된다.
+    // transferTo 는 한 번에 요청한 만큼 다 옮긴다는 보장이 없고 (2GB 가 넘는 파일은 한 번에 못 옮긴다)
+    // 진행이 멈추면 0 을 돌려주기도 하므로, 남은 구간은 메모리 매핑으로 마저 복사한다.
+    // 채널을 쓸 수 없는 자원(InputStream/OutputStream)은 버퍼 크기를 정할 수 있는 스트림 복사를 쓴다.
+    // 어느 경로든 자원은 try-with-resources 로 닫는다.
+
+    public enum Strategy {
+        TRANSFER,   // transferTo, 진행이 멈추면 MAPPED 로 이어서 복사
+        MAPPED,     // 원본을 MAPPED_CHUNK 단위로 매핑해서 대상 채널에 write
+        STREAM      // byte[] 버퍼를 쓰는 InputStream -> OutputStream 복사
+    }
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    // 한 번에 매핑하는 크기. 매핑 해제는 GC 에 맡겨야 하므로 너무 크게 잡으면 가상 메모리를 오래 잡아 둔다.
+    static final long MAPPED_CHUNK = 64L * 1024 * 1024;
+    // transferTo 한 번에 요청하는 최대 크기 (리눅스 sendfile 은 한 번에 2GB 미만만 옮긴다)
+    private static final long TRANSFER_CHUNK = 1L << 30;
+
+    private FileCopy() {
+        throw new AssertionError();
+    }
+
+    public static long copy(Path src, Path dst) throws IOException {
+        return copy(src, dst, Strategy.TRANSFER);
+    }
+
+    public static long copy(Path src, Path dst, Strategy strategy) throws IOException {
+        return copy(src, dst, strategy, DEFAULT_BUFFER_SIZE);
+    }
+
+    // 복사한 바이트 수를 돌려준다. dst 는 새로 만들거나 덮어쓴다.
+    public static long copy(Path src, Path dst, Strategy strategy, int bufferSize) throws IOException {
+        if (strategy == Strategy.STREAM) {
+            try (InputStream in = Files.newInputStream(src);
+                 OutputStream out = Files.newOutputStream(dst)) {
+                return copy(in, out, bufferSize);
+            }
+        }
+        try (FileChannel in = FileChannel.open(src, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(dst, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            long copied = strategy == Strategy.TRANSFER ? transfer(in, out, size) : 0;
+            if (copied < size) {
+                copied += copyMapped(in, out, copied, size);
+            }
+            return copied;
+        }
+    }
+
+    // 스트림 복사. 닫는 일은 호출한 쪽의 몫이다.
+    public static long copy(InputStream in, OutputStream out, int bufferSize) throws IOException {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize 는 0 보다 커야 한다: " + bufferSize);
+        }
+        byte[] buf = new byte[bufferSize];
+        long copied = 0;
+        int n;
+        while ((n = in.read(buf)) >= 0) {
+            out.write(buf, 0, n);
+            copied += n;
+        }
+        return copied;
+    }
+
+    // 0 을 돌려받으면 더 진행하지 않고 그때까지 옮긴 양을 돌려준다.
+    private static long transfer(FileChannel in, FileChannel out, long size) throws IOException {
+        long position = 0;
+        while (position < size) {
+            long n = in.transferTo(position, Math.min(TRANSFER_CHUNK, size - position), out);
+            if (n <= 0) {
+                break;
+            }
+            position += n;
+        }
+        return position;
+    }
+
+    private static long copyMapped(FileChannel in, FileChannel out, long from, long size) throws IOException {
+        long position = from;
+        while (position < size) {
+            long length = Math.min(MAPPED_CHUNK, size - position);
+            MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, position, length);
+            while (mapped.hasRemaining()) {
+                out.write(mapped, position + mapped.position());
+            }
+            position += length;
+        }
+        return position - from;
+    }
+}
@@ -0,0 +1,137 @@
+package item9;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class FileCopyBenchmark {
+
+    // FileCopy 의 경로별 처리량과 FileHead 의 첫 줄 읽기 비용을 재는 main 하네스
+    // 실행: java item9.FileCopyBenchmark [파일 크기(MB) ...]  (기본 1 100 2048)
+    // 크기마다 임시 파일을 만들고, 합쳐서 약 1GB 를 복사할 만큼 반복해서 가장 빠른 회차를 MB/s 로 출력한다.
+    // 원본을 방금 썼으므로 읽기는 페이지 캐시에서 나온다. 디스크 성능이 아니라 복사 경로의 비용 차이를 보는 것이다.
+    // 복사본은 매번 Files.mismatch 로 원본과 같은지 확인한다.
+
+    private static final long MB = 1024 * 1024;
+
+    private interface Copier {
+        long copy(Path src, Path dst) throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        long[] sizesMb = args.length == 0 ? new long[]{1, 100, 2048} : Stream.of(args).mapToLong(Long::parseLong).toArray();
+        Path dir = Files.createTempDirectory("item9-copy");
+        try {
+            verifyHead(dir);
+            for (long sizeMb : sizesMb) {
+                Path src = dir.resolve("src-" + sizeMb);
+                Path dst = dir.resolve("dst-" + sizeMb);
+                writeLines(src, sizeMb * MB);
+                int rounds = (int) Math.max(2, Math.min(200, 1024 / sizeMb));
+                System.out.printf("== %d MB, %d 회 ==%n", sizeMb, rounds);
+                measure("transferTo", src, dst, rounds, FileCopy::copy);
+                measure("mmap", src, dst, rounds, (s, d) -> FileCopy.copy(s, d, FileCopy.Strategy.MAPPED));
+                measure("stream 8K (Example)", src, dst, rounds,
+                        (s, d) -> FileCopy.copy(s, d, FileCopy.Strategy.STREAM, 8 * 1024));
+                measure("stream 64K", src, dst, rounds, (s, d) -> FileCopy.copy(s, d, FileCopy.Strategy.STREAM));
+                measure("stream 1M", src, dst, rounds,
+                        (s, d) -> FileCopy.copy(s, d, FileCopy.Strategy.STREAM, (int) MB));
+                measureHead(src);
+                Files.delete(src);
+                Files.delete(dst);
+            }
+        } finally {
+            try (Stream<Path> paths = Files.walk(dir)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static void measure(String label, Path src, Path dst, int rounds, Copier copier) throws IOException {
+        long size = Files.size(src);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            long copied = copier.copy(src, dst);
+            best = Math.min(best, System.nanoTime() - start);
+            if (copied != size || Files.mismatch(src, dst) != -1) {
+                throw new IllegalStateException(label + " 복사 결과가 원본과 다르다");
+            }
+        }
+        System.out.printf("%-20s %9.1f MB/s  (최단 %8.2f ms)%n", label, size / (double) MB / (best / 1e9), best / 1e6);
+    }
+
+    private static void measureHead(Path src) throws IOException {
+        int iterations = 20_000;
+        long sink = 0;
+        long mapped = Long.MAX_VALUE;
+        long reader = Long.MAX_VALUE;
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink += FileHead.firstLine(src).length();
+            }
+            mapped = Math.min(mapped, System.nanoTime() - start);
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                try (BufferedReader br = Files.newBufferedReader(src)) {
+                    sink += br.readLine().length();
+                }
+            }
+            reader = Math.min(reader, System.nanoTime() - start);
+        }
+        System.out.printf("firstLine mmap %.2f us/op, BufferedReader %.2f us/op (sink %d)%n",
+                mapped / 1e3 / iterations, reader / 1e3 / iterations, sink);
+    }
+
+    // 줄 길이가 조금씩 다른 텍스트로 size 바이트를 채운다.
+    private static void writeLines(Path path, long size) throws IOException {
+        StringBuilder block = new StringBuilder();
+        for (int i = 0; block.length() < MB; i++) {
+            block.append("line-").append(i).append(' ').append("x".repeat(i % 97)).append('\n');
+        }
+        byte[] bytes = block.substring(0, (int) MB).getBytes(StandardCharsets.UTF_8);
+        try (OutputStream out = Files.newOutputStream(path)) {
+            for (long written = 0; written < size; written += bytes.length) {
+                out.write(bytes, 0, (int) Math.min(bytes.length, size - written));
+            }
+        }
+    }
+
+    private static void verifyHead(Path dir) throws IOException {
+        Path file = dir.resolve("head");
+        Files.writeString(file, "");
+        check(FileHead.firstLine(file) == null, "빈 파일");
+        Files.writeString(file, "한글 첫 줄\r\n둘\r셋\n넷");
+        check(FileHead.headLines(file, 10).equals(List.of("한글 첫 줄", "둘", "셋", "넷")), "줄 구분");
+        check(FileHead.headLines(file, 2).equals(List.of("한글 첫 줄", "둘")), "n 줄");
+        // 첫 페이지 경계에 "\r\n" 이 걸치는 경우와 첫 줄이 한 페이지보다 긴 경우
+        String longLine = "a".repeat(FileHead.PAGE_SIZE - 1);
+        Files.writeString(file, longLine + "\r\nb\n");
+        check(FileHead.headLines(file, 3).equals(List.of(longLine, "b")), "페이지 경계의 \\r\\n");
+        String longer = "가".repeat(FileHead.PAGE_SIZE * 3);
+        Files.writeString(file, longer);
+        check(longer.equals(FileHead.firstLine(file)), "한 페이지보다 긴 첫 줄");
+        // 매핑 상한 안에 첫 줄이 끝나지 않으면 스트리밍으로 읽는다. (실제 상한은 Integer.MAX_VALUE 라서 작은 상한으로 확인)
+        check(FileHead.headLines(file, 1, FileHead.PAGE_SIZE * 2).equals(List.of(longer)), "매핑 상한을 넘는 첫 줄");
+        Files.writeString(file, longer + "\r\n둘\n셋");
+        check(FileHead.headLines(file, 2, FileHead.PAGE_SIZE * 2).equals(List.of(longer, "둘")), "매핑 상한을 넘는 n 줄");
+        Files.writeString(file, longer);
+        try (BufferedReader br = Files.newBufferedReader(file)) {
+            check(br.readLine().equals(FileHead.firstLine(file)), "BufferedReader 와 같은 결과");
+        }
+        System.out.println("FileHead 확인 완료");
+    }
+
+    private static void check(boolean condition, String label) {
+        if (!condition) {
+            throw new IllegalStateException(label + " 실패");
+        }
+    }
+}
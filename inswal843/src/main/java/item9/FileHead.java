@@ -0,0 +1,118 @@
+package item9;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FileHead {
+
+    // Example 의 firstLineOfFile 을 BufferedReader(FileReader) 없이 구현한 것
+    // BufferedReader 는 첫 줄만 읽어도 8K char 버퍼와 디코더를 만들고 파일을 read 로 복사해 온다.
+    // 여기서는 파일 앞쪽 한 페이지만 메모리 매핑해서 줄바꿈을 찾고, 그 구간만 String 으로 만든다.
+    // 한 페이지 안에 원하는 줄이 다 없으면 매핑 구간을 두 배씩 늘린다.
+    // 한 번에 매핑할 수 있는 크기는 Integer.MAX_VALUE 까지라서, 그 안에 원하는 줄이 다 없으면 스트리밍으로 읽는다.
+    // UTF-8 전용이다. UTF-8 의 멀티바이트 문자에는 '\n'(0x0A) 바이트가 나오지 않아서 바이트 단위로 줄을 나눌 수 있다.
+    // 줄 구분은 BufferedReader.readLine 과 같게 "\n", "\r\n", "\r" 을 모두 인정한다.
+
+    static final int PAGE_SIZE = 4096;
+    static final int MAX_WINDOW = Integer.MAX_VALUE;
+
+    private FileHead() {
+        throw new AssertionError();
+    }
+
+    // 빈 파일이면 BufferedReader.readLine 처럼 null 을 돌려준다.
+    public static String firstLine(Path path) throws IOException {
+        List<String> lines = headLines(path, 1);
+        return lines.isEmpty() ? null : lines.get(0);
+    }
+
+    // 앞에서부터 최대 n 줄. 파일이 더 짧으면 있는 만큼만 돌려준다.
+    public static List<String> headLines(Path path, int n) throws IOException {
+        return headLines(path, n, MAX_WINDOW);
+    }
+
+    // maxWindow 는 매핑 구간의 상한이다. 확인용 하네스에서 작은 값으로 스트리밍 경로를 확인할 수 있게 열어 둔다.
+    static List<String> headLines(Path path, int n, int maxWindow) throws IOException {
+        if (n < 0) {
+            throw new IllegalArgumentException("n 은 0 이상이어야 한다: " + n);
+        }
+        List<String> lines = new ArrayList<>(Math.min(n, 16));
+        if (n == 0) {
+            return lines;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long window = Math.min(Math.min(PAGE_SIZE, size), maxWindow);
+            while (true) {
+                lines.clear();
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, window);
+                boolean complete = split(mapped, (int) window, window == size, n, lines);
+                if (complete || window == size) {
+                    return lines;
+                }
+                if (window == maxWindow) {
+                    break;
+                }
+                window = Math.min(Math.min(window * 2, size), maxWindow);
+            }
+        }
+        return readLines(path, n);
+    }
+
+    // 매핑 상한 안에서 끝나지 않는 경우에만 쓰는 경로라서 BufferedReader 로 읽는다.
+    // InputStreamReader 는 new String 과 같이 잘못된 UTF-8 을 대체 문자로 바꾼다.
+    private static List<String> readLines(Path path, int n) throws IOException {
+        List<String> lines = new ArrayList<>(Math.min(n, 16));
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8))) {
+            String line;
+            while (lines.size() < n && (line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    // buf 의 [0, limit) 를 줄로 나눈다. 끝까지 안 가고 n 줄을 찾았거나, 매핑이 파일 끝까지면 true
+    // 매핑 구간이 '\r' 로 끝나면 뒤에 '\n' 이 올지 알 수 없으므로 끝까지가 아닐 때는 false 를 돌려 다시 매핑하게 한다.
+    private static boolean split(MappedByteBuffer buf, int limit, boolean endOfFile, int n, List<String> lines) {
+        int start = 0;
+        for (int i = 0; i < limit; i++) {
+            byte b = buf.get(i);
+            if (b != '\n' && b != '\r') {
+                continue;
+            }
+            if (b == '\r' && i + 1 == limit && !endOfFile) {
+                return false;
+            }
+            lines.add(decode(buf, start, i));
+            if (lines.size() == n) {
+                return true;
+            }
+            if (b == '\r' && i + 1 < limit && buf.get(i + 1) == '\n') {
+                i++;
+            }
+            start = i + 1;
+        }
+        if (endOfFile && start < limit) {
+            lines.add(decode(buf, start, limit));
+            return true;
+        }
+        return endOfFile;
+    }
+
+    private static String decode(MappedByteBuffer buf, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buf.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
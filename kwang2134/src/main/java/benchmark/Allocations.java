@@ -0,0 +1,21 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * main 하네스들이 함께 쓰는 할당량 측정 도구
+ *  - 현재 스레드가 지금까지 할당한 바이트 수를 읽음 (측정 구간 앞뒤 값의 차이로 B/op 계산)
+ *  - HotSpot 의 com.sun.management.ThreadMXBean 이 없는 JVM 이면 항상 0
+ */
+public final class Allocations {
+    private static final com.sun.management.ThreadMXBean BEAN =
+            ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean ? bean : null;
+
+    private Allocations() {
+        throw new RuntimeException("생성 불가 클래스");
+    }
+
+    public static long allocatedBytes() {
+        return BEAN != null ? BEAN.getCurrentThreadAllocatedBytes() : 0L;
+    }
+}
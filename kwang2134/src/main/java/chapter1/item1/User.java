@@ -1,5 +1,11 @@
 package chapter1.item1;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
 public class User {
     private String name;
     private int age;
@@ -30,6 +36,18 @@ public class User {
         return guest;
     }
 
+    /**
+     * 인터닝 테이블에서 키 객체 없이 값 비교를 하기 위한 메서드
+     * department 는 일반 User 인 경우 null
+     */
+    boolean matches(String name, int age, String gender, String department) {
+        return department == null && matchesFields(name, age, gender);
+    }
+
+    final boolean matchesFields(String name, int age, String gender) {
+        return this.age == age && Objects.equals(this.name, name) && Objects.equals(this.gender, gender);
+    }
+
     /**
      * 3. 반환 타입의 하위 타입 객체를 반환할 수 있는 능력이 있다
      *  - Manager는 User의 하위 타입 + department 필드 추가
@@ -42,6 +60,11 @@ public class User {
             this.department = department;
         }
 
+        @Override
+        boolean matches(String name, int age, String gender, String department) {
+            return Objects.equals(this.department, department) && matchesFields(name, age, gender);
+        }
+
         public void manage() {
             System.out.println("매니저용 추가 메서드");
         }
@@ -64,6 +87,29 @@ public class User {
         }
     }
 
+    /**
+     * 2-1. 인터닝 모드
+     *  - of / ofType 과 같은 규칙으로 객체를 만들되 값이 같으면 캐싱된 정규 인스턴스를 반환
+     *  - 이벤트 스트림처럼 같은 값의 유저를 반복해서 만드는 경우 할당과 GC 부담을 줄임
+     *  - 테이블 크기는 INTERN_TABLE_SIZE 로 제한되고 같은 슬롯에 다른 값이 들어오면 기존 인스턴스를 덮어씀
+     *  - 반환된 인스턴스는 공유되므로 필드를 변경하는 메서드를 추가하면 안 됨
+     */
+    private static final int INTERN_TABLE_SIZE = 10_000;
+    private static final UserInterner interner = new UserInterner(INTERN_TABLE_SIZE);
+
+    public static User ofInterned(String name, int age, String gender) {
+        return interner.intern(name, age, gender, null);
+    }
+
+    public static User ofTypeInterned(String name, int age, String gender, String department) {
+        return interner.intern(name, age, gender, department);
+    }
+
+    // hit / miss / eviction 카운터 조회용
+    public static UserInterner interner() {
+        return interner;
+    }
+
     /**
      * 5. 정적 팩터리 메서드를 작성하는 시점에는 반환할 객체의 클래스가 존재하지 않아도 된다
      *  - 외부 라이브러리에서 제공하는 User의 하위 타입을 나중에 반환하도록 할 수 있다
@@ -77,18 +123,109 @@ public class User {
         User create(String name, int age, String gender);
     }
 
-    class UserFactoryRegistry {
-        private static UserFactory factory = User::new;
+    /**
+     * 여러 팩터리를 이름(하위 타입, 테넌트 등)으로 등록해 두고 골라 쓰는 레지스트리
+     *  - 등록된 팩터리 전체를 불변 Snapshot 으로 묶고 AtomicReference 하나로 교체 (copy-on-write)
+     *  - 쓰기는 CAS 루프로 새 스냅샷을 만들어 원자적으로 발행하고 그때마다 version 을 1 증가
+     *  - 읽기는 volatile 읽기 한 번으로 끝나서 락이나 경합 없이 writer 와 동시에 진행 가능
+     *  - 반복 생성 시에는 snapshot() 을 한 번 받아 두고 재사용하면 그 사이 교체와 무관하게 일관된 팩터리 집합을 사용
+     */
+    static class UserFactoryRegistry {
+        public static final String DEFAULT = "default";
+
+        /**
+         * 특정 시점에 발행된 팩터리 집합
+         * 내부 맵은 발행 이후 절대 변경되지 않음
+         */
+        public static final class Snapshot {
+            private final long version;
+            private final Map<String, UserFactory> factories;
+
+            private Snapshot(long version, Map<String, UserFactory> factories) {
+                this.version = version;
+                this.factories = factories;
+            }
+
+            public long version() {
+                return version;
+            }
+
+            public UserFactory factory(String key) {
+                UserFactory factory = factories.get(key);
+                if (factory == null) {
+                    throw new IllegalArgumentException("등록되지 않은 팩터리: " + key);
+                }
+                return factory;
+            }
+
+            public User create(String key, String name, int age, String gender) {
+                return factory(key).create(name, age, gender);
+            }
+
+            public Set<String> keys() {
+                return factories.keySet();
+            }
+        }
+
+        private static final AtomicReference<Snapshot> current =
+                new AtomicReference<>(new Snapshot(0L, Map.of(DEFAULT, User::new)));
 
         public static void registerFactory(UserFactory newFactory) {
-            factory = newFactory;
+            registerFactory(DEFAULT, newFactory);
         }
 
-        public static User create(String name, int age, String gender) {
-            return factory.create(name, age, gender);
+        /**
+         * 이름으로 팩터리를 등록하거나 교체하고 새 버전을 반환
+         */
+        public static long registerFactory(String key, UserFactory newFactory) {
+            Objects.requireNonNull(key);
+            Objects.requireNonNull(newFactory);
+            while (true) {
+                Snapshot prev = current.get();
+                Map<String, UserFactory> next = new HashMap<>(prev.factories);
+                next.put(key, newFactory);
+                Snapshot updated = new Snapshot(prev.version + 1, Map.copyOf(next));
+                if (current.compareAndSet(prev, updated)) {
+                    return updated.version;
+                }
+            }
+        }
+
+        /**
+         * 기본 팩터리는 제거할 수 없음
+         */
+        public static long unregisterFactory(String key) {
+            if (DEFAULT.equals(key)) {
+                throw new IllegalArgumentException("기본 팩터리는 제거할 수 없음");
+            }
+            while (true) {
+                Snapshot prev = current.get();
+                if (!prev.factories.containsKey(key)) {
+                    return prev.version;
+                }
+                Map<String, UserFactory> next = new HashMap<>(prev.factories);
+                next.remove(key);
+                Snapshot updated = new Snapshot(prev.version + 1, Map.copyOf(next));
+                if (current.compareAndSet(prev, updated)) {
+                    return updated.version;
+                }
+            }
+        }
+
+        public static Snapshot snapshot() {
+            return current.get();
         }
-    }
 
+        public static long version() {
+            return current.get().version;
+        }
 
+        public static User create(String name, int age, String gender) {
+            return current.get().create(DEFAULT, name, age, gender);
+        }
 
+        public static User create(String key, String name, int age, String gender) {
+            return current.get().create(key, name, age, gender);
+        }
+    }
 }
@@ -0,0 +1,109 @@
+package chapter1.item1;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * writer 가 팩터리를 계속 교체하는 동안 reader 스레드 수를 1..N 으로 늘려가며 create 처리량 측정
+ *  - reader 는 락 없이 스냅샷을 읽기 때문에 스레드 수에 비례해 처리량이 늘어나야 함
+ *  - reader 한 번의 create 최대 지연도 함께 출력해 writer 교체 중 막히는 구간이 없는지 확인
+ *  - 실행: java chapter1.item1.UserFactoryRegistryBenchmark [최대 스레드 수] [측정 시간(ms)]
+ */
+public class UserFactoryRegistryBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        long durationMillis = args.length > 1 ? Long.parseLong(args[1]) : 1_000L;
+
+        User.UserFactoryRegistry.registerFactory("manager",
+                (name, age, gender) -> User.createManager(name, age, gender, "dev"));
+
+        // 워밍업
+        run(1, durationMillis / 2, false);
+
+        for (int threads = 1; threads <= maxThreads; threads <<= 1) {
+            run(threads, durationMillis, true);
+        }
+        System.out.println("final version = " + User.UserFactoryRegistry.version());
+    }
+
+    private static void run(int readers, long durationMillis, boolean print) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder ops = new LongAdder();
+        LongAdder swaps = new LongAdder();
+        long[] maxLatency = new long[readers];
+        CountDownLatch ready = new CountDownLatch(readers + 1);
+        CountDownLatch start = new CountDownLatch(1);
+
+        Thread[] workers = new Thread[readers];
+        for (int t = 0; t < readers; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                ready.countDown();
+                await(start);
+                long local = 0;
+                long max = 0;
+                String key = (id & 1) == 0 ? User.UserFactoryRegistry.DEFAULT : "manager";
+                while (running.get()) {
+                    long begin = System.nanoTime();
+                    User user = User.UserFactoryRegistry.create(key, "user", 20, "male");
+                    long latency = System.nanoTime() - begin;
+                    if (latency > max) {
+                        max = latency;
+                    }
+                    if (user != null) {
+                        local++;
+                    }
+                }
+                ops.add(local);
+                maxLatency[id] = max;
+            });
+        }
+
+        // 계속해서 default 팩터리를 교체하는 writer
+        Thread writer = new Thread(() -> {
+            ready.countDown();
+            await(start);
+            boolean flip = false;
+            while (running.get()) {
+                User.UserFactoryRegistry.registerFactory(flip
+                        ? User::new
+                        : (name, age, gender) -> new User(name, age, gender));
+                flip = !flip;
+                swaps.increment();
+                Thread.onSpinWait();
+            }
+        });
+
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        writer.start();
+        ready.await();
+        start.countDown();
+        Thread.sleep(durationMillis);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        writer.join();
+
+        if (print) {
+            long worst = 0;
+            for (long latency : maxLatency) {
+                worst = Math.max(worst, latency);
+            }
+            System.out.printf("readers=%2d  %,14.0f create/s  swaps=%,d  max create latency=%,d ns%n",
+                    readers, ops.sum() * 1000.0 / durationMillis, swaps.sum(), worst);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package chapter1.item1;
+
+import benchmark.Allocations;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * new User(...) 경로와 인터닝 경로의 할당량 / GC 부담 비교
+ *  - 이벤트 스트림처럼 적은 수의 서로 다른 값이 반복해서 들어오는 상황을 가정
+ *  - 스레드 할당 바이트(com.sun.management.ThreadMXBean)와 GC 횟수/시간을 함께 측정
+ *  - 실행: java chapter1.item1.UserInternBenchmark [반복 횟수] [서로 다른 값 개수]
+ */
+public class UserInternBenchmark {
+
+    private static final String[] GENDERS = {"male", "female"};
+    private static final String[] DEPARTMENTS = {null, "dev", "sales", "hr"};
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+        int distinct = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+
+        String[] names = new String[distinct];
+        for (int i = 0; i < distinct; i++) {
+            names[i] = "user" + i;
+        }
+
+        // 워밍업
+        run("warmup-new", names, iterations / 10, false);
+        run("warmup-interned", names, iterations / 10, true);
+        User.interner().clear();
+
+        run("new User", names, iterations, false);
+        run("interned", names, iterations, true);
+        System.out.println(User.interner());
+    }
+
+    private static void run(String label, String[] names, int iterations, boolean interned) {
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcTime();
+        long allocatedBefore = Allocations.allocatedBytes();
+        long start = System.nanoTime();
+
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            int idx = i % names.length;
+            String gender = GENDERS[idx & 1];
+            String department = DEPARTMENTS[idx & 3];
+            User user = interned
+                    ? User.ofTypeInterned(names[idx], idx % 60, gender, department)
+                    : User.ofType(names[idx], idx % 60, gender, department);
+            sink += System.identityHashCode(user) & 1;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        long allocated = Allocations.allocatedBytes() - allocatedBefore;
+        if (label.startsWith("warmup")) {
+            return;
+        }
+        System.out.printf("%-10s %8.2f ns/op  %8.2f B/op  gc=%d (%d ms)  [sink=%d]%n",
+                label,
+                (double) elapsed / iterations,
+                (double) allocated / iterations,
+                gcCount() - gcCountBefore,
+                gcTime() - gcTimeBefore,
+                sink);
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return time;
+    }
+}
@@ -0,0 +1,155 @@
+package chapter1.item1;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 정적 팩터리의 "호출될 때마다 인스턴스를 생성하지 않아도 된다" 장점을 일반화한 플라이웨이트 테이블
+ *  - (name, age, gender, department) 값이 같으면 캐싱된 정규 인스턴스를 반환
+ *  - 2의 거듭제곱 크기 배열에 해시로 바로 접근하고 인접한 두 슬롯을 한 세트로 쓰는 2-way 구조
+ *    조회할 때 별도의 키 객체를 만들지 않으므로 hit 시 할당이 전혀 없음
+ *  - 세트가 가득 찬 상태에서 다른 값이 들어오면 둘 중 하나를 덮어씀 (크기 기반 제거)
+ *  - AtomicReferenceArray 로 슬롯을 읽고 써서 여러 스레드에서 안전하게 공유
+ *  - hit / miss / eviction 횟수를 기록
+ */
+public class UserInterner {
+
+    private final AtomicReferenceArray<User> slots;
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserInterner(int maxSize) {
+        if (maxSize <= 0 || maxSize > (1 << 30)) {
+            throw new IllegalArgumentException("maxSize는 1 이상 2^30 이하여야 함: " + maxSize);
+        }
+        int capacity = Integer.highestOneBit(maxSize);
+        if (capacity < maxSize) {
+            capacity <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * 같은 값의 정규 인스턴스가 있으면 반환하고 없으면 새로 만들어 슬롯에 등록
+     * department 가 null 이거나 공백이면 User, 아니면 Manager (ofType 과 같은 기준)
+     */
+    User intern(String name, int age, String gender, String department) {
+        String dept = (department == null || department.isBlank()) ? null : department;
+        int hash = spread(name, age, gender, dept);
+        int first = hash & mask;
+        int second = first ^ 1;
+
+        User firstCached = slots.get(first);
+        if (firstCached != null && firstCached.matches(name, age, gender, dept)) {
+            hits.increment();
+            return firstCached;
+        }
+        User secondCached = slots.get(second);
+        if (secondCached != null && secondCached.matches(name, age, gender, dept)) {
+            hits.increment();
+            return secondCached;
+        }
+
+        User created = dept == null
+                ? new User(name, age, gender)
+                : new User.Manager(name, age, gender, dept);
+
+        // 빈 슬롯이 있으면 그 자리에, 둘 다 차 있으면 해시의 상위 비트로 제거할 슬롯을 고름
+        int index;
+        User expected;
+        if (firstCached == null) {
+            index = first;
+            expected = null;
+        } else if (secondCached == null) {
+            index = second;
+            expected = null;
+        } else if (hash < 0) {
+            index = first;
+            expected = firstCached;
+        } else {
+            index = second;
+            expected = secondCached;
+        }
+
+        User witness = slots.compareAndExchange(index, expected, created);
+        if (witness != expected) {
+            // 다른 스레드가 먼저 같은 값을 등록했다면 그 인스턴스를 사용
+            if (witness != null && witness.matches(name, age, gender, dept)) {
+                hits.increment();
+                return witness;
+            }
+            slots.set(index, created);
+            expected = witness;
+        }
+
+        misses.increment();
+        if (expected != null) {
+            evictions.increment();
+        }
+        return created;
+    }
+
+    /**
+     * 필드별 해시를 섞어 슬롯 인덱스를 고르게 분산
+     * "user1", "user2" 처럼 비슷한 문자열은 31 곱셈 해시의 하위 비트가 몰리므로 murmur3 fmix32 로 한 번 더 섞음
+     */
+    private static int spread(String name, int age, String gender, String department) {
+        int h = name != null ? name.hashCode() : 0;
+        h = 31 * h + age;
+        h = 31 * h + (gender != null ? gender.hashCode() : 0);
+        h = 31 * h + (department != null ? department.hashCode() : 0);
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public double hitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("UserInterner{size=%d/%d, hits=%d, misses=%d, evictions=%d}",
+                size(), capacity(), hitCount(), missCount(), evictionCount());
+    }
+}
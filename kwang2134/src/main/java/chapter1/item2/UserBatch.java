@@ -0,0 +1,157 @@
+package chapter1.item2;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 대량의 유저를 열(column) 배열로 보관하는 struct-of-arrays 뷰
+ *  - 레코드마다 Builder 와 UserWithBuilder 를 만들지 않으므로 CSV/JSON 덤프 적재 시 young 영역 할당이 크게 줄어듦
+ *  - 필요한 경우에만 get(i) / materialize() 로 실제 UserWithBuilder 객체를 생성
+ *  - 생성 이후 내부 배열은 외부에 노출되지 않으며 변경되지 않음
+ */
+public final class UserBatch {
+    private final String[] names;
+    private final int[] ages;
+    private final String[] genders;
+    private final int size;
+
+    private UserBatch(String[] names, int[] ages, String[] genders, int size) {
+        this.names = names;
+        this.ages = ages;
+        this.genders = genders;
+        this.size = size;
+    }
+
+    /**
+     * 병렬 배열로부터 생성
+     * 호출자가 이후 배열을 수정해도 영향이 없도록 방어적 복사
+     * ages / genders 가 null 이면 선택 매개변수 기본값(0, null)으로 채움
+     */
+    public static UserBatch of(String[] names, int[] ages, String[] genders) {
+        Objects.requireNonNull(names);
+        int size = names.length;
+        if ((ages != null && ages.length != size) || (genders != null && genders.length != size)) {
+            throw new IllegalArgumentException("열 길이가 서로 다름");
+        }
+        return new UserBatch(
+                names.clone(),
+                ages != null ? ages.clone() : new int[size],
+                genders != null ? genders.clone() : new String[size],
+                size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String name(int index) {
+        Objects.checkIndex(index, size);
+        return names[index];
+    }
+
+    public int age(int index) {
+        Objects.checkIndex(index, size);
+        return ages[index];
+    }
+
+    public String gender(int index) {
+        Objects.checkIndex(index, size);
+        return genders[index];
+    }
+
+    /**
+     * index 위치의 레코드를 객체로 생성
+     */
+    public UserWithBuilder get(int index) {
+        Objects.checkIndex(index, size);
+        return new UserWithBuilder(names[index], ages[index], genders[index]);
+    }
+
+    /**
+     * 모든 레코드를 한 번에 객체로 생성
+     */
+    public UserWithBuilder[] materialize() {
+        UserWithBuilder[] users = new UserWithBuilder[size];
+        for (int i = 0; i < size; i++) {
+            users[i] = new UserWithBuilder(names[i], ages[i], genders[i]);
+        }
+        return users;
+    }
+
+    /**
+     * 접근할 때마다 객체를 만드는 읽기 전용 List 뷰
+     * 전체를 materialize 하지 않고 일부만 순회하는 경우에 사용
+     */
+    public List<UserWithBuilder> asList() {
+        return new AbstractList<>() {
+            @Override
+            public UserWithBuilder get(int index) {
+                return UserBatch.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * 한 행씩 추가하며 UserBatch 를 만드는 빌더
+     * 열 배열을 두 배씩 늘려가며 채우고 build() 시 실제 크기만큼 잘라서 넘김
+     */
+    public static final class Builder {
+        private static final int DEFAULT_CAPACITY = 16;
+
+        private String[] names;
+        private int[] ages;
+        private String[] genders;
+        private int size;
+
+        public Builder() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        public Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 1);
+            names = new String[capacity];
+            ages = new int[capacity];
+            genders = new String[capacity];
+        }
+
+        public Builder add(String name, int age, String gender) {
+            if (size == names.length) {
+                grow();
+            }
+            names[size] = Objects.requireNonNull(name);
+            ages[size] = age;
+            genders[size] = gender;
+            size++;
+            return this;
+        }
+
+        private void grow() {
+            int capacity = names.length * 2;
+            names = Arrays.copyOf(names, capacity);
+            ages = Arrays.copyOf(ages, capacity);
+            genders = Arrays.copyOf(genders, capacity);
+        }
+
+        /**
+         * build() 이후 빌더는 비워져 다시 사용할 수 있음
+         */
+        public UserBatch build() {
+            UserBatch batch = new UserBatch(
+                    Arrays.copyOf(names, size),
+                    Arrays.copyOf(ages, size),
+                    Arrays.copyOf(genders, size),
+                    size);
+            Arrays.fill(names, 0, size, null);
+            Arrays.fill(genders, 0, size, null);
+            size = 0;
+            return batch;
+        }
+    }
+}
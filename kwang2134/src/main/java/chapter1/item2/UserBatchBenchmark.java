@@ -0,0 +1,87 @@
+package chapter1.item2;
+
+import benchmark.Allocations;
+
+/**
+ * 레코드마다 new Builder(name).age(..).gender(..).build() 를 호출하는 방식과
+ * 빌더 재사용(reset), UserBatch(struct-of-arrays) 방식의 시간 / 할당량 비교
+ *  - 실행: java chapter1.item2.UserBatchBenchmark [레코드 수]
+ */
+public class UserBatchBenchmark {
+
+    public static void main(String[] args) {
+        int records = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+
+        String[] names = new String[records];
+        int[] ages = new int[records];
+        String[] genders = new String[records];
+        for (int i = 0; i < records; i++) {
+            names[i] = "user" + (i % 10_000);
+            ages[i] = i % 80;
+            genders[i] = (i & 1) == 0 ? "male" : "female";
+        }
+
+        for (int round = 0; round < 3; round++) {
+            boolean print = round == 2;
+            measure("new Builder per record", print, records, () -> perRecord(names, ages, genders));
+            measure("reused Builder (reset)", print, records, () -> reusedBuilder(names, ages, genders));
+            measure("UserBatch view", print, records, () -> batchView(names, ages, genders));
+            measure("UserBatch materialize", print, records, () -> batchMaterialize(names, ages, genders));
+        }
+    }
+
+    // 적재 상황을 가정해 생성한 객체를 배열에 보관 (보관하지 않으면 JIT 가 할당 자체를 제거할 수 있음)
+    private static long perRecord(String[] names, int[] ages, String[] genders) {
+        UserWithBuilder[] users = new UserWithBuilder[names.length];
+        for (int i = 0; i < names.length; i++) {
+            users[i] = new UserWithBuilder.Builder(names[i]).age(ages[i]).gender(genders[i]).build();
+        }
+        return sum(users);
+    }
+
+    private static long reusedBuilder(String[] names, int[] ages, String[] genders) {
+        UserWithBuilder[] users = new UserWithBuilder[names.length];
+        UserWithBuilder.Builder builder = new UserWithBuilder.Builder(null);
+        for (int i = 0; i < names.length; i++) {
+            users[i] = builder.reset(names[i]).age(ages[i]).gender(genders[i]).build();
+        }
+        return sum(users);
+    }
+
+    private static long batchView(String[] names, int[] ages, String[] genders) {
+        UserBatch batch = UserWithBuilder.batch(names, ages, genders);
+        long sink = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            sink += batch.age(i);
+        }
+        return sink;
+    }
+
+    private static long batchMaterialize(String[] names, int[] ages, String[] genders) {
+        return sum(UserWithBuilder.batch(names, ages, genders).materialize());
+    }
+
+    private static long sum(UserWithBuilder[] users) {
+        long sink = 0;
+        for (UserWithBuilder user : users) {
+            sink += user.getAge();
+        }
+        return sink;
+    }
+
+    interface Task {
+        long run();
+    }
+
+    private static void measure(String label, boolean print, int records, Task task) {
+        long allocatedBefore = Allocations.allocatedBytes();
+        long start = System.nanoTime();
+        long sink = task.run();
+        long elapsed = System.nanoTime() - start;
+        long allocated = Allocations.allocatedBytes() - allocatedBefore;
+        if (print) {
+            System.out.printf("%-24s %7.2f ns/record  %7.2f B/record  [sink=%d]%n",
+                    label, (double) elapsed / records, (double) allocated / records, sink);
+        }
+    }
+}
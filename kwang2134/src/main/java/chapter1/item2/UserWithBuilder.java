@@ -11,8 +11,8 @@ public class UserWithBuilder {
      * 그 다음 빌더 객체가 제공하는 세터 메서드로 원하는 선택 매개변수 설정
      */
     static class Builder {
-        // 필수 매개변수
-        private final String name;
+        // 필수 매개변수 (reset 으로 재사용할 수 있도록 final 이 아님)
+        private String name;
 
         // 선택 매개변수
         private int age;
@@ -35,6 +35,19 @@ public class UserWithBuilder {
         public UserWithBuilder build() {
             return new UserWithBuilder(this);
         }
+
+        /**
+         * 빌더 재사용
+         * 레코드마다 빌더를 새로 만들지 않고 build() 후 다음 필수 값으로 초기화해 다시 사용
+         * 선택 매개변수는 기본값으로 되돌림
+         * 빌더는 상태를 가지므로 스레드 간에 공유하면 안 됨
+         */
+        public Builder reset(String name) {
+            this.name = name;
+            this.age = 0;
+            this.gender = null;
+            return this;
+        }
     }
 
     private UserWithBuilder(Builder builder) {
@@ -42,4 +55,31 @@ public class UserWithBuilder {
         this.age = builder.age;
         this.gender = builder.gender;
     }
+
+    // UserBatch 에서 빌더 없이 바로 객체를 만들 때 사용
+    UserWithBuilder(String name, int age, String gender) {
+        this.name = name;
+        this.age = age;
+        this.gender = gender;
+    }
+
+    /**
+     * 대량 생성용 정적 팩터리
+     * 열(column) 단위 배열을 받아 빌더 없이 struct-of-arrays 형태의 UserBatch 로 묶음
+     */
+    public static UserBatch batch(String[] names, int[] ages, String[] genders) {
+        return UserBatch.of(names, ages, genders);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public String getGender() {
+        return gender;
+    }
 }
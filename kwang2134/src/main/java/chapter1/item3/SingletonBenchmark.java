@@ -0,0 +1,186 @@
+package chapter1.item3;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 네 가지 싱글톤 방식의 시작 비용과 사용 비용 비교
+ *  1. 클래스 초기화 비용: 새 클래스 로더로 클래스를 로딩 + 초기화하는 데 걸린 시간
+ *  2. 첫 접근 지연: 초기화 직후 처음 인스턴스를 얻는 데 걸린 시간 (지연 초기화 방식은 여기서 생성 비용을 냄)
+ *  3. 동시 시작: 새 클래스 로더에서 여러 스레드가 동시에 처음 접근할 때 모두 끝날 때까지의 시간
+ *  4. 정상 상태 처리량: 초기화가 끝난 뒤 여러 스레드에서 인스턴스를 반복해서 얻는 처리량
+ *  - 클래스 초기화는 JVM 당 한 번뿐이므로 1~3 은 매 샘플마다 새 URLClassLoader 로 클래스를 다시 로딩해서 측정
+ *  - 1~3 의 첫 접근은 리플렉션을 거치므로 절대값보다 방식 간 상대 비교로 볼 것
+ *  - 실행: java chapter1.item3.SingletonBenchmark [샘플 수] [스레드 수]
+ */
+public class SingletonBenchmark {
+
+    private enum Variant {
+        ENUM(User_enum_singleton.class, "INSTANCE", null, () -> User_enum_singleton.INSTANCE),
+        PUBLIC_FIELD(User_private_static_final_singleton.class, "INSTANCE", null,
+                () -> User_private_static_final_singleton.INSTANCE),
+        STATIC_FACTORY(User_static_factory_singleton.class, null, "getInstance",
+                User_static_factory_singleton::getInstance),
+        LAZY_HOLDER(User_lazy_holder_singleton.class, null, "getInstance",
+                User_lazy_holder_singleton::getInstance);
+
+        final Class<?> type;
+        final String fieldName;
+        final String methodName;
+        final Supplier<Object> direct;
+
+        Variant(Class<?> type, String fieldName, String methodName, Supplier<Object> direct) {
+            this.type = type;
+            this.fieldName = fieldName;
+            this.methodName = methodName;
+            this.direct = direct;
+        }
+
+        // 새로 로딩한 클래스에서 인스턴스를 얻음
+        Object access(Class<?> loaded) throws ReflectiveOperationException {
+            if (fieldName != null) {
+                Field field = loaded.getField(fieldName);
+                return field.get(null);
+            }
+            Method method = loaded.getMethod(methodName);
+            return method.invoke(null);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int samples = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        URL codeSource = SingletonBenchmark.class.getProtectionDomain().getCodeSource().getLocation();
+
+        // 리플렉션 경로 워밍업
+        for (Variant variant : Variant.values()) {
+            measureStartup(variant, codeSource, samples / 4 + 1);
+        }
+
+        System.out.printf("%-15s %14s %14s %18s%n", "variant", "class init(ns)", "first get(ns)", "concurrent start(ns)");
+        for (Variant variant : Variant.values()) {
+            long[] startup = measureStartup(variant, codeSource, samples);
+            long concurrent = measureConcurrentStartup(variant, codeSource, samples, threads);
+            System.out.printf("%-15s %14d %14d %18d%n", variant, startup[0], startup[1], concurrent);
+        }
+
+        System.out.println();
+        for (Variant variant : Variant.values()) {
+            measureThroughput(variant, threads, 200);
+        }
+        for (Variant variant : Variant.values()) {
+            double opsPerSec = measureThroughput(variant, threads, 1_000);
+            System.out.printf("%-15s threads=%d  %,16.0f getInstance/s%n", variant, threads, opsPerSec);
+        }
+    }
+
+    /**
+     * {클래스 초기화 중앙값, 첫 접근 중앙값}
+     */
+    private static long[] measureStartup(Variant variant, URL codeSource, int samples) throws Exception {
+        long[] init = new long[samples];
+        long[] first = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            try (URLClassLoader loader = freshLoader(codeSource)) {
+                long t0 = System.nanoTime();
+                Class<?> loaded = Class.forName(variant.type.getName(), true, loader);
+                long t1 = System.nanoTime();
+                Object instance = variant.access(loaded);
+                long t2 = System.nanoTime();
+                if (instance == null) {
+                    throw new IllegalStateException();
+                }
+                init[i] = t1 - t0;
+                first[i] = t2 - t1;
+            }
+        }
+        return new long[]{median(init), median(first)};
+    }
+
+    private static long measureConcurrentStartup(Variant variant, URL codeSource, int samples, int threads)
+            throws Exception {
+        long[] elapsed = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            try (URLClassLoader loader = freshLoader(codeSource)) {
+                Class<?> loaded = Class.forName(variant.type.getName(), false, loader);
+                CountDownLatch ready = new CountDownLatch(threads);
+                CountDownLatch start = new CountDownLatch(1);
+                CountDownLatch done = new CountDownLatch(threads);
+                Object[] seen = new Object[threads];
+                for (int t = 0; t < threads; t++) {
+                    int id = t;
+                    Thread thread = new Thread(() -> {
+                        ready.countDown();
+                        try {
+                            start.await();
+                            seen[id] = variant.access(loaded);
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        } finally {
+                            done.countDown();
+                        }
+                    });
+                    thread.start();
+                }
+                ready.await();
+                long t0 = System.nanoTime();
+                start.countDown();
+                done.await();
+                elapsed[i] = System.nanoTime() - t0;
+
+                // 모든 스레드가 같은 인스턴스를 받았는지 확인
+                for (Object instance : seen) {
+                    if (instance != seen[0]) {
+                        throw new IllegalStateException(variant + " 싱글톤 위반");
+                    }
+                }
+            }
+        }
+        return median(elapsed);
+    }
+
+    private static double measureThroughput(Variant variant, int threads, long durationMillis)
+            throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder ops = new LongAdder();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                long local = 0;
+                while (running.get()) {
+                    for (int i = 0; i < 1_000; i++) {
+                        if (variant.direct.get() != null) {
+                            local++;
+                        }
+                    }
+                }
+                ops.add(local);
+            });
+            workers[t].start();
+        }
+        Thread.sleep(durationMillis);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return ops.sum() * 1000.0 / durationMillis;
+    }
+
+    // 부모를 플랫폼 로더로 두어 애플리케이션 클래스패스의 이미 초기화된 클래스를 공유하지 않음
+    private static URLClassLoader freshLoader(URL codeSource) {
+        return new URLClassLoader(new URL[]{codeSource}, ClassLoader.getPlatformClassLoader());
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
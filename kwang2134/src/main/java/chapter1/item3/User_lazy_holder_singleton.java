@@ -0,0 +1,30 @@
+package chapter1.item3;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class User_lazy_holder_singleton {
+    // 리플렉션으로 생성자를 다시 호출하는 경우를 막는 가드, Holder 가 초기화될 때 처음 한 번만 통과
+    private static final AtomicBoolean isInitialized = new AtomicBoolean(false);
+
+    /**
+     * 지연 초기화 홀더(initialization-on-demand holder) 방식 싱글톤
+     * 바깥 클래스가 로딩/초기화되어도 INSTANCE 는 생성되지 않고
+     * getInstance() 가 처음 호출되어 Holder 클래스가 초기화되는 순간 생성됨
+     * 클래스 초기화는 JVM 이 락으로 한 번만 수행하도록 보장하므로 별도의 동기화나 volatile 없이도 스레드 안전
+     * 초기화 이후 getInstance() 는 단순 정적 필드 읽기라 정적 팩터리 방식과 비용이 같음
+     * 서비스 시작 시점이 아닌 처음 사용하는 시점으로 생성 비용을 미룰 수 있음
+     */
+    private static class Holder {
+        private static final User_lazy_holder_singleton INSTANCE = new User_lazy_holder_singleton();
+    }
+
+    private User_lazy_holder_singleton() {
+        if(!isInitialized.compareAndSet(false, true)) {
+            throw new RuntimeException("이미 인스턴스가 생성됨 - 싱글톤 위반");
+        }
+    }
+
+    public static User_lazy_holder_singleton getInstance() {
+        return Holder.INSTANCE;
+    }
+}
@@ -1,6 +1,11 @@
 package chapter1.item3;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 public class User_private_static_final_singleton {
+    // 리플렉션으로 생성자를 다시 호출하는 경우를 막는 가드, INSTANCE 보다 먼저 선언해야 초기값으로 다시 덮어써지지 않음
+    private static final AtomicBoolean isInitialized = new AtomicBoolean(false);
+
     /**
      * private static final 필드를 통해 정적 인스턴스를 생성하고
      * User_private_static_final_singleton.INSTANCE 를 통해 싱글톤 객체를 얻는 방식
@@ -8,12 +13,9 @@ public class User_private_static_final_singleton {
      */
     public static final User_private_static_final_singleton INSTANCE = new User_private_static_final_singleton();
 
-    private static boolean isInitialized = false;
-
     private User_private_static_final_singleton() {
-        if(isInitialized) {
+        if(!isInitialized.compareAndSet(false, true)) {
             throw new RuntimeException("이미 인스턴스가 생성됨 - 싱글톤 위반");
         }
-        isInitialized = true;
     }
 }
@@ -1,6 +1,11 @@
 package chapter1.item3;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 public class User_static_factory_singleton {
+    // 리플렉션으로 생성자를 다시 호출하는 경우를 막는 가드, INSTANCE 보다 먼저 선언해야 초기값으로 다시 덮어써지지 않음
+    private static final AtomicBoolean isInitialized = new AtomicBoolean(false);
+
     /**
      * 정적 팩터리 방식 싱글톤
      * private 생성자로 INSTANCE가 초기화 될 때 딱 한 번만 호출을 보장
@@ -9,13 +14,10 @@ public class User_static_factory_singleton {
      */
     private static final User_static_factory_singleton INSTANCE = new User_static_factory_singleton();
 
-    private static boolean initialized = false;
-
     private User_static_factory_singleton() {
-        if(initialized) {
+        if(!isInitialized.compareAndSet(false, true)) {
             throw new RuntimeException("이미 인스턴스가 생성됨 - 싱글톤 위반");
         }
-        initialized = true;
     }
 
     public static User_static_factory_singleton getInstance() {
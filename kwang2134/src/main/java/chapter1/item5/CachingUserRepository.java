@@ -0,0 +1,545 @@
+package chapter1.item5;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * UserService 와 느린 저장소 사이에 끼워 넣는 캐싱 데코레이터
+ * UserRepository 를 구현하고 다른 UserRepository 를 감싸므로 UserService 코드는 바꿀 필요 없음
+ *  - read-through: findById 가 캐시에 없으면 감싼 저장소에서 읽어와 캐시에 넣음
+ *  - 크기 제한 + LRU 제거, 쓰기 후 TTL 이 지나면 만료
+ *  - single-flight: 같은 id 로 동시에 캐시 miss 가 나도 감싼 저장소는 한 번만 호출하고 나머지는 그 결과를 기다림
+ *  - write-behind (선택): save 는 캐시에만 반영하고 모아 두었다가 saveAll 로 묶어서 저장
+ *  - hit / miss / 로딩 지연 / 제거 횟수 등 지표 제공
+ * 생성은 builder() 로 하고, write-behind 를 켠 경우 close() 로 남은 쓰기를 반영해야 함
+ */
+public class CachingUserRepository implements UserRepository, AutoCloseable {
+
+    private static final class Entry {
+        final User user;
+        final long writtenAt;
+
+        Entry(User user, long writtenAt) {
+            this.user = user;
+            this.writtenAt = writtenAt;
+        }
+    }
+
+    private final UserRepository delegate;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+
+    // 접근 순서로 정렬되는 LinkedHashMap 으로 LRU 구현, lock 으로 보호
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, Entry> entries;
+
+    // 로딩 중인 id 와 그 결과 (single-flight)
+    private final ConcurrentHashMap<Long, CompletableFuture<Optional<User>>> loading = new ConcurrentHashMap<>();
+
+    // write-behind, pending / flushing / tombstones 는 pendingLock 으로 보호
+    //  - pending: 아직 saveAll 에 넘기지 않은 쓰기
+    //  - flushing: 지금 saveAll 중인 묶음, 저장이 끝나기 전까지 findById 가 백엔드의 오래된 행을 읽지 않게 남겨 둠
+    //  - tombstones: saveAll 도중 삭제된 id, 저장이 실패해도 다시 대기열에 넣지 않음
+    private final boolean writeBehind;
+    private final int batchSize;
+    private final ReentrantLock pendingLock = new ReentrantLock();
+    private final Map<Long, User> pending = new LinkedHashMap<>();
+    private final Map<Long, User> flushing = new HashMap<>();
+    private final Set<Long> tombstones = new HashSet<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService flusher;
+
+    // 지표
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder totalLoadNanos = new LongAdder();
+    private final AtomicLong maxLoadNanos = new AtomicLong();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder flushedBatches = new LongAdder();
+    private final LongAdder flushedUsers = new LongAdder();
+
+    private CachingUserRepository(Builder builder) {
+        this.delegate = builder.delegate;
+        this.ttlNanos = builder.ttl == null ? 0L : builder.ttl.toNanos();
+        this.ticker = builder.ticker;
+        int maximumSize = builder.maximumSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.writeBehind = builder.writeBehindInterval != null;
+        this.batchSize = builder.writeBehindBatchSize;
+        if (writeBehind) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "user-cache-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = builder.writeBehindInterval.toNanos();
+            flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.NANOSECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    public static Builder builder(UserRepository delegate) {
+        return new Builder(delegate);
+    }
+
+    public static class Builder {
+        private final UserRepository delegate;
+        private int maximumSize = 10_000;
+        private Duration ttl;
+        private LongSupplier ticker = System::nanoTime;
+        private Duration writeBehindInterval;
+        private int writeBehindBatchSize = 100;
+
+        private Builder(UserRepository delegate) {
+            this.delegate = Objects.requireNonNull(delegate);
+        }
+
+        public Builder maximumSize(int maximumSize) {
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("maximumSize는 1 이상이어야 함: " + maximumSize);
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public Builder expireAfterWrite(Duration ttl) {
+            this.ttl = Objects.requireNonNull(ttl);
+            return this;
+        }
+
+        /**
+         * TTL 계산에 쓰는 시계 (나노초), 테스트에서 시간을 직접 조절할 때 사용
+         */
+        public Builder ticker(LongSupplier ticker) {
+            this.ticker = Objects.requireNonNull(ticker);
+            return this;
+        }
+
+        /**
+         * write-behind 모드
+         * interval 마다, 또는 쌓인 쓰기가 batchSize 에 도달하면 saveAll 로 묶어서 저장
+         */
+        public Builder writeBehind(Duration interval, int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("batchSize는 1 이상이어야 함: " + batchSize);
+            }
+            this.writeBehindInterval = Objects.requireNonNull(interval);
+            this.writeBehindBatchSize = batchSize;
+            return this;
+        }
+
+        public CachingUserRepository build() {
+            return new CachingUserRepository(this);
+        }
+    }
+
+    @Override
+    public Optional<User> findById(long id) {
+        User cached = getIfPresent(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+
+        // 캐시에서는 밀려났지만 아직 반영되지 않았거나 반영 중인 쓰기가 있을 수 있음
+        if (writeBehind) {
+            User unflushed = pendingGet(id);
+            if (unflushed != null) {
+                return Optional.of(unflushed);
+            }
+        }
+
+        CompletableFuture<Optional<User>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<User>> inFlight = loading.putIfAbsent(id, mine);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+
+        try {
+            long start = System.nanoTime();
+            Optional<User> loaded;
+            try {
+                loaded = delegate.findById(id);
+            } catch (Throwable e) {
+                // Error 도 기다리는 스레드에 전달해야 join 에서 영원히 멈추지 않음
+                loadFailures.increment();
+                mine.completeExceptionally(e);
+                throw e;
+            }
+            recordLoad(System.nanoTime() - start);
+
+            // 로딩 중에 save / delete 가 일어났다면 loading 에서 빠졌으므로 오래된 값을 넣지 않음
+            loaded.ifPresent(user -> {
+                lock.lock();
+                try {
+                    if (loading.get(id) == mine && !entries.containsKey(id)) {
+                        entries.put(id, new Entry(user, ticker.getAsLong()));
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            });
+            mine.complete(loaded);
+            return loaded;
+        } finally {
+            loading.remove(id, mine);
+        }
+    }
+
+    private static Optional<User> await(CompletableFuture<Optional<User>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private User getIfPresent(long id) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                return null;
+            }
+            if (ttlNanos > 0 && ticker.getAsLong() - entry.writtenAt >= ttlNanos) {
+                entries.remove(id);
+                expirations.increment();
+                return null;
+            }
+            return entry.user;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordLoad(long nanos) {
+        loads.increment();
+        totalLoadNanos.add(nanos);
+        maxLoadNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    @Override
+    public User save(User user) {
+        Objects.requireNonNull(user);
+        if (writeBehind) {
+            boolean full;
+            pendingLock.lock();
+            try {
+                pending.put(user.id(), user);
+                full = pending.size() >= batchSize;
+            } finally {
+                pendingLock.unlock();
+            }
+            cachePut(user);
+            if (full) {
+                flusher.execute(this::flushQuietly);
+            }
+            return user;
+        }
+        User saved = delegate.save(user);
+        cachePut(saved);
+        return saved;
+    }
+
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        if (writeBehind) {
+            List<User> saved = new ArrayList<>(users.size());
+            for (User user : users) {
+                saved.add(save(user));
+            }
+            return saved;
+        }
+        List<User> saved = delegate.saveAll(users);
+        for (User user : saved) {
+            cachePut(user);
+        }
+        return saved;
+    }
+
+    private void cachePut(User user) {
+        lock.lock();
+        try {
+            loading.remove(user.id());
+            entries.put(user.id(), new Entry(user, ticker.getAsLong()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 감싼 저장소에서 지우기 전후로 두 번 캐시에서 제거함
+     * 삭제 도중 시작된 로딩은 지우기 전의 행을 읽었을 수 있으므로, 뒤의 제거가 이미 들어간 값을 지우고
+     * loading 에서도 빼서 아직 끝나지 않은 로딩이 결과를 캐시에 넣지 못하게 함
+     */
+    @Override
+    public boolean delete(long id) {
+        evict(id);
+        try {
+            if (!writeBehind) {
+                return delegate.delete(id);
+            }
+
+            boolean wasPending;
+            pendingLock.lock();
+            try {
+                wasPending = pending.remove(id) != null;
+                if (flushing.remove(id) != null) {
+                    // 진행 중인 묶음 저장이 실패해도 이 id 를 다시 대기열에 넣지 않게 함
+                    tombstones.add(id);
+                    wasPending = true;
+                }
+            } finally {
+                pendingLock.unlock();
+            }
+            // 진행 중인 묶음 저장이 끝난 뒤 삭제해야 저장에 성공한 행도 지워짐
+            flushLock.lock();
+            try {
+                return delegate.delete(id) || wasPending;
+            } finally {
+                flushLock.unlock();
+            }
+        } finally {
+            evict(id);
+        }
+    }
+
+    private void evict(long id) {
+        lock.lock();
+        try {
+            loading.remove(id);
+            entries.remove(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 이름 / 나이 / 전체 조회는 캐시하지 않고 감싼 저장소에 위임
+     * write-behind 모드에서는 쌓인 쓰기를 먼저 반영해서 결과에 빠지지 않게 함
+     */
+    @Override
+    public List<User> findByName(String name) {
+        flush();
+        return delegate.findByName(name);
+    }
+
+    @Override
+    public List<User> findByAgeRange(int minAge, int maxAge) {
+        flush();
+        return delegate.findByAgeRange(minAge, maxAge);
+    }
+
+    @Override
+    public Stream<User> streamAll() {
+        flush();
+        return delegate.streamAll();
+    }
+
+    private User pendingGet(long id) {
+        pendingLock.lock();
+        try {
+            User user = pending.get(id);
+            return user != null ? user : flushing.get(id);
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    /**
+     * 쌓인 쓰기를 saveAll 한 번으로 반영
+     * 저장이 끝날 때까지 묶음을 flushing 에 남겨 두고, 성공한 뒤에만 뺌
+     * 실패하면 그 사이 더 새 값으로 덮어쓰이지도, 삭제되지도 않은 항목을 다시 대기열에 넣고 예외를 던짐
+     */
+    public void flush() {
+        if (!writeBehind) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            List<User> batch;
+            pendingLock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(pending.values());
+                flushing.putAll(pending);
+                pending.clear();
+            } finally {
+                pendingLock.unlock();
+            }
+
+            boolean saved = false;
+            try {
+                delegate.saveAll(batch);
+                saved = true;
+                flushedBatches.increment();
+                flushedUsers.add(batch.size());
+            } finally {
+                pendingLock.lock();
+                try {
+                    if (!saved) {
+                        for (User user : batch) {
+                            if (!tombstones.contains(user.id())) {
+                                pending.putIfAbsent(user.id(), user);
+                            }
+                        }
+                    }
+                    flushing.clear();
+                    tombstones.clear();
+                } finally {
+                    pendingLock.unlock();
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 백그라운드 반영은 실패해도 다음 주기에 다시 시도
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            System.err.println("write-behind 반영 실패, 다음 주기에 재시도: " + e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public double hitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public long loadCount() {
+        return loads.sum();
+    }
+
+    public long loadFailureCount() {
+        return loadFailures.sum();
+    }
+
+    public double averageLoadNanos() {
+        long count = loads.sum();
+        return count == 0 ? 0.0 : (double) totalLoadNanos.sum() / count;
+    }
+
+    public long maxLoadNanos() {
+        return maxLoadNanos.get();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public long expirationCount() {
+        return expirations.sum();
+    }
+
+    public long flushedBatchCount() {
+        return flushedBatches.sum();
+    }
+
+    public long flushedUserCount() {
+        return flushedUsers.sum();
+    }
+
+    public int pendingWriteCount() {
+        pendingLock.lock();
+        try {
+            return pending.size() + flushing.size();
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CachingUserRepository{size=%d, hitRatio=%.3f, hits=%d, misses=%d, loads=%d, "
+                        + "avgLoad=%.0fns, maxLoad=%dns, evictions=%d, expirations=%d, pendingWrites=%d, "
+                        + "flushedBatches=%d, flushedUsers=%d}",
+                size(), hitRatio(), hitCount(), missCount(), loadCount(),
+                averageLoadNanos(), maxLoadNanos(), evictionCount(), expirationCount(), pendingWriteCount(),
+                flushedBatchCount(), flushedUserCount());
+    }
+}
@@ -0,0 +1,290 @@
+package chapter1.item5;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CachingUserRepository 동작 확인 및 측정
+ * 느린 백엔드는 LatencyUserRepository(지연 주입) + UserMemoryRepository 로 대신함
+ *  1. single-flight: 같은 id 로 동시에 miss 가 나도 백엔드 읽기는 한 번
+ *  2. TTL: 시계를 직접 움직여 만료 확인
+ *  3. 읽기 처리량: 캐시 없음 vs read-through 캐시 (hit ratio, 로딩 지연 출력)
+ *  4. 쓰기: write-through vs write-behind (백엔드 호출 횟수, 소요 시간)
+ *  5. 삭제 도중 끝난 로딩이 지운 행을 캐시에 넣지 않는지, 로딩 중 Error 가 기다리는 스레드에 전달되는지
+ *  6. write-behind 반영 도중 읽으면 새 값이 보이는지, 반영이 실패해도 그 사이 삭제한 유저가 다시 저장되지 않는지
+ *  - 실행: java chapter1.item5.CachingUserRepositoryBenchmark [백엔드 지연(ms)]
+ */
+public class CachingUserRepositoryBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        long latencyMillis = args.length > 0 ? Long.parseLong(args[0]) : 1L;
+        Duration latency = Duration.ofMillis(latencyMillis);
+
+        singleFlight(latency);
+        ttl();
+        deleteDuringLoad();
+        loadError();
+        flushFailure();
+        reads(latency);
+        writes(latency);
+    }
+
+    private static LatencyUserRepository backend(Duration latency, int users) {
+        UserMemoryRepository memory = new UserMemoryRepository();
+        for (int i = 0; i < users; i++) {
+            memory.save(new User(i, "user" + i, i % 100));
+        }
+        return new LatencyUserRepository(memory, latency);
+    }
+
+    private static void singleFlight(Duration latency) throws InterruptedException {
+        LatencyUserRepository backend = backend(latency, 10);
+        CachingUserRepository cache = CachingUserRepository.builder(backend).build();
+        int threads = 32;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+                    cache.findById(7);
+                } catch (InterruptedException ignored) {
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+        done.await();
+        System.out.printf("[single-flight] %d concurrent misses -> backend reads=%d%n", threads, backend.readCount());
+    }
+
+    private static void ttl() {
+        AtomicLong now = new AtomicLong();
+        LatencyUserRepository backend = backend(Duration.ZERO, 10);
+        CachingUserRepository cache = CachingUserRepository.builder(backend)
+                .expireAfterWrite(Duration.ofSeconds(30))
+                .ticker(now::get)
+                .build();
+        cache.findById(1);
+        cache.findById(1);
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+        cache.findById(1);
+        System.out.printf("[ttl] backend reads=%d (expected 2), expirations=%d%n",
+                backend.readCount(), cache.expirationCount());
+    }
+
+    private static void deleteDuringLoad() throws InterruptedException {
+        CountDownLatch deleting = new CountDownLatch(1);
+        CountDownLatch loaded = new CountDownLatch(1);
+        // 백엔드 삭제가 시작된 뒤 실제로 지우기 전에 다른 스레드의 로딩이 끝나도록 멈춤
+        UserMemoryRepository backend = new UserMemoryRepository() {
+            @Override
+            public boolean delete(long id) {
+                deleting.countDown();
+                try {
+                    loaded.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.delete(id);
+            }
+        };
+        backend.save(new User(3, "user3", 30));
+        CachingUserRepository cache = CachingUserRepository.builder(backend).build();
+
+        Thread deleter = new Thread(() -> cache.delete(3));
+        deleter.start();
+        deleting.await();
+        boolean loadedOld = cache.findById(3).isPresent();
+        loaded.countDown();
+        deleter.join();
+        System.out.printf("[delete] load during delete saw row=%b, after delete cached=%d, found=%b (expected 0, false)%n",
+                loadedOld, cache.size(), cache.findById(3).isPresent());
+    }
+
+    private static void loadError() throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+        UserMemoryRepository backend = new UserMemoryRepository() {
+            @Override
+            public Optional<User> findById(long id) {
+                entered.countDown();
+                try {
+                    fail.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new StackOverflowError("로딩 중 Error");
+            }
+        };
+        CachingUserRepository cache = CachingUserRepository.builder(backend).build();
+        Thread loader = new Thread(() -> {
+            try {
+                cache.findById(5);
+            } catch (StackOverflowError ignored) {
+            }
+        });
+        loader.start();
+        entered.await();
+        Throwable[] waiterResult = new Throwable[1];
+        Thread waiter = new Thread(() -> {
+            try {
+                cache.findById(5);
+            } catch (Throwable e) {
+                waiterResult[0] = e;
+            }
+        });
+        waiter.start();
+        // 기다리는 스레드가 진행 중인 로딩에 붙을 시간을 줌
+        Thread.sleep(50);
+        fail.countDown();
+        loader.join();
+        waiter.join(5_000);
+        System.out.printf("[load error] waiter finished=%b, waiter saw=%s, load failures=%d%n",
+                !waiter.isAlive(), waiterResult[0] == null ? null : waiterResult[0].getClass().getSimpleName(),
+                cache.loadFailureCount());
+    }
+
+    private static void flushFailure() throws InterruptedException {
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+        boolean[] failNext = {true};
+        // 첫 saveAll 은 멈췄다가 실패함
+        UserMemoryRepository backend = new UserMemoryRepository() {
+            @Override
+            public List<User> saveAll(Collection<User> users) {
+                if (failNext[0]) {
+                    failNext[0] = false;
+                    saving.countDown();
+                    try {
+                        fail.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new DataAccessException("saveAll 실패", null);
+                }
+                return super.saveAll(users);
+            }
+        };
+        backend.save(new User(1, "old", 10));
+        try (CachingUserRepository cache = CachingUserRepository.builder(backend)
+                .maximumSize(1)
+                .writeBehind(Duration.ofHours(1), 100)
+                .build()) {
+            cache.save(new User(1, "new", 10));
+            // 캐시 크기가 1 이라 1 번은 캐시에서 밀려나고 대기 중인 쓰기에만 남음
+            cache.save(new User(2, "user2", 20));
+
+            Thread flusher = new Thread(() -> {
+                try {
+                    cache.flush();
+                } catch (DataAccessException ignored) {
+                }
+            });
+            flusher.start();
+            saving.await();
+            String seen = cache.findById(1).map(User::name).orElse(null);
+            boolean[] deleted = new boolean[1];
+            Thread deleter = new Thread(() -> deleted[0] = cache.delete(2));
+            deleter.start();
+            // 삭제가 묶음 저장이 끝나기를 기다리는 지점까지 갈 시간을 줌
+            Thread.sleep(50);
+            fail.countDown();
+            flusher.join();
+            deleter.join();
+            cache.flush();
+            System.out.printf("[flush failure] read during flush=%s (expected new), delete=%b, "
+                            + "stored 1=%s, stored 2=%b (expected true, new, false)%n",
+                    seen, deleted[0], backend.findById(1).map(User::name).orElse(null),
+                    backend.findById(2).isPresent());
+        }
+    }
+
+    private static void reads(Duration latency) throws InterruptedException {
+        int users = 10_000;
+        int threads = 16;
+        int opsPerThread = 2_000;
+
+        LatencyUserRepository plain = backend(latency, users);
+        long plainNanos = readLoad(plain, users, threads, opsPerThread);
+
+        LatencyUserRepository backend = backend(latency, users);
+        CachingUserRepository cache = CachingUserRepository.builder(backend)
+                .maximumSize(5_000)
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .build();
+        long cachedNanos = readLoad(cache, users, threads, opsPerThread);
+
+        long total = (long) threads * opsPerThread;
+        System.out.printf("[reads] no cache : %,12.0f ops/s%n", total * 1e9 / plainNanos);
+        System.out.printf("[reads] cached   : %,12.0f ops/s  backend reads=%d%n",
+                total * 1e9 / cachedNanos, backend.readCount());
+        System.out.println("        " + cache);
+    }
+
+    /**
+     * 앞쪽 id 에 접근이 몰리도록 (세제곱 분포) 읽기 부하를 주고 걸린 시간을 반환
+     */
+    private static long readLoad(UserRepository repository, int users, int threads, int opsPerThread)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                    for (int i = 0; i < opsPerThread; i++) {
+                        double r = random.nextDouble();
+                        Optional<User> user = repository.findById((long) (r * r * r * users));
+                        if (user.isEmpty()) {
+                            throw new IllegalStateException();
+                        }
+                    }
+                } catch (InterruptedException ignored) {
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        return System.nanoTime() - begin;
+    }
+
+    private static void writes(Duration latency) {
+        int saves = 2_000;
+
+        LatencyUserRepository throughBackend = backend(latency, 0);
+        CachingUserRepository writeThrough = CachingUserRepository.builder(throughBackend).build();
+        long begin = System.nanoTime();
+        for (int i = 0; i < saves; i++) {
+            writeThrough.save(new User(i, "user" + i, i % 100));
+        }
+        long throughNanos = System.nanoTime() - begin;
+
+        LatencyUserRepository behindBackend = backend(latency, 0);
+        long behindNanos;
+        try (CachingUserRepository writeBehind = CachingUserRepository.builder(behindBackend)
+                .writeBehind(Duration.ofMillis(50), 200)
+                .build()) {
+            begin = System.nanoTime();
+            for (int i = 0; i < saves; i++) {
+                writeBehind.save(new User(i, "user" + i, i % 100));
+            }
+            behindNanos = System.nanoTime() - begin;
+        }
+
+        System.out.printf("[writes] write-through: %,8.2f ms  backend writes=%d%n",
+                throughNanos / 1e6, throughBackend.writeCount());
+        System.out.printf("[writes] write-behind : %,8.2f ms  backend writes=%d  stored=%d%n",
+                behindNanos / 1e6, behindBackend.writeCount(), behindBackend.streamAll().count());
+    }
+}
@@ -0,0 +1,13 @@
+package chapter1.item5;
+
+/**
+ * 저장소 구현에서 발생한 검사 예외(SQLException 등)를 감싸는 비검사 예외
+ * UserRepository 계약은 특정 저장소 기술의 예외를 드러내지 않음
+ */
+public class DataAccessException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public DataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
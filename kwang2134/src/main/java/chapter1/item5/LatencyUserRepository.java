@@ -0,0 +1,93 @@
+package chapter1.item5;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * 느린 원격 저장소(MySQL 등)를 흉내 내는 테스트용 저장소
+ *  - 호출마다 지정한 지연을 준 뒤 감싼 저장소에 위임
+ *  - 메서드별 호출 횟수를 기록해 캐시가 백엔드를 몇 번 호출했는지 확인할 수 있음
+ */
+public class LatencyUserRepository implements UserRepository {
+    private final UserRepository delegate;
+    private final long latencyNanos;
+
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+
+    public LatencyUserRepository(UserRepository delegate, Duration latency) {
+        this.delegate = delegate;
+        this.latencyNanos = latency.toNanos();
+    }
+
+    private void pause() {
+        if (latencyNanos > 0) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+    }
+
+    @Override
+    public User save(User user) {
+        writes.increment();
+        pause();
+        return delegate.save(user);
+    }
+
+    /**
+     * 묶어서 저장하면 지연은 한 번만 발생 (네트워크 왕복 한 번)
+     */
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        writes.increment();
+        pause();
+        return delegate.saveAll(users);
+    }
+
+    @Override
+    public Optional<User> findById(long id) {
+        reads.increment();
+        pause();
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<User> findByName(String name) {
+        reads.increment();
+        pause();
+        return delegate.findByName(name);
+    }
+
+    @Override
+    public List<User> findByAgeRange(int minAge, int maxAge) {
+        reads.increment();
+        pause();
+        return delegate.findByAgeRange(minAge, maxAge);
+    }
+
+    @Override
+    public boolean delete(long id) {
+        writes.increment();
+        pause();
+        return delegate.delete(id);
+    }
+
+    @Override
+    public Stream<User> streamAll() {
+        reads.increment();
+        pause();
+        return delegate.streamAll();
+    }
+
+    public long readCount() {
+        return reads.sum();
+    }
+
+    public long writeCount() {
+        return writes.sum();
+    }
+}
@@ -0,0 +1,171 @@
+package chapter1.item5;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 크기가 고정된 작은 JDBC 커넥션 풀
+ *  - 생성 시점에 커넥션을 모두 열어 두고 BlockingQueue 로 빌려주고 돌려받음
+ *  - 커넥션마다 PreparedStatement 캐시를 두어 같은 SQL 은 한 번만 준비
+ *  - acquire() 가 돌려주는 Lease 를 try-with-resources 로 닫으면 풀에 반환
+ */
+public class SimpleConnectionPool implements AutoCloseable {
+
+    /**
+     * 풀에서 빌린 커넥션
+     * close() 는 물리 커넥션을 닫지 않고 풀에 반환
+     */
+    public final class Lease implements AutoCloseable {
+        private final Pooled pooled;
+        private boolean returned;
+
+        private Lease(Pooled pooled) {
+            this.pooled = pooled;
+        }
+
+        public Connection connection() {
+            checkNotReturned();
+            return pooled.connection;
+        }
+
+        /**
+         * 커넥션별로 캐시된 PreparedStatement 반환
+         * 반환받은 statement 는 닫지 말 것 (풀이 닫을 때 함께 닫힘)
+         */
+        public PreparedStatement prepare(String sql) throws SQLException {
+            checkNotReturned();
+            PreparedStatement statement = pooled.statements.get(sql);
+            if (statement == null || statement.isClosed()) {
+                statement = pooled.connection.prepareStatement(sql);
+                pooled.statements.put(sql, statement);
+            }
+            return statement;
+        }
+
+        private void checkNotReturned() {
+            if (returned) {
+                throw new IllegalStateException("이미 풀에 반환된 커넥션");
+            }
+        }
+
+        @Override
+        public void close() {
+            if (returned) {
+                return;
+            }
+            returned = true;
+            release(pooled);
+        }
+    }
+
+    private static final class Pooled {
+        final Connection connection;
+        final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        Pooled(Connection connection) {
+            this.connection = connection;
+        }
+    }
+
+    private final BlockingQueue<Pooled> idle;
+    private final long acquireTimeoutNanos;
+    private volatile boolean closed;
+
+    public SimpleConnectionPool(String url, String user, String password, int size, Duration acquireTimeout) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("풀 크기는 1 이상이어야 함: " + size);
+        }
+        this.idle = new ArrayBlockingQueue<>(size);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        try {
+            for (int i = 0; i < size; i++) {
+                Pooled pooled = new Pooled(DriverManager.getConnection(url, user, password));
+                idle.add(pooled);
+            }
+        } catch (SQLException e) {
+            closed = true;
+            closeIdle();
+            throw new DataAccessException("커넥션 풀 생성 실패: " + url, e);
+        }
+    }
+
+    public Lease acquire() {
+        if (closed) {
+            throw new IllegalStateException("닫힌 커넥션 풀");
+        }
+        try {
+            Pooled pooled = idle.poll(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+            if (pooled == null) {
+                throw new DataAccessException("커넥션 대기 시간 초과", null);
+            }
+            return new Lease(pooled);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessException("커넥션 대기 중 인터럽트", e);
+        }
+    }
+
+    /**
+     * 이전 사용자가 남긴 트랜잭션 상태를 정리한 뒤 반환
+     */
+    private void release(Pooled pooled) {
+        try {
+            if (!pooled.connection.getAutoCommit()) {
+                pooled.connection.rollback();
+                pooled.connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            System.err.println("커넥션 상태 초기화 실패: " + e);
+        }
+        if (closed) {
+            closeQuietly(pooled);
+            return;
+        }
+        idle.offer(pooled);
+        // 반환하는 사이에 풀이 닫혔다면 직접 닫음
+        if (closed && idle.remove(pooled)) {
+            closeQuietly(pooled);
+        }
+    }
+
+    public int idleCount() {
+        return idle.size();
+    }
+
+    /**
+     * 빌려간 커넥션은 반환되는 시점에 닫힘
+     */
+    @Override
+    public void close() {
+        closed = true;
+        closeIdle();
+    }
+
+    private void closeIdle() {
+        Pooled pooled;
+        while ((pooled = idle.poll()) != null) {
+            closeQuietly(pooled);
+        }
+    }
+
+    private static void closeQuietly(Pooled pooled) {
+        for (PreparedStatement statement : pooled.statements.values()) {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+            }
+        }
+        try {
+            pooled.connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+}
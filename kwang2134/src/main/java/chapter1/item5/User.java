@@ -0,0 +1,17 @@
+package chapter1.item5;
+
+import java.util.Objects;
+
+/**
+ * 저장소에 저장되는 유저
+ * 불변 객체라서 저장소 내부와 외부에서 공유해도 안전
+ */
+public record User(long id, String name, int age) {
+
+    public User {
+        Objects.requireNonNull(name);
+        if (age < 0) {
+            throw new IllegalArgumentException("나이는 0 이상이어야 함: " + age);
+        }
+    }
+}
@@ -1,4 +1,233 @@
 package chapter1.item5;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 메모리 저장소
+ *  - id 해시로 데이터를 여러 샤드에 나누고 샤드마다 읽기/쓰기 락을 따로 둠 (lock striping)
+ *    서로 다른 샤드를 다루는 스레드끼리는 경합하지 않고, 같은 샤드라도 읽기끼리는 동시에 진행
+ *  - 샤드마다 id 해시 인덱스, 이름 해시 인덱스, 나이 정렬 인덱스(TreeMap)를 유지
+ *  - 이름 / 나이 조회는 모든 샤드의 인덱스를 차례로 읽기 락을 잡고 조회한 뒤 합침
+ */
 public class UserMemoryRepository implements UserRepository {
+    private static final int DEFAULT_SHARD_COUNT = 16;
+
+    private static final class Shard {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final Map<Long, User> byId = new HashMap<>();
+        final Map<String, Set<Long>> byName = new HashMap<>();
+        final TreeMap<Integer, Set<Long>> byAge = new TreeMap<>();
+
+        // 쓰기 락을 잡은 상태에서만 호출
+        void put(User user) {
+            User previous = byId.put(user.id(), user);
+            if (previous != null) {
+                unindex(previous);
+            }
+            byName.computeIfAbsent(user.name(), k -> new HashSet<>()).add(user.id());
+            byAge.computeIfAbsent(user.age(), k -> new HashSet<>()).add(user.id());
+        }
+
+        // 쓰기 락을 잡은 상태에서만 호출
+        boolean remove(long id) {
+            User removed = byId.remove(id);
+            if (removed == null) {
+                return false;
+            }
+            unindex(removed);
+            return true;
+        }
+
+        private void unindex(User user) {
+            removeFromIndex(byName, user.name(), user.id());
+            removeFromIndex(byAge, user.age(), user.id());
+        }
+
+        private static <K> void removeFromIndex(Map<K, Set<Long>> index, K key, long id) {
+            Set<Long> ids = index.get(key);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private final Shard[] shards;
+    private final int mask;
+
+    public UserMemoryRepository() {
+        this(DEFAULT_SHARD_COUNT);
+    }
+
+    /**
+     * shardCount 는 2의 거듭제곱으로 올림
+     */
+    public UserMemoryRepository(int shardCount) {
+        if (shardCount <= 0 || shardCount > (1 << 16)) {
+            throw new IllegalArgumentException("샤드 개수는 1 이상 65536 이하여야 함: " + shardCount);
+        }
+        int size = Integer.highestOneBit(shardCount);
+        if (size < shardCount) {
+            size <<= 1;
+        }
+        shards = new Shard[size];
+        for (int i = 0; i < size; i++) {
+            shards[i] = new Shard();
+        }
+        mask = size - 1;
+    }
+
+    private Shard shardFor(long id) {
+        int h = Long.hashCode(id);
+        h ^= h >>> 16;
+        return shards[h & mask];
+    }
+
+    @Override
+    public User save(User user) {
+        Objects.requireNonNull(user);
+        Shard shard = shardFor(user.id());
+        shard.lock.writeLock().lock();
+        try {
+            shard.put(user);
+        } finally {
+            shard.lock.writeLock().unlock();
+        }
+        return user;
+    }
+
+    /**
+     * 샤드별로 묶어서 샤드당 한 번만 쓰기 락을 잡음
+     */
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        List<List<User>> grouped = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            grouped.add(new ArrayList<>());
+        }
+        for (User user : users) {
+            Objects.requireNonNull(user);
+            int h = Long.hashCode(user.id());
+            grouped.get((h ^ (h >>> 16)) & mask).add(user);
+        }
+        for (int i = 0; i < shards.length; i++) {
+            List<User> group = grouped.get(i);
+            if (group.isEmpty()) {
+                continue;
+            }
+            Shard shard = shards[i];
+            shard.lock.writeLock().lock();
+            try {
+                for (User user : group) {
+                    shard.put(user);
+                }
+            } finally {
+                shard.lock.writeLock().unlock();
+            }
+        }
+        return new ArrayList<>(users);
+    }
+
+    @Override
+    public Optional<User> findById(long id) {
+        Shard shard = shardFor(id);
+        shard.lock.readLock().lock();
+        try {
+            return Optional.ofNullable(shard.byId.get(id));
+        } finally {
+            shard.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<User> findByName(String name) {
+        List<User> result = new ArrayList<>();
+        for (Shard shard : shards) {
+            shard.lock.readLock().lock();
+            try {
+                Set<Long> ids = shard.byName.get(name);
+                if (ids != null) {
+                    for (Long id : ids) {
+                        result.add(shard.byId.get(id));
+                    }
+                }
+            } finally {
+                shard.lock.readLock().unlock();
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<User> findByAgeRange(int minAge, int maxAge) {
+        if (minAge > maxAge) {
+            return List.of();
+        }
+        List<User> result = new ArrayList<>();
+        for (Shard shard : shards) {
+            shard.lock.readLock().lock();
+            try {
+                for (Set<Long> ids : shard.byAge.subMap(minAge, true, maxAge, true).values()) {
+                    for (Long id : ids) {
+                        result.add(shard.byId.get(id));
+                    }
+                }
+            } finally {
+                shard.lock.readLock().unlock();
+            }
+        }
+        // 샤드마다 정렬되어 있으므로 합친 뒤 한 번 더 정렬
+        result.sort((a, b) -> Integer.compare(a.age(), b.age()));
+        return result;
+    }
+
+    @Override
+    public boolean delete(long id) {
+        Shard shard = shardFor(id);
+        shard.lock.writeLock().lock();
+        try {
+            return shard.remove(id);
+        } finally {
+            shard.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 샤드 단위로 복사한 스냅샷을 이어 붙인 스트림
+     * 한 샤드 안에서는 일관된 상태지만 샤드 간에는 시점이 다를 수 있음
+     */
+    @Override
+    public Stream<User> streamAll() {
+        return Stream.of(shards).flatMap(shard -> {
+            shard.lock.readLock().lock();
+            try {
+                return new ArrayList<>(shard.byId.values()).stream();
+            } finally {
+                shard.lock.readLock().unlock();
+            }
+        });
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            shard.lock.readLock().lock();
+            try {
+                size += shard.byId.size();
+            } finally {
+                shard.lock.readLock().unlock();
+            }
+        }
+        return size;
+    }
 }
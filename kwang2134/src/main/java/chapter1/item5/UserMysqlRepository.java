@@ -1,4 +1,275 @@
 package chapter1.item5;
 
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * JDBC 기반 MySQL 저장소
+ *  - SimpleConnectionPool 에서 커넥션을 빌려 쓰고, 커넥션별로 캐시된 PreparedStatement 를 재사용
+ *  - saveAll 은 addBatch / executeBatch 로 batchSize 개씩 묶어서 한 트랜잭션으로 저장
+ *  - streamAll 은 fetchSize 만큼씩 가져오는 스트리밍 ResultSet 으로 전체를 메모리에 올리지 않음
+ *    (MySQL Connector/J 는 URL 에 useCursorFetch=true 를 주어야 fetchSize 가 적용됨)
+ *  - SQL 은 MySQL 문법이며 임베디드 H2 의 MODE=MySQL 에서도 그대로 동작
+ *    (MySQL 은 CREATE INDEX IF NOT EXISTS 를 지원하지 않으므로 인덱스는 DatabaseMetaData 로 확인한 뒤 만듦)
+ */
 public class UserMysqlRepository implements UserRepository {
+    private static final int DEFAULT_FETCH_SIZE = 1_000;
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    private static final String CREATE_TABLE =
+            "CREATE TABLE IF NOT EXISTS users ("
+                    + "id BIGINT PRIMARY KEY, "
+                    + "name VARCHAR(255) NOT NULL, "
+                    + "age INT NOT NULL)";
+    private static final String NAME_INDEX = "idx_users_name";
+    private static final String AGE_INDEX = "idx_users_age";
+
+    private static final String UPSERT =
+            "INSERT INTO users (id, name, age) VALUES (?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE name = VALUES(name), age = VALUES(age)";
+    private static final String FIND_BY_ID = "SELECT id, name, age FROM users WHERE id = ?";
+    private static final String FIND_BY_NAME = "SELECT id, name, age FROM users WHERE name = ?";
+    private static final String FIND_BY_AGE_RANGE =
+            "SELECT id, name, age FROM users WHERE age BETWEEN ? AND ? ORDER BY age";
+    private static final String DELETE = "DELETE FROM users WHERE id = ?";
+    private static final String FIND_ALL = "SELECT id, name, age FROM users";
+
+    private final SimpleConnectionPool pool;
+    private final int fetchSize;
+    private final int batchSize;
+
+    public UserMysqlRepository(SimpleConnectionPool pool) {
+        this(pool, DEFAULT_FETCH_SIZE, DEFAULT_BATCH_SIZE);
+    }
+
+    public UserMysqlRepository(SimpleConnectionPool pool, int fetchSize, int batchSize) {
+        if (fetchSize <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("fetchSize 와 batchSize 는 1 이상이어야 함");
+        }
+        this.pool = pool;
+        this.fetchSize = fetchSize;
+        this.batchSize = batchSize;
+    }
+
+    public void createTable() {
+        try (SimpleConnectionPool.Lease lease = pool.acquire();
+             Statement statement = lease.connection().createStatement()) {
+            statement.execute(CREATE_TABLE);
+            createIndexIfAbsent(lease.connection(), statement, NAME_INDEX, "name");
+            createIndexIfAbsent(lease.connection(), statement, AGE_INDEX, "age");
+        } catch (SQLException e) {
+            throw new DataAccessException("users 테이블 생성 실패", e);
+        }
+    }
+
+    private static void createIndexIfAbsent(Connection connection, Statement statement, String index, String column)
+            throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        // H2 는 따옴표 없는 이름을 대문자로 저장함
+        String table = metaData.storesUpperCaseIdentifiers() ? "USERS" : "users";
+        try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null, table, false, false)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return;
+                }
+            }
+        }
+        statement.execute("CREATE INDEX " + index + " ON users (" + column + ")");
+    }
+
+    @Override
+    public User save(User user) {
+        try (SimpleConnectionPool.Lease lease = pool.acquire()) {
+            PreparedStatement statement = lease.prepare(UPSERT);
+            bind(statement, user);
+            statement.executeUpdate();
+            return user;
+        } catch (SQLException e) {
+            throw new DataAccessException("유저 저장 실패: " + user.id(), e);
+        }
+    }
+
+    /**
+     * batchSize 개씩 executeBatch 하고 전체를 한 트랜잭션으로 커밋
+     * 중간에 실패하면 전체 롤백
+     */
+    @Override
+    public List<User> saveAll(Collection<User> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        try (SimpleConnectionPool.Lease lease = pool.acquire()) {
+            Connection connection = lease.connection();
+            // 캐시된 PreparedStatement 이므로 실패해도 쌓인 배치가 다음 사용자에게 남지 않게 비움
+            PreparedStatement statement = lease.prepare(UPSERT);
+            connection.setAutoCommit(false);
+            try {
+                int pending = 0;
+                for (User user : users) {
+                    bind(statement, user);
+                    statement.addBatch();
+                    if (++pending == batchSize) {
+                        statement.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackFailure) {
+                    e.addSuppressed(rollbackFailure);
+                }
+                throw e;
+            } finally {
+                try {
+                    statement.clearBatch();
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            }
+            return new ArrayList<>(users);
+        } catch (SQLException e) {
+            throw new DataAccessException("유저 일괄 저장 실패: " + users.size() + "건", e);
+        }
+    }
+
+    @Override
+    public Optional<User> findById(long id) {
+        try (SimpleConnectionPool.Lease lease = pool.acquire()) {
+            PreparedStatement statement = lease.prepare(FIND_BY_ID);
+            statement.setLong(1, id);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? Optional.of(map(rs)) : Optional.empty();
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("유저 조회 실패: " + id, e);
+        }
+    }
+
+    @Override
+    public List<User> findByName(String name) {
+        try (SimpleConnectionPool.Lease lease = pool.acquire()) {
+            PreparedStatement statement = lease.prepare(FIND_BY_NAME);
+            statement.setString(1, name);
+            return readAll(statement);
+        } catch (SQLException e) {
+            throw new DataAccessException("이름으로 유저 조회 실패: " + name, e);
+        }
+    }
+
+    @Override
+    public List<User> findByAgeRange(int minAge, int maxAge) {
+        try (SimpleConnectionPool.Lease lease = pool.acquire()) {
+            PreparedStatement statement = lease.prepare(FIND_BY_AGE_RANGE);
+            statement.setInt(1, minAge);
+            statement.setInt(2, maxAge);
+            return readAll(statement);
+        } catch (SQLException e) {
+            throw new DataAccessException("나이 범위로 유저 조회 실패: " + minAge + "~" + maxAge, e);
+        }
+    }
+
+    @Override
+    public boolean delete(long id) {
+        try (SimpleConnectionPool.Lease lease = pool.acquire()) {
+            PreparedStatement statement = lease.prepare(DELETE);
+            statement.setLong(1, id);
+            return statement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new DataAccessException("유저 삭제 실패: " + id, e);
+        }
+    }
+
+    /**
+     * 스트림을 닫을 때까지 커넥션을 하나 점유하므로 반드시 try-with-resources 로 닫아야 함
+     * 캐시된 statement 와 섞이지 않도록 전용 statement 를 따로 만들어 사용
+     */
+    @Override
+    public Stream<User> streamAll() {
+        SimpleConnectionPool.Lease lease = pool.acquire();
+        PreparedStatement statement = null;
+        ResultSet rs;
+        try {
+            statement = lease.connection().prepareStatement(
+                    FIND_ALL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            rs = statement.executeQuery();
+        } catch (SQLException e) {
+            closeQuietly(statement);
+            lease.close();
+            throw new DataAccessException("전체 유저 조회 실패", e);
+        }
+
+        PreparedStatement opened = statement;
+        Spliterator<User> spliterator = new Spliterators.AbstractSpliterator<>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super User> action) {
+                try {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                    action.accept(map(rs));
+                    return true;
+                } catch (SQLException e) {
+                    throw new DataAccessException("전체 유저 조회 중 실패", e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                rs.close();
+            } catch (SQLException ignored) {
+            }
+            closeQuietly(opened);
+            lease.close();
+        });
+    }
+
+    private static void bind(PreparedStatement statement, User user) throws SQLException {
+        statement.setLong(1, user.id());
+        statement.setString(2, user.name());
+        statement.setInt(3, user.age());
+    }
+
+    private static List<User> readAll(PreparedStatement statement) throws SQLException {
+        List<User> result = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                result.add(map(rs));
+            }
+        }
+        return result;
+    }
+
+    private static User map(ResultSet rs) throws SQLException {
+        return new User(rs.getLong(1), rs.getString(2), rs.getInt(3));
+    }
+
+    private static void closeQuietly(Statement statement) {
+        if (statement == null) {
+            return;
+        }
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+        }
+    }
 }
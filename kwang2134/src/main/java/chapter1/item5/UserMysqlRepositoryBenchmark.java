@@ -0,0 +1,111 @@
+package chapter1.item5;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * UserMysqlRepository 의 한 건씩 저장 vs 묶어서 저장 처리량(rows/s) 비교
+ *  - 기본값은 임베디드 H2 의 MySQL 호환 모드라서 별도 DB 서버 없이 실행 가능 (런타임 클래스패스에 H2 필요)
+ *  - 측정 전에 테이블 재생성, 저장 / 갱신 / 조회 / 삭제, 일괄 저장 실패 시 롤백을 확인
+ *  - 실행: java chapter1.item5.UserMysqlRepositoryBenchmark [행 수] [JDBC URL]
+ */
+public class UserMysqlRepositoryBenchmark {
+    private static final String DEFAULT_URL = "jdbc:h2:mem:users;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        String url = args.length > 1 ? args[1] : DEFAULT_URL;
+
+        try (SimpleConnectionPool pool = new SimpleConnectionPool(url, "sa", "", 4, Duration.ofSeconds(5))) {
+            UserMysqlRepository repository = new UserMysqlRepository(pool);
+            repository.createTable();
+            verify(pool, repository);
+
+            // 워밍업
+            single(repository, 0, rows / 10);
+            batched(repository, 0, rows / 10);
+
+            long singleNanos = single(repository, rows, rows);
+            long batchNanos = batched(repository, 2L * rows, rows);
+
+            System.out.printf("single save : %,12.0f rows/s%n", rows * 1e9 / singleNanos);
+            System.out.printf("batched save: %,12.0f rows/s%n", rows * 1e9 / batchNanos);
+
+            long start = System.nanoTime();
+            long count;
+            try (Stream<User> users = repository.streamAll()) {
+                count = users.count();
+            }
+            System.out.printf("streamAll   : %,12.0f rows/s (%d rows)%n",
+                    count * 1e9 / (System.nanoTime() - start), count);
+        }
+    }
+
+    private static void verify(SimpleConnectionPool pool, UserMysqlRepository repository) {
+        // 이미 테이블과 인덱스가 있어도 다시 호출할 수 있어야 함
+        repository.createTable();
+
+        long base = 1_000_000_000L;
+        repository.save(new User(base, "kim", 30));
+        repository.save(new User(base, "lee", 31));
+        check(repository.findById(base).equals(Optional.of(new User(base, "lee", 31))), "저장 후 갱신");
+        check(repository.findByName("lee").contains(new User(base, "lee", 31)), "이름으로 조회");
+        check(repository.findByAgeRange(31, 31).contains(new User(base, "lee", 31)), "나이 범위로 조회");
+        check(repository.delete(base) && repository.findById(base).isEmpty(), "삭제");
+        check(!repository.delete(base), "없는 유저 삭제");
+
+        // 배치 크기 2 에서 두 번째 배치가 실패하면 이미 실행된 첫 배치까지 롤백
+        UserMysqlRepository smallBatches = new UserMysqlRepository(pool, 100, 2);
+        List<User> users = List.of(
+                new User(base + 1, "a", 1), new User(base + 2, "b", 2),
+                new User(base + 3, "c", 3), new User(base + 4, "x".repeat(300), 4));
+        boolean failed = false;
+        try {
+            smallBatches.saveAll(users);
+        } catch (DataAccessException e) {
+            failed = true;
+        }
+        check(failed && repository.findById(base + 1).isEmpty(), "일괄 저장 실패 시 롤백");
+        // 실패한 뒤에도 같은 커넥션의 캐시된 statement 로 다시 저장할 수 있어야 함
+        for (int i = 0; i < 4; i++) {
+            smallBatches.saveAll(users.subList(0, 3));
+        }
+        check(repository.findById(base + 3).isPresent(), "롤백 뒤 일괄 저장");
+        long stored;
+        try (Stream<User> all = repository.streamAll()) {
+            stored = all.filter(user -> user.id() >= base).count();
+        }
+        check(stored == 3, "streamAll");
+        for (int i = 1; i <= 3; i++) {
+            repository.delete(base + i);
+        }
+        System.out.println("저장소 동작 확인 완료");
+    }
+
+    private static void check(boolean condition, String label) {
+        if (!condition) {
+            throw new IllegalStateException(label + " 실패");
+        }
+    }
+
+    private static long single(UserMysqlRepository repository, long firstId, int rows) {
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            repository.save(new User(firstId + i, "user" + i, i % 100));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long batched(UserMysqlRepository repository, long firstId, int rows) {
+        List<User> users = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            users.add(new User(firstId + i, "user" + i, i % 100));
+        }
+        long start = System.nanoTime();
+        repository.saveAll(users);
+        return System.nanoTime() - start;
+    }
+}
@@ -1,4 +1,51 @@
 package chapter1.item5;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 유저 저장소 계약
+ * UserService 는 이 인터페이스에만 의존하고 실제 구현체는 생성자로 주입받음
+ * 구현체는 여러 스레드에서 동시에 호출해도 안전해야 함
+ */
 public interface UserRepository {
+
+    /**
+     * 같은 id 가 있으면 덮어씀
+     */
+    User save(User user);
+
+    Optional<User> findById(long id);
+
+    List<User> findByName(String name);
+
+    /**
+     * minAge 이상 maxAge 이하인 유저를 나이 순으로 반환
+     */
+    List<User> findByAgeRange(int minAge, int maxAge);
+
+    /**
+     * 삭제되었으면 true, 없던 id 면 false
+     */
+    boolean delete(long id);
+
+    /**
+     * 구현체가 더 효율적으로 묶어서 저장할 수 있다면 재정의
+     */
+    default List<User> saveAll(Collection<User> users) {
+        List<User> saved = new ArrayList<>(users.size());
+        for (User user : users) {
+            saved.add(save(user));
+        }
+        return saved;
+    }
+
+    /**
+     * 전체 유저 스트림
+     * 외부 자원을 사용하는 구현체가 있으므로 try-with-resources 로 닫아야 함
+     */
+    Stream<User> streamAll();
 }
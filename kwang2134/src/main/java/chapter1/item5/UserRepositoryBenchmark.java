@@ -0,0 +1,91 @@
+package chapter1.item5;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * UserService 를 여러 스레드에서 공유하며 읽기/쓰기가 섞인 작업을 수행할 때의 처리량 측정
+ *  - 작업 비율: findUser 70%, findUsersByName 10%, findUsersByAge 5%, join 10%, withdraw 5%
+ *  - 스레드 수 1, 4, 16, 64 에서 측정
+ *  - 실행: java chapter1.item5.UserRepositoryBenchmark [유저 수] [측정 시간(ms)]
+ */
+public class UserRepositoryBenchmark {
+
+    private static final int[] THREADS = {1, 4, 16, 64};
+    private static final int NAME_COUNT = 1_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        long durationMillis = args.length > 1 ? Long.parseLong(args[1]) : 1_000L;
+
+        UserService service = new UserService(new UserMemoryRepository());
+        List<User> initial = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            initial.add(new User(i, "user" + (i % NAME_COUNT), i % 100));
+        }
+        service.joinAll(initial);
+
+        // 워밍업
+        run(service, users, 4, durationMillis / 2);
+
+        for (int threads : THREADS) {
+            double opsPerSec = run(service, users, threads, durationMillis);
+            System.out.printf("threads=%2d  %,14.0f ops/s%n", threads, opsPerSec);
+        }
+    }
+
+    private static double run(UserService service, int users, int threads, long durationMillis)
+            throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder ops = new LongAdder();
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                ready.countDown();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long local = 0;
+                long sink = 0;
+                while (running.get()) {
+                    int dice = random.nextInt(100);
+                    long id = random.nextInt(users);
+                    if (dice < 70) {
+                        sink += service.findUser(id).isPresent() ? 1 : 0;
+                    } else if (dice < 80) {
+                        sink += service.findUsersByName("user" + random.nextInt(NAME_COUNT)).size();
+                    } else if (dice < 85) {
+                        int age = random.nextInt(100);
+                        sink += service.findUsersByAge(age, age).size();
+                    } else if (dice < 95) {
+                        service.join(id, "user" + (id % NAME_COUNT), random.nextInt(100));
+                    } else {
+                        sink += service.withdraw(id) ? 1 : 0;
+                    }
+                    local++;
+                }
+                ops.add(local + (sink & 0));
+            });
+            workers[t].start();
+        }
+
+        ready.await();
+        start.countDown();
+        Thread.sleep(durationMillis);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return ops.sum() * 1000.0 / durationMillis;
+    }
+}
@@ -1,5 +1,7 @@
 package chapter1.item5;
 
+import java.util.List;
+import java.util.Optional;
 
 public class UserService {
     /**
@@ -18,4 +20,32 @@ public class UserService {
     public UserService(UserRepository userRepository) {
         this.userRepository = userRepository;
     }
+
+    /**
+     * 서비스는 상태를 갖지 않고 저장소에만 위임하므로
+     * 주입된 저장소가 스레드 안전하다면 여러 스레드에서 하나의 UserService 를 공유해도 됨
+     */
+    public User join(long id, String name, int age) {
+        return userRepository.save(new User(id, name, age));
+    }
+
+    public List<User> joinAll(List<User> users) {
+        return userRepository.saveAll(users);
+    }
+
+    public Optional<User> findUser(long id) {
+        return userRepository.findById(id);
+    }
+
+    public List<User> findUsersByName(String name) {
+        return userRepository.findByName(name);
+    }
+
+    public List<User> findUsersByAge(int minAge, int maxAge) {
+        return userRepository.findByAgeRange(minAge, maxAge);
+    }
+
+    public boolean withdraw(long id) {
+        return userRepository.delete(id);
+    }
 }
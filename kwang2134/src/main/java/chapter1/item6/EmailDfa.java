@@ -0,0 +1,131 @@
+package chapter1.item6;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * EMAIL_PATTERN([a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\.[a-zA-Z]{2,})과 정확히 같은 언어를 받는 DFA
+ *  - 입력을 앞에서부터 한 번만 읽고 상태 전이 표만 따라가므로 Matcher 생성도, 백트래킹도 없음
+ *  - 호출마다 객체를 전혀 할당하지 않음
+ *
+ * 도메인 부분 [a-zA-Z0-9.-]+\.[a-zA-Z]{2,} 은 다음과 같이 바꿔 말할 수 있음
+ *  - 모든 문자가 [a-zA-Z0-9.-]
+ *  - 마지막 '.' 앞에 한 글자 이상 있고, 마지막 '.' 뒤는 영문자만 2글자 이상
+ *  (마지막 '.' 이 아닌 다른 '.' 에서 나누면 뒤쪽에 '.' 이 남아 [a-zA-Z]{2,} 를 만족할 수 없으므로)
+ */
+public final class EmailDfa {
+
+    // 이 개수 이상이면 validateAll 을 병렬로 수행
+    private static final int PARALLEL_THRESHOLD = 10_000;
+
+    // 문자 분류
+    private static final int LETTER = 0;     // a-z A-Z
+    private static final int DIGIT = 1;      // 0-9
+    private static final int DOT = 2;        // .
+    private static final int HYPHEN = 3;     // - (로컬, 도메인 모두 허용)
+    private static final int LOCAL_ONLY = 4; // _ % + (로컬 부분에서만 허용)
+    private static final int AT = 5;         // @
+    private static final int OTHER = 6;
+    private static final int CLASS_COUNT = 7;
+
+    // 상태
+    private static final int LOCAL_EMPTY = 0;   // 아직 아무것도 읽지 않음
+    private static final int LOCAL = 1;         // 로컬 부분 한 글자 이상
+    private static final int DOMAIN_EMPTY = 2;  // '@' 직후
+    private static final int DOMAIN = 3;        // 도메인 한 글자 이상, 유효한 '.' 뒤 영문자 구간이 아님
+    private static final int DOT_0 = 4;         // 앞에 한 글자 이상 있는 '.' 직후
+    private static final int DOT_1 = 5;         // 그 '.' 뒤 영문자 1개
+    private static final int DOT_2 = 6;         // 그 '.' 뒤 영문자 2개 이상 (수락 상태)
+    private static final int DEAD = 7;
+    private static final int STATE_COUNT = 8;
+
+    private static final byte[] CHAR_CLASS = new byte[128];
+    private static final byte[] TRANSITIONS = new byte[STATE_COUNT * CLASS_COUNT];
+
+    static {
+        for (int c = 0; c < 128; c++) {
+            CHAR_CLASS[c] = OTHER;
+        }
+        for (int c = 'a'; c <= 'z'; c++) {
+            CHAR_CLASS[c] = LETTER;
+        }
+        for (int c = 'A'; c <= 'Z'; c++) {
+            CHAR_CLASS[c] = LETTER;
+        }
+        for (int c = '0'; c <= '9'; c++) {
+            CHAR_CLASS[c] = DIGIT;
+        }
+        CHAR_CLASS['.'] = DOT;
+        CHAR_CLASS['-'] = HYPHEN;
+        CHAR_CLASS['_'] = LOCAL_ONLY;
+        CHAR_CLASS['%'] = LOCAL_ONLY;
+        CHAR_CLASS['+'] = LOCAL_ONLY;
+        CHAR_CLASS['@'] = AT;
+
+        for (int i = 0; i < TRANSITIONS.length; i++) {
+            TRANSITIONS[i] = DEAD;
+        }
+
+        // 로컬 부분: [a-zA-Z0-9._%+-]+ 다음 '@'
+        for (int cls : new int[]{LETTER, DIGIT, DOT, HYPHEN, LOCAL_ONLY}) {
+            set(LOCAL_EMPTY, cls, LOCAL);
+            set(LOCAL, cls, LOCAL);
+        }
+        set(LOCAL, AT, DOMAIN_EMPTY);
+
+        // 도메인 첫 글자: 맨 앞의 '.' 은 앞에 글자가 없으므로 나누는 지점이 될 수 없음
+        for (int cls : new int[]{LETTER, DIGIT, DOT, HYPHEN}) {
+            set(DOMAIN_EMPTY, cls, DOMAIN);
+        }
+
+        // 도메인 나머지: '.' 을 만나면 새 후보 지점, 영문자는 후보 뒤 글자 수 증가, 숫자와 '-' 는 후보 무효
+        for (int state : new int[]{DOMAIN, DOT_0, DOT_1, DOT_2}) {
+            set(state, DOT, DOT_0);
+            set(state, DIGIT, DOMAIN);
+            set(state, HYPHEN, DOMAIN);
+        }
+        set(DOMAIN, LETTER, DOMAIN);
+        set(DOT_0, LETTER, DOT_1);
+        set(DOT_1, LETTER, DOT_2);
+        set(DOT_2, LETTER, DOT_2);
+    }
+
+    private static void set(int state, int cls, int next) {
+        TRANSITIONS[state * CLASS_COUNT + cls] = (byte) next;
+    }
+
+    private EmailDfa() {
+        throw new RuntimeException("생성 불가 클래스");
+    }
+
+    public static boolean isValid(CharSequence email) {
+        int state = LOCAL_EMPTY;
+        for (int i = 0, n = email.length(); i < n; i++) {
+            char c = email.charAt(i);
+            int cls = c < 128 ? CHAR_CLASS[c] : OTHER;
+            state = TRANSITIONS[state * CLASS_COUNT + cls];
+            if (state == DEAD) {
+                return false;
+            }
+        }
+        return state == DOT_2;
+    }
+
+    /**
+     * 목록 전체 검사
+     * 목록이 충분히 크면 병렬 스트림으로 나누어 검사 (각 원소 검사는 서로 독립)
+     */
+    public static boolean[] validateAll(List<String> emails) {
+        return validateAll(emails, emails.size() >= PARALLEL_THRESHOLD);
+    }
+
+    public static boolean[] validateAll(List<String> emails, boolean parallel) {
+        boolean[] result = new boolean[emails.size()];
+        IntStream indices = IntStream.range(0, result.length);
+        if (parallel) {
+            indices = indices.parallel();
+        }
+        indices.forEach(i -> result[i] = isValid(emails.get(i)));
+        return result;
+    }
+}
@@ -23,6 +23,14 @@ public class EmailValidator {
         return EMAIL_PATTERN.matcher(email).matches();
     }
 
+    /**
+     * Pattern 을 재사용해도 호출마다 Matcher 객체는 새로 생성됨
+     * 같은 언어를 받는 DFA 로 문자열을 한 번만 훑어 객체 생성 없이 검사
+     */
+    public static boolean isValidEmailDfa(CharSequence email) {
+        return EmailDfa.isValid(email);
+    }
+
     /**
      * 불필요한 참조 타입 사용
      * Long 타입 객체의 인스턴스 메서드 사용이 필요하지 않다면 불필요한 박싱으로 인해 성능 저하 발생
@@ -62,4 +70,18 @@ public class EmailValidator {
     public static String createGreetingGood(String name) {
         return "Hello, " + name + "!";
     }
+
+    /**
+     * 템플릿을 미리 조각으로 나누어 두고 재사용
+     * 결과 String 이 꼭 필요하지 않다면 GREETING.appendTo / encodeTo 로 재사용 버퍼에 바로 기록해 할당을 없앨 수 있음
+     */
+    private static final MessageTemplate GREETING = MessageTemplate.compile("Hello, {name}!");
+
+    public static String createGreetingTemplate(String name) {
+        return GREETING.render(name);
+    }
+
+    public static MessageTemplate greetingTemplate() {
+        return GREETING;
+    }
 }
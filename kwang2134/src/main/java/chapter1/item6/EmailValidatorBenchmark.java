@@ -0,0 +1,123 @@
+package chapter1.item6;
+
+import benchmark.Allocations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * 1. 차등 퍼즈 검사: 무작위 문자열에 대해 EmailDfa 와 EMAIL_PATTERN 의 결과가 항상 같은지 확인
+ *    완전 무작위 문자열과 이메일 구조를 따르는 문자열을 번갈아 생성해 유효/무효 양쪽을 고르게 검사
+ * 2. isValidEmailBad / isValidEmailGood / isValidEmailDfa 의 ns/op, 할당 바이트/op 비교
+ * 3. validateAll 순차 vs 병렬 비교
+ *  - 실행: java chapter1.item6.EmailValidatorBenchmark [퍼즈 입력 수] [시드]
+ */
+public class EmailValidatorBenchmark {
+
+    private static final String ALPHABET = "abcXYZ019._%+-@@..aZ#! é";
+
+    public static void main(String[] args) {
+        int fuzzCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+
+        fuzz(fuzzCount, seed);
+
+        List<String> samples = List.of(
+                "kwang@example.com", "first.last+tag@mail.co.kr", "a@b.c", "no-at-sign.example.com",
+                "user@sub-domain.example.org", "x@y.z1", "name@domain..com", "very.long.local.part_123@host.io");
+
+        for (int round = 0; round < 3; round++) {
+            boolean print = round == 2;
+            measure("isValidEmailBad", samples, EmailValidator::isValidEmailBad, 200_000, print);
+            measure("isValidEmailGood", samples, EmailValidator::isValidEmailGood, 2_000_000, print);
+            measure("isValidEmailDfa", samples, EmailValidator::isValidEmailDfa, 2_000_000, print);
+        }
+
+        List<String> bulk = new ArrayList<>();
+        Random random = new Random(seed);
+        for (int i = 0; i < 2_000_000; i++) {
+            bulk.add(i % 3 == 0 ? randomString(random) : samples.get(i % samples.size()));
+        }
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            EmailDfa.validateAll(bulk, false);
+            long sequential = System.nanoTime() - start;
+            start = System.nanoTime();
+            EmailDfa.validateAll(bulk, true);
+            long parallel = System.nanoTime() - start;
+            if (round == 2) {
+                System.out.printf("validateAll %,d건  sequential=%.1f ms  parallel=%.1f ms%n",
+                        bulk.size(), sequential / 1e6, parallel / 1e6);
+            }
+        }
+    }
+
+    private static void fuzz(int count, long seed) {
+        Random random = new Random(seed);
+        int accepted = 0;
+        for (int i = 0; i < count; i++) {
+            String input = (i & 1) == 0 ? randomString(random) : emailLike(random);
+            boolean expected = EmailValidator.isValidEmailGood(input);
+            boolean actual = EmailDfa.isValid(input);
+            if (expected != actual) {
+                throw new IllegalStateException("결과 불일치 (seed=" + seed + "): \"" + input
+                        + "\" regex=" + expected + " dfa=" + actual);
+            }
+            if (expected) {
+                accepted++;
+            }
+        }
+        System.out.printf("퍼즈 검사 통과: %,d건 (유효 %,d건), seed=%d%n", count, accepted, seed);
+    }
+
+    /**
+     * 로컬@도메인.최상위도메인 구조를 따르되 각 부분에 경계값(빈 부분, 한 글자 TLD, 숫자 섞인 TLD 등)이 섞이도록 생성
+     */
+    private static String emailLike(Random random) {
+        StringBuilder sb = new StringBuilder();
+        append(sb, random, "aZ09._%+-", random.nextInt(4));
+        sb.append('@');
+        append(sb, random, "aZ09.-", random.nextInt(5));
+        sb.append('.');
+        append(sb, random, "abXY", random.nextInt(4));
+        if (random.nextInt(4) == 0) {
+            append(sb, random, ALPHABET, 1);
+        }
+        return sb.toString();
+    }
+
+    private static void append(StringBuilder sb, Random random, String chars, int count) {
+        for (int i = 0; i < count; i++) {
+            sb.append(chars.charAt(random.nextInt(chars.length())));
+        }
+    }
+
+    private static String randomString(Random random) {
+        int length = random.nextInt(16);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return sb.toString();
+    }
+
+    private static void measure(String label, List<String> samples, Predicate<String> validator,
+                                int iterations, boolean print) {
+        long allocatedBefore = Allocations.allocatedBytes();
+        long start = System.nanoTime();
+        int valid = 0;
+        for (int i = 0; i < iterations; i++) {
+            if (validator.test(samples.get(i & 7))) {
+                valid++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = Allocations.allocatedBytes() - allocatedBefore;
+        if (print) {
+            System.out.printf("%-18s %8.1f ns/op  %8.1f B/op  [valid=%d]%n",
+                    label, (double) elapsed / iterations, (double) allocated / iterations, valid);
+        }
+    }
+}
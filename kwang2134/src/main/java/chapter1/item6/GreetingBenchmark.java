@@ -0,0 +1,166 @@
+package chapter1.item6;
+
+import benchmark.Allocations;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 인사말 생성 방식별 ns/op, 할당 바이트/op 비교
+ *  - createGreetingBad / createGreetingGood / String.format / MessageTemplate(String, StringBuilder, CharBuffer, UTF-8)
+ *  - 이름 목록 일괄 렌더링 (renderAll, appendAll, encodeAll)
+ * 먼저 모든 방식의 결과가 같은지 확인한 뒤 측정
+ *  - 실행: java chapter1.item6.GreetingBenchmark [반복 수]
+ */
+public class GreetingBenchmark {
+
+    private static final String[] NAMES = {"kwang", "김민수", "Alice", "bob-the-builder", "😀emoji", "x", "Élodie", "홍길동"};
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        MessageTemplate template = EmailValidator.greetingTemplate();
+        verify(template);
+
+        StringBuilder sb = new StringBuilder(64);
+        CharBuffer chars = CharBuffer.allocate(64);
+        ByteBuffer bytes = ByteBuffer.allocate(256);
+        String[] sink = new String[NAMES.length];
+
+        for (int round = 0; round < 3; round++) {
+            boolean print = round == 2;
+            measure("createGreetingBad", iterations, print, i -> {
+                sink[i & 7] = EmailValidator.createGreetingBad(NAMES[i & 7]);
+                return sink[i & 7].length();
+            });
+            measure("createGreetingGood", iterations, print, i -> {
+                sink[i & 7] = EmailValidator.createGreetingGood(NAMES[i & 7]);
+                return sink[i & 7].length();
+            });
+            measure("String.format", iterations / 5, print, i -> {
+                sink[i & 7] = String.format("Hello, %s!", NAMES[i & 7]);
+                return sink[i & 7].length();
+            });
+            measure("template render", iterations, print, i -> {
+                sink[i & 7] = EmailValidator.createGreetingTemplate(NAMES[i & 7]);
+                return sink[i & 7].length();
+            });
+            measure("template StringBuilder", iterations, print, i -> {
+                sb.setLength(0);
+                return template.appendTo(sb, NAMES[i & 7]).length();
+            });
+            measure("template CharBuffer", iterations, print, i -> {
+                chars.clear();
+                return template.renderTo(chars, NAMES[i & 7]).position();
+            });
+            measure("template UTF-8", iterations, print, i -> {
+                bytes.clear();
+                return template.encodeTo(bytes, NAMES[i & 7]);
+            });
+            measure("String.getBytes", iterations, print, i -> {
+                bytes.clear();
+                bytes.put(EmailValidator.createGreetingGood(NAMES[i & 7]).getBytes(StandardCharsets.UTF_8));
+                return bytes.position();
+            });
+        }
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            names.add(NAMES[i & 7] + i);
+        }
+        StringBuilder bulk = new StringBuilder(names.size() * 24);
+        ByteBuffer bulkBytes = ByteBuffer.allocate(names.size() * 32);
+        int bulkIterations = 50;
+        for (int round = 0; round < 3; round++) {
+            boolean print = round == 2;
+            measureBulk("concat loop", names, bulkIterations, print, () -> {
+                List<String> result = new ArrayList<>(names.size());
+                for (String name : names) {
+                    result.add(EmailValidator.createGreetingGood(name));
+                }
+                return result.size();
+            });
+            measureBulk("renderAll", names, bulkIterations, print, () -> template.renderAll(names).size());
+            measureBulk("appendAll", names, bulkIterations, print, () -> {
+                bulk.setLength(0);
+                return template.appendAll(bulk, names, '\n').length();
+            });
+            measureBulk("encodeAll", names, bulkIterations, print, () -> {
+                bulkBytes.clear();
+                return template.encodeAll(bulkBytes, names, (byte) '\n');
+            });
+        }
+    }
+
+    private static void verify(MessageTemplate template) {
+        StringBuilder sb = new StringBuilder();
+        CharBuffer chars = CharBuffer.allocate(64);
+        ByteBuffer bytes = ByteBuffer.allocate(256);
+        String surrogate = "broken\uD800";
+        for (String name : concat(NAMES, surrogate)) {
+            String expected = EmailValidator.createGreetingGood(name);
+            sb.setLength(0);
+            chars.clear();
+            bytes.clear();
+            template.renderTo(chars, name).flip();
+            int written = template.encodeTo(bytes, name);
+            check(expected, EmailValidator.createGreetingTemplate(name));
+            check(expected, template.appendTo(sb, name).toString());
+            check(expected, chars.toString());
+            check(new String(expected.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8),
+                    new String(bytes.array(), 0, written, StandardCharsets.UTF_8));
+        }
+        MessageTemplate multi = MessageTemplate.compile("{{{greeting}}}, {name}! {greeting} again");
+        check("{hi}, kwang! hi again", multi.render("hi", "kwang"));
+        System.out.println("결과 일치 확인 완료");
+    }
+
+    private static String[] concat(String[] names, String extra) {
+        String[] result = Arrays.copyOf(names, names.length + 1);
+        result[names.length] = extra;
+        return result;
+    }
+
+    private static void check(String expected, String actual) {
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException("결과 불일치: expected=" + expected + " actual=" + actual);
+        }
+    }
+
+    private static void measure(String label, int iterations, boolean print, IntUnaryOperator op) {
+        long allocatedBefore = Allocations.allocatedBytes();
+        long start = System.nanoTime();
+        long checksum = 0L;
+        for (int i = 0; i < iterations; i++) {
+            checksum += op.applyAsInt(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = Allocations.allocatedBytes() - allocatedBefore;
+        if (print) {
+            System.out.printf("%-24s %8.1f ns/op  %8.1f B/op  [checksum=%d]%n",
+                    label, (double) elapsed / iterations, (double) allocated / iterations, checksum);
+        }
+    }
+
+    private static void measureBulk(String label, List<String> names, int iterations, boolean print,
+                                    IntSupplier op) {
+        long allocatedBefore = Allocations.allocatedBytes();
+        long start = System.nanoTime();
+        long checksum = 0L;
+        for (int i = 0; i < iterations; i++) {
+            checksum += op.getAsInt();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = Allocations.allocatedBytes() - allocatedBefore;
+        if (print) {
+            long count = (long) names.size() * iterations;
+            System.out.printf("bulk %-19s %8.1f ns/건  %8.1f B/건  [checksum=%d]%n",
+                    label, (double) elapsed / count, (double) allocated / count, checksum);
+        }
+    }
+}
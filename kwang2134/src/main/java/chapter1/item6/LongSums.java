@@ -0,0 +1,187 @@
+package chapter1.item6;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.LongStream;
+
+/**
+ * sumBad / sumGood 의 기본 타입 합계를 범위 합과 배열 합으로 일반화한 유틸리티
+ *  - scalar: sumGood 과 같은 단순 루프
+ *  - unrolled: 독립된 누산기 4개로 루프를 펼쳐 덧셈 간 의존성을 끊음 (배열 합은 JIT 가 SIMD 로 자동 벡터화하기 쉬움)
+ *  - parallelStream: LongStream.parallel() 사용
+ *  - forkJoin: 구간을 반으로 나누어 ForkJoinPool 에서 병렬 수행, 말단은 unrolled 사용
+ *  - rangeSum / sum: 입력 크기에 따라 위 방식 중 하나를 고름 (작은 입력은 병렬화 비용이 더 큼)
+ * 모든 메서드는 박싱 없이 기본 타입 long 으로만 계산하고 오버플로는 long 덧셈 규칙을 따름
+ */
+public final class LongSums {
+
+    // 이 크기 이상이면 병렬로 수행
+    private static final long PARALLEL_THRESHOLD = 1L << 20;
+    // ForkJoin 분할을 멈추고 한 스레드에서 계산하는 크기
+    private static final long LEAF_SIZE = 1L << 16;
+
+    private LongSums() {
+        throw new RuntimeException("생성 불가 클래스");
+    }
+
+    // ---------- 범위 합 [from, to] ----------
+
+    public static long rangeSum(long from, long to) {
+        if (to < from) {
+            return 0L;
+        }
+        // 개수 - 1 (to - from) 은 부호 없는 값으로 보면 [Long.MIN_VALUE, Long.MAX_VALUE] 에서도 넘치지 않음
+        return Long.compareUnsigned(to - from, PARALLEL_THRESHOLD - 1) >= 0
+                ? rangeSumForkJoin(from, to)
+                : rangeSumUnrolled(from, to);
+    }
+
+    public static long rangeSumScalar(long from, long to) {
+        if (to < from) {
+            return 0L;
+        }
+        long sum = 0L;
+        long i = from;
+        // i <= to 로 비교하면 to 가 Long.MAX_VALUE 일 때 끝나지 않으므로 남은 개수로 비교, 마지막 원소는 루프 뒤에 더함
+        for (long left = to - from; left != 0; left--, i++) {
+            sum += i;
+        }
+        return sum + i;
+    }
+
+    public static long rangeSumUnrolled(long from, long to) {
+        if (to < from) {
+            return 0L;
+        }
+        long s0 = 0L, s1 = 0L, s2 = 0L, s3 = 0L;
+        long i = from;
+        // i <= to 로 비교하면 to 가 Long.MAX_VALUE 일 때 끝나지 않으므로 개수로 반복
+        // 개수 (to - from + 1) 는 전체 long 범위에서 2^64 가 되어 넘치므로 부호 없는 span = to - from 에서 나눔
+        long span = to - from;
+        long blocks = (span >>> 2) + ((span & 3) == 3 ? 1 : 0);
+        int tail = (int) ((span + 1) & 3);
+        for (; blocks > 0; blocks--, i += 4) {
+            s0 += i;
+            s1 += i + 1;
+            s2 += i + 2;
+            s3 += i + 3;
+        }
+        for (; tail > 0; tail--, i++) {
+            s0 += i;
+        }
+        return s0 + s1 + s2 + s3;
+    }
+
+    public static long rangeSumParallelStream(long from, long to) {
+        return LongStream.rangeClosed(from, to).parallel().sum();
+    }
+
+    public static long rangeSumForkJoin(long from, long to) {
+        return rangeSumForkJoin(from, to, ForkJoinPool.commonPool());
+    }
+
+    public static long rangeSumForkJoin(long from, long to, ForkJoinPool pool) {
+        if (to < from) {
+            return 0L;
+        }
+        return pool.invoke(new RangeSumTask(from, to));
+    }
+
+    private static final class RangeSumTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+
+        RangeSumTask(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            // to - from 은 부호 없는 값으로 비교해야 전체 long 범위에서도 음수로 보이지 않음
+            if (Long.compareUnsigned(to - from, LEAF_SIZE) < 0) {
+                return rangeSumUnrolled(from, to);
+            }
+            long mid = from + ((to - from) >>> 1);
+            RangeSumTask left = new RangeSumTask(from, mid);
+            left.fork();
+            long right = new RangeSumTask(mid + 1, to).compute();
+            return left.join() + right;
+        }
+    }
+
+    // ---------- 배열 합 ----------
+
+    public static long sum(long[] values) {
+        return values.length >= PARALLEL_THRESHOLD ? sumForkJoin(values) : sumUnrolled(values);
+    }
+
+    public static long sumScalar(long[] values) {
+        long sum = 0L;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    public static long sumUnrolled(long[] values) {
+        return sumUnrolled(values, 0, values.length);
+    }
+
+    private static long sumUnrolled(long[] values, int from, int to) {
+        long s0 = 0L, s1 = 0L, s2 = 0L, s3 = 0L;
+        int i = from;
+        for (; i <= to - 4; i += 4) {
+            s0 += values[i];
+            s1 += values[i + 1];
+            s2 += values[i + 2];
+            s3 += values[i + 3];
+        }
+        for (; i < to; i++) {
+            s0 += values[i];
+        }
+        return s0 + s1 + s2 + s3;
+    }
+
+    public static long sumParallelStream(long[] values) {
+        return LongStream.of(values).parallel().sum();
+    }
+
+    public static long sumForkJoin(long[] values) {
+        return sumForkJoin(values, ForkJoinPool.commonPool());
+    }
+
+    public static long sumForkJoin(long[] values, ForkJoinPool pool) {
+        Objects.requireNonNull(values);
+        return pool.invoke(new ArraySumTask(values, 0, values.length));
+    }
+
+    private static final class ArraySumTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] values;
+        private final int from;
+        private final int to;
+
+        ArraySumTask(long[] values, int from, int to) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= LEAF_SIZE) {
+                return sumUnrolled(values, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ArraySumTask left = new ArraySumTask(values, from, mid);
+            left.fork();
+            long right = new ArraySumTask(values, mid, to).compute();
+            return left.join() + right;
+        }
+    }
+}
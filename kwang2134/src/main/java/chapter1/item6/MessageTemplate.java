@@ -0,0 +1,329 @@
+package chapter1.item6;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * "Hello, {name}!" 같은 템플릿을 미리 고정 문자열 조각과 변수 자리로 나누어 둔 불변 객체
+ *  - Pattern 처럼 한 번 compile 해서 정적 필드로 두고 재사용
+ *  - 고정 조각은 char[] 와 UTF-8 byte[] 로 미리 변환해 두어 렌더링 시 다시 인코딩하지 않음
+ *  - 재사용하는 StringBuilder, CharBuffer, ByteBuffer 에 바로 써서 중간 String 을 만들지 않음
+ *  - '{{' 와 '}}' 는 각각 '{', '}' 문자 그대로를 뜻함
+ *
+ * 변수 값은 variables() 순서대로 전달하고, 같은 이름이 여러 번 나오면 같은 값을 사용
+ * 변수가 하나인 템플릿은 가변인자 배열 생성을 피할 수 있도록 단일 인자 메서드를 따로 제공
+ */
+public final class MessageTemplate {
+
+    private final String source;
+    private final char[][] literals;       // literals[i] 다음에 slots[i] 번 변수가 옴, 마지막 조각 뒤에는 변수 없음
+    private final byte[][] utf8Literals;
+    private final int[] slots;
+    private final List<String> variables;
+    private final int literalLength;
+
+    private MessageTemplate(String source, List<String> literals, int[] slots, List<String> variables) {
+        this.source = source;
+        this.literals = new char[literals.size()][];
+        this.utf8Literals = new byte[literals.size()][];
+        int length = 0;
+        for (int i = 0; i < literals.size(); i++) {
+            String literal = literals.get(i);
+            this.literals[i] = literal.toCharArray();
+            this.utf8Literals[i] = literal.getBytes(StandardCharsets.UTF_8);
+            length += literal.length();
+        }
+        this.slots = slots;
+        this.variables = List.copyOf(variables);
+        this.literalLength = length;
+    }
+
+    public static MessageTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int[] slots = new int[0];
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (c == '{' && i + 1 < source.length() && source.charAt(i + 1) == '{') {
+                literal.append('{');
+                i += 2;
+            } else if (c == '}' && i + 1 < source.length() && source.charAt(i + 1) == '}') {
+                literal.append('}');
+                i += 2;
+            } else if (c == '{') {
+                int end = source.indexOf('}', i + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException("닫히지 않은 변수: " + source);
+                }
+                String name = source.substring(i + 1, end).trim();
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException("빈 변수 이름: " + source);
+                }
+                int slot = variables.indexOf(name);
+                if (slot < 0) {
+                    slot = variables.size();
+                    variables.add(name);
+                }
+                literals.add(literal.toString());
+                literal.setLength(0);
+                slots = Arrays.copyOf(slots, slots.length + 1);
+                slots[slots.length - 1] = slot;
+                i = end + 1;
+            } else if (c == '}') {
+                throw new IllegalArgumentException("짝이 없는 '}': " + source);
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+        return new MessageTemplate(source, literals, slots, variables);
+    }
+
+    public List<String> variables() {
+        return variables;
+    }
+
+    // ---------- String ----------
+
+    /**
+     * 결과를 String 으로 받는 경우는 StringBuilder 를 거쳐 한 번 더 복사하므로
+     * 컴파일러가 최적화하는 "Hello, " + name + "!" 연결보다 빠르지 않음
+     * 할당을 줄이려면 appendTo / renderTo / encodeTo 로 재사용 버퍼에 바로 기록할 것
+     */
+    public String render(CharSequence value) {
+        checkSingle(value);
+        return appendTo(new StringBuilder(literalLength + value.length()), value).toString();
+    }
+
+    public String render(CharSequence... values) {
+        checkValues(values);
+        return appendTo(new StringBuilder(length(values)), values).toString();
+    }
+
+    // ---------- StringBuilder ----------
+
+    /**
+     * 호출하는 쪽에서 StringBuilder 를 재사용하면 렌더링 중 할당이 없음 (용량이 부족할 때만 내부 배열 확장)
+     */
+    public StringBuilder appendTo(StringBuilder sb, CharSequence value) {
+        checkSingle(value);
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(literals[i]).append(value);
+        }
+        return sb.append(literals[slots.length]);
+    }
+
+    public StringBuilder appendTo(StringBuilder sb, CharSequence... values) {
+        checkValues(values);
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(literals[i]).append(values[slots[i]]);
+        }
+        return sb.append(literals[slots.length]);
+    }
+
+    // ---------- CharBuffer ----------
+
+    /**
+     * 남은 공간이 부족하면 BufferOverflowException 을 던지고 position 은 호출 전 위치로 되돌림
+     */
+    public CharBuffer renderTo(CharBuffer out, CharSequence value) {
+        checkSingle(value);
+        int start = out.position();
+        try {
+            for (int i = 0; i < slots.length; i++) {
+                out.put(literals[i]);
+                putChars(out, value);
+            }
+            return out.put(literals[slots.length]);
+        } catch (BufferOverflowException e) {
+            out.position(start);
+            throw e;
+        }
+    }
+
+    public CharBuffer renderTo(CharBuffer out, CharSequence... values) {
+        checkValues(values);
+        int start = out.position();
+        try {
+            for (int i = 0; i < slots.length; i++) {
+                out.put(literals[i]);
+                putChars(out, values[slots[i]]);
+            }
+            return out.put(literals[slots.length]);
+        } catch (BufferOverflowException e) {
+            out.position(start);
+            throw e;
+        }
+    }
+
+    private static void putChars(CharBuffer out, CharSequence value) {
+        if (value instanceof String s) {
+            out.put(s);
+            return;
+        }
+        for (int i = 0, n = value.length(); i < n; i++) {
+            out.put(value.charAt(i));
+        }
+    }
+
+    // ---------- UTF-8 ----------
+
+    /**
+     * UTF-8 로 인코딩해 out 에 기록하고 기록한 바이트 수 반환
+     * CharsetEncoder 나 중간 byte[] 없이 문자 단위로 바로 인코딩 (짝이 맞지 않는 서로게이트는 '?')
+     * 남은 공간이 부족하면 BufferOverflowException 을 던지고 position 은 호출 전 위치로 되돌림
+     */
+    public int encodeTo(ByteBuffer out, CharSequence value) {
+        checkSingle(value);
+        int start = out.position();
+        try {
+            for (int i = 0; i < slots.length; i++) {
+                out.put(utf8Literals[i]);
+                encodeUtf8(out, value);
+            }
+            out.put(utf8Literals[slots.length]);
+        } catch (BufferOverflowException e) {
+            out.position(start);
+            throw e;
+        }
+        return out.position() - start;
+    }
+
+    public int encodeTo(ByteBuffer out, CharSequence... values) {
+        checkValues(values);
+        int start = out.position();
+        try {
+            for (int i = 0; i < slots.length; i++) {
+                out.put(utf8Literals[i]);
+                encodeUtf8(out, values[slots[i]]);
+            }
+            out.put(utf8Literals[slots.length]);
+        } catch (BufferOverflowException e) {
+            out.position(start);
+            throw e;
+        }
+        return out.position() - start;
+    }
+
+    private static void encodeUtf8(ByteBuffer out, CharSequence value) {
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | (c >> 6)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                out.put((byte) (0xF0 | (cp >> 18)));
+                out.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                out.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (cp & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                out.put((byte) '?');
+            } else {
+                out.put((byte) (0xE0 | (c >> 12)));
+                out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    // ---------- 일괄 렌더링 (변수가 하나인 템플릿) ----------
+
+    /**
+     * 각 값을 렌더링해 separator 로 구분하여 sb 에 이어 붙임
+     */
+    public StringBuilder appendAll(StringBuilder sb, List<? extends CharSequence> values, char separator) {
+        checkSingle();
+        int rendered = 0;
+        for (CharSequence value : values) {
+            if (rendered++ > 0) {
+                sb.append(separator);
+            }
+            appendTo(sb, value);
+        }
+        return sb;
+    }
+
+    /**
+     * 각 값을 UTF-8 로 렌더링해 separator 로 구분하여 out 에 기록
+     * 공간이 부족하면 그 전까지 온전히 기록한 개수를 반환하고 나머지는 기록하지 않음
+     * (호출하는 쪽에서 버퍼를 비운 뒤 values.subList(반환값, size) 로 이어서 호출)
+     */
+    public int encodeAll(ByteBuffer out, List<? extends CharSequence> values, byte separator) {
+        checkSingle();
+        int written = 0;
+        for (CharSequence value : values) {
+            int start = out.position();
+            try {
+                encodeTo(out, value);
+                out.put(separator);
+            } catch (BufferOverflowException e) {
+                out.position(start);
+                return written;
+            }
+            written++;
+        }
+        return written;
+    }
+
+    /**
+     * 값마다 String 이 필요한 경우 StringBuilder 하나를 재사용해 결과 String 만 생성
+     */
+    public List<String> renderAll(List<? extends CharSequence> values) {
+        checkSingle();
+        List<String> result = new ArrayList<>(values.size());
+        StringBuilder sb = new StringBuilder(literalLength + 16);
+        for (CharSequence value : values) {
+            sb.setLength(0);
+            result.add(appendTo(sb, value).toString());
+        }
+        return result;
+    }
+
+    private int length(CharSequence[] values) {
+        int length = literalLength;
+        for (int slot : slots) {
+            length += values[slot].length();
+        }
+        return length;
+    }
+
+    private void checkSingle(CharSequence value) {
+        if (variables.size() != 1) {
+            throw new IllegalStateException("변수가 하나인 템플릿만 사용 가능: " + source);
+        }
+        Objects.requireNonNull(value, "변수 값은 null 일 수 없음");
+    }
+
+    private void checkSingle() {
+        if (variables.size() != 1) {
+            throw new IllegalStateException("변수가 하나인 템플릿만 사용 가능: " + source);
+        }
+    }
+
+    private void checkValues(CharSequence[] values) {
+        if (values.length != variables.size()) {
+            throw new IllegalArgumentException(
+                    "변수 " + variables + " 에 대해 값 " + values.length + "개가 전달됨: " + source);
+        }
+        for (CharSequence value : values) {
+            Objects.requireNonNull(value, "변수 값은 null 일 수 없음");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,134 @@
+package chapter1.item6;
+
+import benchmark.Allocations;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongSupplier;
+
+/**
+ * 1. 범위 합 [0, Integer.MAX_VALUE]: sumBad(박싱) / sumGood / LongSums 각 구현의 ms, 할당 바이트 비교
+ * 2. 배열 합: 크기별로 scalar / unrolled / parallelStream / forkJoin / sum(자동 선택) 의 ns/원소 비교
+ * 3. ForkJoin 병렬도(1, 2, 4, ... 코어 수)에 따른 범위 합 확장성
+ *  - 측정 전에 long 범위 끝(Long.MIN_VALUE / Long.MAX_VALUE)을 포함한 범위 합을 BigInteger 계산과 대조
+ *  - 실행: java chapter1.item6.SumBenchmark [sumBad 포함 여부(true/false)]
+ */
+public class SumBenchmark {
+
+    private static final long TO = Integer.MAX_VALUE;
+    private static final long EXPECTED = TO * (TO + 1) / 2;
+
+    public static void main(String[] args) {
+        boolean includeBoxed = args.length == 0 || Boolean.parseBoolean(args[0]);
+        verifyEdges();
+
+        System.out.println("== 범위 합 [0, Integer.MAX_VALUE] ==");
+        if (includeBoxed) {
+            // 한 번에 수 초가 걸리므로 워밍업 없이 한 번만 측정
+            measureRange("sumBad", EmailValidator::sumBad, true);
+        }
+        for (int round = 0; round < 3; round++) {
+            boolean print = round == 2;
+            measureRange("sumGood", EmailValidator::sumGood, print);
+            measureRange("rangeSumScalar", () -> LongSums.rangeSumScalar(0, TO), print);
+            measureRange("rangeSumUnrolled", () -> LongSums.rangeSumUnrolled(0, TO), print);
+            measureRange("rangeSumParallelStream", () -> LongSums.rangeSumParallelStream(0, TO), print);
+            measureRange("rangeSumForkJoin", () -> LongSums.rangeSumForkJoin(0, TO), print);
+            measureRange("rangeSum", () -> LongSums.rangeSum(0, TO), print);
+        }
+
+        System.out.println("== 배열 합 ==");
+        Random random = new Random(42);
+        for (int size : new int[]{1_000, 100_000, 10_000_000}) {
+            long[] values = random.longs(size, -1_000_000, 1_000_000).toArray();
+            long expected = LongSums.sumScalar(values);
+            int repeat = Math.max(1, 50_000_000 / size);
+            for (int round = 0; round < 3; round++) {
+                boolean print = round == 2;
+                measureArray("sumScalar", size, repeat, expected, () -> LongSums.sumScalar(values), print);
+                measureArray("sumUnrolled", size, repeat, expected, () -> LongSums.sumUnrolled(values), print);
+                measureArray("sumParallelStream", size, repeat, expected,
+                        () -> LongSums.sumParallelStream(values), print);
+                measureArray("sumForkJoin", size, repeat, expected, () -> LongSums.sumForkJoin(values), print);
+                measureArray("sum", size, repeat, expected, () -> LongSums.sum(values), print);
+            }
+        }
+
+        System.out.println("== ForkJoin 병렬도별 범위 합 ==");
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int parallelism = 1; ; parallelism = Math.min(parallelism * 2, cores)) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                for (int round = 0; round < 3; round++) {
+                    measureRange("forkJoin x" + parallelism, () -> LongSums.rangeSumForkJoin(0, TO, pool), round == 2);
+                }
+            } finally {
+                pool.shutdown();
+            }
+            if (parallelism == cores) {
+                break;
+            }
+        }
+    }
+
+    // 범위 끝에서도 루프가 끝나고, 결과가 long 덧셈 규칙(2^64 로 나눈 나머지)과 같은지 확인
+    private static void verifyEdges() {
+        long[][] ranges = {
+                {Long.MAX_VALUE - 2, Long.MAX_VALUE},
+                {Long.MAX_VALUE - 4 * (1L << 16) - 3, Long.MAX_VALUE},
+                {Long.MIN_VALUE, Long.MIN_VALUE + 5},
+                {-(1L << 17), 1L << 17},
+                {5, 5},
+                {5, 4}
+        };
+        for (long[] range : ranges) {
+            long from = range[0];
+            long to = range[1];
+            long expected = to < from ? 0L : BigInteger.valueOf(from).add(BigInteger.valueOf(to))
+                    .multiply(BigInteger.valueOf(to).subtract(BigInteger.valueOf(from)).add(BigInteger.ONE))
+                    .shiftRight(1).longValue();
+            String label = "[" + from + ", " + to + "] ";
+            check(label + "rangeSumScalar", expected, LongSums.rangeSumScalar(from, to));
+            check(label + "rangeSumUnrolled", expected, LongSums.rangeSumUnrolled(from, to));
+            check(label + "rangeSumForkJoin", expected, LongSums.rangeSumForkJoin(from, to));
+            check(label + "rangeSum", expected, LongSums.rangeSum(from, to));
+        }
+        System.out.println("범위 끝 확인 완료");
+    }
+
+    private static void measureRange(String label, LongSupplier sum, boolean print) {
+        long allocatedBefore = Allocations.allocatedBytes();
+        long start = System.nanoTime();
+        long result = sum.getAsLong();
+        long elapsed = System.nanoTime() - start;
+        long allocated = Allocations.allocatedBytes() - allocatedBefore;
+        check(label, EXPECTED, result);
+        if (print) {
+            System.out.printf("%-24s %10.1f ms  %,16d B (호출 스레드 할당)%n", label, elapsed / 1e6, allocated);
+        }
+    }
+
+    private static void measureArray(String label, int size, int repeat, long expected,
+                                     LongSupplier sum, boolean print) {
+        long allocatedBefore = Allocations.allocatedBytes();
+        long start = System.nanoTime();
+        long result = 0L;
+        for (int i = 0; i < repeat; i++) {
+            result = sum.getAsLong();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = Allocations.allocatedBytes() - allocatedBefore;
+        check(label, expected, result);
+        if (print) {
+            System.out.printf("%-18s n=%,-12d %8.3f ns/원소  %10.1f B/op%n",
+                    label, size, (double) elapsed / repeat / size, (double) allocated / repeat);
+        }
+    }
+
+    private static void check(String label, long expected, long actual) {
+        if (expected != actual) {
+            throw new IllegalStateException(label + " 결과 불일치: expected=" + expected + " actual=" + actual);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package chapter1.item7;
+
+import java.util.EmptyStackException;
+
+/**
+ * 고정 크기 배열 조각(chunk)을 연결한 스택
+ *  - 가득 차면 새 조각을 이어 붙이므로 늘어날 때 기존 원소를 복사하지 않음 (아주 큰 스택에서 복사 지연이 없음)
+ *  - pop 한 칸은 null 로 지움
+ *  - 조각이 비면 예비 조각 하나만 남기고 연결을 끊어 GC 가 회수할 수 있게 함
+ *    (예비 조각이 있어 조각 경계에서 push / pop 을 반복해도 배열을 매번 새로 만들지 않음)
+ */
+public class ChunkedStack<E> {
+    static final int DEFAULT_CHUNK_SIZE = 256;
+
+    private static final class Chunk {
+        final Object[] elements;
+        final Chunk previous;
+
+        Chunk(Object[] elements, Chunk previous) {
+            this.elements = elements;
+            this.previous = previous;
+        }
+    }
+
+    private final int chunkSize;
+    private Chunk top;
+    private int topSize;        // top 조각에 들어 있는 원소 수
+    private Object[] spare;     // 다시 쓸 수 있게 남겨 둔 빈 조각 배열
+    private int size;
+
+    public ChunkedStack() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public ChunkedStack(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("조각 크기는 1 이상이어야 함: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public void push(E element) {
+        if (top == null || topSize == chunkSize) {
+            top = newChunk(top);
+            topSize = 0;
+        }
+        top.elements[topSize++] = element;
+        size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E pop() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        Object[] elements = top.elements;
+        E element = (E) elements[--topSize];
+        elements[topSize] = null;
+        size--;
+        if (topSize == 0) {
+            // 빈 조각은 예비로 남기고 스택에서는 떼어냄 (이미 있던 예비 조각은 버림)
+            spare = elements;
+            top = top.previous;
+            topSize = top == null ? 0 : chunkSize;
+        }
+        return element;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return (E) top.elements[topSize - 1];
+    }
+
+    private Chunk newChunk(Chunk previous) {
+        if (spare != null) {
+            Chunk chunk = new Chunk(spare, previous);
+            spare = null;
+            return chunk;
+        }
+        return new Chunk(new Object[chunkSize], previous);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 예비 조각까지 모두 놓아줌
+     */
+    public void clear() {
+        top = null;
+        topSize = 0;
+        spare = null;
+        size = 0;
+    }
+}
@@ -0,0 +1,164 @@
+package chapter1.item7;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 여러 스레드가 동시에 push / pop 하는 락 없는 스택 (Treiber 스택 + 소거 배열)
+ *  - top 을 CAS 로 바꾸는 것이 기본 경로
+ *  - CAS 가 실패하면(경합) 바로 재시도하지 않고 소거 배열의 임의 칸에서 반대 연산을 기다림
+ *    push 와 pop 이 같은 칸에서 만나면 스택을 건드리지 않고 원소를 직접 주고받고 끝남
+ *    (push 직후 pop 한 것과 결과가 같으므로 선형화 가능, 경합이 심할수록 top 에 몰리는 CAS 가 줄어듦)
+ *  - pop 한 노드는 원소와 next 참조를 모두 지워 다 쓴 참조가 남지 않음
+ *    노드를 재사용하지 않으므로 지운 노드를 늦게 읽은 스레드의 CAS 는 항상 실패함 (ABA 문제 없음)
+ *  - null 원소는 허용하지 않고, 비어 있으면 pop 은 null 반환
+ */
+public class ConcurrentStack<E> {
+    private static final int DEFAULT_ELIMINATION_SIZE =
+            Math.min(16, Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    // 소거 칸에 올려 두고 짝을 기다리는 스핀 횟수
+    private static final int ELIMINATION_SPINS = 64;
+
+    private static final class Node<E> {
+        E item;
+        Node<E> next;
+
+        Node(E item) {
+            this.item = item;
+        }
+    }
+
+    /**
+     * 경합 통계 스냅숏
+     *  - casFailures: top CAS 실패 횟수
+     *  - eliminated: 소거 배열에서 짝을 만나 스택을 거치지 않고 끝난 push / pop 쌍의 수
+     */
+    public record Stats(long pushes, long pops, long emptyPops, long casFailures, long eliminated) {
+    }
+
+    private final AtomicReference<Node<E>> top = new AtomicReference<>();
+    private final AtomicReferenceArray<Node<E>> elimination;
+
+    private final LongAdder pushes = new LongAdder();
+    private final LongAdder pops = new LongAdder();
+    private final LongAdder emptyPops = new LongAdder();
+    private final LongAdder casFailures = new LongAdder();
+    private final LongAdder eliminated = new LongAdder();
+
+    public ConcurrentStack() {
+        this(DEFAULT_ELIMINATION_SIZE);
+    }
+
+    /**
+     * eliminationSize 가 0 이면 소거 없이 순수 Treiber 스택으로 동작
+     */
+    public ConcurrentStack(int eliminationSize) {
+        if (eliminationSize < 0) {
+            throw new IllegalArgumentException("소거 배열 크기는 0 이상이어야 함: " + eliminationSize);
+        }
+        this.elimination = eliminationSize == 0 ? null : new AtomicReferenceArray<>(eliminationSize);
+    }
+
+    public void push(E item) {
+        Objects.requireNonNull(item);
+        Node<E> node = new Node<>(item);
+        pushes.increment();
+        while (true) {
+            Node<E> current = top.get();
+            node.next = current;
+            if (top.compareAndSet(current, node)) {
+                return;
+            }
+            casFailures.increment();
+            if (elimination != null && offer(node)) {
+                return;
+            }
+        }
+    }
+
+    public E pop() {
+        while (true) {
+            Node<E> current = top.get();
+            if (current == null) {
+                emptyPops.increment();
+                return null;
+            }
+            if (top.compareAndSet(current, current.next)) {
+                pops.increment();
+                return unlink(current);
+            }
+            casFailures.increment();
+            if (elimination != null) {
+                Node<E> node = take();
+                if (node != null) {
+                    pops.increment();
+                    eliminated.increment();
+                    return unlink(node);
+                }
+            }
+        }
+    }
+
+    public E peek() {
+        while (true) {
+            Node<E> current = top.get();
+            if (current == null) {
+                return null;
+            }
+            // 읽는 사이 pop 되어 원소가 지워졌다면 새 top 으로 다시 읽음
+            E item = current.item;
+            if (item != null) {
+                return item;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return top.get() == null;
+    }
+
+    private static <E> E unlink(Node<E> node) {
+        E item = node.item;
+        node.item = null;
+        node.next = null;
+        return item;
+    }
+
+    /**
+     * 임의 칸에 노드를 올려 두고 잠시 pop 을 기다림
+     * 기다리는 동안 누가 가져가면 true, 시간 안에 아무도 가져가지 않아 회수하면 false
+     */
+    private boolean offer(Node<E> node) {
+        int slot = ThreadLocalRandom.current().nextInt(elimination.length());
+        if (!elimination.compareAndSet(slot, null, node)) {
+            return false;
+        }
+        for (int i = 0; i < ELIMINATION_SPINS; i++) {
+            if (elimination.get(slot) != node) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+        // 회수에 실패했다면 그 사이 pop 이 가져간 것
+        return !elimination.compareAndSet(slot, node, null);
+    }
+
+    /**
+     * 임의 칸에 올라온 push 노드가 있으면 가져감
+     */
+    private Node<E> take() {
+        int slot = ThreadLocalRandom.current().nextInt(elimination.length());
+        Node<E> node = elimination.get(slot);
+        if (node != null && elimination.compareAndSet(slot, node, null)) {
+            return node;
+        }
+        return null;
+    }
+
+    public Stats stats() {
+        return new Stats(pushes.sum(), pops.sum(), emptyPops.sum(), casFailures.sum(), eliminated.sum());
+    }
+}
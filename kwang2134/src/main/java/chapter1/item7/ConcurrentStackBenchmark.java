@@ -0,0 +1,127 @@
+package chapter1.item7;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 스레드 수(1 ~ 64)별 push / pop 처리량 비교
+ *  - ConcurrentStack (소거 배열 사용) / ConcurrentStack (소거 없는 Treiber) / ConcurrentLinkedDeque / synchronized ArrayDeque
+ *  - 각 스레드는 정해진 시간 동안 push 와 pop 을 번갈아 수행 (스케줄러의 free-list 처럼 빌리고 돌려주는 패턴)
+ *  - ConcurrentStack 은 CAS 실패 / 소거 횟수도 함께 출력
+ *  - 실행: java chapter1.item7.ConcurrentStackBenchmark [측정 시간(ms)]
+ */
+public class ConcurrentStackBenchmark {
+
+    private static final Object ITEM = new Object();
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+
+    private interface Target {
+        void push(Object item);
+
+        Object pop();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        long durationMillis = args.length > 0 ? Long.parseLong(args[0]) : 500;
+        System.out.printf("코어 수: %d%n", Runtime.getRuntime().availableProcessors());
+
+        for (int threads : THREAD_COUNTS) {
+            ConcurrentStack<Object> elimination = new ConcurrentStack<>();
+            run("ConcurrentStack", threads, durationMillis, new Target() {
+                public void push(Object item) {
+                    elimination.push(item);
+                }
+
+                public Object pop() {
+                    return elimination.pop();
+                }
+            });
+            System.out.printf("    %s%n", elimination.stats());
+
+            ConcurrentStack<Object> treiber = new ConcurrentStack<>(0);
+            run("Treiber (소거 없음)", threads, durationMillis, new Target() {
+                public void push(Object item) {
+                    treiber.push(item);
+                }
+
+                public Object pop() {
+                    return treiber.pop();
+                }
+            });
+            System.out.printf("    %s%n", treiber.stats());
+
+            ConcurrentLinkedDeque<Object> deque = new ConcurrentLinkedDeque<>();
+            run("ConcurrentLinkedDeque", threads, durationMillis, new Target() {
+                public void push(Object item) {
+                    deque.push(item);
+                }
+
+                public Object pop() {
+                    return deque.pollFirst();
+                }
+            });
+
+            ArrayDeque<Object> locked = new ArrayDeque<>();
+            run("synchronized ArrayDeque", threads, durationMillis, new Target() {
+                public void push(Object item) {
+                    synchronized (locked) {
+                        locked.push(item);
+                    }
+                }
+
+                public Object pop() {
+                    synchronized (locked) {
+                        return locked.pollFirst();
+                    }
+                }
+            });
+        }
+    }
+
+    private static void run(String label, int threads, long durationMillis, Target target)
+            throws InterruptedException {
+        // 워밍업
+        measure(threads, durationMillis / 2, target);
+        long operations = measure(threads, durationMillis, target);
+        System.out.printf("%-24s threads=%-3d %8.2f Mops/s%n",
+                label, threads, operations / (durationMillis * 1_000.0));
+    }
+
+    private static long measure(int threads, long durationMillis, Target target) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder operations = new LongAdder();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long count = 0;
+                while (running.get()) {
+                    target.push(ITEM);
+                    target.pop();
+                    count += 2;
+                }
+                operations.add(count);
+            });
+            workers[t].start();
+        }
+        ready.await();
+        start.countDown();
+        Thread.sleep(durationMillis);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return operations.sum();
+    }
+}
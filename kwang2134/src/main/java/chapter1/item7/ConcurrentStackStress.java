@@ -0,0 +1,218 @@
+package chapter1.item7;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * ConcurrentStack 스트레스 검사 (jcstress 가 없어 main 으로 실행)
+ *  1. 보존: 여러 스레드가 서로 다른 값을 push / pop 한 뒤 남은 것을 비우면 모든 값이 정확히 한 번씩 나와야 함
+ *  2. 선형화 가능성: 스레드 3개가 연산 3개씩 수행한 짧은 이력을 많이 만들고,
+ *     실제 시간 순서(끝난 연산은 나중에 시작한 연산보다 앞)를 지키면서 순차 스택으로 설명되는 순서가 있는지 전수 탐색
+ *  3. 다 쓴 참조: pop 한 원소가 스택 어디에도 남아 있지 않은지 WeakReference 로 확인
+ * 하나라도 실패하면 예외
+ *  - 실행: java chapter1.item7.ConcurrentStackStress [스레드 수] [스레드당 연산 수] [이력 수]
+ */
+public class ConcurrentStackStress {
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int histories = args.length > 2 ? Integer.parseInt(args[2]) : 20_000;
+
+        for (int eliminationSize : new int[]{0, 4}) {
+            conservation(new ConcurrentStack<>(eliminationSize), threads, operations);
+            linearizability(eliminationSize, histories);
+        }
+        noLoitering();
+    }
+
+    // ---------- 1. 보존 ----------
+
+    private static void conservation(ConcurrentStack<Integer> stack, int threads, int operations)
+            throws InterruptedException {
+        int total = threads * operations;
+        AtomicIntegerArray seen = new AtomicIntegerArray(total);
+        runConcurrently(threads, t -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int next = t * operations;
+            int end = next + operations;
+            while (next < end) {
+                if (random.nextBoolean()) {
+                    stack.push(next++);
+                } else {
+                    Integer value = stack.pop();
+                    if (value != null) {
+                        seen.incrementAndGet(value);
+                    }
+                }
+            }
+        });
+        Integer value;
+        while ((value = stack.pop()) != null) {
+            seen.incrementAndGet(value);
+        }
+        for (int i = 0; i < total; i++) {
+            if (seen.get(i) != 1) {
+                throw new IllegalStateException("값 " + i + " 이 " + seen.get(i) + "번 나옴");
+            }
+        }
+        System.out.printf("보존 검사 통과: %,d개, %s%n", total, stack.stats());
+    }
+
+    // ---------- 2. 선형화 가능성 ----------
+
+    private static final int HISTORY_THREADS = 3;
+    private static final int HISTORY_OPS = 3;
+
+    private record Op(boolean push, int value, long start, long end) {
+    }
+
+    private static void linearizability(int eliminationSize, int histories) throws InterruptedException {
+        int eliminatedHistories = 0;
+        for (int h = 0; h < histories; h++) {
+            ConcurrentStack<Integer> stack = new ConcurrentStack<>(eliminationSize);
+            // 미리 원소 하나를 넣어 두어 첫 pop 이 비어 있지 않은 경우도 섞음
+            boolean seeded = (h & 1) == 0;
+            if (seeded) {
+                stack.push(-1);
+            }
+            Op[][] ops = new Op[HISTORY_THREADS][HISTORY_OPS];
+            runConcurrently(HISTORY_THREADS, t -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < HISTORY_OPS; i++) {
+                    if (random.nextBoolean()) {
+                        int value = t * HISTORY_OPS + i;
+                        long start = System.nanoTime();
+                        stack.push(value);
+                        ops[t][i] = new Op(true, value, start, System.nanoTime());
+                    } else {
+                        long start = System.nanoTime();
+                        Integer value = stack.pop();
+                        ops[t][i] = new Op(false, value == null ? Integer.MIN_VALUE : value, start, System.nanoTime());
+                    }
+                }
+            });
+            List<Op> all = new ArrayList<>();
+            for (Op[] threadOps : ops) {
+                all.addAll(List.of(threadOps));
+            }
+            List<Integer> initial = new ArrayList<>();
+            if (seeded) {
+                initial.add(-1);
+            }
+            if (!linearizable(all, new boolean[all.size()], initial, 0)) {
+                throw new IllegalStateException("선형화할 수 없는 이력: " + all);
+            }
+            if (stack.stats().eliminated() > 0) {
+                eliminatedHistories++;
+            }
+        }
+        System.out.printf("선형화 검사 통과 (소거 배열 %d칸): 이력 %,d개, 소거가 일어난 이력 %,d개%n",
+                eliminationSize, histories, eliminatedHistories);
+    }
+
+    /**
+     * 아직 고르지 않은 연산 중, 자신보다 먼저 끝난 미선택 연산이 없는 것만 다음 순서로 고를 수 있음
+     */
+    private static boolean linearizable(List<Op> ops, boolean[] done, List<Integer> stack, int count) {
+        if (count == ops.size()) {
+            return true;
+        }
+        for (int i = 0; i < ops.size(); i++) {
+            if (done[i] || !minimal(ops, done, i)) {
+                continue;
+            }
+            Op op = ops.get(i);
+            List<Integer> next = new ArrayList<>(stack);
+            if (op.push()) {
+                next.add(op.value());
+            } else if (op.value() == Integer.MIN_VALUE) {
+                if (!next.isEmpty()) {
+                    continue;
+                }
+            } else if (next.isEmpty() || next.remove(next.size() - 1) != op.value()) {
+                continue;
+            }
+            done[i] = true;
+            if (linearizable(ops, done, next, count + 1)) {
+                return true;
+            }
+            done[i] = false;
+        }
+        return false;
+    }
+
+    private static boolean minimal(List<Op> ops, boolean[] done, int candidate) {
+        long start = ops.get(candidate).start();
+        for (int j = 0; j < ops.size(); j++) {
+            if (!done[j] && j != candidate && ops.get(j).end() < start) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---------- 3. 다 쓴 참조 ----------
+
+    private static void noLoitering() throws InterruptedException {
+        ConcurrentStack<byte[]> stack = new ConcurrentStack<>();
+        List<WeakReference<byte[]>> watched = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            byte[] payload = new byte[1 << 20];
+            watched.add(new WeakReference<>(payload));
+            stack.push(payload);
+        }
+        runConcurrently(4, t -> {
+            for (int i = 0; i < 8; i++) {
+                stack.pop();
+            }
+        });
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        long retained = watched.stream().filter(reference -> reference.get() != null).count();
+        if (retained != 0 || !stack.isEmpty()) {
+            throw new IllegalStateException("pop 후에도 남은 원소: " + retained);
+        }
+        System.out.println("다 쓴 참조 검사 통과: pop 한 원소 32개 모두 수거됨");
+    }
+
+    private interface Task {
+        void run(int thread);
+    }
+
+    private static void runConcurrently(int threads, Task task) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        RuntimeException[] failure = new RuntimeException[1];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                    task.run(id);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    failure[0] = e;
+                }
+            });
+            workers[t].start();
+        }
+        ready.await();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package chapter1.item7;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * int 전용 스택
+ *  - 박싱 없이 int[] 에 바로 저장 (Stack<Integer> 는 원소마다 Integer 객체와 참조를 가짐)
+ *  - 참조가 없으므로 pop 한 칸을 지울 필요는 없고 용량 정책은 ObjectStack 과 같음
+ */
+public class IntStack {
+    private final int minCapacity;
+    private int[] elements;
+    private int size;
+
+    public IntStack() {
+        this(ObjectStack.DEFAULT_CAPACITY);
+    }
+
+    public IntStack(int minCapacity) {
+        if (minCapacity <= 0) {
+            throw new IllegalArgumentException("최소 용량은 1 이상이어야 함: " + minCapacity);
+        }
+        this.minCapacity = minCapacity;
+        this.elements = new int[minCapacity];
+    }
+
+    public void push(int element) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, StackCapacity.grow(elements.length));
+        }
+        elements[size++] = element;
+    }
+
+    public int pop() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        int element = elements[--size];
+        if (StackCapacity.shouldShrink(size, elements.length, minCapacity)) {
+            elements = Arrays.copyOf(elements, StackCapacity.shrink(elements.length, minCapacity));
+        }
+        return element;
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return elements[size - 1];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+
+    public void clear() {
+        elements = new int[minCapacity];
+        size = 0;
+    }
+}
@@ -0,0 +1,69 @@
+package chapter1.item7;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * long 전용 스택
+ *  - 박싱 없이 long[] 에 바로 저장 (Stack<Long> 는 원소마다 Long 객체와 참조를 가짐)
+ *  - 참조가 없으므로 pop 한 칸을 지울 필요는 없고 용량 정책은 ObjectStack 과 같음
+ */
+public class LongStack {
+    private final int minCapacity;
+    private long[] elements;
+    private int size;
+
+    public LongStack() {
+        this(ObjectStack.DEFAULT_CAPACITY);
+    }
+
+    public LongStack(int minCapacity) {
+        if (minCapacity <= 0) {
+            throw new IllegalArgumentException("최소 용량은 1 이상이어야 함: " + minCapacity);
+        }
+        this.minCapacity = minCapacity;
+        this.elements = new long[minCapacity];
+    }
+
+    public void push(long element) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, StackCapacity.grow(elements.length));
+        }
+        elements[size++] = element;
+    }
+
+    public long pop() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        long element = elements[--size];
+        if (StackCapacity.shouldShrink(size, elements.length, minCapacity)) {
+            elements = Arrays.copyOf(elements, StackCapacity.shrink(elements.length, minCapacity));
+        }
+        return element;
+    }
+
+    public long peek() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return elements[size - 1];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+
+    public void clear() {
+        elements = new long[minCapacity];
+        size = 0;
+    }
+}
@@ -1,5 +1,6 @@
 package chapter1.item7;
 
+import java.util.Arrays;
 import java.util.EmptyStackException;
 
 public class MemoryLeak {
@@ -16,6 +17,20 @@ public class MemoryLeak {
             elements = new Object[DEFAULT_CAPACITY];
         }
 
+        /**
+         * 원소를 위한 공간이 부족하면 배열을 약 2배로 늘림
+         * 늘어난 배열은 줄어들지 않음 (줄이는 정책까지 갖춘 스택은 ObjectStack 참고)
+         */
+        public void push(Object e) {
+            ensureCapacity();
+            elements[size++] = e;
+        }
+
+        private void ensureCapacity() {
+            if (elements.length == size)
+                elements = Arrays.copyOf(elements, 2 * size + 1);
+        }
+
         /**
          * size 값을 줄이며 현재 스택의 top에 존재하는 객체를 반환
          * 배열의 크기가 16이고 가득찼던 (15번 인덱스까지 객체가 존재했던) 상태에서 pop 수행 시
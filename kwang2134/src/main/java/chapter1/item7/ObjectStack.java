@@ -0,0 +1,80 @@
+package chapter1.item7;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * MemoryLeak.Stack 을 실제로 쓸 수 있게 만든 스택
+ *  - pop 한 칸은 null 로 지워 다 쓴 참조가 남지 않음 (popGood 방식)
+ *  - 가득 차면 용량을 2배로 늘림
+ *  - 원소 수가 용량의 1/4 아래로 떨어지면 용량을 절반으로 줄임
+ *    (절반이 아니라 1/4 에서 줄여야 경계에서 push / pop 을 반복할 때 늘이고 줄이기를 반복하지 않음)
+ *  - 최소 용량 아래로는 줄이지 않음
+ */
+public class ObjectStack<E> {
+    static final int DEFAULT_CAPACITY = 16;
+
+    private final int minCapacity;
+    private Object[] elements;
+    private int size;
+
+    public ObjectStack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ObjectStack(int minCapacity) {
+        if (minCapacity <= 0) {
+            throw new IllegalArgumentException("최소 용량은 1 이상이어야 함: " + minCapacity);
+        }
+        this.minCapacity = minCapacity;
+        this.elements = new Object[minCapacity];
+    }
+
+    public void push(E element) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, StackCapacity.grow(elements.length));
+        }
+        elements[size++] = element;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E pop() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        E element = (E) elements[--size];
+        elements[size] = null;
+        if (StackCapacity.shouldShrink(size, elements.length, minCapacity)) {
+            elements = Arrays.copyOf(elements, StackCapacity.shrink(elements.length, minCapacity));
+        }
+        return element;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return (E) elements[size - 1];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * 참조를 모두 지우고 최소 용량의 새 배열로 교체
+     */
+    public void clear() {
+        elements = new Object[minCapacity];
+        size = 0;
+    }
+}
@@ -0,0 +1,169 @@
+package chapter1.item7;
+
+import benchmark.Allocations;
+
+import java.util.ArrayDeque;
+
+/**
+ * push / pop 처리량과 할당량 비교 (ArrayDeque 기준)
+ *  - 참조 스택: ArrayDeque<Object> / ObjectStack / ChunkedStack
+ *  - 기본 타입 스택: ArrayDeque<Integer|Long|Double> (박싱) / IntStack / LongStack / DoubleStack
+ * 한 라운드는 depth 개를 push 한 뒤 전부 pop 하는 것을 반복
+ *  - 실행: java chapter1.item7.StackBenchmark [depth]
+ */
+public class StackBenchmark {
+
+    private static final Object ITEM = new Object();
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int repeat = Math.max(1, 20_000_000 / depth);
+
+        for (int round = 0; round < 3; round++) {
+            boolean print = round == 2;
+            measure("ArrayDeque<Object>", depth, repeat, print, StackBenchmark::arrayDeque);
+            measure("ObjectStack", depth, repeat, print, StackBenchmark::objectStack);
+            measure("ChunkedStack", depth, repeat, print, StackBenchmark::chunkedStack);
+            measure("ArrayDeque<Integer>", depth, repeat, print, StackBenchmark::boxedInt);
+            measure("IntStack", depth, repeat, print, StackBenchmark::intStack);
+            measure("ArrayDeque<Long>", depth, repeat, print, StackBenchmark::boxedLong);
+            measure("LongStack", depth, repeat, print, StackBenchmark::longStack);
+            measure("ArrayDeque<Double>", depth, repeat, print, StackBenchmark::boxedDouble);
+            measure("DoubleStack", depth, repeat, print, StackBenchmark::doubleStack);
+        }
+    }
+
+    private interface Workload {
+        long run(int depth);
+    }
+
+    private static long arrayDeque(int depth) {
+        ArrayDeque<Object> stack = new ArrayDeque<>();
+        for (int i = 0; i < depth; i++) {
+            stack.push(ITEM);
+        }
+        long popped = 0;
+        while (!stack.isEmpty()) {
+            if (stack.pop() == ITEM) {
+                popped++;
+            }
+        }
+        return popped;
+    }
+
+    private static long objectStack(int depth) {
+        ObjectStack<Object> stack = new ObjectStack<>();
+        for (int i = 0; i < depth; i++) {
+            stack.push(ITEM);
+        }
+        long popped = 0;
+        while (!stack.isEmpty()) {
+            if (stack.pop() == ITEM) {
+                popped++;
+            }
+        }
+        return popped;
+    }
+
+    private static long chunkedStack(int depth) {
+        ChunkedStack<Object> stack = new ChunkedStack<>();
+        for (int i = 0; i < depth; i++) {
+            stack.push(ITEM);
+        }
+        long popped = 0;
+        while (!stack.isEmpty()) {
+            if (stack.pop() == ITEM) {
+                popped++;
+            }
+        }
+        return popped;
+    }
+
+    private static long boxedInt(int depth) {
+        ArrayDeque<Integer> stack = new ArrayDeque<>();
+        for (int i = 0; i < depth; i++) {
+            stack.push(i);
+        }
+        long sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    private static long intStack(int depth) {
+        IntStack stack = new IntStack();
+        for (int i = 0; i < depth; i++) {
+            stack.push(i);
+        }
+        long sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    private static long boxedLong(int depth) {
+        ArrayDeque<Long> stack = new ArrayDeque<>();
+        for (long i = 0; i < depth; i++) {
+            stack.push(i);
+        }
+        long sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    private static long longStack(int depth) {
+        LongStack stack = new LongStack();
+        for (long i = 0; i < depth; i++) {
+            stack.push(i);
+        }
+        long sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    private static long boxedDouble(int depth) {
+        ArrayDeque<Double> stack = new ArrayDeque<>();
+        for (int i = 0; i < depth; i++) {
+            stack.push((double) i);
+        }
+        double sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return (long) sum;
+    }
+
+    private static long doubleStack(int depth) {
+        DoubleStack stack = new DoubleStack();
+        for (int i = 0; i < depth; i++) {
+            stack.push(i);
+        }
+        double sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return (long) sum;
+    }
+
+    private static void measure(String label, int depth, int repeat, boolean print, Workload workload) {
+        long allocatedBefore = Allocations.allocatedBytes();
+        long start = System.nanoTime();
+        long checksum = 0;
+        for (int i = 0; i < repeat; i++) {
+            checksum += workload.run(depth);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = Allocations.allocatedBytes() - allocatedBefore;
+        if (print) {
+            double operations = 2.0 * depth * repeat;
+            System.out.printf("%-20s %6.2f ns/op  %8.2f B/op  %8.1f Mops/s  [checksum=%d]%n",
+                    label, elapsed / operations, allocated / operations, operations * 1e3 / elapsed, checksum);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package chapter1.item7;
+
+/**
+ * 스택 계열이 함께 쓰는 용량 정책
+ *  - 늘릴 때: 2배 (배열 최대 크기 근처에서는 최대 크기까지만)
+ *  - 줄일 때: 원소 수가 용량의 1/4 미만이면 절반으로, 단 최소 용량 아래로는 줄이지 않음
+ */
+final class StackCapacity {
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private StackCapacity() {
+        throw new RuntimeException("생성 불가 클래스");
+    }
+
+    static int grow(int capacity) {
+        if (capacity >= MAX_ARRAY_SIZE) {
+            throw new OutOfMemoryError("스택 최대 크기 초과");
+        }
+        return (int) Math.min((long) capacity << 1, MAX_ARRAY_SIZE);
+    }
+
+    static boolean shouldShrink(int size, int capacity, int minCapacity) {
+        return capacity > minCapacity && size < capacity >>> 2;
+    }
+
+    static int shrink(int capacity, int minCapacity) {
+        return Math.max(capacity >>> 1, minCapacity);
+    }
+}
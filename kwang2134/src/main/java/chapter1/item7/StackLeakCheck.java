@@ -0,0 +1,110 @@
+package chapter1.item7;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * pop 한 객체를 스택이 계속 붙잡고 있는지(다 쓴 참조) 확인
+ *  - 큰 byte[] 를 push 한 뒤 모두 pop 하고, 스택 자체는 살려 둔 채로 GC 를 수행
+ *  - 각 byte[] 를 WeakReference 로 지켜보다가 GC 후에도 살아 있는 개수와 힙 사용량 증가분을 출력
+ *  - popBad 는 전부 남아 있어야 하고, 나머지 스택은 하나도 남지 않아야 함 (아니면 예외)
+ *  - 실행: java chapter1.item7.StackLeakCheck
+ */
+public class StackLeakCheck {
+
+    private static final int COUNT = 64;
+    private static final int PAYLOAD_SIZE = 1 << 20;
+
+    public static void main(String[] args) throws InterruptedException {
+        MemoryLeak.Stack leaky = new MemoryLeak.Stack();
+        check("MemoryLeak.popBad", leaky, leaky::push, leaky::popBad, COUNT);
+
+        MemoryLeak.Stack fixed = new MemoryLeak.Stack();
+        check("MemoryLeak.popGood", fixed, fixed::push, fixed::popGood, 0);
+
+        ObjectStack<Object> objectStack = new ObjectStack<>();
+        check("ObjectStack", objectStack, objectStack::push, objectStack::pop, 0);
+        System.out.printf("  ObjectStack 용량: 최대 %d 까지 늘었다가 %d 로 줄어듦%n",
+                Integer.highestOneBit(COUNT - 1) << 1, objectStack.capacity());
+
+        ChunkedStack<Object> chunkedStack = new ChunkedStack<>(8);
+        check("ChunkedStack", chunkedStack, chunkedStack::push, chunkedStack::pop, 0);
+
+        checkShrinkHysteresis();
+    }
+
+    private static void check(String label, Object stack, Consumer<Object> push, Supplier<Object> pop,
+                              int expectedRetained) throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        forceGc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+
+        List<WeakReference<byte[]>> watched = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            byte[] payload = new byte[PAYLOAD_SIZE];
+            watched.add(new WeakReference<>(payload));
+            push.accept(payload);
+        }
+        for (int i = 0; i < COUNT; i++) {
+            pop.get();
+        }
+
+        forceGc();
+        long retainedBytes = memory.getHeapMemoryUsage().getUsed() - heapBefore;
+        int retained = 0;
+        for (WeakReference<byte[]> reference : watched) {
+            if (reference.get() != null) {
+                retained++;
+            }
+        }
+        System.out.printf("%-20s pop 후 남은 객체 %2d/%d  힙 증가 약 %,d KB%n",
+                label, retained, COUNT, Math.max(0, retainedBytes) / 1024);
+        if (retained != expectedRetained) {
+            throw new IllegalStateException(label + ": 남은 객체 수 " + retained + ", 기대값 " + expectedRetained);
+        }
+        // 측정이 끝날 때까지 스택이 수거되지 않도록 유지
+        Reference.reachabilityFence(stack);
+    }
+
+    /**
+     * 한 번 줄어든 직후 그 경계에서 push / pop 을 반복해도 다시 늘이거나 줄이지 않는지 확인
+     * (절반에서 바로 줄이는 정책이라면 여기서 매번 배열을 새로 만듦)
+     */
+    private static void checkShrinkHysteresis() {
+        ObjectStack<Integer> stack = new ObjectStack<>(4);
+        for (int i = 0; i < 64; i++) {
+            stack.push(i);
+        }
+        int grown = stack.capacity();
+        while (stack.capacity() == grown) {
+            stack.pop();
+        }
+        int capacity = stack.capacity();
+        for (int i = 0; i < 1_000; i++) {
+            stack.push(i);
+            stack.push(i);
+            stack.pop();
+            stack.pop();
+            stack.pop();
+            stack.push(i);
+        }
+        if (stack.capacity() != capacity) {
+            throw new IllegalStateException("경계에서 용량이 바뀜: " + capacity + " -> " + stack.capacity());
+        }
+        System.out.printf("ObjectStack %d -> %d 로 줄어든 뒤 경계에서 push/pop 반복해도 용량 유지 (size=%d)%n",
+                grown, capacity, stack.size());
+    }
+
+    private static void forceGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+    }
+}
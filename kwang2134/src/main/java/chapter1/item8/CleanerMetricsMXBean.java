@@ -0,0 +1,31 @@
+package chapter1.item8;
+
+/**
+ * JMX 로 노출하는 Cleaner 안전망 지표 (jconsole 등에서 chapter1.item8:type=CleanerMetrics 로 조회)
+ */
+public interface CleanerMetricsMXBean {
+
+    long getRegistered();
+
+    long getLive();
+
+    long getExplicitCloses();
+
+    /**
+     * close() 를 잊어 Cleaner 가 대신 정리한 수 (0 이 아니면 누수가 있다는 뜻)
+     */
+    long getCleanerCloses();
+
+    /**
+     * 등록부터 정리까지 걸린 시간 분포 (약 64 개 중 하나를 잰 표본)
+     * i 번째 칸은 2^(i-1) 이상 2^i 마이크로초 미만 (0 번째 칸은 1 마이크로초 미만)
+     */
+    long[] getTimeToCloseHistogram();
+
+    /**
+     * Cleaner 가 정리한(누수된) 것 중 생성 위치를 기록한 표본의 최근 스택 트레이스
+     */
+    String[] getRecentLeakSites();
+
+    int getSampleRate();
+}
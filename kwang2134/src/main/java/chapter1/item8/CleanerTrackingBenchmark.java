@@ -0,0 +1,194 @@
+package chapter1.item8;
+
+import benchmark.Allocations;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import javax.management.ObjectName;
+
+/**
+ * Cleaner.register + clean() 한 번의 비용을 Cleaner 그대로 쓸 때와 TrackedCleaner(생성 위치 표본 비율별)로 감쌀 때 비교
+ *  - 먼저 자원 등록과 정리 비용만 (실제 자원 작업 없음) 재므로 여기서의 차이가 실제 자원에서 늘어나는 비용의 상한
+ *  - 다음으로 FileManager 처럼 실제 파일을 열고 4KB 읽고 닫는 작업에 등록 / 정리를 붙여 잼 (1% 예산은 이 기준)
+ *  - 한 번 측정의 오차(GC, JIT)가 수 % 라서 1% 수준의 차이를 보려면 여러 번 재야 함
+ *    구현들을 번갈아 (회차마다 순서를 뒤집어) WARMUP_ROUNDS + ROUNDS 회 재고 워밍업 뒤 회차들의 중앙값을 출력
+ *  - 측정 전에 여러 스레드가 동시에 등록 / 정리해도 수가 정확한지, 누수 하나도 세는지 확인
+ *  - 끝으로 close() 를 빠뜨린 자원을 만들어 누수 횟수와 생성 위치가 JMX 로 보이는지 확인
+ *  - 실행: java chapter1.item8.CleanerTrackingBenchmark [반복 수]
+ */
+public class CleanerTrackingBenchmark {
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int ROUNDS = 15;
+    private static final int FILE_SIZE = 4096;
+
+    private static final Runnable NOOP = () -> {
+    };
+
+    private interface Registrar {
+        Cleaner.Cleanable register(Object obj, Runnable action);
+    }
+
+    private interface Workload {
+        void run(int iterations, Registrar registrar) throws IOException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        Cleaner cleaner = Cleaner.create();
+        TrackedCleaner off = new TrackedCleaner("off", cleaner, 0);
+        TrackedCleaner sampled1000 = new TrackedCleaner("1/1000", cleaner, 1_000);
+        TrackedCleaner sampled100 = new TrackedCleaner("1/100", cleaner, 100);
+        TrackedCleaner always = new TrackedCleaner("1/1", cleaner, 1);
+        verifyCounts();
+
+        System.out.println("== 등록 + clean() 만 ==");
+        compare(new String[]{"Cleaner", "TrackedCleaner 위치 없음", "TrackedCleaner 1/1000", "TrackedCleaner 1/100",
+                        "TrackedCleaner 1/1"},
+                new Registrar[]{cleaner::register, off::register, sampled1000::register, sampled100::register,
+                        always::register},
+                new int[]{iterations, iterations, iterations, iterations, iterations / 10},
+                (count, registrar) -> run(count, registrar));
+
+        Path file = Files.createTempFile("cleaner-tracking", ".dat");
+        try {
+            Files.write(file, new byte[FILE_SIZE]);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(FILE_SIZE);
+            int fileIterations = iterations / 20;
+            System.out.println("== 파일 열기 + 4KB 읽기 + 닫기 ==");
+            compare(new String[]{"Cleaner", "TrackedCleaner 1/1000"},
+                    new Registrar[]{cleaner::register, sampled1000::register},
+                    new int[]{fileIterations, fileIterations},
+                    (count, registrar) -> runWithFile(count, registrar, file, buffer));
+        } finally {
+            Files.delete(file);
+        }
+
+        TrackedCleaner.Snapshot snapshot = sampled100.snapshot();
+        System.out.printf("1/100 등록 %d 개, 정리 시간 p50=%d us, p99=%d us (히스토그램 상한 기준)%n",
+                snapshot.registered(), snapshot.timeToClosePercentileMicros(0.5), snapshot.timeToClosePercentileMicros(0.99));
+
+        leakThroughJmx();
+    }
+
+    /**
+     * 구현들을 번갈아 재고 워밍업 뒤 회차들의 중앙값과, 같은 회차의 첫 구현 대비 비율의 중앙값을 출력
+     */
+    private static void compare(String[] labels, Registrar[] registrars, int[] counts, Workload workload)
+            throws IOException {
+        double[][] nsPerOp = new double[labels.length][ROUNDS];
+        double[][] bytesPerOp = new double[labels.length][ROUNDS];
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            for (int i = 0; i < labels.length; i++) {
+                // 먼저 재는 쪽이 불리하지 않도록 회차마다 순서를 뒤집음
+                int k = round % 2 == 0 ? i : labels.length - 1 - i;
+                long allocatedBefore = Allocations.allocatedBytes();
+                long start = System.nanoTime();
+                workload.run(counts[k], registrars[k]);
+                long elapsed = System.nanoTime() - start;
+                long allocated = Allocations.allocatedBytes() - allocatedBefore;
+                if (round >= WARMUP_ROUNDS) {
+                    nsPerOp[k][round - WARMUP_ROUNDS] = (double) elapsed / counts[k];
+                    bytesPerOp[k][round - WARMUP_ROUNDS] = (double) allocated / counts[k];
+                }
+            }
+        }
+        for (int k = 0; k < labels.length; k++) {
+            double ns = median(nsPerOp[k]);
+            // 회차 사이의 흔들림(파일 시스템 캐시, GC)이 빠지도록 같은 회차의 기준과 비교한 비율의 중앙값을 씀
+            double[] ratios = new double[ROUNDS];
+            for (int round = 0; round < ROUNDS; round++) {
+                ratios[round] = nsPerOp[k][round] / nsPerOp[0][round];
+            }
+            String overhead = k == 0 ? "기준" : String.format("%+.1f%%", (median(ratios) - 1) * 100);
+            System.out.printf("%-24s %8.1f ns/op  %8.1f B/op  %s%n", labels[k], ns, median(bytesPerOp[k]), overhead);
+        }
+    }
+
+    private static void runWithFile(int iterations, Registrar registrar, Path file, ByteBuffer buffer)
+            throws IOException {
+        for (int i = 0; i < iterations; i++) {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            Cleaner.Cleanable cleanable = registrar.register(channel, NOOP);
+            buffer.clear();
+            channel.read(buffer, 0);
+            channel.close();
+            cleanable.clean();
+        }
+    }
+
+    private static void run(int iterations, Registrar registrar) {
+        for (int i = 0; i < iterations; i++) {
+            Object resource = new Object();
+            Cleaner.Cleanable cleanable = registrar.register(resource, NOOP);
+            cleanable.clean();
+        }
+    }
+
+    /**
+     * 4 개 스레드가 동시에 등록 / 정리하고 하나만 close() 없이 버림
+     * 생성 위치 표본(1/1000)과 상관없이 모든 등록과 누수가 세어져야 함
+     */
+    private static void verifyCounts() throws InterruptedException {
+        TrackedCleaner counted = new TrackedCleaner("counted", Cleaner.create(), 1_000);
+        int threads = 4;
+        int perThread = 100_000;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> run(perThread, counted::register));
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        counted.register(new Object(), NOOP);
+        for (int i = 0; i < 20 && counted.snapshot().cleanerCloses() < 1; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        TrackedCleaner.Snapshot snapshot = counted.snapshot();
+        check(snapshot.registered() == (long) threads * perThread + 1, "등록 수 " + snapshot.registered());
+        check(snapshot.explicitCloses() == (long) threads * perThread, "close() 수 " + snapshot.explicitCloses());
+        check(snapshot.cleanerCloses() == 1 && snapshot.live() == 0, "누수 하나 " + snapshot);
+        System.out.println("등록 / 정리 수 확인 완료");
+    }
+
+    private static void check(boolean condition, String label) {
+        if (!condition) {
+            throw new IllegalStateException(label + " 실패");
+        }
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    /**
+     * 표본 비율 1/1 로 자원 10개를 close() 없이 버리고 Cleaner 가 정리하게 한 뒤 JMX 로 조회
+     */
+    private static void leakThroughJmx() throws Exception {
+        TrackedCleaner leaky = TrackedCleaner.create("benchmark-leak", 1);
+        for (int i = 0; i < 10; i++) {
+            leaky.register(new Object(), NOOP);
+        }
+        for (int i = 0; i < 10 && leaky.snapshot().cleanerCloses() < 10; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        ObjectName name = new ObjectName("chapter1.item8:type=CleanerMetrics,name=\"benchmark-leak\"");
+        Object cleanerCloses = ManagementFactory.getPlatformMBeanServer().getAttribute(name, "CleanerCloses");
+        String[] sites = (String[]) ManagementFactory.getPlatformMBeanServer().getAttribute(name, "RecentLeakSites");
+        System.out.printf("JMX CleanerCloses=%s, 기록된 누수 위치 %d개%n", cleanerCloses, sites.length);
+        if (sites.length > 0) {
+            System.out.println(sites[0].lines().limit(3).reduce((a, b) -> a + System.lineSeparator() + b).orElse(""));
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package chapter1.item8;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 경로별로 열린 FileChannel 을 공유하는 크기 제한 LRU 풀
+ *  - 같은 경로를 여러 번 열면 채널 하나를 참조 카운트로 공유 (파일 디스크립터를 새로 열지 않음)
+ *  - 아무도 쓰지 않는(참조 0) 채널은 바로 닫지 않고 남겨 두었다가 다시 열 때 재사용
+ *  - 열린 채널 수가 maxOpen 을 넘으면 가장 오래 쓰이지 않은 유휴 채널부터 닫음
+ *    사용 중인 채널은 닫을 수 없으므로, 모두 사용 중이면 잠시 maxOpen 을 넘을 수 있음
+ *  - 채널을 닫는 작업(쓰기 모드면 force 후 close)은 closeExecutor 가 있으면 백그라운드로 넘김
+ *  - 채널을 공유하므로 읽기/쓰기는 채널 position 을 바꾸지 않는 위치 지정 read / write 만 사용해야 함
+ */
+public class FileChannelPool implements AutoCloseable {
+
+    /**
+     * 풀에서 빌린 채널
+     * release() 는 한 번만 유효하고 채널을 닫지 않고 참조 카운트만 줄임
+     */
+    public final class Lease {
+        private final Entry entry;
+        private boolean released;
+
+        private Lease(Entry entry) {
+            this.entry = entry;
+        }
+
+        public Path path() {
+            return entry.path;
+        }
+
+        public FileChannel channel() {
+            return entry.channel;
+        }
+
+        public void release() {
+            synchronized (FileChannelPool.this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            FileChannelPool.this.release(entry);
+        }
+    }
+
+    /**
+     * 풀 상태 스냅숏
+     *  - hits: 이미 열린 채널을 재사용한 횟수, misses: 새로 연 횟수
+     *  - evictions: LRU 로 닫은 유휴 채널 수
+     */
+    public record Stats(int open, int inUse, long hits, long misses, long evictions) {
+    }
+
+    private static final class Entry {
+        final Path path;
+        final FileChannel channel;
+        int refCount;
+
+        Entry(Path path, FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+        }
+    }
+
+    private final int maxOpen;
+    private final Set<OpenOption> options;
+    private final boolean writable;
+    private final Executor closeExecutor;
+    // accessOrder = true: 조회할 때마다 맨 뒤로 옮겨 맨 앞이 가장 오래 쓰이지 않은 채널
+    private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private boolean closed;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public FileChannelPool(int maxOpen) {
+        this(maxOpen, null, StandardOpenOption.READ);
+    }
+
+    /**
+     * closeExecutor 가 null 이면 채널을 닫는 스레드에서 바로 닫음
+     */
+    public FileChannelPool(int maxOpen, Executor closeExecutor, OpenOption... options) {
+        if (maxOpen <= 0) {
+            throw new IllegalArgumentException("maxOpen 은 1 이상이어야 함: " + maxOpen);
+        }
+        this.maxOpen = maxOpen;
+        this.options = Set.of(options);
+        this.writable = this.options.contains(StandardOpenOption.WRITE)
+                || this.options.contains(StandardOpenOption.APPEND);
+        this.closeExecutor = closeExecutor;
+    }
+
+    public Lease acquire(Path path) throws IOException {
+        Path key = path.toAbsolutePath().normalize();
+        synchronized (this) {
+            checkNotClosed();
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                entry.refCount++;
+                hits.increment();
+                return new Lease(entry);
+            }
+        }
+
+        // 파일 열기는 느릴 수 있으므로 락 밖에서 수행하고, 그 사이 다른 스레드가 먼저 열었다면 그것을 사용
+        FileChannel opened = FileChannel.open(key, options);
+        List<Entry> evicted;
+        Lease lease;
+        FileChannel duplicate = null;
+        synchronized (this) {
+            if (closed) {
+                duplicate = opened;
+                lease = null;
+                evicted = List.of();
+            } else {
+                Entry entry = entries.get(key);
+                if (entry != null) {
+                    duplicate = opened;
+                    hits.increment();
+                } else {
+                    entry = new Entry(key, opened);
+                    entries.put(key, entry);
+                    misses.increment();
+                }
+                entry.refCount++;
+                lease = new Lease(entry);
+                evicted = evictIdle();
+            }
+        }
+        if (duplicate != null) {
+            closeNow(duplicate);
+        }
+        if (lease == null) {
+            throw new IllegalStateException("닫힌 FileChannelPool");
+        }
+        closeAll(evicted);
+        return lease;
+    }
+
+    private void release(Entry entry) {
+        List<Entry> evicted;
+        synchronized (this) {
+            entry.refCount--;
+            if (closed && entry.refCount == 0) {
+                evicted = List.of(entry);
+            } else {
+                evicted = evictIdle();
+            }
+        }
+        closeAll(evicted);
+    }
+
+    /**
+     * 열린 채널 수가 maxOpen 이하가 될 때까지 오래된 유휴 채널을 목록에서 빼냄 (닫기는 락 밖에서)
+     */
+    private List<Entry> evictIdle() {
+        if (entries.size() <= maxOpen) {
+            return List.of();
+        }
+        List<Entry> evicted = new ArrayList<>();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxOpen && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.refCount == 0) {
+                iterator.remove();
+                evicted.add(entry);
+                evictions.increment();
+            }
+        }
+        return evicted;
+    }
+
+    private void closeAll(List<Entry> evicted) {
+        for (Entry entry : evicted) {
+            if (closeExecutor == null) {
+                closeNow(entry.channel);
+            } else {
+                closeExecutor.execute(() -> closeNow(entry.channel));
+            }
+        }
+    }
+
+    private void closeNow(FileChannel channel) {
+        try (channel) {
+            if (writable && channel.isOpen()) {
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("채널 닫기 실패", e);
+        }
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("닫힌 FileChannelPool");
+        }
+    }
+
+    public synchronized Stats stats() {
+        int inUse = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.refCount > 0) {
+                inUse++;
+            }
+        }
+        return new Stats(entries.size(), inUse, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /**
+     * 유휴 채널은 바로 닫고, 사용 중인 채널은 마지막 Lease 가 반환될 때 닫음
+     */
+    @Override
+    public void close() {
+        List<Entry> idle = new ArrayList<>();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Iterator<Map.Entry<Path, Entry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+                Entry entry = it.next().getValue();
+                if (entry.refCount == 0) {
+                    idle.add(entry);
+                }
+                it.remove();
+            }
+        }
+        closeAll(idle);
+    }
+}
@@ -1,43 +1,91 @@
 package chapter1.item8;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class FileManager implements AutoCloseable{
     /**
      * AutoCloseable + Cleaner를 안전망으로 사용
+     * 안전망이 동작한 횟수(close() 누락)와 정리까지 걸린 시간을 기록하도록 TrackedCleaner 로 감쌈
+     * 모든 파일의 열기 / 닫기를 세고, 약 1000 개 중 하나는 생성 위치도 기록해서 누수되면 어디서 연 파일인지 확인할 수 있음
      */
-    private static final Cleaner cleaner = Cleaner.create();
+    private static final TrackedCleaner cleaner = TrackedCleaner.create("FileManager", 1_000);
 
     /**
      * 정리 작업을 담당하는 State 클래스
+     * 실제 FileChannel 을 들고 있으며 두 가지 방식 중 하나로 채널을 얻음 (생성자로 만든 경우는 채널 없이 이름만 가짐)
+     *  - 직접 연 채널: 닫을 때 채널을 닫음 (closeExecutor 가 있으면 fsync / close 를 백그라운드로 넘김)
+     *  - FileChannelPool 에서 빌린 채널: 닫을 때 풀에 반환만 하고 실제로 닫는 것은 풀이 결정
+     * 사용자 스레드의 close() 와 Cleaner 스레드의 run() 이 동시에 불릴 수 있으므로 한 번만 정리되도록 CAS 사용
      */
     private static class FileState implements Runnable {
-        private String fileName;
-        private boolean isOpen;
+        private final String fileName;
+        private final FileChannel channel;
+        private final FileChannelPool.Lease lease;
+        private final Executor closeExecutor;
+        private final boolean writable;
+        private final AtomicBoolean isOpen = new AtomicBoolean(true);
 
-        FileState(String fileName) {
+        FileState(String fileName, FileChannel channel, FileChannelPool.Lease lease,
+                  Executor closeExecutor, boolean writable) {
             this.fileName = fileName;
-            this.isOpen = true;
-            System.out.println("파일 열기: " + fileName);
+            this.channel = channel;
+            this.lease = lease;
+            this.closeExecutor = closeExecutor;
+            this.writable = writable;
         }
 
         /**
          * cleaner 는 나중에 실행할 정리 작업을 저장해야 함
          * Runnable 의 run()이 정리 작업을 의미
+         * close() 를 호출하지 않은 채 FileManager 가 수거된 경우에만 여기서 실제로 정리하므로 누수로 기록
          */
         @Override
         public void run() {
-            if (isOpen) {
-                System.out.println("cleaner로 파일 닫기: " + fileName);
-                isOpen = false;
+            if (isOpen.compareAndSet(true, false)) {
+                System.err.println("close() 없이 수거된 파일 핸들을 cleaner로 닫음: " + fileName);
+                release();
             }
         }
 
-
         void closeNormally() {
-            if (isOpen) {
-                System.out.println("파일 닫기: " + fileName);
-                isOpen = false;
+            if (isOpen.compareAndSet(true, false)) {
+                if (channel == null) {
+                    System.out.println("파일 닫기: " + fileName);
+                }
+                release();
+            }
+        }
+
+        private void release() {
+            if (channel == null) {
+                return;
+            }
+            if (lease != null) {
+                lease.release();
+            } else if (closeExecutor != null) {
+                closeExecutor.execute(this::closeChannel);
+            } else {
+                closeChannel();
+            }
+        }
+
+        private void closeChannel() {
+            try (channel) {
+                if (writable) {
+                    channel.force(true);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("파일 닫기 실패: " + fileName, e);
             }
         }
     }
@@ -47,18 +95,90 @@ public class FileManager implements AutoCloseable{
 
     /**
      * cleaner 에 등록 - this 객체가 GC될 때 state.run() 실행
+     * 파일을 실제로 열지 않고 이름만 가짐, 읽고 쓰려면 open(...) 으로 만들어야 함
      */
     public FileManager(String fileName) {
-        this.state = new FileState(fileName);
+        this(new FileState(fileName, null, null, null, false));
+        System.out.println("파일 열기: " + fileName);
+    }
+
+    private FileManager(FileState state) {
+        this.state = state;
         this.cleanable = cleaner.register(this, state);
     }
 
+    public static FileManager open(Path path, OpenOption... options) throws IOException {
+        return open(path, null, options);
+    }
+
+    /**
+     * closeExecutor 가 있으면 close() 는 fsync(쓰기 모드일 때) 와 채널 닫기를 그 executor 에 넘기고 바로 반환
+     * 호출 스레드는 디스크 동기화를 기다리지 않지만, close() 가 반환된 시점에 파일이 닫혔다는 보장은 없음
+     */
+    public static FileManager open(Path path, Executor closeExecutor, OpenOption... options) throws IOException {
+        return new FileManager(openState(path, closeExecutor, Set.of(options)));
+    }
+
+    /**
+     * 풀에서 같은 경로의 채널을 빌려 씀 (이미 열려 있으면 파일을 다시 열지 않음)
+     */
+    public static FileManager open(Path path, FileChannelPool pool) throws IOException {
+        FileChannelPool.Lease lease = pool.acquire(path);
+        return new FileManager(new FileState(path.toString(), lease.channel(), lease, null, false));
+    }
+
+    private static FileState openState(Path path, Executor closeExecutor, Set<OpenOption> options) throws IOException {
+        FileChannel channel = FileChannel.open(path, options);
+        boolean writable = options.contains(StandardOpenOption.WRITE) || options.contains(StandardOpenOption.APPEND);
+        return new FileState(path.toString(), channel, null, closeExecutor, writable);
+    }
+
+    /**
+     * 채널 position 을 바꾸지 않는 위치 지정 읽기 (풀에서 공유하는 채널도 안전하게 읽을 수 있음)
+     */
+    public int read(ByteBuffer dst, long position) throws IOException {
+        return channel().read(dst, position);
+    }
+
+    public int write(ByteBuffer src, long position) throws IOException {
+        return channel().write(src, position);
+    }
+
+    public long size() throws IOException {
+        return channel().size();
+    }
+
+    /**
+     * 열린 파일 수, close() 누락으로 cleaner 가 대신 닫은 횟수 등 안전망 지표
+     */
+    public static TrackedCleaner.Snapshot cleanerMetrics() {
+        return cleaner.snapshot();
+    }
+
+    public String fileName() {
+        return state.fileName;
+    }
+
+    public boolean isOpen() {
+        return state.isOpen.get();
+    }
+
+    private FileChannel channel() {
+        if (!state.isOpen.get()) {
+            throw new IllegalStateException("이미 닫힌 파일: " + state.fileName);
+        }
+        if (state.channel == null) {
+            throw new IllegalStateException("열린 채널이 없는 파일 (open(...) 으로 열어야 함): " + state.fileName);
+        }
+        return state.channel;
+    }
+
     /**
      * 명시적 자원 해제
      * try-with-resources 블럭 내에서 AutoCloseable 을 구현한 객체가 사용되면 자동으로 close() 호출
      */
     @Override
-    public void close() throws Exception {
+    public void close() {
         state.closeNormally();
         cleanable.clean();
     }
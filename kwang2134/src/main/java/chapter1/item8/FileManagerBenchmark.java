@@ -0,0 +1,112 @@
+package chapter1.item8;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 파일 열기 - 4KB 읽기 - 닫기 한 번의 지연 시간 분포(p50 / p99 / p99.9) 비교
+ *  - 직접 열기: 매번 FileChannel 을 열고 닫음
+ *  - 직접 열기 + 비동기 닫기: 닫기를 백그라운드 executor 에 넘김
+ *  - 풀 (파일 수보다 큼): 처음 한 번만 열고 이후 모두 재사용
+ *  - 풀 (파일 수보다 작음): LRU 로 유휴 채널을 닫고 다시 여는 일이 섞임
+ *  - 실행: java chapter1.item8.FileManagerBenchmark [파일 수] [반복 수]
+ */
+public class FileManagerBenchmark {
+
+    private static final int FILE_SIZE = 4096;
+
+    public static void main(String[] args) throws Exception {
+        int fileCount = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+
+        Path dir = Files.createTempDirectory("file-manager-bench");
+        ExecutorService closer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "file-closer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Path[] files = createFiles(dir, fileCount);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(FILE_SIZE);
+            for (int round = 0; round < 3; round++) {
+                boolean print = round == 2;
+                measure("직접 열기", files, iterations, buffer, print,
+                        path -> FileManager.open(path, StandardOpenOption.READ));
+                measure("직접 열기 + 비동기 닫기", files, iterations, buffer, print,
+                        path -> FileManager.open(path, closer, StandardOpenOption.READ));
+                try (FileChannelPool pool = new FileChannelPool(fileCount * 2)) {
+                    measure("풀 (maxOpen=" + fileCount * 2 + ")", files, iterations, buffer, print,
+                            path -> FileManager.open(path, pool));
+                    if (print) {
+                        System.out.println("    " + pool.stats());
+                    }
+                }
+                try (FileChannelPool pool = new FileChannelPool(Math.max(1, fileCount / 4))) {
+                    measure("풀 (maxOpen=" + Math.max(1, fileCount / 4) + ")", files, iterations, buffer, print,
+                            path -> FileManager.open(path, pool));
+                    if (print) {
+                        System.out.println("    " + pool.stats());
+                    }
+                }
+            }
+        } finally {
+            closer.shutdown();
+            closer.awaitTermination(10, TimeUnit.SECONDS);
+            try (Stream<Path> paths = Files.walk(dir)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private interface Opener {
+        FileManager open(Path path) throws IOException;
+    }
+
+    private static Path[] createFiles(Path dir, int count) throws IOException {
+        byte[] content = new byte[FILE_SIZE];
+        Arrays.fill(content, (byte) 'k');
+        Path[] files = new Path[count];
+        for (int i = 0; i < count; i++) {
+            files[i] = Files.write(dir.resolve("file-" + i + ".dat"), content);
+        }
+        return files;
+    }
+
+    private static void measure(String label, Path[] files, int iterations, ByteBuffer buffer, boolean print,
+                                Opener opener) throws IOException {
+        long[] latencies = new long[iterations];
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            // 일부 파일에 접근이 몰리도록 제곱 분포로 고름
+            double r = (double) (i * 0x9E3779B9L & 0xFFFF) / 0x10000;
+            Path path = files[(int) (r * r * files.length)];
+            long opStart = System.nanoTime();
+            try (FileManager file = opener.open(path)) {
+                buffer.clear();
+                bytes += file.read(buffer, 0);
+            }
+            latencies[i] = System.nanoTime() - opStart;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (print) {
+            Arrays.sort(latencies);
+            System.out.printf("%-28s p50=%6.2f us  p99=%7.2f us  p99.9=%7.2f us  %,9.0f ops/s  [%,d B]%n",
+                    label, percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                    iterations * 1e9 / elapsed, bytes);
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)))] / 1_000.0;
+    }
+}
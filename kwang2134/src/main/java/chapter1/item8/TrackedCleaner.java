@@ -0,0 +1,314 @@
+package chapter1.item8;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Cleaner;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Cleaner.register 를 감싸서 안전망이 얼마나 자주 동작하는지 기록하는 Cleaner
+ *  - 모든 등록을 세는 Cleanable 로 감쌈: 등록 수, 살아 있는 수, close() 로 정리된 수와 Cleaner 가 대신 정리한(누수) 수
+ *  - 등록부터 정리까지 걸린 시간의 log2 히스토그램, System.nanoTime() 두 번이 카운터보다 비싸므로 약 64 개 중 하나만 잼
+ *  - 카운터는 스레드마다 따로 두고 그 스레드만 올리므로 원자적 연산이 없음 (등록 / 정리마다 하나씩만 올림)
+ *  - 생성 위치 스택 트레이스는 비용이 크므로 약 sampleRate 개 중 하나만 골라 기록
+ *    (0 이면 기록하지 않음, 기록한 자원이 누수되면 최근 누수 위치로 보관)
+ *  - 지표는 snapshot() 과 JMX(chapter1.item8:type=CleanerMetrics,name=이름) 로 조회
+ *
+ * 사용법은 Cleaner 와 같음: register 가 돌려준 Cleanable 의 clean() 을 close() 에서 호출
+ */
+public final class TrackedCleaner {
+    private static final int HISTOGRAM_BUCKETS = 40;
+    private static final int MAX_LEAK_SITES = 16;
+    private static final int TIMING_SAMPLE = 64;
+    private static final long UNTIMED = Long.MIN_VALUE;
+
+    /**
+     * 지표 스냅숏
+     */
+    public record Snapshot(String name, int sampleRate, long registered, long live, long explicitCloses,
+                           long cleanerCloses, long[] timeToCloseHistogram, List<String> recentLeakSites) {
+
+        /**
+         * 정리된 자원 중 Cleaner 가 대신 정리한 비율
+         */
+        public double leakRatio() {
+            long closed = explicitCloses + cleanerCloses;
+            return closed == 0 ? 0.0 : (double) cleanerCloses / closed;
+        }
+
+        /**
+         * 히스토그램으로 추정한 정리 시간의 p 분위수 (마이크로초, 해당 칸의 상한)
+         */
+        public long timeToClosePercentileMicros(double p) {
+            long total = 0;
+            for (long count : timeToCloseHistogram) {
+                total += count;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long target = (long) Math.ceil(p * total);
+            long seen = 0;
+            for (int i = 0; i < timeToCloseHistogram.length; i++) {
+                seen += timeToCloseHistogram[i];
+                if (seen >= target) {
+                    return 1L << i;
+                }
+            }
+            return 1L << (timeToCloseHistogram.length - 1);
+        }
+    }
+
+    /**
+     * Cleaner 에 등록하는 정리 작업이자 사용자에게 돌려주는 Cleanable
+     * 사용자가 clean() 을 부르면 explicit 을 먼저 표시하고, Cleaner 스레드가 run() 을 부르면 표시가 없으므로 누수
+     * registeredAt 과 site 는 표본으로 고른 등록에만 있음 (없으면 UNTIMED, null)
+     * explicit 은 clean() 을 부른 스레드가 delegate.clean() 안에서 run() 까지 실행하므로 volatile 이 필요 없음
+     */
+    private final class Tracking implements Runnable, Cleaner.Cleanable {
+        private final Runnable action;
+        private final long registeredAt;
+        private final Throwable site;
+        private Cleaner.Cleanable delegate;
+        private boolean explicit;
+
+        Tracking(Runnable action, long registeredAt, Throwable site) {
+            this.action = action;
+            this.registeredAt = registeredAt;
+            this.site = site;
+        }
+
+        @Override
+        public void clean() {
+            explicit = true;
+            delegate.clean();
+        }
+
+        @Override
+        public void run() {
+            recordClose(explicit, registeredAt, site);
+            action.run();
+        }
+    }
+
+    /**
+     * 스레드 하나가 올린 카운터와 그 스레드의 다음 표본까지 남은 등록 수
+     * 그 스레드만 쓰므로 원자적 연산 없이 setRelease 로 올리고, 조회할 때 모든 스레드의 값을 getAcquire 로 읽어 더함
+     * 끝난 스레드의 값도 합계에 들어가야 하므로 allCounters 목록에 계속 남음 (스레드 하나당 객체 하나)
+     * 표본 간격은 평균이 n 인 난수라서 일정한 주기로 만들고 버리는 자원만 계속 고르거나 빠뜨리지 않음
+     */
+    private static final class Counters {
+        private static final VarHandle REGISTERED;
+        private static final VarHandle EXPLICIT_CLOSES;
+        private static final VarHandle CLEANER_CLOSES;
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                REGISTERED = lookup.findVarHandle(Counters.class, "registered", long.class);
+                EXPLICIT_CLOSES = lookup.findVarHandle(Counters.class, "explicitCloses", long.class);
+                CLEANER_CLOSES = lookup.findVarHandle(Counters.class, "cleanerCloses", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private long registered;
+        private long explicitCloses;
+        private long cleanerCloses;
+        private int untilTimed = gap(TIMING_SAMPLE);
+        private int untilSite;
+
+        Counters(int sampleRate) {
+            untilSite = sampleRate == 0 ? 0 : gap(sampleRate);
+        }
+
+        boolean timeNext() {
+            if (--untilTimed > 0) {
+                return false;
+            }
+            untilTimed = gap(TIMING_SAMPLE);
+            return true;
+        }
+
+        boolean recordSiteNext(int sampleRate) {
+            if (sampleRate == 0 || --untilSite > 0) {
+                return false;
+            }
+            untilSite = gap(sampleRate);
+            return true;
+        }
+
+        // 1 이상 2n - 1 이하의 균등 난수 (평균 n)
+        private static int gap(int n) {
+            return 1 + ThreadLocalRandom.current().nextInt(2 * n - 1);
+        }
+
+        void registered() {
+            REGISTERED.setRelease(this, registered + 1);
+        }
+
+        void closed(boolean explicit) {
+            if (explicit) {
+                EXPLICIT_CLOSES.setRelease(this, explicitCloses + 1);
+            } else {
+                CLEANER_CLOSES.setRelease(this, cleanerCloses + 1);
+            }
+        }
+    }
+
+    private final class Metrics implements CleanerMetricsMXBean {
+        @Override
+        public long getRegistered() {
+            return sum(Counters.REGISTERED);
+        }
+
+        @Override
+        public long getLive() {
+            // 정리 수를 먼저 읽어야 동시에 등록 / 정리가 일어나도 음수가 나오지 않음
+            long closed = sum(Counters.EXPLICIT_CLOSES) + sum(Counters.CLEANER_CLOSES);
+            return sum(Counters.REGISTERED) - closed;
+        }
+
+        @Override
+        public long getExplicitCloses() {
+            return sum(Counters.EXPLICIT_CLOSES);
+        }
+
+        @Override
+        public long getCleanerCloses() {
+            return sum(Counters.CLEANER_CLOSES);
+        }
+
+        private long sum(VarHandle counter) {
+            long sum = 0;
+            for (Counters counters : allCounters) {
+                sum += (long) counter.getAcquire(counters);
+            }
+            return sum;
+        }
+
+        @Override
+        public long[] getTimeToCloseHistogram() {
+            long[] histogram = new long[HISTOGRAM_BUCKETS];
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                histogram[i] = timeToClose[i].sum();
+            }
+            return histogram;
+        }
+
+        @Override
+        public String[] getRecentLeakSites() {
+            return leakSites.toArray(new String[0]);
+        }
+
+        @Override
+        public int getSampleRate() {
+            return sampleRate;
+        }
+    }
+
+    private final String name;
+    private final Cleaner cleaner;
+    private final int sampleRate;
+    private final Metrics metrics = new Metrics();
+
+    private final Queue<Counters> allCounters = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Counters> counters = ThreadLocal.withInitial(this::newCounters);
+    private final LongAdder[] timeToClose = new LongAdder[HISTOGRAM_BUCKETS];
+    private final Deque<String> leakSites = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger leakSiteCount = new AtomicInteger();
+
+    /**
+     * sampleRate: 0 이면 생성 위치를 기록하지 않고, n 이면 약 n 개 중 하나의 생성 위치를 기록
+     */
+    public TrackedCleaner(String name, Cleaner cleaner, int sampleRate) {
+        if (sampleRate < 0) {
+            throw new IllegalArgumentException("sampleRate 는 0 이상이어야 함: " + sampleRate);
+        }
+        this.name = name;
+        this.cleaner = cleaner;
+        this.sampleRate = sampleRate;
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            timeToClose[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 새 Cleaner 를 만들고 JMX 에 등록
+     */
+    public static TrackedCleaner create(String name, int sampleRate) {
+        TrackedCleaner trackedCleaner = new TrackedCleaner(name, Cleaner.create(), sampleRate);
+        trackedCleaner.registerMBean();
+        return trackedCleaner;
+    }
+
+    public Cleaner.Cleanable register(Object obj, Runnable action) {
+        Counters local = counters.get();
+        long registeredAt = local.timeNext() ? System.nanoTime() : UNTIMED;
+        Throwable site = local.recordSiteNext(sampleRate) ? new Throwable("생성 위치: " + name) : null;
+        Tracking tracking = new Tracking(action, registeredAt, site);
+        // 정리 수가 등록 수보다 먼저 늘어 live 가 음수로 보이지 않도록 등록 수를 먼저 올림
+        local.registered();
+        tracking.delegate = cleaner.register(obj, tracking);
+        return tracking;
+    }
+
+    private Counters newCounters() {
+        Counters created = new Counters(sampleRate);
+        allCounters.add(created);
+        return created;
+    }
+
+    private void recordClose(boolean explicit, long registeredAt, Throwable site) {
+        counters.get().closed(explicit);
+        if (registeredAt != UNTIMED) {
+            long micros = (System.nanoTime() - registeredAt) / 1_000;
+            int bucket = micros <= 0 ? 0 : Math.min(HISTOGRAM_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+            timeToClose[bucket].increment();
+        }
+        if (!explicit && site != null) {
+            StringWriter trace = new StringWriter();
+            site.printStackTrace(new PrintWriter(trace));
+            leakSites.addFirst(trace.toString());
+            if (leakSiteCount.incrementAndGet() > MAX_LEAK_SITES && leakSites.pollLast() != null) {
+                leakSiteCount.decrementAndGet();
+            }
+        }
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(name, sampleRate, metrics.getRegistered(), metrics.getLive(), metrics.getExplicitCloses(),
+                metrics.getCleanerCloses(), metrics.getTimeToCloseHistogram(), List.copyOf(new ArrayList<>(leakSites)));
+    }
+
+    /**
+     * 플랫폼 MBeanServer 에 등록 (같은 이름이 이미 있으면 교체)
+     */
+    public void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName("chapter1.item8:type=CleanerMetrics,name=" + ObjectName.quote(name));
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(metrics, objectName);
+        } catch (JMException e) {
+            System.err.println("CleanerMetrics JMX 등록 실패: " + name + " " + e);
+        }
+    }
+}
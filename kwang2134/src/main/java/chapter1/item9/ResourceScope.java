@@ -0,0 +1,212 @@
+package chapter1.item9;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 개수가 정해지지 않은 여러 자원을 한 번에 관리하는 AutoCloseable
+ *  - try-with-resources 를 자원 수만큼 중첩하는 대신 scope 하나만 try 에 두고 register 로 자원을 추가
+ *  - close() 는 등록의 역순으로 모든 자원을 닫음 (중간에 실패해도 나머지를 계속 닫음)
+ *  - 예외 처리는 중첩된 try-with-resources 와 같음
+ *    - close() 단독: 처음 실패한 예외를 던지고 이후 실패는 그 예외에 suppressed 로 추가
+ *      IOException 과 unchecked 예외는 그대로 던지고, 그 밖의 checked 예외는 IOException 의 cause 로 감싸서 던짐
+ *      (InterruptedException 을 감쌀 때는 인터럽트 상태를 복원)
+ *    - run / call 로 작업을 실행하다 예외가 나면: 작업의 예외를 그대로 던지고 모든 close 실패는 그 예외에 suppressed 로 추가
+ *  - closeExecutor 를 주면 자원들을 병렬로 닫음 (서로 의존하지 않는 I/O 자원일 때만 사용)
+ *    순서가 필요한 자원은 하위 scope 를 만들어 register 하면 하위 scope 안에서는 역순이 지켜짐
+ *  - suppressed 예외의 순서는 병렬로 닫더라도 항상 닫는 순서(등록의 역순)
+ */
+public final class ResourceScope implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface ScopedCallable<T> {
+        T call(ResourceScope scope) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface ScopedRunnable {
+        void run(ResourceScope scope) throws Exception;
+    }
+
+    private final Executor closeExecutor;
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private boolean closed;
+
+    public ResourceScope() {
+        this(null);
+    }
+
+    /**
+     * closeExecutor 가 null 이면 호출 스레드에서 역순으로 하나씩 닫음
+     */
+    public ResourceScope(Executor closeExecutor) {
+        this.closeExecutor = closeExecutor;
+    }
+
+    /**
+     * scope 안에서 작업을 실행하고 끝나면 모든 자원을 닫음
+     * 작업이 예외를 던지면 그 예외를 주 예외로 하고 close 실패는 모두 suppressed 로 붙임
+     */
+    public static <T> T call(ScopedCallable<T> body) throws Exception {
+        return call(null, body);
+    }
+
+    public static <T> T call(Executor closeExecutor, ScopedCallable<T> body) throws Exception {
+        ResourceScope scope = new ResourceScope(closeExecutor);
+        T result;
+        try {
+            result = body.call(scope);
+        } catch (Throwable primary) {
+            scope.closeSuppressingInto(primary);
+            throw primary;
+        }
+        scope.close();
+        return result;
+    }
+
+    public static void run(ScopedRunnable body) throws Exception {
+        run(null, body);
+    }
+
+    public static void run(Executor closeExecutor, ScopedRunnable body) throws Exception {
+        call(closeExecutor, scope -> {
+            body.run(scope);
+            return null;
+        });
+    }
+
+    /**
+     * 자원을 등록하고 그대로 돌려줌 (InputStream in = scope.register(Files.newInputStream(path)))
+     * 이미 닫힌 scope 에 등록하면 자원을 바로 닫고 IllegalStateException
+     */
+    public <T extends AutoCloseable> T register(T resource) {
+        Objects.requireNonNull(resource);
+        synchronized (resources) {
+            if (!closed) {
+                resources.add(resource);
+                return resource;
+            }
+        }
+        IllegalStateException e = new IllegalStateException("이미 닫힌 ResourceScope");
+        try {
+            resource.close();
+        } catch (Throwable t) {
+            e.addSuppressed(t);
+        }
+        throw e;
+    }
+
+    public int size() {
+        synchronized (resources) {
+            return resources.size();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        Throwable[] failures = closeAll();
+        Throwable first = null;
+        for (Throwable failure : failures) {
+            if (failure == null) {
+                continue;
+            }
+            if (first == null) {
+                first = asCloseFailure(failure);
+            } else {
+                first.addSuppressed(failure);
+            }
+        }
+        if (first instanceof IOException e) {
+            throw e;
+        }
+        if (first instanceof RuntimeException e) {
+            throw e;
+        }
+        if (first instanceof Error error) {
+            throw error;
+        }
+    }
+
+    /**
+     * 모든 자원을 닫고 실패는 primary 에 suppressed 로 붙임 (이 메서드는 예외를 던지지 않음)
+     */
+    public void closeSuppressingInto(Throwable primary) {
+        for (Throwable failure : closeAll()) {
+            if (failure != null && failure != primary) {
+                primary.addSuppressed(failure);
+            }
+        }
+    }
+
+    /**
+     * 닫는 순서(등록의 역순)대로 각 자원의 close 실패를 담은 배열, 성공한 자리는 null
+     */
+    private Throwable[] closeAll() {
+        AutoCloseable[] toClose;
+        synchronized (resources) {
+            if (closed) {
+                return new Throwable[0];
+            }
+            closed = true;
+            toClose = new AutoCloseable[resources.size()];
+            for (int i = 0; i < toClose.length; i++) {
+                toClose[i] = resources.get(toClose.length - 1 - i);
+            }
+            resources.clear();
+        }
+
+        Throwable[] failures = new Throwable[toClose.length];
+        if (closeExecutor == null || toClose.length <= 1) {
+            for (int i = 0; i < toClose.length; i++) {
+                failures[i] = closeQuietly(toClose[i]);
+            }
+            return failures;
+        }
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[toClose.length];
+        for (int i = 0; i < toClose.length; i++) {
+            int index = i;
+            try {
+                futures[i] = CompletableFuture.runAsync(
+                        () -> failures[index] = closeQuietly(toClose[index]), closeExecutor);
+            } catch (RejectedExecutionException e) {
+                // executor 가 받아주지 않으면 호출 스레드에서 닫음
+                failures[i] = closeQuietly(toClose[i]);
+            }
+        }
+        // 각 작업은 예외를 삼켜 failures 에 기록하므로 join 은 실패하지 않음
+        for (CompletableFuture<?> future : futures) {
+            if (future != null) {
+                future.join();
+            }
+        }
+        return failures;
+    }
+
+    private static Throwable closeQuietly(AutoCloseable resource) {
+        try {
+            resource.close();
+            return null;
+        } catch (Throwable t) {
+            return t;
+        }
+    }
+
+    /**
+     * close() 가 그대로 던질 수 있는 예외로 바꿈 (IOException, RuntimeException, Error 외에는 IOException 으로 감쌈)
+     */
+    private static Throwable asCloseFailure(Throwable failure) {
+        if (failure instanceof IOException || failure instanceof RuntimeException || failure instanceof Error) {
+            return failure;
+        }
+        if (failure instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        return new IOException("자원 닫기 실패: " + failure, failure);
+    }
+}
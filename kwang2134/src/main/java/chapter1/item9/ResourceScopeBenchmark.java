@@ -0,0 +1,167 @@
+package chapter1.item9;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * 자원 1,000 개를 ResourceScope 로 닫는 시간 비교: 순차 vs 병렬(스레드 4 / 16 / 64)
+ *  1. 닫을 때 지연이 있는 자원 (원격 연결 종료처럼 close 에 50us 가 걸린다고 가정)
+ *  2. 실제 파일 채널 (써 둔 내용을 force 로 디스크에 동기화한 뒤 close)
+ * 측정 전에 예외 의미(주 예외 보존, close 실패 suppressed, 역순 닫기)를 확인
+ *  - 실행: java chapter1.item9.ResourceScopeBenchmark [자원 수]
+ */
+public class ResourceScopeBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        verifySemantics();
+
+        int[] parallelism = {0, 4, 16, 64};
+        System.out.println("== close 에 50us 가 걸리는 자원 " + count + "개 ==");
+        for (int threads : parallelism) {
+            measure(threads, count, (scope, i) -> scope.register(() -> LockSupport.parkNanos(50_000)));
+        }
+
+        Path dir = Files.createTempDirectory("resource-scope-bench");
+        try {
+            System.out.println("== write + force 후 닫는 파일 채널 " + count + "개 ==");
+            ByteBuffer content = ByteBuffer.wrap(new byte[512]);
+            for (int threads : parallelism) {
+                measure(threads, count, (scope, i) -> {
+                    FileChannel channel = FileChannel.open(dir.resolve("r-" + i),
+                            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                    channel.write(content.duplicate());
+                    scope.register(() -> {
+                        try (channel) {
+                            channel.force(true);
+                        }
+                    });
+                });
+            }
+        } finally {
+            try (Stream<Path> paths = Files.walk(dir)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private interface Opener {
+        void open(ResourceScope scope, int index) throws IOException;
+    }
+
+    private static void measure(int threads, int count, Opener opener) throws Exception {
+        ExecutorService executor = threads == 0 ? null : Executors.newFixedThreadPool(threads);
+        try {
+            long best = Long.MAX_VALUE;
+            for (int round = 0; round < 5; round++) {
+                ResourceScope scope = new ResourceScope(executor);
+                for (int i = 0; i < count; i++) {
+                    opener.open(scope, i);
+                }
+                long start = System.nanoTime();
+                scope.close();
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            System.out.printf("%-12s close 최단 %8.2f ms%n", threads == 0 ? "순차" : "병렬 x" + threads, best / 1e6);
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+                executor.awaitTermination(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    /**
+     * Try.tryWithResource 와 같은 예외 의미인지 확인 (순차, 병렬 모두)
+     */
+    private static void verifySemantics() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (ExecutorService closeExecutor : new ExecutorService[]{null, executor}) {
+                StringBuilder order = new StringBuilder();
+                try {
+                    ResourceScope.run(closeExecutor, scope -> {
+                        for (int i = 0; i < 5; i++) {
+                            int id = i;
+                            scope.register(() -> {
+                                synchronized (order) {
+                                    order.append(id);
+                                }
+                                throw new Exception("close " + id);
+                            });
+                        }
+                        throw new IllegalStateException("작업 예외");
+                    });
+                    throw new AssertionError("예외가 전파되지 않음");
+                } catch (IllegalStateException e) {
+                    check("작업 예외".equals(e.getMessage()), "주 예외 보존");
+                    check(e.getSuppressed().length == 5, "close 실패 5개가 suppressed");
+                    for (int i = 0; i < 5; i++) {
+                        check(("close " + (4 - i)).equals(e.getSuppressed()[i].getMessage()), "suppressed 순서");
+                    }
+                }
+                if (closeExecutor == null) {
+                    check("43210".contentEquals(order), "역순 닫기");
+                }
+
+                ResourceScope scope = new ResourceScope(closeExecutor);
+                scope.register(() -> {
+                    throw new Exception("first");
+                });
+                scope.register(() -> {
+                    throw new Exception("second");
+                });
+                try {
+                    scope.close();
+                    throw new AssertionError("예외가 전파되지 않음");
+                } catch (IOException e) {
+                    // 역순이므로 나중에 등록한 second 가 먼저 실패 -> 주 예외 (checked 예외라서 IOException 으로 감쌈)
+                    check("second".equals(e.getCause().getMessage()) && e.getSuppressed().length == 1
+                            && "first".equals(e.getSuppressed()[0].getMessage()), "close 단독 예외 구성");
+                }
+
+                IOException io = new IOException("io");
+                scope = new ResourceScope(closeExecutor);
+                scope.register(() -> {
+                    throw io;
+                });
+                try {
+                    scope.close();
+                    throw new AssertionError("예외가 전파되지 않음");
+                } catch (IOException e) {
+                    check(e == io, "IOException 은 감싸지 않음");
+                }
+
+                scope = new ResourceScope(closeExecutor);
+                scope.register(() -> {
+                    throw new InterruptedException("interrupted");
+                });
+                try {
+                    scope.close();
+                    throw new AssertionError("예외가 전파되지 않음");
+                } catch (IOException e) {
+                    check(e.getCause() instanceof InterruptedException && Thread.interrupted(), "인터럽트 상태 복원");
+                }
+            }
+            System.out.println("예외 의미 확인 완료 (순차, 병렬)");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void check(boolean condition, String label) {
+        if (!condition) {
+            throw new IllegalStateException(label + " 실패");
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package chapter2.item10;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CaseInsensitiveString 의 정규 인스턴스를 관리하는 인터닝 테이블
+ *  - "Content-Type", "content-type" 처럼 표기만 다른 키는 하나의 정규 인스턴스로 모음
+ *    (정규 인스턴스의 original 은 처음 들어온 표기)
+ *  - 표기별 테이블을 따로 두어 이미 본 표기는 String 의 hashCode / equals 만으로 찾음 (hit 시 할당 없음)
+ *  - 헤더 이름처럼 외부 입력으로 키가 만들어질 수 있으므로 maxSize 를 넘으면 더 등록하지 않고
+ *    새 인스턴스를 그대로 반환 (맵 키로 쓰는 데는 문제없고 중복 제거만 포기)
+ *  - ConcurrentHashMap 기반이라 여러 스레드에서 공유 가능
+ */
+public class CaseInsensitiveInterner {
+
+    private final ConcurrentHashMap<String, CaseInsensitiveString> bySpelling = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<CaseInsensitiveString, CaseInsensitiveString> canonical = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public CaseInsensitiveInterner(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize는 1 이상이어야 함: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * str 과 대소문자만 다른 정규 인스턴스를 반환, 없으면 만들어서 등록
+     */
+    public CaseInsensitiveString intern(String str) {
+        CaseInsensitiveString cached = bySpelling.get(str);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        CaseInsensitiveString created = CaseInsensitiveString.of(str);
+        if (bySpelling.size() >= maxSize) {
+            rejected.increment();
+            CaseInsensitiveString existing = canonical.get(created);
+            return existing != null ? existing : created;
+        }
+        misses.increment();
+        CaseInsensitiveString existing = canonical.putIfAbsent(created, created);
+        CaseInsensitiveString result = existing != null ? existing : created;
+        bySpelling.putIfAbsent(str, result);
+        return result;
+    }
+
+    public void clear() {
+        bySpelling.clear();
+        canonical.clear();
+    }
+
+    /**
+     * 서로 다른 키(정규 인스턴스) 수
+     */
+    public int size() {
+        return canonical.size();
+    }
+
+    /**
+     * 등록된 표기 수
+     */
+    public int spellingCount() {
+        return bySpelling.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CaseInsensitiveInterner{keys=%d, spellings=%d/%d, hits=%d, misses=%d, rejected=%d}",
+                size(), spellingCount(), maxSize, hitCount(), missCount(), rejectedCount());
+    }
+}
@@ -0,0 +1,198 @@
+package chapter2.item10;
+
+import benchmark.Allocations;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * 대소문자 무시 헤더 이름을 키로 쓰는 맵의 get / put 비용 비교
+ *  - TreeMap(String.CASE_INSENSITIVE_ORDER): 조회마다 O(log n) 번 문자 단위 대소문자 비교
+ *  - HashMap<String>: 조회마다 toLowerCase 로 키를 새로 만듦
+ *  - HashMap<CaseInsensitiveString>: 키를 미리 만들어 둔 경우 / 조회마다 of() / 인터너 경유
+ *  - 조회 키는 "Content-Type", "content-type", "CONTENT-TYPE" 처럼 표기를 섞어서 사용
+ *  - 측정 전에 equals / hashCode 규약을 확인
+ *  - 실행: java chapter2.item10.CaseInsensitiveMapBenchmark [반복 수]
+ */
+public class CaseInsensitiveMapBenchmark {
+
+    private static final String[] HEADERS = {
+            "Accept", "Accept-Charset", "Accept-Encoding", "Accept-Language", "Authorization", "Cache-Control",
+            "Connection", "Content-Encoding", "Content-Length", "Content-Type", "Cookie", "Date", "ETag", "Expect",
+            "Forwarded", "From", "Host", "If-Match", "If-Modified-Since", "If-None-Match", "If-Range",
+            "If-Unmodified-Since", "Keep-Alive", "Last-Modified", "Location", "Max-Forwards", "Origin", "Pragma",
+            "Proxy-Authorization", "Range", "Referer", "Retry-After", "Server", "Set-Cookie", "TE", "Trailer",
+            "Transfer-Encoding", "Upgrade", "User-Agent", "Vary", "Via", "Warning", "WWW-Authenticate",
+            "X-Forwarded-For", "X-Forwarded-Proto", "X-Request-Id"
+    };
+
+    private interface Workload {
+        int run(String[] lookups);
+    }
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        verifyContract();
+
+        // 조회할 키: 헤더마다 원래 표기 / 소문자 / 대문자를 무작위로 섞은 4096 개
+        Random random = new Random(42);
+        String[] lookups = new String[4096];
+        for (int i = 0; i < lookups.length; i++) {
+            String header = HEADERS[random.nextInt(HEADERS.length)];
+            int spelling = random.nextInt(3);
+            lookups[i] = spelling == 0 ? header
+                    : spelling == 1 ? header.toLowerCase(Locale.ROOT) : header.toUpperCase(Locale.ROOT);
+        }
+        CaseInsensitiveString[] prebuilt = new CaseInsensitiveString[lookups.length];
+        for (int i = 0; i < lookups.length; i++) {
+            prebuilt[i] = CaseInsensitiveString.of(lookups[i]);
+        }
+
+        TreeMap<String, Integer> treeMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        HashMap<String, Integer> lowerMap = new HashMap<>();
+        HashMap<CaseInsensitiveString, Integer> ciMap = new HashMap<>();
+        CaseInsensitiveInterner interner = new CaseInsensitiveInterner(1_024);
+        for (int i = 0; i < HEADERS.length; i++) {
+            treeMap.put(HEADERS[i], i);
+            lowerMap.put(HEADERS[i].toLowerCase(Locale.ROOT), i);
+            ciMap.put(CaseInsensitiveString.of(HEADERS[i]), i);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            boolean print = round == 2;
+            if (print) {
+                System.out.println("== get (헤더 " + HEADERS.length + "개) ==");
+            }
+            measure("TreeMap CASE_INSENSITIVE", iterations, lookups, print, keys -> {
+                int sum = 0;
+                for (String key : keys) {
+                    sum += treeMap.get(key);
+                }
+                return sum;
+            });
+            measure("HashMap toLowerCase", iterations, lookups, print, keys -> {
+                int sum = 0;
+                for (String key : keys) {
+                    sum += lowerMap.get(key.toLowerCase(Locale.ROOT));
+                }
+                return sum;
+            });
+            measure("HashMap CIS 미리 생성", iterations, lookups, print, keys -> {
+                int sum = 0;
+                for (CaseInsensitiveString key : prebuilt) {
+                    sum += ciMap.get(key);
+                }
+                return sum;
+            });
+            measure("HashMap CIS.of", iterations, lookups, print, keys -> {
+                int sum = 0;
+                for (String key : keys) {
+                    sum += ciMap.get(CaseInsensitiveString.of(key));
+                }
+                return sum;
+            });
+            measure("HashMap CIS 인터너", iterations, lookups, print, keys -> {
+                int sum = 0;
+                for (String key : keys) {
+                    sum += ciMap.get(interner.intern(key));
+                }
+                return sum;
+            });
+
+            if (print) {
+                System.out.println("== put (요청마다 헤더 맵을 새로 채움) ==");
+            }
+            measure("TreeMap CASE_INSENSITIVE", iterations, lookups, print, keys -> {
+                Map<String, Integer> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                int sum = 0;
+                for (int i = 0; i < keys.length; i++) {
+                    map.put(keys[i], i);
+                    if ((i & 15) == 15) {
+                        sum += map.size();
+                        map.clear();
+                    }
+                }
+                return sum;
+            });
+            measure("HashMap toLowerCase", iterations, lookups, print, keys -> {
+                Map<String, Integer> map = new HashMap<>();
+                int sum = 0;
+                for (int i = 0; i < keys.length; i++) {
+                    map.put(keys[i].toLowerCase(Locale.ROOT), i);
+                    if ((i & 15) == 15) {
+                        sum += map.size();
+                        map.clear();
+                    }
+                }
+                return sum;
+            });
+            measure("HashMap CIS 인터너", iterations, lookups, print, keys -> {
+                Map<CaseInsensitiveString, Integer> map = new HashMap<>();
+                int sum = 0;
+                for (int i = 0; i < keys.length; i++) {
+                    map.put(interner.intern(keys[i]), i);
+                    if ((i & 15) == 15) {
+                        sum += map.size();
+                        map.clear();
+                    }
+                }
+                return sum;
+            });
+        }
+        System.out.println(interner);
+    }
+
+    private static void measure(String label, int iterations, String[] lookups, boolean print, Workload workload) {
+        long sink = 0;
+        long allocatedBefore = Allocations.allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += workload.run(lookups);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = Allocations.allocatedBytes() - allocatedBefore;
+        long ops = (long) iterations * lookups.length;
+        if (print) {
+            System.out.printf("%-26s %7.1f ns/op  %6.1f B/op  (sink %d)%n",
+                    label, (double) elapsed / ops, (double) allocated / ops, sink);
+        }
+    }
+
+    private static void verifyContract() {
+        CaseInsensitiveString a = CaseInsensitiveString.of("Content-Type");
+        CaseInsensitiveString b = CaseInsensitiveString.of("CONTENT-TYPE");
+        CaseInsensitiveString c = CaseInsensitiveString.of("content-type");
+        check(a.equals(b) && b.equals(a) && b.equals(c) && a.equals(c), "대칭성 / 추이성");
+        check(a.hashCode() == b.hashCode() && b.hashCode() == c.hashCode(), "equals 가 같으면 hashCode 도 같음");
+        check(!a.equals("Content-Type") && !"Content-Type".equals(a), "String 과는 어느 쪽으로도 같지 않음");
+        check("Content-Type".equals(a.toString()), "원래 표기 유지");
+        check(c.folded() == c.original(), "이미 소문자인 ASCII 는 복사하지 않음");
+        check(CaseInsensitiveString.of("STRASSE").equals(CaseInsensitiveString.of("straße")), "ß 와 SS");
+        check(CaseInsensitiveString.of("ΣΊΣΥΦΟΣ").equals(CaseInsensitiveString.of("σίσυφος")), "그리스어");
+        check(!CaseInsensitiveString.of("a").equals(CaseInsensitiveString.of("b")), "다른 문자열");
+
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            // 터키어 로케일에서도 "TITLE" 과 "title" 이 같아야 함 (toLowerCase() 를 로케일 없이 쓰면 "tıtle")
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            check(CaseInsensitiveString.of("TITLE").equals(CaseInsensitiveString.of("title")), "로케일 무관");
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+
+        CaseInsensitiveInterner interner = new CaseInsensitiveInterner(2);
+        check(interner.intern("Host") == interner.intern("HOST"), "표기가 달라도 정규 인스턴스 하나");
+        check(interner.intern("Host") == interner.intern("Host") && interner.size() == 1, "표기별 hit");
+        check(interner.intern("Via").equals(CaseInsensitiveString.of("via")), "maxSize 초과 시에도 같은 키");
+        System.out.println("equals / hashCode 규약 확인 완료");
+    }
+
+    private static void check(boolean condition, String label) {
+        if (!condition) {
+            throw new IllegalStateException(label + " 실패");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package chapter2.item10;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * EqualsEx.CaseInsensitiveString 의 대칭성 문제를 고치고 해시 키로 쓸 수 있게 만든 대소문자 무시 문자열
+ *  - String 과는 비교하지 않음 (같은 타입끼리만 같을 수 있으므로 대칭성, 추이성이 지켜짐)
+ *  - 생성 시점에 대소문자를 접은(folded) 문자열과 그 해시를 한 번만 계산해 두고
+ *    equals 는 해시 비교 후 folded 문자열의 equals, hashCode 는 필드 반환
+ *    (equalsIgnoreCase 처럼 비교할 때마다 문자 단위로 대소문자를 변환하지 않음)
+ *  - ASCII 문자열은 'A'~'Z' 만 소문자로 바꾸는 빠른 경로, 이미 소문자면 원본 문자열을 그대로 folded 로 사용
+ *  - ASCII 가 아닌 문자가 있으면 toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT) 로 접음
+ *    기본 로케일과 무관하고 "ß" 와 "SS" 처럼 변환 후 길이가 바뀌는 경우도 같게 봄
+ *    (String.CASE_INSENSITIVE_ORDER 는 문자 하나씩 비교하므로 "ß" 와 "SS" 를 다르게 봄)
+ *  - 같은 키를 반복해서 만드는 곳에서는 CaseInsensitiveInterner 로 정규 인스턴스를 재사용
+ */
+public final class CaseInsensitiveString implements Comparable<CaseInsensitiveString> {
+    private final String original;
+    private final String folded;
+    private final int hash;
+
+    private CaseInsensitiveString(String original) {
+        this.original = original;
+        this.folded = fold(original);
+        this.hash = folded.hashCode();
+    }
+
+    public static CaseInsensitiveString of(String str) {
+        return new CaseInsensitiveString(Objects.requireNonNull(str));
+    }
+
+    /**
+     * 대소문자를 접은 문자열 (같은 CaseInsensitiveString 끼리는 이 값이 같음)
+     */
+    public static String fold(String str) {
+        int length = str.length();
+        int firstUpper = -1;
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            if (c >= 0x80) {
+                return str.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+            }
+            if (firstUpper < 0 && c >= 'A' && c <= 'Z') {
+                firstUpper = i;
+            }
+        }
+        if (firstUpper < 0) {
+            return str;
+        }
+        char[] chars = str.toCharArray();
+        for (int i = firstUpper; i < length; i++) {
+            char c = chars[i];
+            if (c >= 'A' && c <= 'Z') {
+                chars[i] = (char) (c + ('a' - 'A'));
+            }
+        }
+        return new String(chars);
+    }
+
+    public String original() {
+        return original;
+    }
+
+    public String folded() {
+        return folded;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof CaseInsensitiveString)) return false;
+        CaseInsensitiveString other = (CaseInsensitiveString) obj;
+        return hash == other.hash && folded.equals(other.folded);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public int compareTo(CaseInsensitiveString other) {
+        return folded.compareTo(other.folded);
+    }
+
+    /**
+     * 처음 주어진 표기 그대로 반환 (헤더 이름을 다시 출력할 때 원래 표기를 유지)
+     */
+    @Override
+    public String toString() {
+        return original;
+    }
+}
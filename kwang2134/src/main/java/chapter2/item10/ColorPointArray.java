@@ -0,0 +1,129 @@
+package chapter2.item10;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+/**
+ * EqualsEx.ColorPoint 를 객체 없이 저장하는 색 점 배열
+ *  - 좌표는 PointArray(long[]) 에, 색은 java.awt.Color 참조 대신 ARGB int 로 int[] 에 저장 (점당 12바이트)
+ *  - ColorPoint 처럼 Point 를 확장하지 않고 PointArray 를 필드로 가짐 (상속 대신 컴포지션)
+ *    좌표만 필요한 곳에는 toPointArray() 로 좌표를 복사해서 넘김 (내부 PointArray 는 밖에 내주지 않음)
+ *  - equals 는 ColorPointArray 끼리만 같을 수 있고 좌표와 색이 모두 같아야 함
+ *    PointArray 와 비교하면 어느 쪽에서 비교해도 false 이므로 대칭성 / 추이성이 지켜짐
+ */
+public final class ColorPointArray {
+    private final PointArray points;
+    private int[] argb;
+
+    public ColorPointArray() {
+        this(16);
+    }
+
+    public ColorPointArray(int initialCapacity) {
+        this.points = new PointArray(initialCapacity);
+        this.argb = new int[initialCapacity];
+    }
+
+    private ColorPointArray(PointArray points, int[] argb) {
+        this.points = points;
+        this.argb = argb;
+    }
+
+    public int add(int x, int y, Color color) {
+        return add(x, y, color.getRGB());
+    }
+
+    public int add(int x, int y, int argb) {
+        int index = points.add(x, y);
+        if (index >= this.argb.length) {
+            this.argb = Arrays.copyOf(this.argb, PointArray.grow(this.argb.length));
+        }
+        this.argb[index] = argb;
+        return index;
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    public int x(int index) {
+        return points.x(index);
+    }
+
+    public int y(int index) {
+        return points.y(index);
+    }
+
+    public int argb(int index) {
+        points.packed(index);   // 범위 검사
+        return argb[index];
+    }
+
+    public Color color(int index) {
+        return new Color(argb(index), true);
+    }
+
+    /**
+     * 좌표만 복사한 PointArray
+     * 내부 PointArray 를 그대로 내주면 그쪽으로 추가한 점에는 색이 없어 argb 와 크기가 어긋나므로 복사본을 줌
+     */
+    public PointArray toPointArray() {
+        return points.copy();
+    }
+
+    public int indexOf(int x, int y, int argb) {
+        long target = PointArray.pack(x, y);
+        long[] packed = points.packedArray();
+        int[] colors = this.argb;
+        for (int i = 0, n = points.size(); i < n; i++) {
+            if (packed[i] == target && colors[i] == argb) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int indexOf(int x, int y, Color color) {
+        return indexOf(x, y, color.getRGB());
+    }
+
+    /**
+     * 좌표와 색이 모두 같은 점의 중복을 처음 나온 순서를 유지하면서 제거
+     */
+    public ColorPointArray distinct() {
+        long[] packed = points.packedArray();
+        int[] colors = argb;
+        int[] firsts = PointArray.distinctIndexes(points.size(),
+                i -> PointArray.mix(packed[i] * 31 + colors[i]),
+                (i, j) -> packed[i] == packed[j] && colors[i] == colors[j]);
+        ColorPointArray result = new ColorPointArray(new PointArray(firsts.length), new int[firsts.length]);
+        for (int index : firsts) {
+            result.points.addPacked(packed[index]);
+            result.argb[result.points.size() - 1] = colors[index];
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof ColorPointArray)) return false;
+        ColorPointArray other = (ColorPointArray) obj;
+        int size = size();
+        return points.equals(other.points) && Arrays.equals(argb, 0, size, other.argb, 0, size);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = points.hashCode();
+        for (int i = 0, n = size(); i < n; i++) {
+            result = 31 * result + argb[i];
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ColorPointArray[size=" + size() + "]";
+    }
+}
@@ -0,0 +1,217 @@
+package chapter2.item10;
+
+import java.util.Arrays;
+
+/**
+ * EqualsEx.Point 를 객체 하나씩 만들지 않고 long[] 하나에 모아 저장하는 점 배열
+ *  - 점 하나를 (x << 32) | (y & 0xFFFFFFFF) 로 long 하나에 담음 (객체 헤더와 참조 없이 점당 8바이트)
+ *  - 점 비교는 long 비교 한 번, 배열 비교는 Arrays.equals 의 벡터화된 구간 비교 사용
+ *  - indexOf / contains / distinct 같은 일괄 연산 제공
+ *  - equals 는 PointArray 끼리만 같을 수 있고 (ColorPointArray 와는 항상 다름) 같은 순서로 같은 점을 담고 있으면 같음
+ *    ColorPointArray 는 PointArray 를 상속하지 않고 필드로 가지므로 EqualsEx 의 대칭성 / 추이성 문제가 생기지 않음
+ *  - 추가만 가능 (제거 없음), 스레드 안전하지 않음
+ */
+public final class PointArray {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] packed;
+    private int size;
+
+    public PointArray() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PointArray(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity 는 0 이상이어야 함: " + initialCapacity);
+        }
+        this.packed = new long[initialCapacity];
+    }
+
+    private PointArray(long[] packed, int size) {
+        this.packed = packed;
+        this.size = size;
+    }
+
+    public static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    public static int unpackX(long point) {
+        return (int) (point >> 32);
+    }
+
+    public static int unpackY(long point) {
+        return (int) point;
+    }
+
+    /**
+     * 추가한 점의 인덱스를 반환
+     */
+    public int add(int x, int y) {
+        return addPacked(pack(x, y));
+    }
+
+    int addPacked(long point) {
+        if (size == packed.length) {
+            packed = Arrays.copyOf(packed, grow(packed.length));
+        }
+        packed[size] = point;
+        return size++;
+    }
+
+    PointArray copy() {
+        return new PointArray(Arrays.copyOf(packed, size), size);
+    }
+
+    static int grow(int capacity) {
+        int newCapacity = Math.max(DEFAULT_CAPACITY, capacity + (capacity >> 1));
+        if (newCapacity < 0 || newCapacity > Integer.MAX_VALUE - 8) {
+            if (capacity == Integer.MAX_VALUE - 8) {
+                throw new OutOfMemoryError("PointArray 최대 크기 초과");
+            }
+            return Integer.MAX_VALUE - 8;
+        }
+        return newCapacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int x(int index) {
+        return unpackX(packed(index));
+    }
+
+    public int y(int index) {
+        return unpackY(packed(index));
+    }
+
+    public long packed(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        return packed[index];
+    }
+
+    /**
+     * 내부 배열을 그대로 반환 (앞의 size() 개만 유효, 같은 패키지의 PointGrid / ColorPointArray 용)
+     */
+    long[] packedArray() {
+        return packed;
+    }
+
+    /**
+     * 처음 나오는 (x, y) 의 인덱스, 없으면 -1
+     */
+    public int indexOf(int x, int y) {
+        long target = pack(x, y);
+        long[] points = packed;
+        for (int i = 0, n = size; i < n; i++) {
+            if (points[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(int x, int y) {
+        return indexOf(x, y) >= 0;
+    }
+
+    /**
+     * 처음 나온 순서를 유지하면서 중복을 제거한 새 PointArray
+     */
+    public PointArray distinct() {
+        long[] points = packed;
+        int[] firsts = distinctIndexes(size, i -> mix(points[i]), (i, j) -> points[i] == points[j]);
+        long[] result = new long[firsts.length];
+        for (int i = 0; i < firsts.length; i++) {
+            result[i] = points[firsts[i]];
+        }
+        return new PointArray(result, result.length);
+    }
+
+    @FunctionalInterface
+    interface IndexHash {
+        long hash(int index);
+    }
+
+    @FunctionalInterface
+    interface IndexEquality {
+        boolean same(int i, int j);
+    }
+
+    /**
+     * [0, size) 에서 각 값이 처음 나오는 인덱스들 (오름차순)
+     * 인덱스 + 1 을 담는 개방 주소법 테이블이라 값 종류와 무관하게 int[] 하나만 사용
+     */
+    static int[] distinctIndexes(int size, IndexHash hash, IndexEquality equality) {
+        if (size >= 1 << 30) {
+            throw new IllegalArgumentException("distinct 는 2^30 개 미만에서만 지원: " + size);
+        }
+        // 채움률 0.5 이하가 되는 2의 거듭제곱 크기 (최대 2^30)
+        int capacity = size <= 1 << 29 ? Integer.highestOneBit(Math.max(2, size) * 2 - 1) << 1 : 1 << 30;
+        int mask = capacity - 1;
+        int[] table = new int[capacity];
+        int[] firsts = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int slot = (int) hash.hash(i) & mask;
+            while (true) {
+                int occupant = table[slot];
+                if (occupant == 0) {
+                    table[slot] = i + 1;
+                    firsts[count++] = i;
+                    break;
+                }
+                if (equality.same(occupant - 1, i)) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+        return Arrays.copyOf(firsts, count);
+    }
+
+    /**
+     * murmur3 fmix64, (0, 1), (0, 2) 처럼 하위 비트만 다른 점들이 테이블에 고르게 퍼지게 함
+     */
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof PointArray)) return false;
+        PointArray other = (PointArray) obj;
+        return size == other.size && Arrays.equals(packed, 0, size, other.packed, 0, size);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + Long.hashCode(packed[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("PointArray[size=").append(size).append(", ");
+        int shown = Math.min(size, 8);
+        for (int i = 0; i < shown; i++) {
+            sb.append('(').append(x(i)).append(", ").append(y(i)).append(')');
+            if (i < shown - 1) {
+                sb.append(' ');
+            }
+        }
+        return sb.append(size > shown ? " ...]" : "]").toString();
+    }
+}
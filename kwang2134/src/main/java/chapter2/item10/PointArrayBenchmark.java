@@ -0,0 +1,238 @@
+package chapter2.item10;
+
+import benchmark.Allocations;
+import java.awt.Color;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * 객체 리스트(List<Point>, List<ColorPoint>) 와 PointArray / ColorPointArray 의 메모리, 처리량 비교
+ *  - 메모리: 각 구조를 만든 뒤 GC 후 힙 사용량 차이(유지)와 만드는 동안 할당한 바이트(할당)로 점당 바이트 계산
+ *    (ColorPoint 는 점마다 Color 객체를 가짐)
+ *    앞 구조가 쓰레기가 되면 다음 측정의 기준선에서 수거되어 차이가 줄어드므로 모든 측정이 끝날 때까지 전부 유지
+ *  - indexOf: 없는 점을 찾는 전체 탐색
+ *  - distinct: LinkedHashSet<Point> vs PointArray.distinct() (ColorPointArray 는 좌표 + 색 기준)
+ *  - 이웃 조회: 전체 탐색 vs PointGrid (반경 500, 칸 크기 500)
+ *  - 측정 전에 equals 규약과 PointGrid 결과가 전체 탐색과 같은지 확인
+ *  - 실행: java -Xmx2g chapter2.item10.PointArrayBenchmark [점 개수]
+ */
+public class PointArrayBenchmark {
+
+    private record Point(int x, int y) {
+    }
+
+    private record ColorPoint(Point point, Color color) {
+    }
+
+    private static final int RANGE = 100_000;
+    private static final int RADIUS = 500;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        verify();
+
+        // 1/4 은 앞에서 나온 점을 다시 넣어 중복을 만듦
+        Random random = new Random(42);
+        int[] xs = new int[n];
+        int[] ys = new int[n];
+        int[] colors = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (i > 0 && random.nextInt(4) == 0) {
+                int j = random.nextInt(i);
+                xs[i] = xs[j];
+                ys[i] = ys[j];
+                colors[i] = colors[j];
+            } else {
+                xs[i] = random.nextInt(RANGE);
+                ys[i] = random.nextInt(RANGE);
+                colors[i] = 0xFF000000 | random.nextInt(1 << 24);
+            }
+        }
+
+        System.out.println("== 메모리 (점 " + n + "개) ==");
+        List<Object> retained = new ArrayList<>();
+        List<Point> list = footprint("List<Point>", n, retained, () -> {
+            List<Point> built = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                built.add(new Point(xs[i], ys[i]));
+            }
+            return built;
+        });
+        footprint("List<ColorPoint>", n, retained, () -> {
+            List<ColorPoint> built = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                built.add(new ColorPoint(new Point(xs[i], ys[i]), new Color(colors[i], true)));
+            }
+            return built;
+        });
+        PointArray points = footprint("PointArray", n, retained, () -> {
+            PointArray built = new PointArray(n);
+            for (int i = 0; i < n; i++) {
+                built.add(xs[i], ys[i]);
+            }
+            return built;
+        });
+        ColorPointArray colorPoints = footprint("ColorPointArray", n, retained, () -> {
+            ColorPointArray built = new ColorPointArray(n);
+            for (int i = 0; i < n; i++) {
+                built.add(xs[i], ys[i], colors[i]);
+            }
+            return built;
+        });
+        PointGrid grid = footprint("PointGrid (색인)", n, retained, () -> new PointGrid(points, RADIUS));
+        // 처리량 측정에 쓰지 않는 List<ColorPoint> 는 여기서부터 수거되어도 됨
+        retained.clear();
+
+        int[] qx = new int[1_000];
+        int[] qy = new int[1_000];
+        for (int i = 0; i < qx.length; i++) {
+            qx[i] = random.nextInt(RANGE);
+            qy[i] = random.nextInt(RANGE);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            boolean print = round == 2;
+            if (print) {
+                System.out.println("== 처리량 ==");
+            }
+            int scans = 20;
+            long start = System.nanoTime();
+            int sink = 0;
+            for (int s = 0; s < scans; s++) {
+                sink += list.indexOf(new Point(-1, s));
+            }
+            time("indexOf List<Point>", start, scans, print, sink);
+            start = System.nanoTime();
+            sink = 0;
+            for (int s = 0; s < scans; s++) {
+                sink += points.indexOf(-1, s);
+            }
+            time("indexOf PointArray", start, scans, print, sink);
+
+            start = System.nanoTime();
+            sink = new LinkedHashSet<>(list).size();
+            time("distinct LinkedHashSet", start, 1, print, sink);
+            start = System.nanoTime();
+            sink = points.distinct().size();
+            time("distinct PointArray", start, 1, print, sink);
+            start = System.nanoTime();
+            sink = colorPoints.distinct().size();
+            time("distinct ColorPointArray", start, 1, print, sink);
+
+            int queries = 20;
+            start = System.nanoTime();
+            sink = 0;
+            for (int q = 0; q < queries; q++) {
+                for (Point p : list) {
+                    long dx = p.x() - qx[q];
+                    long dy = p.y() - qy[q];
+                    if (dx * dx + dy * dy <= (long) RADIUS * RADIUS) {
+                        sink++;
+                    }
+                }
+            }
+            time("이웃 조회 전체 탐색", start, queries, print, sink);
+            start = System.nanoTime();
+            sink = 0;
+            for (int q = 0; q < qx.length; q++) {
+                sink += grid.countWithin(qx[q], qy[q], RADIUS);
+            }
+            time("이웃 조회 PointGrid", start, qx.length, print, sink);
+        }
+    }
+
+    private static void time(String label, long start, int ops, boolean print, int sink) {
+        long elapsed = System.nanoTime() - start;
+        if (print) {
+            System.out.printf("%-24s %12.1f us/op  (결과 %d)%n", label, elapsed / 1e3 / ops, sink);
+        }
+    }
+
+    /**
+     * build 로 만든 구조의 유지 / 할당 바이트를 출력하고, 모든 측정이 끝날 때까지 retained 에 담아 유지
+     */
+    private static <T> T footprint(String label, int n, List<Object> retained, Supplier<T> build) {
+        long before = usedHeap();
+        long allocatedBefore = Allocations.allocatedBytes();
+        T built = build.get();
+        long allocated = Allocations.allocatedBytes() - allocatedBefore;
+        retained.add(built);
+        long bytes = usedHeap() - before;
+        System.out.printf("%-20s 유지 %8.1f MB  %6.1f B/점  (할당 %6.1f B/점)%n",
+                label, bytes / 1024.0 / 1024.0, (double) bytes / n, (double) allocated / n);
+        return built;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void verify() {
+        PointArray a = new PointArray();
+        a.add(1, 2);
+        a.add(-3, Integer.MIN_VALUE);
+        a.add(1, 2);
+        PointArray b = new PointArray(1);
+        b.add(1, 2);
+        b.add(-3, Integer.MIN_VALUE);
+        b.add(1, 2);
+        check(a.equals(b) && b.equals(a) && a.hashCode() == b.hashCode(), "PointArray 대칭성 / hashCode");
+        check(a.x(1) == -3 && a.y(1) == Integer.MIN_VALUE, "음수 좌표 pack / unpack");
+        check(a.indexOf(-3, Integer.MIN_VALUE) == 1 && a.indexOf(2, 1) == -1, "indexOf");
+        check(a.distinct().size() == 2 && a.distinct().x(0) == 1, "distinct 순서 유지");
+
+        ColorPointArray red = new ColorPointArray();
+        red.add(1, 2, Color.RED);
+        ColorPointArray blue = new ColorPointArray();
+        blue.add(1, 2, Color.BLUE);
+        PointArray plain = new PointArray();
+        plain.add(1, 2);
+        // EqualsEx.ColorPoint 와 달리 좌표만 같은 PointArray 와는 어느 방향으로도 같지 않으므로
+        // red == plain, plain == blue 로 red == blue 가 되는 추이성 위반이 생기지 않음
+        check(!red.equals(plain) && !plain.equals(red) && !red.equals(blue), "ColorPointArray 대칭성 / 추이성");
+        check(red.toPointArray().equals(plain) && plain.equals(blue.toPointArray()), "좌표 복사본끼리는 비교 가능");
+        red.toPointArray().add(3, 4);
+        check(red.size() == 1, "좌표 복사본에 추가해도 원본은 그대로");
+        red.add(1, 2, Color.RED);
+        red.add(1, 2, Color.BLUE);
+        check(red.distinct().size() == 2 && red.indexOf(1, 2, Color.BLUE) == 2, "ColorPointArray distinct / indexOf");
+        check(Color.RED.equals(red.color(0)), "Color 복원");
+
+        Random random = new Random(7);
+        PointArray points = new PointArray();
+        for (int i = 0; i < 20_000; i++) {
+            points.add(random.nextInt(2_001) - 1_000, random.nextInt(2_001) - 1_000);
+        }
+        PointGrid grid = new PointGrid(points, 37);
+        for (int q = 0; q < 200; q++) {
+            int x = random.nextInt(2_401) - 1_200;
+            int y = random.nextInt(2_401) - 1_200;
+            int radius = random.nextInt(120);
+            int[] expected = new int[points.size()];
+            int count = 0;
+            for (int i = 0; i < points.size(); i++) {
+                long dx = points.x(i) - (long) x;
+                long dy = points.y(i) - (long) y;
+                if (dx * dx + dy * dy <= (long) radius * radius) {
+                    expected[count++] = i;
+                }
+            }
+            check(Arrays.equals(Arrays.copyOf(expected, count), grid.within(x, y, radius)), "PointGrid 결과");
+        }
+        System.out.println("equals 규약 / PointGrid 결과 확인 완료");
+    }
+
+    private static void check(boolean condition, String label) {
+        if (!condition) {
+            throw new IllegalStateException(label + " 실패");
+        }
+    }
+}
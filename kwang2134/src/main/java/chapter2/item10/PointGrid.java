@@ -0,0 +1,175 @@
+package chapter2.item10;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * PointArray 위에 만드는 격자 해시 공간 인덱스 (반경 안의 이웃 점 조회용)
+ *  - 평면을 cellSize 크기의 정사각형 칸으로 나누고 칸 좌표 (floorDiv(x), floorDiv(y)) 를 키로 하는 해시 테이블 구성
+ *  - 점 인덱스를 칸 순서대로 정렬한 int[] 하나와, 칸마다 그 배열의 시작 위치 / 개수만 저장
+ *    (점당 4바이트 + 점이 있는 칸당 32바이트 이하, 테이블은 칸 수에 맞춰 늘어남)
+ *  - 반경 r 조회는 r 을 덮는 칸들만 살펴보므로 cellSize 를 자주 쓰는 반경과 비슷하게 잡으면 칸 3x3 개 정도만 확인
+ *  - 만든 시점의 점들만 색인함 (이후 PointArray 에 추가된 점은 다시 만들어야 보임)
+ */
+public final class PointGrid {
+    private final long[] points;
+    private final int size;
+    private final int cellSize;
+
+    // 칸 해시 테이블 (개방 주소법, cellCount 가 0 이면 빈 슬롯, 채움률 0.5 이하)
+    private long[] cellKeys;
+    private int[] cellStart;
+    private int[] cellCount;
+    private int mask;
+    private int cells;
+
+    // 칸 순서로 정렬한 점 인덱스
+    private final int[] sorted;
+
+    public PointGrid(PointArray pointArray, int cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("cellSize 는 1 이상이어야 함: " + cellSize);
+        }
+        this.points = pointArray.packedArray();
+        this.size = pointArray.size();
+        this.cellSize = cellSize;
+
+        // 1단계: 칸별 개수를 셈 (테이블은 점 수가 아니라 칸 수에 맞춰 늘림)
+        resize(16);
+        for (int i = 0; i < size; i++) {
+            // findOrInsert 가 테이블을 키울 수 있으므로 슬롯을 먼저 구한 뒤 배열을 읽음
+            int slot = findOrInsert(cellKeyOf(points[i]));
+            cellCount[slot]++;
+        }
+
+        // 2단계: 칸별 시작 위치를 누적합으로 정하고 점 인덱스를 자리에 배치
+        int offset = 0;
+        for (int slot = 0; slot < cellStart.length; slot++) {
+            cellStart[slot] = offset;
+            offset += cellCount[slot];
+        }
+        this.sorted = new int[size];
+        int[] fill = Arrays.copyOf(cellStart, cellStart.length);
+        for (int i = 0; i < size; i++) {
+            sorted[fill[find(cellKeyOf(points[i]))]++] = i;
+        }
+    }
+
+    private long cellKeyOf(long point) {
+        return PointArray.pack(Math.floorDiv(PointArray.unpackX(point), cellSize),
+                Math.floorDiv(PointArray.unpackY(point), cellSize));
+    }
+
+    private int findOrInsert(long key) {
+        int slot = (int) PointArray.mix(key) & mask;
+        while (cellCount[slot] != 0) {
+            if (cellKeys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (++cells * 2 > cellKeys.length) {
+            resize(cellKeys.length * 2);
+            slot = (int) PointArray.mix(key) & mask;
+            while (cellCount[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+        }
+        cellKeys[slot] = key;
+        return slot;
+    }
+
+    /**
+     * 1단계(개수 세기) 중에만 호출되므로 키와 개수만 옮김
+     */
+    private void resize(int capacity) {
+        long[] oldKeys = cellKeys;
+        int[] oldCounts = cellCount;
+        cellKeys = new long[capacity];
+        cellCount = new int[capacity];
+        cellStart = new int[capacity];
+        mask = capacity - 1;
+        if (oldKeys == null) {
+            return;
+        }
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                int slot = (int) PointArray.mix(oldKeys[i]) & mask;
+                while (cellCount[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                cellKeys[slot] = oldKeys[i];
+                cellCount[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private int find(long key) {
+        int slot = (int) PointArray.mix(key) & mask;
+        while (cellCount[slot] != 0) {
+            if (cellKeys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * (x, y) 에서 거리가 radius 이하인 점의 인덱스마다 action 호출 (순서는 정해져 있지 않음)
+     */
+    public void forEachWithin(int x, int y, int radius, IntConsumer action) {
+        if (radius < 0) {
+            throw new IllegalArgumentException("radius 는 0 이상이어야 함: " + radius);
+        }
+        long r2 = (long) radius * radius;
+        long minCellX = Math.floorDiv((long) x - radius, cellSize);
+        long maxCellX = Math.floorDiv((long) x + radius, cellSize);
+        long minCellY = Math.floorDiv((long) y - radius, cellSize);
+        long maxCellY = Math.floorDiv((long) y + radius, cellSize);
+        for (long cx = minCellX; cx <= maxCellX; cx++) {
+            for (long cy = minCellY; cy <= maxCellY; cy++) {
+                int slot = find(PointArray.pack((int) cx, (int) cy));
+                if (slot < 0) {
+                    continue;
+                }
+                for (int k = cellStart[slot], end = k + cellCount[slot]; k < end; k++) {
+                    int index = sorted[k];
+                    long p = points[index];
+                    long dx = PointArray.unpackX(p) - (long) x;
+                    long dy = PointArray.unpackY(p) - (long) y;
+                    if (dx * dx + dy * dy <= r2) {
+                        action.accept(index);
+                    }
+                }
+            }
+        }
+    }
+
+    public int countWithin(int x, int y, int radius) {
+        int[] count = new int[1];
+        forEachWithin(x, y, radius, index -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * 반경 안의 점 인덱스 (오름차순)
+     */
+    public int[] within(int x, int y, int radius) {
+        int[][] buffer = {new int[16]};
+        int[] count = new int[1];
+        forEachWithin(x, y, radius, index -> {
+            if (count[0] == buffer[0].length) {
+                buffer[0] = Arrays.copyOf(buffer[0], count[0] * 2);
+            }
+            buffer[0][count[0]++] = index;
+        });
+        int[] result = Arrays.copyOf(buffer[0], count[0]);
+        Arrays.sort(result);
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+}
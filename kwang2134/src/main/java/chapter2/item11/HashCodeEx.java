@@ -30,11 +30,11 @@ public class HashCodeEx {
      */
     private List<Object>[] buckets;
 
-    // HashSet.add() 내부 동작 (가정)
+    // HashSet.add() 내부 동작 (가정), 실제로 쓸 수 있는 구현은 OpenHashSet 참고
     public boolean add(Object o) {
-        // 1단계: hashCode()로 버킷 위치 결정
+        // 1단계: hashCode()로 버킷 위치 결정 (hashCode 가 음수일 수 있으므로 % 대신 floorMod)
         int hash = o.hashCode();
-        int bucket = hash % buckets.length;
+        int bucket = Math.floorMod(hash, buckets.length);
 
         // 2단계: 해당 버킷에서 equals()로 중복 검사
         for (Object existing : buckets[bucket]) {
@@ -0,0 +1,421 @@
+package chapter2.item11;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * hashCode 품질 분석기
+ *  - 키 표본을 받아 주어진 테이블 크기에서 버킷 분포, 탐사 길이, 눈사태 효과, 충돌률을 계산
+ *  - HashCodeEx 의 Student 처럼 equals 만 재정의하고 hashCode 는 재정의하지 않은 클래스와
+ *    equals 는 true 인데 hashCode 가 다른 키 쌍을 찾아서 보고
+ *  - 테스트에서 report.healthy() 를 확인하거나, 운영 키 표본을 자주 쓰는 HashMap 에 넣기 전에 돌려보는 용도
+ *  - 표본의 중복 키는 한 번만 셈 (HashMap 에도 한 번만 들어가므로)
+ *
+ * 지표
+ *  - 분산비: 버킷별 키 수의 분산 / 무작위 해시일 때의 기대 분산, 1 근처면 정상이고 클수록 몰림
+ *  - 가장 긴 체인: 체이닝(HashMap) 에서 한 버킷에 들어간 최대 키 수
+ *  - 가장 긴 탐사: 선형 탐사(ProbeTable) 로 넣었을 때 홈 슬롯에서 밀려난 최대 거리 (키가 테이블보다 많으면 -1)
+ *  - 버킷 충돌률: 이미 다른 키가 있는 버킷에 들어간 키의 비율 (무작위 해시의 기대값과 함께 보고)
+ *  - 해시 충돌률: hashCode 32 비트 전체가 다른 키와 겹치는 키의 비율, 어떻게 섞어도 나눌 수 없는 충돌
+ *  - 눈사태 점수: 키를 조금 바꿨을 때 바뀌는 해시 비트의 비율, 0.5 가 이상적
+ *    키를 바꾸는 방법은 타입마다 다르므로 호출자가 UnaryOperator 로 넘김 (넘기지 않으면 NaN)
+ *    31 * h + studentId 방식은 학번을 1 바꾸면 하위 몇 비트만 바뀌어 0.1 안팎이 나옴
+ *  - 인덱스 비트 편향: 버킷 번호로 쓰이는 하위 비트 중 가장 치우친 비트의 편향 (0: 반반, 1: 항상 같은 값)
+ *
+ * 경고 기준 (warnings)
+ *  - equals / hashCode 규약 위반, 분산비 1.5 초과, 평균 탐사 거리가 무작위 해시 기대값의 두 배 + 1 초과,
+ *    해시 충돌률 0.1% 초과 (무작위 32 비트 해시의 기대 충돌률은 그보다 훨씬 작음)
+ *  - 눈사태 점수는 경고에 쓰지 않음: 연속된 학번은 HashMap 에서 오히려 버킷에 고르게 퍼지므로 낮아도 문제가 아닐 수 있음
+ */
+public final class HashQualityAnalyzer {
+    // equals / hashCode 규약을 쌍으로 확인할 최대 키 수 (쌍 수는 n^2 / 2)
+    private static final int CONTRACT_SAMPLE = 2_000;
+    private static final int AVALANCHE_SAMPLE = 10_000;
+    // 중복 제거에서 hashCode 가 같은 키 구간마다 equals 로 비교할 서로 다른 키의 최대 수
+    private static final int DEDUP_RUN_LIMIT = 64;
+    private static final int MAX_EXAMPLES = 3;
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+
+    private HashQualityAnalyzer() {
+        throw new RuntimeException("생성 불가 클래스");
+    }
+
+    /**
+     * 해시를 버킷 번호로 바꾸는 방식
+     */
+    public enum Indexing {
+        /**
+         * HashMap: (h ^ h >>> 16) & (n - 1)
+         */
+        HASH_MAP {
+            @Override
+            int index(int h, int mask) {
+                return (h ^ (h >>> 16)) & mask;
+            }
+        },
+        /**
+         * ProbeTable / OpenHashSet: fmix32(h) & (n - 1)
+         */
+        MIXED {
+            @Override
+            int index(int h, int mask) {
+                return ProbeTable.spread(h) & mask;
+            }
+        },
+        /**
+         * 섞지 않고 h & (n - 1)
+         */
+        RAW {
+            @Override
+            int index(int h, int mask) {
+                return h & mask;
+            }
+        };
+
+        abstract int index(int h, int mask);
+    }
+
+    /**
+     * 분석 결과
+     */
+    public record Report(int keys, int distinctKeys, int tableSize, Indexing indexing,
+                         int occupiedBuckets, double dispersion, int longestChain,
+                         int longestProbe, double meanProbe, double expectedMeanProbe,
+                         double bucketCollisionRate, double expectedBucketCollisionRate, double hashCollisionRate,
+                         double avalanche, double indexAvalanche, double worstIndexBitBias,
+                         List<String> violations) {
+
+        public Report {
+            violations = List.copyOf(violations);
+        }
+
+        /**
+         * 규약 위반과 분포 문제를 사람이 읽을 수 있는 문장으로
+         */
+        public List<String> warnings() {
+            List<String> warnings = new ArrayList<>(violations);
+            if (dispersion > 1.5) {
+                warnings.add(String.format("버킷 분포가 무작위 해시보다 %.1f 배 고르지 않음 (가장 긴 체인 %d)",
+                        dispersion, longestChain));
+            }
+            if (longestProbe >= 0 && meanProbe > 2 * expectedMeanProbe + 1) {
+                warnings.add(String.format("선형 탐사 평균 거리 %.2f (무작위 해시 기대값 %.2f), 가장 긴 탐사 %d",
+                        meanProbe, expectedMeanProbe, longestProbe));
+            }
+            if (hashCollisionRate > 0.001) {
+                warnings.add(String.format("hashCode 가 다른 키와 완전히 같은 키가 %.2f%%, 섞어도 나눌 수 없음",
+                        hashCollisionRate * 100));
+            }
+            return warnings;
+        }
+
+        public boolean healthy() {
+            return warnings().isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("키 %d 개 (서로 다른 키 %d 개), 테이블 %d, 인덱싱 %s%n",
+                    keys, distinctKeys, tableSize, indexing));
+            sb.append(String.format(" 버킷: 사용 %d / %d, 분산비 %.2f, 가장 긴 체인 %d%n",
+                    occupiedBuckets, tableSize, dispersion, longestChain));
+            if (longestProbe >= 0) {
+                sb.append(String.format(" 선형 탐사: 가장 긴 탐사 %d, 평균 %.2f (무작위 기대 %.2f)%n",
+                        longestProbe, meanProbe, expectedMeanProbe));
+            } else {
+                sb.append(" 선형 탐사: 키가 테이블보다 많아 생략\n");
+            }
+            sb.append(String.format(" 충돌률: 버킷 %.3f (무작위 기대 %.3f), 해시 %.4f%n",
+                    bucketCollisionRate, expectedBucketCollisionRate, hashCollisionRate));
+            sb.append(String.format(" 눈사태: hashCode %.3f, 인덱스 %.3f, 인덱스 비트 최대 편향 %.3f%n",
+                    avalanche, indexAvalanche, worstIndexBitBias));
+            List<String> warnings = warnings();
+            if (warnings.isEmpty()) {
+                sb.append(" 경고 없음");
+            } else {
+                sb.append(" 경고:");
+                for (String warning : warnings) {
+                    sb.append("\n  - ").append(warning);
+                }
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * 표본 크기로 만든 HashMap 의 테이블 크기 (채움률 0.75) 와 HashMap 인덱싱으로 분석
+     */
+    public static <T> Report analyze(Collection<? extends T> sample) {
+        int tableSize = (int) Math.min(MAX_TABLE_SIZE, (long) (sample.size() / 0.75) + 1);
+        return analyze(sample, tableSize, Indexing.HASH_MAP, List.of());
+    }
+
+    public static <T> Report analyze(Collection<? extends T> sample, int tableSize, Indexing indexing) {
+        return analyze(sample, tableSize, indexing, List.of());
+    }
+
+    /**
+     * @param tableSize     버킷 수, 2의 거듭제곱으로 올림
+     * @param perturbations 키를 조금 바꾼 키를 만드는 함수들 (눈사태 점수 계산용, 예: 학번 + 1, 이름 한 글자 변경)
+     */
+    public static <T> Report analyze(Collection<? extends T> sample, int tableSize, Indexing indexing,
+                                     List<? extends UnaryOperator<T>> perturbations) {
+        if (tableSize < 1 || tableSize > MAX_TABLE_SIZE) {
+            throw new IllegalArgumentException("tableSize 는 1 이상 2^30 이하여야 함: " + tableSize);
+        }
+        int capacity = Math.max(2, Integer.highestOneBit(tableSize - 1) << 1);
+        int mask = capacity - 1;
+
+        List<String> violations = new ArrayList<>();
+        checkClasses(sample, violations);
+        checkPairs(sample, violations);
+
+        List<T> distinct = distinct(sample);
+        int n = distinct.size();
+        int[] hashes = new int[n];
+        int k = 0;
+        for (T key : distinct) {
+            hashes[k++] = key == null ? 0 : key.hashCode();
+        }
+
+        // 체이닝: 버킷별 키 수
+        int[] load = new int[capacity];
+        for (int h : hashes) {
+            load[indexing.index(h, mask)]++;
+        }
+        int occupied = 0;
+        int longestChain = 0;
+        double mean = (double) n / capacity;
+        double squares = 0;
+        for (int count : load) {
+            if (count > 0) {
+                occupied++;
+                longestChain = Math.max(longestChain, count);
+            }
+            squares += (count - mean) * (count - mean);
+        }
+        double expectedVariance = mean * (1 - 1.0 / capacity);
+        double dispersion = n == 0 ? 0 : (squares / capacity) / expectedVariance;
+        double emptyProbability = Math.exp(n * Math.log1p(-1.0 / capacity));
+        double expectedOccupied = capacity * (1 - emptyProbability);
+        double bucketCollisionRate = n == 0 ? 0 : (double) (n - occupied) / n;
+        double expectedBucketCollisionRate = n == 0 ? 0 : (n - expectedOccupied) / n;
+
+        // 선형 탐사: 표본 순서대로 넣었을 때 홈 슬롯에서 밀려난 거리
+        // 빈 슬롯을 하나씩 훑으면 해시가 몰린 표본에서 n^2 이 되므로 다음 빈 슬롯을 가리키는 배열(경로 절반 압축)로 찾음
+        int longestProbe = -1;
+        double meanProbe = Double.NaN;
+        double expectedMeanProbe = Double.NaN;
+        if (n < capacity) {
+            int[] nextFree = new int[capacity];
+            for (int i = 0; i < capacity; i++) {
+                nextFree[i] = i;
+            }
+            long totalProbe = 0;
+            longestProbe = 0;
+            for (int h : hashes) {
+                int home = indexing.index(h, mask);
+                int i = home;
+                while (nextFree[i] != i) {
+                    nextFree[i] = nextFree[nextFree[i]];
+                    i = nextFree[i];
+                }
+                nextFree[i] = (i + 1) & mask;
+                int distance = (i - home) & mask;
+                totalProbe += distance;
+                longestProbe = Math.max(longestProbe, distance);
+            }
+            double alpha = (double) n / capacity;
+            meanProbe = n == 0 ? 0 : (double) totalProbe / n;
+            // Knuth: 성공 탐색의 평균 탐사 횟수 (1 + 1 / (1 - a)) / 2 에서 홈 슬롯 1 회를 뺀 값
+            expectedMeanProbe = alpha / (2 * (1 - alpha));
+        }
+
+        // 해시 32 비트 전체가 겹치는 키
+        int[] sorted = hashes.clone();
+        Arrays.sort(sorted);
+        int sharing = 0;
+        for (int i = 0; i < n; i++) {
+            if ((i > 0 && sorted[i] == sorted[i - 1]) || (i + 1 < n && sorted[i] == sorted[i + 1])) {
+                sharing++;
+            }
+        }
+        double hashCollisionRate = n == 0 ? 0 : (double) sharing / n;
+
+        // 인덱스 비트 편향
+        int bits = Integer.numberOfTrailingZeros(capacity);
+        int[] ones = new int[bits];
+        for (int h : hashes) {
+            int index = indexing.index(h, mask);
+            for (int b = 0; b < bits; b++) {
+                ones[b] += (index >>> b) & 1;
+            }
+        }
+        double worstBias = 0;
+        for (int b = 0; b < bits && n > 0; b++) {
+            worstBias = Math.max(worstBias, Math.abs(2.0 * ones[b] / n - 1));
+        }
+
+        // 눈사태: 조금 바꾼 키와 해시 비트가 얼마나 다른지
+        double flipped = 0;
+        double indexFlipped = 0;
+        int pairs = 0;
+        int examined = 0;
+        for (T key : distinct) {
+            if (examined++ == AVALANCHE_SAMPLE) {
+                break;
+            }
+            if (key == null) {
+                continue;
+            }
+            int h1 = key.hashCode();
+            for (UnaryOperator<T> perturbation : perturbations) {
+                T other = perturbation.apply(key);
+                if (other == null || other.equals(key)) {
+                    continue;
+                }
+                int h2 = other.hashCode();
+                flipped += Integer.bitCount(h1 ^ h2) / 32.0;
+                indexFlipped += (double) Integer.bitCount(indexing.index(h1, mask) ^ indexing.index(h2, mask)) / bits;
+                pairs++;
+            }
+        }
+        double avalanche = pairs == 0 ? Double.NaN : flipped / pairs;
+        double indexAvalanche = pairs == 0 ? Double.NaN : indexFlipped / pairs;
+
+        return new Report(sample.size(), n, capacity, indexing,
+                occupied, dispersion, longestChain,
+                longestProbe, meanProbe, expectedMeanProbe,
+                bucketCollisionRate, expectedBucketCollisionRate, hashCollisionRate,
+                avalanche, indexAvalanche, worstBias, violations);
+    }
+
+    /**
+     * 표본에서 처음 나온 순서를 유지하며 중복 키를 뺌
+     * LinkedHashSet 은 hashCode 가 모두 같은 키를 버킷 하나에 모아 n^2 / 2 번 equals 를 부르므로
+     * (hashCode, 위치) 로 정렬하고 hashCode 가 같은 구간 안에서만 equals 로 비교함
+     * 한 구간에서 서로 다른 키가 DEDUP_RUN_LIMIT 개가 되면 그 뒤의 키는 비교하지 않고 서로 다른 키로 셈
+     * (이때 놓친 중복은 어차피 해시 충돌률 경고에 드러남)
+     */
+    private static <T> List<T> distinct(Collection<? extends T> sample) {
+        List<T> keys = new ArrayList<>(sample);
+        int size = keys.size();
+        long[] order = new long[size];
+        for (int i = 0; i < size; i++) {
+            T key = keys.get(i);
+            order[i] = ((long) (key == null ? 0 : key.hashCode()) << 32) | i;
+        }
+        Arrays.sort(order);
+
+        boolean[] duplicate = new boolean[size];
+        int[] representatives = new int[DEDUP_RUN_LIMIT];
+        int end;
+        for (int start = 0; start < size; start = end) {
+            int h = (int) (order[start] >>> 32);
+            end = start + 1;
+            while (end < size && (int) (order[end] >>> 32) == h) {
+                end++;
+            }
+            int count = 0;
+            for (int r = start; r < end; r++) {
+                int i = (int) order[r];
+                boolean seen = false;
+                for (int q = 0; q < count && !seen; q++) {
+                    seen = Objects.equals(keys.get(i), keys.get(representatives[q]));
+                }
+                if (seen) {
+                    duplicate[i] = true;
+                } else if (count < DEDUP_RUN_LIMIT) {
+                    representatives[count++] = i;
+                }
+            }
+        }
+
+        List<T> distinct = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (!duplicate[i]) {
+                distinct.add(keys.get(i));
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * equals 를 재정의했는데 hashCode 는 상위 클래스(대개 Object) 것을 그대로 쓰는 클래스를 찾음
+     */
+    public static String classViolation(Class<?> type) {
+        Class<?> equalsOwner;
+        Class<?> hashCodeOwner;
+        try {
+            equalsOwner = type.getMethod("equals", Object.class).getDeclaringClass();
+            hashCodeOwner = type.getMethod("hashCode").getDeclaringClass();
+        } catch (NoSuchMethodException e) {
+            throw new AssertionError(e); // 모든 클래스는 Object 의 public equals / hashCode 를 가짐
+        }
+        if (equalsOwner != Object.class && equalsOwner != hashCodeOwner && hashCodeOwner.isAssignableFrom(equalsOwner)) {
+            return equalsOwner.getName() + " 는 equals 를 재정의했지만 hashCode 는 "
+                    + hashCodeOwner.getName() + " 의 것을 그대로 씀";
+        }
+        return null;
+    }
+
+    private static void checkClasses(Collection<?> sample, List<String> violations) {
+        Set<Class<?>> seen = new HashSet<>();
+        for (Object key : sample) {
+            if (key != null && seen.add(key.getClass())) {
+                String violation = classViolation(key.getClass());
+                if (violation != null) {
+                    violations.add(violation);
+                }
+            }
+        }
+    }
+
+    /**
+     * 표본 앞쪽 CONTRACT_SAMPLE 개 안에서 equals 가 true 인데 hashCode 가 다른 쌍을 찾음
+     * 해시로 묶으면 바로 그 버그 때문에 같은 키가 서로 다른 묶음에 들어가므로 쌍마다 비교함
+     * hashCode 가 같은 쌍은 규약을 어길 수 없으므로 equals 를 부르지 않음
+     */
+    private static void checkPairs(Collection<?> sample, List<String> violations) {
+        int limit = Math.min(sample.size(), CONTRACT_SAMPLE);
+        Object[] keys = new Object[limit];
+        int[] hashes = new int[limit];
+        int n = 0;
+        for (Object key : sample) {
+            if (n == limit) {
+                break;
+            }
+            if (key == null) {
+                continue;
+            }
+            int h = key.hashCode();
+            if (h != key.hashCode()) {
+                violations.add(key.getClass().getName() + " 의 hashCode 가 호출할 때마다 다름: " + key);
+            }
+            keys[n] = key;
+            hashes[n++] = h;
+        }
+
+        int found = 0;
+        List<String> examples = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (hashes[i] != hashes[j] && keys[i] != keys[j] && keys[i].equals(keys[j])) {
+                    if (found++ < MAX_EXAMPLES) {
+                        examples.add(keys[i] + " (" + hashes[i] + ") / " + keys[j] + " (" + hashes[j] + ")");
+                    }
+                }
+            }
+        }
+        if (found > 0) {
+            violations.add("equals 는 같은데 hashCode 가 다른 쌍 " + found + " 개, 예: " + String.join(", ", examples));
+        }
+    }
+}
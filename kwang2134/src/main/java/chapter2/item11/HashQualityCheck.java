@@ -0,0 +1,162 @@
+package chapter2.item11;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * HashQualityAnalyzer 사용 예시와 동작 확인
+ *  - HashCodeEx.Student (equals 만 재정의): 규약 위반으로 잡히는지
+ *  - HashCodeEx.UnivStudent (31 곱셈): 위반 없음, 학번 + 1 의 눈사태 점수가 낮은 것 확인
+ *  - 하위 비트가 항상 0 인 hashCode: 섞지 않으면(RAW) 몰리고 섞으면(MIXED) 풀리는지
+ *  - 상수 hashCode: 어떤 인덱싱으로도 풀리지 않는 해시 충돌로 잡히는지, 키가 많아도 분석이 n^2 이 되지 않는지
+ *  - 실행: java chapter2.item11.HashQualityCheck [키 수]
+ */
+public class HashQualityCheck {
+
+    private static final String[] NAMES = {"kim", "lee", "park", "choi"};
+    private static final String[] MAJORS = {"cs", "math", "physics"};
+
+    // HashCodeEx.UnivStudent 와 같은 hashCode, 눈사태 점수용 변형을 만들 수 있도록 필드를 열어 둠
+    private static final class Student {
+        private final String name;
+        private final int studentId;
+        private final String major;
+
+        Student(String name, int studentId, String major) {
+            this.name = name;
+            this.studentId = studentId;
+            this.major = major;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Student that)) return false;
+            return studentId == that.studentId && Objects.equals(name, that.name) && Objects.equals(major, that.major);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = name != null ? name.hashCode() : 0;
+            result = 31 * result + studentId;
+            result = 31 * result + (major != null ? major.hashCode() : 0);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return name + "#" + studentId;
+        }
+    }
+
+    // 하위 6 비트가 항상 0 인 hashCode
+    private record Aligned(int id) {
+        @Override
+        public int hashCode() {
+            return id << 6;
+        }
+    }
+
+    // 모든 키가 같은 hashCode
+    private record Constant(int id) {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        // 1. equals 만 재정의한 HashCodeEx.Student, 같은 학생이 표본에 두 번씩 있음
+        HashCodeEx outer = new HashCodeEx();
+        List<Object> equalsOnly = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            equalsOnly.add(outer.new Student(NAMES[i / 2 % NAMES.length], i / 2));
+        }
+        HashQualityAnalyzer.Report report = HashQualityAnalyzer.analyze(equalsOnly);
+        print("HashCodeEx.Student (equals 만 재정의)", report);
+        check(report.violations().size() == 2, "equals 만 재정의한 클래스와 쌍 위반 보고");
+        check(!report.healthy(), "규약 위반이면 healthy 아님");
+
+        // 2. HashCodeEx.UnivStudent
+        List<Object> univ = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            univ.add(outer.new UnivStudent(NAMES[i % NAMES.length], i, MAJORS[i % MAJORS.length]));
+        }
+        report = HashQualityAnalyzer.analyze(univ);
+        print("HashCodeEx.UnivStudent (HashMap 기본 크기)", report);
+        check(report.violations().isEmpty(), "UnivStudent 는 규약 위반 없음");
+
+        // 3. 같은 hashCode 의 Student 로 눈사태 점수, 인덱싱별 비교 (채움률 0.5)
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            students.add(new Student(NAMES[i % NAMES.length], i, MAJORS[i % MAJORS.length]));
+        }
+        List<UnaryOperator<Student>> perturbations = List.of(
+                s -> new Student(s.name, s.studentId + 1, s.major),
+                s -> new Student(s.name + "a", s.studentId, s.major),
+                s -> new Student(s.name, s.studentId, s.major + "a"));
+        for (HashQualityAnalyzer.Indexing indexing : HashQualityAnalyzer.Indexing.values()) {
+            report = HashQualityAnalyzer.analyze(students, 2 * n, indexing, perturbations);
+            print("31 곱셈 Student, " + indexing, report);
+        }
+        report = HashQualityAnalyzer.analyze(students, 2 * n, HashQualityAnalyzer.Indexing.HASH_MAP,
+                List.of(perturbations.get(0)));
+        System.out.printf("학번 + 1 만 바꿨을 때 눈사태 점수: hashCode %.3f, 인덱스 %.3f%n",
+                report.avalanche(), report.indexAvalanche());
+        check(report.avalanche() < 0.25, "31 곱셈 hashCode 의 눈사태 점수는 낮음");
+
+        // 4. 하위 비트가 0 인 hashCode
+        List<Aligned> aligned = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            aligned.add(new Aligned(i));
+        }
+        report = HashQualityAnalyzer.analyze(aligned, 2 * n, HashQualityAnalyzer.Indexing.RAW);
+        print("하위 6 비트가 0, RAW", report);
+        check(!report.healthy() && report.dispersion() > 1.5, "섞지 않으면 버킷이 몰림");
+        report = HashQualityAnalyzer.analyze(aligned, 2 * n, HashQualityAnalyzer.Indexing.MIXED);
+        print("하위 6 비트가 0, MIXED", report);
+        check(report.healthy(), "섞으면 고르게 퍼짐");
+
+        // 5. 상수 hashCode
+        List<Constant> constant = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            constant.add(new Constant(i));
+        }
+        report = HashQualityAnalyzer.analyze(constant, 4_096, HashQualityAnalyzer.Indexing.MIXED);
+        print("상수 hashCode, MIXED", report);
+        check(report.hashCollisionRate() == 1.0 && report.longestChain() == 2_000, "상수 hashCode 는 전부 충돌");
+
+        // 6. 상수 hashCode, 키 n 개 (중복 제거와 선형 탐사가 n^2 이 되지 않는지)
+        constant.clear();
+        for (int i = 0; i < n; i++) {
+            constant.add(new Constant(i));
+        }
+        constant.addAll(constant.subList(0, 10));
+        long start = System.nanoTime();
+        report = HashQualityAnalyzer.analyze(constant, 2 * n, HashQualityAnalyzer.Indexing.MIXED);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        print("상수 hashCode, 키 " + n + " 개, MIXED (" + elapsedMillis + " ms)", report);
+        check(report.distinctKeys() == n && report.longestChain() == n && report.longestProbe() == n - 1,
+                "상수 hashCode 키 " + n + " 개");
+
+        check(HashQualityAnalyzer.classViolation(HashCodeEx.Student.class) != null, "classViolation: Student");
+        check(HashQualityAnalyzer.classViolation(HashCodeEx.UnivStudent.class) == null, "classViolation: UnivStudent");
+        check(HashQualityAnalyzer.classViolation(String.class) == null, "classViolation: String");
+        System.out.println("확인 완료");
+    }
+
+    private static void print(String label, HashQualityAnalyzer.Report report) {
+        System.out.println("== " + label + " ==");
+        System.out.println(report);
+    }
+
+    private static void check(boolean condition, String label) {
+        if (!condition) {
+            throw new IllegalStateException(label + " 실패");
+        }
+    }
+}
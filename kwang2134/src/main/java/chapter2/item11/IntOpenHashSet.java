@@ -0,0 +1,261 @@
+package chapter2.item11;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * int 키 전용 OpenHashSet (HashSet<Integer> 대신 사용)
+ *  - int[] 에 값을 그대로 저장하므로 Integer 박싱, 노드 객체, equals 호출이 없음
+ *  - 0 은 빈 슬롯 표시로 쓰므로 0 의 포함 여부는 hasZero 로 따로 관리
+ *  - 탐사, 증분 리사이즈, backward shift 삭제는 ProbeTable 과 같은 방식
+ */
+public final class IntOpenHashSet {
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private int[] table;
+    private int mask;
+    private int used;
+    private boolean hasZero;
+
+    // 증분 리사이즈 중인 이전 테이블 (없으면 null)
+    private int[] old;
+    private int oldMask;
+    private int oldUsed;
+    private int start;
+    private int migrated;
+
+    public IntOpenHashSet() {
+        this(0);
+    }
+
+    public IntOpenHashSet(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize 는 0 이상이어야 함: " + expectedSize);
+        }
+        int capacity = ProbeTable.capacityFor(expectedSize);
+        this.table = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private static int spread(int key) {
+        return ProbeTable.spread(key);
+    }
+
+    public boolean contains(int key) {
+        if (key == 0) {
+            return hasZero;
+        }
+        int h = spread(key);
+        int[] t = table;
+        for (int i = h & mask; ; i = (i + 1) & mask) {
+            int k = t[i];
+            if (k == key) {
+                return true;
+            }
+            if (k == 0) {
+                break;
+            }
+        }
+        return old != null && findOld(key, h) >= 0;
+    }
+
+    private int findOld(int key, int h) {
+        int[] o = old;
+        int home = h & oldMask;
+        int i = ((home - start) & oldMask) < migrated ? (start + migrated) & oldMask : home;
+        for (; ; i = (i + 1) & oldMask) {
+            int k = o[i];
+            if (k == key) {
+                return i;
+            }
+            if (k == 0) {
+                return -1;
+            }
+        }
+    }
+
+    public boolean add(int key) {
+        if (key == 0) {
+            boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+        int h = spread(key);
+        int[] t = table;
+        for (int i = h & mask; ; i = (i + 1) & mask) {
+            int k = t[i];
+            if (k == key) {
+                return false;
+            }
+            if (k == 0) {
+                break;
+            }
+        }
+        if (old != null) {
+            if (findOld(key, h) >= 0) {
+                return false;
+            }
+            migrate(ProbeTable.MIGRATE_PER_WRITE);
+        }
+        if (used + 1 > (mask + 1) >> 1) {
+            if (mask + 1 == MAX_CAPACITY) {
+                if (used + 1 > mask) {
+                    throw new IllegalStateException("IntOpenHashSet 최대 크기 초과: " + size());
+                }
+            } else {
+                grow();
+            }
+        }
+        place(key, h);
+        return true;
+    }
+
+    private void place(int key, int h) {
+        int[] t = table;
+        int i = h & mask;
+        while (t[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        t[i] = key;
+        used++;
+    }
+
+    private void grow() {
+        if (old != null) {
+            migrate(Integer.MAX_VALUE);
+        }
+        old = table;
+        oldMask = mask;
+        oldUsed = used;
+        int capacity = (mask + 1) * 2;
+        table = new int[capacity];
+        mask = capacity - 1;
+        used = 0;
+        int i = 0;
+        while (old[i] != 0) {
+            i++;
+        }
+        start = i;
+        migrated = 0;
+    }
+
+    private void migrate(int slots) {
+        int[] o = old;
+        for (int n = 0; n < slots && migrated <= oldMask && oldUsed > 0; n++) {
+            int i = (start + migrated) & oldMask;
+            int k = o[i];
+            if (k != 0) {
+                place(k, spread(k));
+                o[i] = 0;
+                oldUsed--;
+            }
+            migrated++;
+        }
+        if (migrated > oldMask || oldUsed == 0) {
+            old = null;
+        }
+    }
+
+    public boolean remove(int key) {
+        if (key == 0) {
+            boolean removed = hasZero;
+            hasZero = false;
+            return removed;
+        }
+        int h = spread(key);
+        int[] t = table;
+        for (int i = h & mask; ; i = (i + 1) & mask) {
+            int k = t[i];
+            if (k == key) {
+                shiftBack(t, mask, i, false);
+                used--;
+                if (old != null) {
+                    migrate(ProbeTable.MIGRATE_PER_WRITE);
+                }
+                return true;
+            }
+            if (k == 0) {
+                break;
+            }
+        }
+        if (old == null) {
+            return false;
+        }
+        int location = findOld(key, h);
+        if (location < 0) {
+            return false;
+        }
+        shiftBack(old, oldMask, location, true);
+        if (--oldUsed == 0) {
+            old = null;
+        } else {
+            migrate(ProbeTable.MIGRATE_PER_WRITE);
+        }
+        return true;
+    }
+
+    private void shiftBack(int[] t, int m, int hole, boolean isOld) {
+        int cursor = (start + migrated) & m;
+        for (int j = (hole + 1) & m; ; j = (j + 1) & m) {
+            int k = t[j];
+            if (k == 0) {
+                break;
+            }
+            int home = spread(k) & m;
+            if (isOld && ((home - start) & m) < migrated) {
+                home = cursor;
+            }
+            if (((j - home) & m) >= ((j - hole) & m)) {
+                t[hole] = k;
+                hole = j;
+            }
+        }
+        t[hole] = 0;
+    }
+
+    public int size() {
+        return used + oldUsed + (hasZero ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0);
+        used = 0;
+        hasZero = false;
+        old = null;
+        oldUsed = 0;
+    }
+
+    public void forEach(IntConsumer action) {
+        if (hasZero) {
+            action.accept(0);
+        }
+        if (old != null) {
+            for (int k : old) {
+                if (k != 0) {
+                    action.accept(k);
+                }
+            }
+        }
+        for (int k : table) {
+            if (k != 0) {
+                action.accept(k);
+            }
+        }
+    }
+
+    public int[] toArray() {
+        int[] result = new int[size()];
+        int[] index = new int[1];
+        forEach(k -> result[index[0]++] = k);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "IntOpenHashSet[size=" + size() + ", capacity=" + (mask + 1) + "]";
+    }
+}
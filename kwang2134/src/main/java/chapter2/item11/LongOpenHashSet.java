@@ -0,0 +1,268 @@
+package chapter2.item11;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * long 키 전용 OpenHashSet (HashSet<Long> 대신 사용)
+ *  - long[] 에 값을 그대로 저장하므로 Long 박싱, 노드 객체, equals 호출이 없음
+ *  - 0 은 빈 슬롯 표시로 쓰므로 0 의 포함 여부는 hasZero 로 따로 관리
+ *  - 탐사, 증분 리사이즈, backward shift 삭제는 ProbeTable 과 같은 방식
+ */
+public final class LongOpenHashSet {
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] table;
+    private int mask;
+    private int used;
+    private boolean hasZero;
+
+    // 증분 리사이즈 중인 이전 테이블 (없으면 null)
+    private long[] old;
+    private int oldMask;
+    private int oldUsed;
+    private int start;
+    private int migrated;
+
+    public LongOpenHashSet() {
+        this(0);
+    }
+
+    public LongOpenHashSet(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize 는 0 이상이어야 함: " + expectedSize);
+        }
+        int capacity = ProbeTable.capacityFor(expectedSize);
+        this.table = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * murmur3 fmix64 의 하위 32비트 (상위 32비트만 다른 키도 고르게 퍼짐)
+     */
+    private static int spread(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        return (int) (key ^ (key >>> 33));
+    }
+
+    public boolean contains(long key) {
+        if (key == 0) {
+            return hasZero;
+        }
+        int h = spread(key);
+        long[] t = table;
+        for (int i = h & mask; ; i = (i + 1) & mask) {
+            long k = t[i];
+            if (k == key) {
+                return true;
+            }
+            if (k == 0) {
+                break;
+            }
+        }
+        return old != null && findOld(key, h) >= 0;
+    }
+
+    private int findOld(long key, int h) {
+        long[] o = old;
+        int home = h & oldMask;
+        int i = ((home - start) & oldMask) < migrated ? (start + migrated) & oldMask : home;
+        for (; ; i = (i + 1) & oldMask) {
+            long k = o[i];
+            if (k == key) {
+                return i;
+            }
+            if (k == 0) {
+                return -1;
+            }
+        }
+    }
+
+    public boolean add(long key) {
+        if (key == 0) {
+            boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+        int h = spread(key);
+        long[] t = table;
+        for (int i = h & mask; ; i = (i + 1) & mask) {
+            long k = t[i];
+            if (k == key) {
+                return false;
+            }
+            if (k == 0) {
+                break;
+            }
+        }
+        if (old != null) {
+            if (findOld(key, h) >= 0) {
+                return false;
+            }
+            migrate(ProbeTable.MIGRATE_PER_WRITE);
+        }
+        if (used + 1 > (mask + 1) >> 1) {
+            if (mask + 1 == MAX_CAPACITY) {
+                if (used + 1 > mask) {
+                    throw new IllegalStateException("LongOpenHashSet 최대 크기 초과: " + size());
+                }
+            } else {
+                grow();
+            }
+        }
+        place(key, h);
+        return true;
+    }
+
+    private void place(long key, int h) {
+        long[] t = table;
+        int i = h & mask;
+        while (t[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        t[i] = key;
+        used++;
+    }
+
+    private void grow() {
+        if (old != null) {
+            migrate(Integer.MAX_VALUE);
+        }
+        old = table;
+        oldMask = mask;
+        oldUsed = used;
+        int capacity = (mask + 1) * 2;
+        table = new long[capacity];
+        mask = capacity - 1;
+        used = 0;
+        int i = 0;
+        while (old[i] != 0) {
+            i++;
+        }
+        start = i;
+        migrated = 0;
+    }
+
+    private void migrate(int slots) {
+        long[] o = old;
+        for (int n = 0; n < slots && migrated <= oldMask && oldUsed > 0; n++) {
+            int i = (start + migrated) & oldMask;
+            long k = o[i];
+            if (k != 0) {
+                place(k, spread(k));
+                o[i] = 0;
+                oldUsed--;
+            }
+            migrated++;
+        }
+        if (migrated > oldMask || oldUsed == 0) {
+            old = null;
+        }
+    }
+
+    public boolean remove(long key) {
+        if (key == 0) {
+            boolean removed = hasZero;
+            hasZero = false;
+            return removed;
+        }
+        int h = spread(key);
+        long[] t = table;
+        for (int i = h & mask; ; i = (i + 1) & mask) {
+            long k = t[i];
+            if (k == key) {
+                shiftBack(t, mask, i, false);
+                used--;
+                if (old != null) {
+                    migrate(ProbeTable.MIGRATE_PER_WRITE);
+                }
+                return true;
+            }
+            if (k == 0) {
+                break;
+            }
+        }
+        if (old == null) {
+            return false;
+        }
+        int location = findOld(key, h);
+        if (location < 0) {
+            return false;
+        }
+        shiftBack(old, oldMask, location, true);
+        if (--oldUsed == 0) {
+            old = null;
+        } else {
+            migrate(ProbeTable.MIGRATE_PER_WRITE);
+        }
+        return true;
+    }
+
+    private void shiftBack(long[] t, int m, int hole, boolean isOld) {
+        int cursor = (start + migrated) & m;
+        for (int j = (hole + 1) & m; ; j = (j + 1) & m) {
+            long k = t[j];
+            if (k == 0) {
+                break;
+            }
+            int home = spread(k) & m;
+            if (isOld && ((home - start) & m) < migrated) {
+                home = cursor;
+            }
+            if (((j - home) & m) >= ((j - hole) & m)) {
+                t[hole] = k;
+                hole = j;
+            }
+        }
+        t[hole] = 0;
+    }
+
+    public int size() {
+        return used + oldUsed + (hasZero ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0);
+        used = 0;
+        hasZero = false;
+        old = null;
+        oldUsed = 0;
+    }
+
+    public void forEach(LongConsumer action) {
+        if (hasZero) {
+            action.accept(0);
+        }
+        if (old != null) {
+            for (long k : old) {
+                if (k != 0) {
+                    action.accept(k);
+                }
+            }
+        }
+        for (long k : table) {
+            if (k != 0) {
+                action.accept(k);
+            }
+        }
+    }
+
+    public long[] toArray() {
+        long[] result = new long[size()];
+        int[] index = new int[1];
+        forEach(k -> result[index[0]++] = k);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "LongOpenHashSet[size=" + size() + ", capacity=" + (mask + 1) + "]";
+    }
+}
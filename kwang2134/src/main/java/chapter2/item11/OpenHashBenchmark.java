@@ -0,0 +1,415 @@
+package chapter2.item11;
+
+import benchmark.Allocations;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * OpenHashSet / OpenHashMap / IntOpenHashSet / LongOpenHashSet 과 HashSet / HashMap 비교
+ *  - insert: 크기를 미리 정하지 않은 빈 컬렉션에 n 개 추가 (리사이즈 포함)
+ *  - hit / miss: 있는 키 / 없는 키 조회 (섞은 순서)
+ *  - 키는 HashCodeEx.UnivStudent 처럼 31 곱셈 hashCode 를 쓰는 Student (이름, 전공이 몇 가지뿐이고 학번만 연속)
+ *  - put 한 번의 지연 분포로 증분 리사이즈 효과 확인 (HashMap 은 리사이즈 때 한 번에 전부 옮김)
+ *  - 측정 전에 무작위 추가 / 삭제와 Iterator.remove 를 쓰는 일괄 삭제를 java.util 구현과 대조해 결과가 같은지 확인
+ *  - JMH 를 쓰지 않는 main 하네스, 3 회 반복 후 마지막 회차만 출력
+ *  - 실행: java -Xmx2g chapter2.item11.OpenHashBenchmark [원소 수]
+ */
+public class OpenHashBenchmark {
+
+    private static final String[] NAMES = {"kim", "lee", "park", "choi"};
+    private static final String[] MAJORS = {"cs", "math", "physics"};
+
+    private static final class Student {
+        private final String name;
+        private final int studentId;
+        private final String major;
+
+        Student(String name, int studentId, String major) {
+            this.name = name;
+            this.studentId = studentId;
+            this.major = major;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Student that)) return false;
+            return studentId == that.studentId && Objects.equals(name, that.name) && Objects.equals(major, that.major);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = name != null ? name.hashCode() : 0;
+            result = 31 * result + studentId;
+            result = 31 * result + (major != null ? major.hashCode() : 0);
+            return result;
+        }
+    }
+
+    private interface Workload {
+        long run();
+    }
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        verify();
+
+        Student[] present = new Student[n];
+        Student[] absent = new Student[n];
+        int[] ints = new int[n];
+        int[] absentInts = new int[n];
+        long[] longs = new long[n];
+        long[] absentLongs = new long[n];
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) {
+            present[i] = new Student(NAMES[i % NAMES.length], 2_000_000 + i, MAJORS[i % MAJORS.length]);
+            absent[i] = new Student(NAMES[i % NAMES.length], 9_000_000 + i, MAJORS[i % MAJORS.length]);
+            // 홀수를 곱하는 것은 전단사이므로 겹치지 않는 흩어진 값이 됨 (연속된 정수는 HashMap 에서 버킷도 연속이라 유리)
+            ints[i] = i * 2 * 0x9E3779B9;
+            absentInts[i] = (i * 2 + 1) * 0x9E3779B9;
+            longs[i] = (long) i * 2 * 0x9E3779B97F4A7C15L;
+            absentLongs[i] = ((long) i * 2 + 1) * 0x9E3779B97F4A7C15L;
+        }
+        Student[] hitOrder = shuffled(present, random);
+
+        for (int round = 0; round < 3; round++) {
+            boolean print = round == 2;
+            header("Student 집합", print);
+            OpenHashSet<Student> openSet = new OpenHashSet<>();
+            Set<Student> hashSet = new HashSet<>();
+            measure("insert HashSet", n, print, () -> fill(hashSet, present));
+            measure("insert OpenHashSet", n, print, () -> fill(openSet, present));
+            measure("hit HashSet", n, print, () -> count(hashSet, hitOrder));
+            measure("hit OpenHashSet", n, print, () -> count(openSet, hitOrder));
+            measure("miss HashSet", n, print, () -> count(hashSet, absent));
+            measure("miss OpenHashSet", n, print, () -> count(openSet, absent));
+
+            header("Student -> Integer 맵", print);
+            Map<Student, Integer> openMap = new OpenHashMap<>();
+            Map<Student, Integer> hashMap = new HashMap<>();
+            measure("put HashMap", n, print, () -> put(hashMap, present));
+            measure("put OpenHashMap", n, print, () -> put(openMap, present));
+            measure("get hit HashMap", n, print, () -> get(hashMap, hitOrder));
+            measure("get hit OpenHashMap", n, print, () -> get(openMap, hitOrder));
+            measure("get miss HashMap", n, print, () -> get(hashMap, absent));
+            measure("get miss OpenHashMap", n, print, () -> get(openMap, absent));
+
+            header("int 집합", print);
+            IntOpenHashSet intSet = new IntOpenHashSet();
+            Set<Integer> boxedInts = new HashSet<>();
+            measure("insert HashSet<Integer>", n, print, () -> {
+                for (int v : ints) {
+                    boxedInts.add(v);
+                }
+                return boxedInts.size();
+            });
+            measure("insert IntOpenHashSet", n, print, () -> {
+                for (int v : ints) {
+                    intSet.add(v);
+                }
+                return intSet.size();
+            });
+            measure("hit HashSet<Integer>", n, print, () -> {
+                long found = 0;
+                for (int v : ints) {
+                    found += boxedInts.contains(v) ? 1 : 0;
+                }
+                return found;
+            });
+            measure("hit IntOpenHashSet", n, print, () -> {
+                long found = 0;
+                for (int v : ints) {
+                    found += intSet.contains(v) ? 1 : 0;
+                }
+                return found;
+            });
+            measure("miss IntOpenHashSet", n, print, () -> {
+                long found = 0;
+                for (int v : absentInts) {
+                    found += intSet.contains(v) ? 1 : 0;
+                }
+                return found;
+            });
+
+            header("long 집합", print);
+            LongOpenHashSet longSet = new LongOpenHashSet();
+            Set<Long> boxedLongs = new HashSet<>();
+            measure("insert HashSet<Long>", n, print, () -> {
+                for (long v : longs) {
+                    boxedLongs.add(v);
+                }
+                return boxedLongs.size();
+            });
+            measure("insert LongOpenHashSet", n, print, () -> {
+                for (long v : longs) {
+                    longSet.add(v);
+                }
+                return longSet.size();
+            });
+            measure("hit HashSet<Long>", n, print, () -> {
+                long found = 0;
+                for (long v : longs) {
+                    found += boxedLongs.contains(v) ? 1 : 0;
+                }
+                return found;
+            });
+            measure("hit LongOpenHashSet", n, print, () -> {
+                long found = 0;
+                for (long v : longs) {
+                    found += longSet.contains(v) ? 1 : 0;
+                }
+                return found;
+            });
+            measure("miss LongOpenHashSet", n, print, () -> {
+                long found = 0;
+                for (long v : absentLongs) {
+                    found += longSet.contains(v) ? 1 : 0;
+                }
+                return found;
+            });
+
+            if (print) {
+                System.out.printf("OpenHashSet 최장 탐사 거리 %d (원소 %d)%n", openSet.maxProbeLength(), openSet.size());
+                System.out.println("== put 한 번의 지연 (리사이즈 구간 포함, GC 가 겹친 put 제외) ==");
+                putLatency("HashMap", HashMap::new, present);
+                putLatency("OpenHashMap", OpenHashMap::new, present);
+            }
+        }
+    }
+
+    private static void header(String title, boolean print) {
+        if (print) {
+            System.out.println("== " + title + " ==");
+        }
+    }
+
+    private static long fill(Set<Student> set, Student[] keys) {
+        for (Student key : keys) {
+            set.add(key);
+        }
+        return set.size();
+    }
+
+    private static long count(Set<Student> set, Student[] keys) {
+        long found = 0;
+        for (Student key : keys) {
+            found += set.contains(key) ? 1 : 0;
+        }
+        return found;
+    }
+
+    private static long put(Map<Student, Integer> map, Student[] keys) {
+        Integer one = 1;
+        for (Student key : keys) {
+            map.put(key, one);
+        }
+        return map.size();
+    }
+
+    private static long get(Map<Student, Integer> map, Student[] keys) {
+        long found = 0;
+        for (Student key : keys) {
+            found += map.get(key) != null ? 1 : 0;
+        }
+        return found;
+    }
+
+    /**
+     * 빈 맵에 keys 를 채우는 동안 put 한 번씩의 지연 분포 출력 (한 번 채워 워밍업한 뒤 새 맵으로 측정)
+     * 100us 를 넘는 put 은 GC 횟수가 바뀌었는지 확인해서 GC 정지가 겹친 것은 분포에서 빼고 따로 셈
+     * (키와 값은 미리 만들어 두었으므로 GC 를 일으키는 할당은 put 안에서만 생김)
+     */
+    private static void putLatency(String label, Supplier<Map<Student, Integer>> factory, Student[] keys) {
+        put(factory.get(), keys);
+        System.gc();
+
+        Map<Student, Integer> map = factory.get();
+        Integer one = 1;
+        long[] latencies = new long[keys.length];
+        int measured = 0;
+        int withGc = 0;
+        long gcCount = gcCount();
+        for (Student key : keys) {
+            long start = System.nanoTime();
+            map.put(key, one);
+            long elapsed = System.nanoTime() - start;
+            if (elapsed > 100_000) {
+                long count = gcCount();
+                if (count != gcCount) {
+                    gcCount = count;
+                    withGc++;
+                    continue;
+                }
+            }
+            latencies[measured++] = elapsed;
+        }
+        Arrays.sort(latencies, 0, measured);
+        System.out.printf("%-26s p50 %6.2f us  p99 %6.2f us  p99.99 %8.1f us  최대 %8.1f us  (GC 겹친 put %d개)%n",
+                label, percentile(latencies, measured, 0.50) / 1e3, percentile(latencies, measured, 0.99) / 1e3,
+                percentile(latencies, measured, 0.9999) / 1e3, latencies[measured - 1] / 1e3, withGc);
+    }
+
+    private static long percentile(long[] sorted, int size, double p) {
+        return sorted[Math.min(size - 1, (int) Math.ceil(p * size) - 1)];
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += gc.getCollectionCount();
+        }
+        return count;
+    }
+
+    private static void measure(String label, int n, boolean print, Workload workload) {
+        long allocatedBefore = Allocations.allocatedBytes();
+        long start = System.nanoTime();
+        long result = workload.run();
+        long elapsed = System.nanoTime() - start;
+        long allocated = Allocations.allocatedBytes() - allocatedBefore;
+        if (print) {
+            System.out.printf("%-26s %7.1f ns/op  %6.1f B/op  (결과 %d)%n",
+                    label, (double) elapsed / n, (double) allocated / n, result);
+        }
+    }
+
+    private static Student[] shuffled(Student[] keys, Random random) {
+        List<Student> list = new ArrayList<>(List.of(keys));
+        Collections.shuffle(list, random);
+        return list.toArray(new Student[0]);
+    }
+
+    /**
+     * 리사이즈 도중의 삭제가 섞이도록 작은 키 범위에서 무작위 추가 / 삭제를 반복하며 java.util 구현과 대조
+     */
+    private static void verify() {
+        Random random = new Random(7);
+        OpenHashSet<Student> set = new OpenHashSet<>();
+        OpenHashMap<Student, Integer> map = new OpenHashMap<>();
+        IntOpenHashSet intSet = new IntOpenHashSet();
+        LongOpenHashSet longSet = new LongOpenHashSet();
+        Set<Student> expectedSet = new HashSet<>();
+        Map<Student, Integer> expectedMap = new HashMap<>();
+        Set<Integer> expectedInts = new HashSet<>();
+        Set<Long> expectedLongs = new HashSet<>();
+        for (int step = 0; step < 400_000; step++) {
+            // 키 범위를 단계적으로 넓혀 여러 번의 리사이즈를 거치게 함
+            int range = 64 + step / 20;
+            int id = random.nextInt(range);
+            Student key = new Student(NAMES[id % NAMES.length], id, MAJORS[id % MAJORS.length]);
+            int intKey = id - range / 2;
+            long longKey = (long) intKey << 32 | (id & 3);
+            if (random.nextInt(3) == 0) {
+                check(set.remove(key) == expectedSet.remove(key), "OpenHashSet.remove");
+                check(Objects.equals(map.remove(key), expectedMap.remove(key)), "OpenHashMap.remove");
+                check(intSet.remove(intKey) == expectedInts.remove(intKey), "IntOpenHashSet.remove");
+                check(longSet.remove(longKey) == expectedLongs.remove(longKey), "LongOpenHashSet.remove");
+            } else {
+                check(set.add(key) == expectedSet.add(key), "OpenHashSet.add");
+                check(Objects.equals(map.put(key, step), expectedMap.put(key, step)), "OpenHashMap.put");
+                check(intSet.add(intKey) == expectedInts.add(intKey), "IntOpenHashSet.add");
+                check(longSet.add(longKey) == expectedLongs.add(longKey), "LongOpenHashSet.add");
+            }
+            int probe = random.nextInt(range);
+            Student probeKey = new Student(NAMES[probe % NAMES.length], probe, MAJORS[probe % MAJORS.length]);
+            check(set.contains(probeKey) == expectedSet.contains(probeKey), "OpenHashSet.contains");
+            check(Objects.equals(map.get(probeKey), expectedMap.get(probeKey)), "OpenHashMap.get");
+            check(intSet.contains(probe - range / 2) == expectedInts.contains(probe - range / 2), "IntOpenHashSet.contains");
+            check(set.size() == expectedSet.size() && map.size() == expectedMap.size()
+                    && intSet.size() == expectedInts.size() && longSet.size() == expectedLongs.size(), "size");
+            if (step % 9_973 == 9_972) {
+                verifyBulkRemoval(set, expectedSet, map, expectedMap, random);
+            }
+        }
+        // 16 칸 테이블은 9 번째 추가에서 커지고 두 번 더 써야 옮기기가 끝나므로 작은 크기에서는 리사이즈 도중에 지우게 됨
+        for (int size = 1; size <= 200; size++) {
+            OpenHashSet<Student> smallSet = new OpenHashSet<>();
+            OpenHashMap<Student, Integer> smallMap = new OpenHashMap<>();
+            Set<Student> expectedSmallSet = new HashSet<>();
+            Map<Student, Integer> expectedSmallMap = new HashMap<>();
+            for (int id = 0; id < size; id++) {
+                Student key = new Student(NAMES[id % NAMES.length], id, MAJORS[id % MAJORS.length]);
+                smallSet.add(key);
+                smallMap.put(key, id);
+                expectedSmallSet.add(key);
+                expectedSmallMap.put(key, id);
+            }
+            verifyBulkRemoval(smallSet, expectedSmallSet, smallMap, expectedSmallMap, random);
+        }
+        check(set.equals(expectedSet) && expectedSet.equals(set), "OpenHashSet 순회");
+        check(map.equals(expectedMap) && expectedMap.equals(map), "OpenHashMap 순회");
+        Set<Integer> ints = new HashSet<>();
+        intSet.forEach(ints::add);
+        check(ints.equals(expectedInts), "IntOpenHashSet 순회");
+        Set<Long> longs = new HashSet<>();
+        longSet.forEach(longs::add);
+        check(longs.equals(expectedLongs), "LongOpenHashSet 순회");
+        System.out.println("java.util 구현과 대조 완료 (원소 " + set.size() + "개)");
+    }
+
+    /**
+     * Iterator.remove 를 거치는 일괄 삭제 (증분 리사이즈 도중에도 호출되도록 verify 의 반복 중간에 실행)
+     * 키의 절반 정도만 지우고 나머지는 이후 무작위 추가 / 삭제에 그대로 씀
+     */
+    private static void verifyBulkRemoval(OpenHashSet<Student> set, Set<Student> expectedSet,
+                                          OpenHashMap<Student, Integer> map, Map<Student, Integer> expectedMap,
+                                          Random random) {
+        int divisor = 5 + random.nextInt(5);
+        Predicate<Student> drop = student -> student.studentId % divisor == 0;
+        check(set.removeIf(drop) == expectedSet.removeIf(drop) && set.equals(expectedSet), "OpenHashSet.removeIf");
+
+        List<Student> keep = new ArrayList<>();
+        for (Student student : expectedSet) {
+            if (student.studentId % divisor != 1) {
+                keep.add(student);
+            }
+        }
+        check(set.retainAll(keep) == expectedSet.retainAll(keep) && set.equals(expectedSet), "OpenHashSet.retainAll");
+
+        // 인자가 집합보다 크면 AbstractSet.removeAll 은 집합 쪽 Iterator.remove 로 지움
+        List<Student> larger = new ArrayList<>(expectedSet);
+        larger.subList(larger.size() / 2, larger.size()).clear();
+        while (larger.size() <= set.size()) {
+            larger.add(new Student("absent", -larger.size(), "none"));
+        }
+        check(set.removeAll(larger) == expectedSet.removeAll(larger) && set.equals(expectedSet), "OpenHashSet.removeAll");
+
+        check(map.entrySet().removeIf(e -> e.getValue() % divisor == 0)
+                == expectedMap.entrySet().removeIf(e -> e.getValue() % divisor == 0), "OpenHashMap.entrySet().removeIf");
+        check(map.keySet().retainAll(keep) == expectedMap.keySet().retainAll(keep), "OpenHashMap.keySet().retainAll");
+        check(map.values().removeIf(v -> v % divisor == 1) == expectedMap.values().removeIf(v -> v % divisor == 1),
+                "OpenHashMap.values().removeIf");
+        check(map.equals(expectedMap) && expectedMap.equals(map), "OpenHashMap 일괄 삭제");
+
+        // 지운 뒤 next() 로 남은 값을 읽어도 맞아야 함
+        for (Iterator<Map.Entry<Student, Integer>> it = map.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Student, Integer> entry = it.next();
+            check(entry.getValue().equals(expectedMap.get(entry.getKey())), "OpenHashMap 삭제 후 순회 값");
+            if (entry.getKey().studentId % 7 == 0) {
+                it.remove();
+                expectedMap.remove(entry.getKey());
+            }
+        }
+        check(map.equals(expectedMap), "OpenHashMap Iterator.remove");
+    }
+
+    private static void check(boolean condition, String label) {
+        if (!condition) {
+            throw new IllegalStateException(label + " 결과가 java.util 구현과 다름");
+        }
+    }
+}
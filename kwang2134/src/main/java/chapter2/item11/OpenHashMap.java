@@ -0,0 +1,155 @@
+package chapter2.item11;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * 선형 탐사 HashMap 대용, 키와 값을 하나의 배열에 번갈아 저장 (키 i 다음 칸이 값 i)
+ *  - get 한 번에 키와 값이 같은 캐시 라인에 있어 HashMap 의 Node 객체를 거치지 않음
+ *  - 엔트리마다 Node 를 만들지 않으므로 put 에 할당이 없음 (리사이즈 시 배열 할당만)
+ *  - null 키는 허용하지 않고 null 값은 허용 (get 이 null 이면 containsKey 로 구분)
+ *  - 그 밖의 특성은 OpenHashSet 과 같음 (ProbeTable 참고)
+ */
+public final class OpenHashMap<K, V> extends AbstractMap<K, V> {
+    private final ProbeTable table;
+    private Set<Entry<K, V>> entrySet;
+
+    public OpenHashMap() {
+        this(0);
+    }
+
+    public OpenHashMap(int expectedSize) {
+        this.table = new ProbeTable(expectedSize, true);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int location = table.find(key);
+        return location == ProbeTable.NOT_FOUND ? null : (V) table.valueAt(location);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(Object key, V defaultValue) {
+        if (key == null) {
+            return defaultValue;
+        }
+        int location = table.find(key);
+        return location == ProbeTable.NOT_FOUND ? defaultValue : (V) table.valueAt(location);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key != null && table.find(key) != ProbeTable.NOT_FOUND;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        Objects.requireNonNull(key);
+        int location = table.find(key);
+        if (location != ProbeTable.NOT_FOUND) {
+            V previous = (V) table.valueAt(location);
+            table.setValueAt(location, value);
+            return previous;
+        }
+        table.insert(key, value);
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int location = table.find(key);
+        if (location == ProbeTable.NOT_FOUND) {
+            return null;
+        }
+        V previous = (V) table.valueAt(location);
+        table.removeAt(location);
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return table.size();
+    }
+
+    @Override
+    public void clear() {
+        table.clear();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        int expectedModCount = table.modCount;
+        for (int slot = 0, slots = table.slotCount(); slot < slots; slot++) {
+            Object key = table.keyAt(slot);
+            if (key != null) {
+                action.accept((K) key, (V) table.valueAtSlot(slot));
+            }
+        }
+        if (table.modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    public int maxProbeLength() {
+        return table.maxProbeLength();
+    }
+
+    /**
+     * 엔트리 뷰, Entry.setValue 는 지원하지 않고 Iterator.remove 로 삭제는 가능
+     * (AbstractMap 의 keySet / values 와 그 removeIf / retainAll / removeAll 도 이 Iterator 를 사용)
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return table.size();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+        private final ProbeTable.Cursor cursor = table.new Cursor();
+
+        @Override
+        public boolean hasNext() {
+            return cursor.hasNext();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            K key = (K) cursor.nextKey();
+            return new SimpleImmutableEntry<>(key, (V) cursor.lastValue());
+        }
+
+        @Override
+        public void remove() {
+            cursor.remove();
+        }
+    }
+}
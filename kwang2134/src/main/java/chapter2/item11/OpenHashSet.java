@@ -0,0 +1,93 @@
+package chapter2.item11;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * HashCodeEx.add 의 "버킷 + 리스트" 구조를 선형 탐사로 바꾼 HashSet 대용
+ *  - 버킷 인덱스를 hash % length 로 구하지 않고 섞은 해시의 하위 비트로 구하므로 음수 해시에도 안전
+ *  - 채움률 0.5 에서 증분 리사이즈, 삭제는 backward shift (자세한 내용은 ProbeTable)
+ *  - null 원소는 허용하지 않음, 스레드 안전하지 않음
+ *  - 순회 중 Iterator.remove 외의 방법으로 변경하면 ConcurrentModificationException
+ *    (Iterator.remove 와 이를 쓰는 removeIf / retainAll / removeAll 의 동작은 ProbeTable.Cursor 참고)
+ */
+public final class OpenHashSet<E> extends AbstractSet<E> {
+    private final ProbeTable table;
+
+    public OpenHashSet() {
+        this(0);
+    }
+
+    public OpenHashSet(int expectedSize) {
+        this.table = new ProbeTable(expectedSize, false);
+    }
+
+    @Override
+    public boolean add(E e) {
+        Objects.requireNonNull(e);
+        if (table.find(e) != ProbeTable.NOT_FOUND) {
+            return false;
+        }
+        table.insert(e, null);
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o != null && table.find(o) != ProbeTable.NOT_FOUND;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        int location = table.find(o);
+        if (location == ProbeTable.NOT_FOUND) {
+            return false;
+        }
+        table.removeAt(location);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return table.size();
+    }
+
+    @Override
+    public void clear() {
+        table.clear();
+    }
+
+    /**
+     * 가장 긴 탐사 거리 (해시 분산 점검용)
+     */
+    public int maxProbeLength() {
+        return table.maxProbeLength();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private final ProbeTable.Cursor cursor = table.new Cursor();
+
+            @Override
+            public boolean hasNext() {
+                return cursor.hasNext();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                return (E) cursor.nextKey();
+            }
+
+            @Override
+            public void remove() {
+                cursor.remove();
+            }
+        };
+    }
+}
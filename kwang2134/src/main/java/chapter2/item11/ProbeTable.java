@@ -0,0 +1,381 @@
+package chapter2.item11;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * OpenHashSet / OpenHashMap 이 함께 쓰는 선형 탐사(open addressing) 해시 테이블
+ *  - 크기가 2의 거듭제곱인 Object[] 하나에 키(와 값)를 번갈아 저장 (stride 1: 키만, 2: 키 + 값)
+ *    버킷마다 리스트를 두지 않으므로 조회 시 포인터를 한 번 덜 따라가고 이웃 슬롯이 같은 캐시 라인에 있음
+ *  - 섞은 해시를 int[] 에 함께 저장해서 탐사 중에는 해시가 같은 슬롯의 키만 equals 로 비교
+ *    (키 객체를 따라가는 캐시 미스를 줄이고, 리사이즈 / 삭제 시 hashCode 를 다시 부르지 않음)
+ *  - 슬롯 위치는 hashCode 를 murmur3 fmix32 로 섞은 값의 하위 비트
+ *    31 * h 방식의 hashCode 는 필드 하나만 다른 키들의 하위 비트가 몰리므로 섞지 않으면 긴 탐사 구간이 생김
+ *    (hashCode 자체가 같은 키들은 섞어도 충돌하므로 hashCode 를 제대로 구현하는 것이 먼저)
+ *  - 삭제는 묘비(tombstone) 없이 뒤쪽 엔트리를 당겨오는 backward shift 로 처리해서 삭제가 많아도 탐사 구간이 길어지지 않음
+ *  - 채움률 0.5 를 넘으면 두 배 크기로 키우되 한 번에 옮기지 않고 쓰기 연산마다 이전 테이블의 슬롯을 MIGRATE_PER_WRITE 개씩 옮김
+ *    (한 번의 put 이 수백만 개를 재배치하느라 멈추는 일이 없음)
+ *
+ * 증분 리사이즈 중의 이전 테이블
+ *  - 빈 슬롯 하나(start)에서 시작해 앞으로 차례대로 옮기고 옮긴 슬롯은 비움
+ *    start 가 빈 슬롯이므로 남은 엔트리의 탐사 구간은 항상 옮기는 위치(cursor) 이후에 이어져 있음
+ *  - 그래서 홈 슬롯이 이미 옮긴 구간에 있는 키는 cursor 에서부터 탐사하면 되고, 삭제 시 당겨오기도 같은 기준을 적용
+ *  - 새 키는 새 테이블에만 넣고 (이전 테이블에 없다는 것을 먼저 확인), 조회는 새 테이블 -> 이전 테이블 순서
+ */
+final class ProbeTable {
+    static final int MIGRATE_PER_WRITE = 8;
+    static final int NOT_FOUND = -1;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 29;
+
+    private final int stride;
+
+    private Object[] table;
+    private int[] hashes;
+    private int mask;
+    private int used;
+
+    // 증분 리사이즈 중인 이전 테이블 (없으면 null)
+    private Object[] old;
+    private int[] oldHashes;
+    private int oldMask;
+    private int oldUsed;
+    private int start;
+    private int migrated;
+
+    int modCount;
+
+    ProbeTable(int expectedSize, boolean withValues) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize 는 0 이상이어야 함: " + expectedSize);
+        }
+        this.stride = withValues ? 2 : 1;
+        int capacity = capacityFor(expectedSize);
+        this.table = new Object[capacity * stride];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    static int capacityFor(int expectedSize) {
+        if (expectedSize >= MAX_CAPACITY / 2) {
+            return MAX_CAPACITY;
+        }
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, expectedSize * 2 - 1)) << 1);
+    }
+
+    /**
+     * murmur3 fmix32
+     */
+    static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    int size() {
+        return used + oldUsed;
+    }
+
+    /**
+     * 키의 위치: 새 테이블이면 슬롯 번호(0 이상), 이전 테이블이면 -(슬롯 + 2), 없으면 NOT_FOUND
+     */
+    int find(Object key) {
+        int h = spread(key.hashCode());
+        Object[] t = table;
+        int[] hs = hashes;
+        int s = stride;
+        for (int i = h & mask; ; i = (i + 1) & mask) {
+            Object k = t[i * s];
+            if (k == null) {
+                break;
+            }
+            if (hs[i] == h && (k == key || k.equals(key))) {
+                return i;
+            }
+        }
+        Object[] o = old;
+        if (o == null) {
+            return NOT_FOUND;
+        }
+        int[] ohs = oldHashes;
+        for (int i = oldProbeStart(h); ; i = (i + 1) & oldMask) {
+            Object k = o[i * s];
+            if (k == null) {
+                return NOT_FOUND;
+            }
+            if (ohs[i] == h && (k == key || k.equals(key))) {
+                return -(i + 2);
+            }
+        }
+    }
+
+    private int oldProbeStart(int h) {
+        int home = h & oldMask;
+        return ((home - start) & oldMask) < migrated ? (start + migrated) & oldMask : home;
+    }
+
+    Object valueAt(int location) {
+        return location >= 0 ? table[location * 2 + 1] : old[(-location - 2) * 2 + 1];
+    }
+
+    void setValueAt(int location, Object value) {
+        if (location >= 0) {
+            table[location * 2 + 1] = value;
+        } else {
+            old[(-location - 2) * 2 + 1] = value;
+        }
+    }
+
+    /**
+     * 없는 것이 확인된 키를 추가 (find 가 NOT_FOUND 를 돌려준 직후에만 호출)
+     */
+    void insert(Object key, Object value) {
+        modCount++;
+        if (old != null) {
+            migrate(MIGRATE_PER_WRITE);
+        }
+        if (used + 1 > (mask + 1) >> 1) {
+            if (mask + 1 == MAX_CAPACITY) {
+                if (used + 1 > mask) {
+                    throw new IllegalStateException("ProbeTable 최대 크기 초과: " + size());
+                }
+            } else {
+                grow();
+            }
+        }
+        place(key, value, spread(key.hashCode()));
+    }
+
+    private void place(Object key, Object value, int h) {
+        Object[] t = table;
+        int s = stride;
+        int i = h & mask;
+        while (t[i * s] != null) {
+            i = (i + 1) & mask;
+        }
+        t[i * s] = key;
+        if (s == 2) {
+            t[i * s + 1] = value;
+        }
+        hashes[i] = h;
+        used++;
+    }
+
+    private void grow() {
+        if (old != null) {
+            migrate(Integer.MAX_VALUE);
+        }
+        old = table;
+        oldHashes = hashes;
+        oldMask = mask;
+        oldUsed = used;
+        int capacity = (mask + 1) * 2;
+        table = new Object[capacity * stride];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+        used = 0;
+        // 채움률이 0.5 이하이므로 빈 슬롯이 반드시 있음
+        int i = 0;
+        while (old[i * stride] != null) {
+            i++;
+        }
+        start = i;
+        migrated = 0;
+    }
+
+    private void migrate(int slots) {
+        Object[] o = old;
+        int s = stride;
+        for (int n = 0; n < slots && migrated <= oldMask && oldUsed > 0; n++) {
+            int i = (start + migrated) & oldMask;
+            Object k = o[i * s];
+            if (k != null) {
+                place(k, s == 2 ? o[i * s + 1] : null, oldHashes[i]);
+                o[i * s] = null;
+                if (s == 2) {
+                    o[i * s + 1] = null;
+                }
+                oldUsed--;
+            }
+            migrated++;
+        }
+        if (migrated > oldMask || oldUsed == 0) {
+            old = null;
+            oldHashes = null;
+        }
+    }
+
+    void removeAt(int location) {
+        modCount++;
+        if (location >= 0) {
+            shiftBack(table, hashes, mask, location, false);
+            used--;
+        } else {
+            shiftBack(old, oldHashes, oldMask, -location - 2, true);
+            if (--oldUsed == 0) {
+                old = null;
+                oldHashes = null;
+            }
+        }
+        if (old != null) {
+            migrate(MIGRATE_PER_WRITE);
+        }
+    }
+
+    /**
+     * hole 을 비우고 같은 탐사 구간의 뒤쪽 엔트리 중 hole 로 옮겨도 탐사가 끊기지 않는 것을 당겨옴
+     * 엔트리가 hole 로 갈 수 있는 조건: hole 이 (홈 슬롯 ~ 현재 위치) 사이에 있음
+     */
+    private void shiftBack(Object[] t, int[] hs, int m, int hole, boolean isOld) {
+        int s = stride;
+        int cursor = (start + migrated) & m;
+        for (int j = (hole + 1) & m; ; j = (j + 1) & m) {
+            Object k = t[j * s];
+            if (k == null) {
+                break;
+            }
+            int home = hs[j] & m;
+            if (isOld && ((home - start) & m) < migrated) {
+                home = cursor;
+            }
+            if (((j - home) & m) >= ((j - hole) & m)) {
+                t[hole * s] = k;
+                if (s == 2) {
+                    t[hole * s + 1] = t[j * s + 1];
+                }
+                hs[hole] = hs[j];
+                hole = j;
+            }
+        }
+        t[hole * s] = null;
+        if (s == 2) {
+            t[hole * s + 1] = null;
+        }
+    }
+
+    void clear() {
+        modCount++;
+        Arrays.fill(table, null);
+        used = 0;
+        old = null;
+        oldHashes = null;
+        oldUsed = 0;
+    }
+
+    /**
+     * 순회용: 이전 테이블의 슬롯 다음에 새 테이블의 슬롯이 이어지는 번호 체계
+     * slotCount() 개의 번호 중 keyAt 이 null 이 아닌 것만 유효
+     */
+    int slotCount() {
+        return (old != null ? oldMask + 1 : 0) + mask + 1;
+    }
+
+    Object keyAt(int slot) {
+        int oldSlots = old != null ? oldMask + 1 : 0;
+        return slot < oldSlots ? old[slot * stride] : table[(slot - oldSlots) * stride];
+    }
+
+    Object valueAtSlot(int slot) {
+        int oldSlots = old != null ? oldMask + 1 : 0;
+        return slot < oldSlots ? old[slot * 2 + 1] : table[(slot - oldSlots) * 2 + 1];
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * OpenHashSet / OpenHashMap 의 Iterator 가 함께 쓰는 슬롯 순서 커서
+     *  - 커서 밖에서 변경하면 ConcurrentModificationException
+     *  - remove() 는 마지막 키를 find / removeAt 으로 지움
+     *    backward shift 와 증분 리사이즈가 아직 보지 않은 키를 이미 지나간 슬롯으로 옮길 수 있으므로
+     *    처음 remove 할 때 남은 키를 배열로 복사해 두고 이후에는 그 복사본을 순회 (순회당 한 번, 남은 키 수만큼)
+     */
+    final class Cursor {
+        private final int slots = slotCount();
+        private int expectedModCount = modCount;
+        private int next = advance(0);
+        private int last = -1;
+        private Object lastKey;
+
+        // 첫 remove 이후 순회할 키
+        private Object[] remaining;
+        private int remainingNext;
+
+        private int advance(int from) {
+            while (from < slots && keyAt(from) == null) {
+                from++;
+            }
+            return from;
+        }
+
+        boolean hasNext() {
+            return remaining == null ? next < slots : remainingNext < remaining.length;
+        }
+
+        Object nextKey() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (remaining == null) {
+                last = next;
+                lastKey = keyAt(next);
+                next = advance(next + 1);
+            } else {
+                lastKey = remaining[remainingNext++];
+            }
+            return lastKey;
+        }
+
+        /**
+         * 마지막으로 돌려준 키의 값 (값을 저장하는 테이블에서만 사용)
+         */
+        Object lastValue() {
+            return remaining == null ? valueAtSlot(last) : valueAt(find(lastKey));
+        }
+
+        void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (remaining == null) {
+                Object[] keys = new Object[size()];
+                int count = 0;
+                for (int slot = next; slot < slots; slot = advance(slot + 1)) {
+                    keys[count++] = keyAt(slot);
+                }
+                remaining = Arrays.copyOf(keys, count);
+            }
+            removeAt(find(lastKey));
+            lastKey = null;
+            expectedModCount = modCount;
+        }
+    }
+
+    boolean resizing() {
+        return old != null;
+    }
+
+    /**
+     * 모든 키의 (실제 위치 - 홈 슬롯) 중 최댓값, 해시가 잘 섞이는지 확인용
+     */
+    int maxProbeLength() {
+        int max = 0;
+        for (int i = 0; i <= mask; i++) {
+            Object k = table[i * stride];
+            if (k != null) {
+                max = Math.max(max, (i - (hashes[i] & mask)) & mask);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,156 @@
+package chapter2.item12;
+
+/**
+ * int 값을 하나씩 받으면서 갱신하는 요약 통계 (개수, 최소, 최대, 합, 평균, 근사 분위수)
+ *  - 값을 저장하지 않고 add 할 때마다 갱신하므로 조회에 데이터 크기만큼의 스캔이 없음
+ *  - 분위수는 HDR 히스토그램 방식의 로그-선형 버킷으로 근사
+ *    절댓값 128 미만은 값마다 버킷 하나, 그 이상은 2 의 거듭제곱 구간마다 64 개로 나눠서 상대 오차 1/64 (약 1.6%) 이하
+ *    음수는 절댓값으로 따로 셈, 버킷 수는 int 범위 전체에 대해 고정 (부호마다 1665 개)
+ *  - 버킷 64 개마다 묶음 합계를 따로 두어 분위수 조회는 묶음 27 개 + 버킷 64 개만 훑음 (데이터 크기와 무관)
+ *  - 스레드 안전하지 않음, 여러 스레드에서 쓰려면 외부에서 동기화
+ */
+public final class IntSummary {
+    // 2 의 거듭제곱 구간 하나를 나누는 버킷 수의 비트 수 (2^(SUB_BITS - 1) = 64 개)
+    private static final int SUB_BITS = 7;
+    private static final int HALF = 1 << (SUB_BITS - 1);
+    // 절댓값 최대 2^31 (Integer.MIN_VALUE) 까지의 버킷 수
+    private static final int BUCKETS = indexOf(1L << 31) + 1;
+    private static final int GROUPS = (BUCKETS + HALF - 1) / HALF;
+
+    private final long[] positive = new long[BUCKETS];
+    private final long[] negative = new long[BUCKETS];
+    private final long[] positiveGroups = new long[GROUPS];
+    private final long[] negativeGroups = new long[GROUPS];
+
+    private long count;
+    private long negativeCount;
+    private long sum;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+
+    public void add(int value) {
+        count++;
+        sum += value;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+        if (value >= 0) {
+            int index = indexOf(value);
+            positive[index]++;
+            positiveGroups[index / HALF]++;
+        } else {
+            int index = indexOf(-(long) value);
+            negativeCount++;
+            negative[index]++;
+            negativeGroups[index / HALF]++;
+        }
+    }
+
+    public void addAll(int[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            add(values[i]);
+        }
+    }
+
+    /**
+     * 절댓값 v 의 버킷 번호
+     * v < 128 이면 v 그대로, 아니면 최상위 비트 아래 6 비트를 남기고 자른 값에 구간 번호를 붙임
+     */
+    private static int indexOf(long v) {
+        if (v < (1 << SUB_BITS)) {
+            return (int) v;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BITS + 1;
+        return (shift << (SUB_BITS - 1)) + (int) (v >>> shift);
+    }
+
+    // 버킷에 들어가는 절댓값 범위의 가운데 값
+    private static long valueOf(int index) {
+        if (index < (1 << SUB_BITS)) {
+            return index;
+        }
+        int shift = (index >> (SUB_BITS - 1)) - 1;
+        long low = (long) (index - (shift << (SUB_BITS - 1))) << shift;
+        return low + ((1L << shift) >> 1);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long sum() {
+        return sum;
+    }
+
+    public int min() {
+        if (count == 0) {
+            throw new IllegalStateException("값이 없음");
+        }
+        return min;
+    }
+
+    public int max() {
+        if (count == 0) {
+            throw new IllegalStateException("값이 없음");
+        }
+        return max;
+    }
+
+    public double mean() {
+        return count == 0 ? Double.NaN : (double) sum / count;
+    }
+
+    /**
+     * p 분위수의 근사값 (0 <= p <= 1), 최솟값과 최댓값 범위로 자름
+     */
+    public int percentile(double p) {
+        if (!(p >= 0 && p <= 1)) {
+            throw new IllegalArgumentException("p 는 0 이상 1 이하여야 함: " + p);
+        }
+        if (count == 0) {
+            throw new IllegalStateException("값이 없음");
+        }
+        long rank = Math.max(1, (long) Math.ceil(p * count));
+        // 양 끝은 정확한 값을 알고 있음
+        if (rank == 1) {
+            return min;
+        }
+        if (rank == count) {
+            return max;
+        }
+        long value;
+        long negatives = negativeCount;
+        if (rank <= negatives) {
+            // 음수는 절댓값이 큰 쪽이 작은 값이므로 절댓값 기준 (negatives - rank + 1) 번째
+            value = -valueOf(find(negative, negativeGroups, negatives - rank + 1));
+        } else {
+            value = valueOf(find(positive, positiveGroups, rank - negatives));
+        }
+        return (int) Math.max(min, Math.min(max, value));
+    }
+
+    // 작은 버킷부터 세어 rank 번째 값이 든 버킷 번호
+    private static int find(long[] buckets, long[] groups, long rank) {
+        int group = 0;
+        while (rank > groups[group]) {
+            rank -= groups[group++];
+        }
+        int index = group * HALF;
+        while (rank > buckets[index]) {
+            rank -= buckets[index++];
+        }
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        if (count == 0) {
+            return "IntSummary{count=0}";
+        }
+        return String.format("IntSummary{count=%d, min=%d, max=%d, mean=%.2f, p50=%d, p99=%d}",
+                count, min, max, mean(), percentile(0.5), percentile(0.99));
+    }
+}
@@ -0,0 +1,155 @@
+package chapter2.item12;
+
+import benchmark.Allocations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * LargeDataSet.toString 비용을 데이터 크기별로 비교
+ *  - 이전: List<Integer> 를 복사해 두고 toString 마다 Collections.min / max 로 두 번 훑음 (BoxedLargeDataSet)
+ *  - 이후: int[] + IntSummary, toString 은 데이터 크기와 무관 (ToStringEx.LargeDataSet)
+ *  - 값을 하나씩 추가하는 비용 (요약 갱신 포함) 도 함께 측정
+ *  - 측정 전에 요약 값을 정렬한 배열의 정확한 값과 대조 (분위수는 상대 오차 1/64 이내)
+ *  - JMH 를 쓰지 않는 main 하네스, 3 회 반복 후 마지막 회차만 출력
+ *  - 실행: java -Xmx2g chapter2.item12.LargeDataSetBenchmark [데이터 크기...]
+ */
+public class LargeDataSetBenchmark {
+
+    // 변경 전 ToStringEx.LargeDataSet
+    private static final class BoxedLargeDataSet {
+        private final List<Integer> data;
+        private final String name;
+
+        BoxedLargeDataSet(List<Integer> data, String name) {
+            this.data = new ArrayList<>(data);
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("LargeDataSet{name='%s', size=%d, range=[%d~%d]}",
+                    name,
+                    data.size(),
+                    data.isEmpty() ? 0 : Collections.min(data),
+                    data.isEmpty() ? 0 : Collections.max(data));
+        }
+    }
+
+    private interface Workload {
+        long run();
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0
+                ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[]{1_000, 100_000, 1_000_000, 5_000_000};
+        ToStringEx outer = new ToStringEx();
+        verify(outer);
+
+        for (int size : sizes) {
+            int[] values = values(size, size);
+            List<Integer> boxed = new ArrayList<>(size);
+            for (int value : values) {
+                boxed.add(value);
+            }
+            for (int round = 0; round < 3; round++) {
+                boolean print = round == 2;
+                if (print) {
+                    System.out.println("== 데이터 크기 " + size + " ==");
+                }
+                BoxedLargeDataSet before = new BoxedLargeDataSet(boxed, "before");
+                ToStringEx.LargeDataSet after = outer.new LargeDataSet(values, "after");
+                int beforeReps = Math.max(3, 20_000_000 / size);
+                measure("toString 이전", beforeReps, print, () -> {
+                    long sink = 0;
+                    for (int i = 0; i < beforeReps; i++) {
+                        sink += before.toString().length();
+                    }
+                    return sink;
+                });
+                measure("toString 이후", 100_000, print, () -> {
+                    long sink = 0;
+                    for (int i = 0; i < 100_000; i++) {
+                        sink += after.toString().length();
+                    }
+                    return sink;
+                });
+                measure("추가 이전 (원소당)", size, print, () -> {
+                    List<Integer> list = new ArrayList<>();
+                    for (int value : values) {
+                        list.add(value);
+                    }
+                    return new BoxedLargeDataSet(list, "before").data.size();
+                });
+                measure("추가 이후 (원소당)", size, print, () -> {
+                    ToStringEx.LargeDataSet set = outer.new LargeDataSet(new int[0], "after");
+                    for (int value : values) {
+                        set.add(value);
+                    }
+                    return set.size();
+                });
+            }
+        }
+    }
+
+    // 음수를 포함하고 절댓값이 여러 자릿수에 걸친 값
+    private static int[] values(int size, long seed) {
+        Random random = new Random(seed);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            int magnitude = random.nextInt(1 << (1 + random.nextInt(30)));
+            values[i] = random.nextInt(4) == 0 ? -magnitude : magnitude;
+        }
+        return values;
+    }
+
+    private static void verify(ToStringEx outer) {
+        int[] values = values(200_000, 42);
+        ToStringEx.LargeDataSet set = outer.new LargeDataSet(new int[0], "verify");
+        for (int value : values) {
+            set.add(value);
+        }
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        long sum = 0;
+        for (int value : values) {
+            sum += value;
+        }
+        check(set.size() == values.length && set.get(123) == values[123], "size / get");
+        check(set.min() == sorted[0] && set.max() == sorted[sorted.length - 1], "min / max");
+        check(set.mean() == (double) sum / values.length, "mean");
+        for (double p : new double[]{0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1}) {
+            int exact = sorted[(int) Math.max(0, Math.ceil(p * sorted.length) - 1)];
+            int approx = set.percentile(p);
+            check(Math.abs((long) approx - exact) <= Math.max(1, Math.abs((long) exact) / 64), "p" + p + " " + approx + " / " + exact);
+        }
+
+        ToStringEx.LargeDataSet extremes = outer.new LargeDataSet(List.of(Integer.MIN_VALUE, Integer.MAX_VALUE, 0), "extremes");
+        check(extremes.percentile(0) == Integer.MIN_VALUE && extremes.percentile(1) == Integer.MAX_VALUE, "int 범위 끝");
+        check(outer.new LargeDataSet(new int[0], "empty").toString().contains("size=0"), "빈 데이터");
+        System.out.println(set);
+        System.out.println("요약 값 확인 완료");
+    }
+
+    private static void measure(String label, long ops, boolean print, Workload workload) {
+        long allocatedBefore = Allocations.allocatedBytes();
+        long start = System.nanoTime();
+        long result = workload.run();
+        long elapsed = System.nanoTime() - start;
+        long allocated = Allocations.allocatedBytes() - allocatedBefore;
+        if (print) {
+            System.out.printf("%-16s %12.1f ns/op  %10.1f B/op  (결과 %d)%n",
+                    label, (double) elapsed / ops, (double) allocated / ops, result);
+        }
+    }
+
+    private static void check(boolean condition, String label) {
+        if (!condition) {
+            throw new IllegalStateException(label + " 실패");
+        }
+    }
+}
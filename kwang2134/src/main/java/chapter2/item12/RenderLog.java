@@ -0,0 +1,97 @@
+package chapter2.item12;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.function.Supplier;
+
+/**
+ * 로그 레벨이 꺼져 있으면 아무것도 만들지 않는 로그 호출 (JDK System.Logger 사용)
+ *  - log.log(DEBUG, "user=" + user) 는 레벨과 상관없이 문자열 연결과 user.toString() 을 먼저 수행함
+ *  - log(logger, DEBUG, "user={}", user) 는 isLoggable 을 먼저 확인하고, 켜져 있을 때만 재사용 버퍼에 렌더링
+ *    인수 개수별로 메서드를 나눠 가변인수 배열도 만들지 않음 (꺼져 있을 때 할당 0)
+ *  - lazy(value) 는 Supplier<String> 을 받는 API 용 지연 인수, 레벨이 꺼져 있으면 렌더링하지 않음
+ *    (Supplier 객체 자체는 호출 지점에서 만들어짐)
+ *  - 패턴의 {} 자리에 인수를 순서대로 씀, Renderable 인수는 Renderer 로 바로 씀
+ */
+public final class RenderLog {
+
+    private RenderLog() {
+        throw new RuntimeException("생성 불가 클래스");
+    }
+
+    public static void log(Logger logger, Level level, String pattern, Object arg) {
+        if (!logger.isLoggable(level)) {
+            return;
+        }
+        Renderer out = Renderer.acquire();
+        try {
+            int from = appendUntilPlaceholder(out, pattern, 0);
+            from = appendArgument(out, pattern, from, arg);
+            out.append(pattern, from, pattern.length());
+            logger.log(level, out.builder().toString());
+        } finally {
+            out.release();
+        }
+    }
+
+    public static void log(Logger logger, Level level, String pattern, Object arg1, Object arg2) {
+        if (!logger.isLoggable(level)) {
+            return;
+        }
+        Renderer out = Renderer.acquire();
+        try {
+            int from = appendUntilPlaceholder(out, pattern, 0);
+            from = appendArgument(out, pattern, from, arg1);
+            from = appendUntilPlaceholder(out, pattern, from);
+            from = appendArgument(out, pattern, from, arg2);
+            out.append(pattern, from, pattern.length());
+            logger.log(level, out.builder().toString());
+        } finally {
+            out.release();
+        }
+    }
+
+    public static void log(Logger logger, Level level, String pattern, Object arg1, Object arg2, Object arg3) {
+        if (!logger.isLoggable(level)) {
+            return;
+        }
+        Renderer out = Renderer.acquire();
+        try {
+            int from = appendUntilPlaceholder(out, pattern, 0);
+            from = appendArgument(out, pattern, from, arg1);
+            from = appendUntilPlaceholder(out, pattern, from);
+            from = appendArgument(out, pattern, from, arg2);
+            from = appendUntilPlaceholder(out, pattern, from);
+            from = appendArgument(out, pattern, from, arg3);
+            out.append(pattern, from, pattern.length());
+            logger.log(level, out.builder().toString());
+        } finally {
+            out.release();
+        }
+    }
+
+    /**
+     * Supplier<String> 을 받는 로그 API 에 넘길 지연 인수
+     * 예: logger.log(Level.DEBUG, RenderLog.lazy(department))
+     */
+    public static Supplier<String> lazy(Renderable value) {
+        return () -> Renderer.render(value);
+    }
+
+    // from 부터 다음 {} 앞까지 쓰고 {} 의 위치를 반환 (없으면 패턴 끝)
+    private static int appendUntilPlaceholder(Renderer out, String pattern, int from) {
+        int placeholder = pattern.indexOf("{}", from);
+        int end = placeholder < 0 ? pattern.length() : placeholder;
+        out.append(pattern, from, end);
+        return end;
+    }
+
+    // {} 자리에 인수를 쓰고 그 다음 위치를 반환, {} 가 모자라면 인수를 버림
+    private static int appendArgument(Renderer out, String pattern, int at, Object arg) {
+        if (at >= pattern.length()) {
+            return at;
+        }
+        out.append(arg);
+        return at + 2;
+    }
+}
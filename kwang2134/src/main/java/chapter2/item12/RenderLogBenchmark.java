@@ -0,0 +1,263 @@
+package chapter2.item12;
+
+import benchmark.Allocations;
+
+import java.lang.System.Logger.Level;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+
+/**
+ * 로그 호출 한 번의 할당량 비교 (ToStringEx.User / Department / Employee)
+ *  - 문자열 연결: logger.log(DEBUG, "user=" + user), 변경 전 toString (+ 연결) 사용
+ *  - RenderLog.log: 레벨 확인 후 재사용 버퍼에 렌더링
+ *  - RenderLog.lazy: Supplier<String> 을 받는 System.Logger.log 에 지연 인수로 넘김
+ *  - 각각 로그 레벨이 꺼진 경우와 켜진 경우, 그리고 StringBuilder 재사용 renderTo
+ *  - 측정 전에 변경 전 toString 과 출력이 같은지, 순환 참조가 끊기는지 확인
+ *  - JMH 를 쓰지 않는 main 하네스, 3 회 반복 후 마지막 회차만 출력
+ *  - 실행: java chapter2.item12.RenderLogBenchmark [반복 수]
+ */
+public class RenderLogBenchmark {
+
+    // 변경 전 ToStringEx.User.toString
+    private record OldUser(Long id, String name, String email, LocalDateTime createdAt, boolean isActive) {
+        @Override
+        public String toString() {
+            return "User{" +
+                    "id=" + id +
+                    ", name='" + name + '\'' +
+                    ", email='" + email + '\'' +
+                    ", createdAt=" + createdAt +
+                    ", isActive=" + isActive +
+                    '}';
+        }
+    }
+
+    // 메시지 길이만 세는 System.Logger
+    private static final class SinkLogger implements System.Logger {
+        private boolean enabled;
+        private long chars;
+
+        @Override
+        public String getName() {
+            return "sink";
+        }
+
+        @Override
+        public boolean isLoggable(Level level) {
+            return enabled;
+        }
+
+        @Override
+        public void log(Level level, ResourceBundle bundle, String msg, Throwable thrown) {
+            chars += msg.length();
+        }
+
+        @Override
+        public void log(Level level, ResourceBundle bundle, String format, Object... params) {
+            chars += format.length();
+        }
+    }
+
+    private interface Workload {
+        long run();
+    }
+
+    public static void main(String[] args) {
+        int ops = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        ToStringEx outer = new ToStringEx();
+        verify(outer);
+
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 15, 9, 30, 12, 345_000_000);
+        OldUser oldUser = new OldUser(42L, "kim", "kim@example.com", createdAt, true);
+        ToStringEx.User user = outer.new User(42L, "kim", "kim@example.com", createdAt, true);
+        ToStringEx.Department department = outer.new Department("dev");
+        for (int i = 0; i < 5; i++) {
+            department.addEmployee(outer.new Employee("employee-" + i));
+        }
+        SinkLogger logger = new SinkLogger();
+        StringBuilder reused = new StringBuilder(1024);
+
+        for (int round = 0; round < 3; round++) {
+            boolean print = round == 2;
+            for (boolean enabled : new boolean[]{false, true}) {
+                logger.enabled = enabled;
+                if (print) {
+                    System.out.println("== 로그 레벨 " + (enabled ? "켜짐" : "꺼짐") + " ==");
+                }
+                measure("문자열 연결", ops, print, () -> {
+                    for (int i = 0; i < ops; i++) {
+                        logger.log(Level.DEBUG, "user=" + oldUser);
+                    }
+                    return logger.chars;
+                });
+                measure("RenderLog.log", ops, print, () -> {
+                    for (int i = 0; i < ops; i++) {
+                        RenderLog.log(logger, Level.DEBUG, "user={}", user);
+                    }
+                    return logger.chars;
+                });
+                measure("RenderLog.lazy", ops, print, () -> {
+                    for (int i = 0; i < ops; i++) {
+                        logger.log(Level.DEBUG, RenderLog.lazy(user));
+                    }
+                    return logger.chars;
+                });
+                measure("부서 RenderLog.log", ops / 4, print, () -> {
+                    for (int i = 0; i < ops / 4; i++) {
+                        RenderLog.log(logger, Level.DEBUG, "user={} department={}", user, department);
+                    }
+                    return logger.chars;
+                });
+            }
+            if (print) {
+                System.out.println("== toString / renderTo ==");
+            }
+            measure("이전 toString", ops, print, () -> {
+                long sink = 0;
+                for (int i = 0; i < ops; i++) {
+                    sink += oldUser.toString().length();
+                }
+                return sink;
+            });
+            measure("Renderable toString", ops, print, () -> {
+                long sink = 0;
+                for (int i = 0; i < ops; i++) {
+                    sink += user.toString().length();
+                }
+                return sink;
+            });
+            measure("renderTo 재사용", ops, print, () -> {
+                long sink = 0;
+                for (int i = 0; i < ops; i++) {
+                    reused.setLength(0);
+                    Renderer.renderTo(reused, user);
+                    sink += reused.length();
+                }
+                return sink;
+            });
+        }
+    }
+
+    private static void verify(ToStringEx outer) {
+        LocalDateTime[] times = {
+                LocalDateTime.of(2024, 1, 2, 3, 4),
+                LocalDateTime.of(2024, 1, 2, 3, 4, 5),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 0, 1_000_000),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 59, 120_000),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 59, 7),
+                LocalDateTime.of(12024, 6, 1, 0, 0)
+        };
+        for (LocalDateTime time : times) {
+            OldUser old = new OldUser(1L, "kim", null, time, false);
+            ToStringEx.User user = outer.new User(1L, "kim", null, time, false);
+            check(old.toString().equals(user.toString()), "User 출력 " + user);
+        }
+        check(new OldUser(null, null, null, null, true).toString()
+                .equals(outer.new User(null, null, null, null, true).toString()), "null 필드");
+
+        ToStringEx.Department department = outer.new Department("dev");
+        ToStringEx.Employee lee = outer.new Employee("lee");
+        ToStringEx.Employee park = outer.new Employee("park");
+        department.addEmployee(lee);
+        department.addEmployee(park);
+        check(department.toString().equals("Department{name='dev', employees=["
+                        + "Employee{name='lee', department=Department{...}}, "
+                        + "Employee{name='park', department=Department{...}}]}"),
+                "Department 순환 참조 " + department);
+        check(lee.toString().equals("Employee{name='lee', department=Department{name='dev', employees=["
+                        + "Employee{...}, Employee{name='park', department=Department{...}}]}}"),
+                "Employee 순환 참조 " + lee);
+        check(outer.new Employee("choi").toString().equals("Employee{name='choi', department=없음}"), "부서 없음");
+
+        // 렌더링 도중 다른 객체의 toString 이 다시 Renderer 를 쓰는 경우
+        Object nested = new Object() {
+            @Override
+            public String toString() {
+                return "nested(" + lee + ")";
+            }
+        };
+        List<String> messages = new ArrayList<>();
+        System.Logger capturing = new System.Logger() {
+            @Override
+            public String getName() {
+                return "capture";
+            }
+
+            @Override
+            public boolean isLoggable(Level level) {
+                return true;
+            }
+
+            @Override
+            public void log(Level level, ResourceBundle bundle, String msg, Throwable thrown) {
+                messages.add(msg);
+            }
+
+            @Override
+            public void log(Level level, ResourceBundle bundle, String format, Object... params) {
+                messages.add(format);
+            }
+        };
+        RenderLog.log(capturing, Level.INFO, "a={} b={} c={}", 1, nested, park);
+        check(messages.get(0).equals("a=1 b=nested(" + lee + ") c=" + park), "RenderLog 패턴 " + messages.get(0));
+        RenderLog.log(capturing, Level.INFO, "{}", "x", "버려지는 인수");
+        check(messages.get(1).equals("x"), "남는 인수");
+        capturing.log(Level.INFO, RenderLog.lazy(park));
+        check(messages.get(2).equals(park.toString()), "lazy");
+
+        List<Integer> many = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            many.add(i);
+        }
+        StringBuilder sb = new StringBuilder("prefix ");
+        Renderer.renderTo(sb, out -> out.append(many));
+        check(sb.toString().endsWith("15, ... 외 4 개]"), "컬렉션 자르기 " + sb);
+
+        // 풀에 남는 Renderer: 중첩 렌더링에서 만든 Renderer 가 커져도 바깥(풀) Renderer 를 풀에서 빼지 않음
+        Renderer pooled = pooledRenderer();
+        Object bigNested = new Object() {
+            @Override
+            public String toString() {
+                return Renderer.render(out -> out.append("x".repeat(20_000)));
+            }
+        };
+        Renderer.renderTo(new StringBuilder(), out -> out.append(bigNested));
+        check(pooledRenderer() == pooled, "중첩 렌더링 뒤에도 풀의 Renderer 유지");
+        // 한글을 쓴 뒤 ASCII 만 쓰면 넓어진 버퍼를 버리고, ASCII 만 계속 쓰면 그대로 씀
+        Renderer.render(out -> out.append("한글"));
+        Renderer wide = pooledRenderer();
+        Renderer.render(out -> out.append("ascii"));
+        Renderer narrow = pooledRenderer();
+        Renderer.render(out -> out.append("ascii"));
+        check(wide != narrow && pooledRenderer() == narrow, "넓어진 버퍼 교체");
+
+        System.out.println(lee);
+        System.out.println("출력 확인 완료");
+    }
+
+    private static Renderer pooledRenderer() {
+        Renderer out = Renderer.acquire();
+        out.release();
+        return out;
+    }
+
+    private static void measure(String label, long ops, boolean print, Workload workload) {
+        long allocatedBefore = Allocations.allocatedBytes();
+        long start = System.nanoTime();
+        long result = workload.run();
+        long elapsed = System.nanoTime() - start;
+        long allocated = Allocations.allocatedBytes() - allocatedBefore;
+        if (print) {
+            System.out.printf("%-20s %8.1f ns/op  %7.1f B/op  (결과 %d)%n",
+                    label, (double) elapsed / ops, (double) allocated / ops, result);
+        }
+    }
+
+    private static void check(boolean condition, String label) {
+        if (!condition) {
+            throw new IllegalStateException(label + " 실패");
+        }
+    }
+}
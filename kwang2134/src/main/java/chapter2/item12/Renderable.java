@@ -0,0 +1,19 @@
+package chapter2.item12;
+
+/**
+ * 자기 상태를 호출자가 넘긴 Renderer 에 써 넣는 객체
+ *  - toString 처럼 호출마다 String 을 새로 만들지 않고 호출자의 StringBuilder 에 바로 이어 씀
+ *  - 다른 객체를 포함할 때는 out.append(그 객체) 로 쓰면 Renderer 가 순환 참조를 확인함
+ *  - toString 은 Renderer.render(this) 로 구현하면 같은 출력을 얻음
+ */
+public interface Renderable {
+
+    void renderTo(Renderer out);
+
+    /**
+     * 이미 렌더링 중인 객체를 다시 만났을 때(순환 참조) 쓰는 짧은 표현
+     */
+    default void renderCycle(Renderer out) {
+        out.append(getClass().getSimpleName()).append("{...}");
+    }
+}
@@ -0,0 +1,287 @@
+package chapter2.item12;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Renderable 을 StringBuilder 에 써 넣는 도구
+ *  - 스레드마다 Renderer 하나(와 그 StringBuilder)를 재사용해서 toString 한 번에 String 하나만 할당
+ *    렌더링 도중 다른 객체의 toString 이 다시 render 를 부르면 그때만 풀에 넣지 않는 새 Renderer 를 만듦
+ *    너무 커진 StringBuilder 는 풀에 남기지 않음 (MAX_POOLED_CAPACITY)
+ *  - 순환 참조는 손으로 필드를 잘라내지 않고 지금 렌더링 중인 객체들의 identity 방문 집합으로 막음
+ *    같은 객체(==)를 다시 만나면 Renderable.renderCycle 의 짧은 표현을 씀
+ *    방문 집합은 현재 경로(부모 -> 자식)만 담으므로 여러 곳에서 공유하는 객체는 매번 전부 출력
+ *  - 숫자, 날짜는 String 을 거치지 않고 바로 씀
+ *  - 컬렉션은 앞의 MAX_ELEMENTS 개만 쓰고 나머지는 개수만 표시
+ */
+public final class Renderer {
+    private static final int MAX_POOLED_CAPACITY = 16 * 1024;
+    private static final int MAX_ELEMENTS = 16;
+    private static final ThreadLocal<Renderer> POOL = ThreadLocal.withInitial(() -> new Renderer(true));
+
+    private StringBuilder sb;
+    private final StringBuilder own;
+    // 지금 렌더링 중인 객체들 (identity 방문 집합, 깊이가 얕으므로 == 로 훑음)
+    private Object[] path = new Object[8];
+    private int depth;
+    private boolean inUse;
+    // POOL 에 들어 있는 Renderer 인지 (중첩 렌더링용으로 만든 것은 release 에서 POOL 을 건드리지 않음)
+    private final boolean pooled;
+    // own 이 UTF-16 으로 넓어졌는지
+    private boolean wide;
+    // 이번 렌더링에서 Latin-1 밖의 문자를 썼는지 (글자를 쓰는 append 에서만 확인하고, 한 번 찾으면 더 보지 않음)
+    private boolean wroteWide;
+
+    private Renderer(boolean pooled) {
+        this.own = new StringBuilder(256);
+        this.sb = own;
+        this.pooled = pooled;
+    }
+
+    /**
+     * value 를 렌더링한 String (toString 구현용)
+     */
+    public static String render(Renderable value) {
+        Renderer out = acquire();
+        try {
+            out.append(value);
+            return out.sb.toString();
+        } finally {
+            out.release();
+        }
+    }
+
+    /**
+     * value 를 target 에 이어 씀
+     * target 이 StringBuilder 면 중간 버퍼 없이 바로 쓰고, 아니면 재사용 버퍼에 쓴 뒤 한 번에 넘김
+     */
+    public static void renderTo(Appendable target, Renderable value) {
+        Renderer out = acquire();
+        try {
+            if (target instanceof StringBuilder builder) {
+                out.sb = builder;
+                out.append(value);
+            } else {
+                out.append(value);
+                target.append(out.sb);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            out.release();
+        }
+    }
+
+    static Renderer acquire() {
+        Renderer out = POOL.get();
+        if (out.inUse) {
+            out = new Renderer(false);
+        }
+        out.inUse = true;
+        return out;
+    }
+
+    void release() {
+        sb = own;
+        depth = 0;
+        inUse = false;
+        if (!pooled) {
+            return;
+        }
+        // StringBuilder 는 한 번 Latin-1 밖의 문자(한글 등)를 담으면 비워도 UTF-16 으로 남아서
+        // 이후 ASCII 만 쓸 때도 append 마다 넓히고 toString 마다 다시 줄이는 비용이 듦
+        // 이번 내용이 Latin-1 이었는데 이전에 넓어진 버퍼면 새 버퍼로 바꿈 (한글이 계속 오면 넓은 버퍼를 유지)
+        // renderTo 로 다른 StringBuilder 에 썼다면 own 은 비어 있으므로 넓어지지 않음
+        boolean ownWide = wroteWide && own.length() > 0;
+        wroteWide = false;
+        if (own.capacity() > MAX_POOLED_CAPACITY || (wide && !ownWide)) {
+            POOL.remove();
+            return;
+        }
+        wide = wide || ownWide;
+        own.setLength(0);
+    }
+
+    StringBuilder builder() {
+        return sb;
+    }
+
+    public Renderer append(Renderable value) {
+        if (value == null) {
+            sb.append("null");
+            return this;
+        }
+        for (int i = 0; i < depth; i++) {
+            if (path[i] == value) {
+                value.renderCycle(this);
+                return this;
+            }
+        }
+        if (depth == path.length) {
+            path = Arrays.copyOf(path, depth * 2);
+        }
+        path[depth++] = value;
+        try {
+            value.renderTo(this);
+        } finally {
+            path[--depth] = null;
+        }
+        return this;
+    }
+
+    /**
+     * 타입에 맞는 방법으로 씀, Renderable 과 컬렉션 원소는 순환 참조를 확인
+     */
+    public Renderer append(Object value) {
+        if (value instanceof Renderable renderable) {
+            return append(renderable);
+        }
+        if (value instanceof CharSequence text) {
+            text(text, 0, text.length());
+        } else if (value instanceof Long number) {
+            sb.append(number.longValue());
+        } else if (value instanceof Integer number) {
+            sb.append(number.intValue());
+        } else if (value instanceof LocalDateTime dateTime) {
+            append(dateTime);
+        } else if (value instanceof Collection<?> collection) {
+            append(collection);
+        } else {
+            append(String.valueOf(value));
+        }
+        return this;
+    }
+
+    public Renderer append(String value) {
+        if (value == null) {
+            sb.append("null");
+            return this;
+        }
+        return text(value, 0, value.length());
+    }
+
+    /**
+     * text 의 [from, to) 구간 (RenderLog 가 패턴의 {} 사이를 쓸 때 사용)
+     */
+    Renderer append(CharSequence text, int from, int to) {
+        return text(text, from, to);
+    }
+
+    public Renderer append(char value) {
+        wroteWide |= value > 0xFF;
+        sb.append(value);
+        return this;
+    }
+
+    public Renderer append(int value) {
+        sb.append(value);
+        return this;
+    }
+
+    public Renderer append(long value) {
+        sb.append(value);
+        return this;
+    }
+
+    public Renderer append(boolean value) {
+        sb.append(value);
+        return this;
+    }
+
+    /**
+     * 작은따옴표로 감싼 문자열 (+ 연결과 같이 null 이면 'null')
+     */
+    public Renderer quoted(String value) {
+        sb.append('\'');
+        append(value);
+        sb.append('\'');
+        return this;
+    }
+
+    public Renderer append(Collection<?> values) {
+        if (values == null) {
+            sb.append("null");
+            return this;
+        }
+        sb.append('[');
+        int written = 0;
+        for (Object value : values) {
+            if (written == MAX_ELEMENTS) {
+                wroteWide = true;   // "외", "개"
+                sb.append(", ... 외 ").append(values.size() - written).append(" 개");
+                break;
+            }
+            if (written++ > 0) {
+                sb.append(", ");
+            }
+            append(value);
+        }
+        sb.append(']');
+        return this;
+    }
+
+    /**
+     * LocalDateTime.toString 과 같은 형식 (uuuu-MM-dd'T'HH:mm[:ss[.SSS[SSS[SSS]]]])
+     * 네 자리 연도가 아니면 LocalDateTime.toString 을 그대로 씀
+     */
+    public Renderer append(LocalDateTime value) {
+        if (value == null) {
+            sb.append("null");
+            return this;
+        }
+        int year = value.getYear();
+        if (year < 1000 || year > 9999) {
+            sb.append(value);
+            return this;
+        }
+        sb.append(year).append('-');
+        twoDigits(value.getMonthValue()).append('-');
+        twoDigits(value.getDayOfMonth()).append('T');
+        twoDigits(value.getHour()).append(':');
+        twoDigits(value.getMinute());
+        int second = value.getSecond();
+        int nano = value.getNano();
+        if (second > 0 || nano > 0) {
+            sb.append(':');
+            twoDigits(second);
+            if (nano > 0) {
+                sb.append('.');
+                if (nano % 1_000_000 == 0) {
+                    digits(nano / 1_000_000, 100);
+                } else if (nano % 1_000 == 0) {
+                    digits(nano / 1_000, 100_000);
+                } else {
+                    digits(nano, 100_000_000);
+                }
+            }
+        }
+        return this;
+    }
+
+    private Renderer text(CharSequence text, int from, int to) {
+        if (!wroteWide) {
+            for (int i = from; i < to; i++) {
+                if (text.charAt(i) > 0xFF) {
+                    wroteWide = true;
+                    break;
+                }
+            }
+        }
+        sb.append(text, from, to);
+        return this;
+    }
+
+    private StringBuilder twoDigits(int value) {
+        return sb.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    // highest(10 의 거듭제곱) 자리부터 일의 자리까지, 앞자리는 0 으로 채워 씀
+    private void digits(int value, int highest) {
+        for (int divisor = highest; divisor > 0; divisor /= 10) {
+            sb.append((char) ('0' + value / divisor % 10));
+        }
+    }
+}
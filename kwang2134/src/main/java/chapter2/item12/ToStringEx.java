@@ -2,8 +2,9 @@ package chapter2.item12;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 public class ToStringEx {
 
@@ -12,7 +13,7 @@ public class ToStringEx {
      * 객체를 출력할 때 단순히 클래스 이름과 16진수로 표현한 해시코드가 출력됨
      * 객체의 상태를 알 수 없기 때문에 도움이 되지 않음
      */
-    class User {
+    class User implements Renderable {
         private final Long id;
         private final String name;
         private final String email;
@@ -31,40 +32,104 @@ public class ToStringEx {
          * 모든 중요한 정보를 포함하여 toString 재정의
          * 객체를 출력할 때 객체 내부의 모든 정보가 출력되어
          * 객체의 상태를 한 번에 파악할 수 있음
+         *
+         * + 연결 대신 호출자가 넘긴 Renderer 에 바로 써서
+         * 로그 줄이나 다른 객체의 문자열에 중간 String 없이 이어 붙일 수 있음
          */
+        @Override
+        public void renderTo(Renderer out) {
+            out.append("User{id=").append(id)
+                    .append(", name=").quoted(name)
+                    .append(", email=").quoted(email)
+                    .append(", createdAt=").append(createdAt)
+                    .append(", isActive=").append(isActive)
+                    .append('}');
+        }
+
         @Override
         public String toString() {
-            return "User{" +
-                    "id=" + id +
-                    ", name='" + name + '\'' +
-                    ", email='" + email + '\'' +
-                    ", createdAt=" + createdAt +
-                    ", isActive=" + isActive +
-                    '}';
+            return Renderer.render(this);
         }
     }
 
     /**
      * 객체의 상태를 문자열로 표현하기 힘든 경우
      * 요약 정보를 제공
+     *
+     * 값을 박싱된 List<Integer> 에 두고 toString 마다 Collections.min / max 로 두 번 훑으면
+     * 로그 한 줄에 데이터 크기만큼의 비용이 듦
+     *  - int[] 에 저장하고 추가할 때마다 IntSummary 를 갱신
+     *  - toString 과 요약 조회는 데이터 크기와 무관하게 상수 시간
      */
     class LargeDataSet {
-        private final List<Integer> data;
+        private int[] data;
+        private int size;
+        private final IntSummary summary = new IntSummary();
         private final String name;
 
         public LargeDataSet(List<Integer> data, String name) {
-            this.data = new ArrayList<>(data);
+            this.data = new int[Math.max(16, data.size())];
+            this.name = name;
+            for (int value : data) {
+                add(value);
+            }
+        }
+
+        public LargeDataSet(int[] data, String name) {
+            this.data = Arrays.copyOf(data, Math.max(16, data.length));
+            this.size = data.length;
             this.name = name;
+            summary.addAll(data, 0, data.length);
+        }
+
+        public void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            data[size++] = value;
+            summary.add(value);
+        }
+
+        public int get(int index) {
+            Objects.checkIndex(index, size);
+            return data[index];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int min() {
+            return summary.min();
+        }
+
+        public int max() {
+            return summary.max();
+        }
+
+        public double mean() {
+            return summary.mean();
+        }
+
+        // 근사 분위수 (상대 오차 약 1.6% 이하)
+        public int percentile(double p) {
+            return summary.percentile(p);
         }
 
         // 객체의 요약된 정보를 제공하는 toString
         @Override
         public String toString() {
-            return String.format("LargeDataSet{name='%s', size=%d, range=[%d~%d]}",
+            if (size == 0) {
+                return String.format("LargeDataSet{name='%s', size=0, range=[0~0]}", name);
+            }
+            return String.format("LargeDataSet{name='%s', size=%d, range=[%d~%d], mean=%.2f, p50~%d, p99~%d}",
                     name,
-                    data.size(),
-                    data.isEmpty() ? 0 : Collections.min(data),
-                    data.isEmpty() ? 0 : Collections.max(data));
+                    size,
+                    summary.min(),
+                    summary.max(),
+                    summary.mean(),
+                    summary.percentile(0.5),
+                    summary.percentile(0.99));
         }
     }
 
@@ -72,8 +137,11 @@ public class ToStringEx {
      * 주의사항
      *
      * 순환 참조 방지
+     * 서로를 참조하는 객체가 toString 에서 서로를 출력하면 무한 재귀
+     * 필드를 손으로 잘라내는 대신 Renderer 가 지금 렌더링 중인 객체를 identity 로 기억해 두고
+     * 같은 객체를 다시 만나면 Department{...} 처럼 짧게 출력
      */
-    class Department {
+    class Department implements Renderable {
         private String name;
         private List<Employee> employees = new ArrayList<>();
 
@@ -86,17 +154,22 @@ public class ToStringEx {
             employee.setDepartment(this);
         }
 
+        /*순환 참조 위험 -> employees.toString() 이 다시 department.toString() 호출
+        return "Department{name='" + name + "', employees=" + employees + "}";*/
         @Override
-        public String toString() {
-            /*순환 참조 위험 -> employees.toString() 이 다시 department.toString() 호출
-            return "Department{name='" + name + "', employees=" + employees + "}";*/
+        public void renderTo(Renderer out) {
+            out.append("Department{name=").quoted(name)
+                    .append(", employees=").append(employees)
+                    .append('}');
+        }
 
-            // 순환 참조 방지로 직원 수만 표시
-            return String.format("Department{name='%s', employeeCount=%d}", name, employees.size());
+        @Override
+        public String toString() {
+            return Renderer.render(this);
         }
     }
 
-    class Employee {
+    class Employee implements Renderable {
         private String name;
         private Department department;
 
@@ -108,10 +181,20 @@ public class ToStringEx {
             this.department = department;
         }
 
-        // 부서 이름만 표시하여 순환 참조 방지
+        @Override
+        public void renderTo(Renderer out) {
+            out.append("Employee{name=").quoted(name).append(", department=");
+            if (department == null) {
+                out.append("없음");
+            } else {
+                out.append(department);
+            }
+            out.append('}');
+        }
+
         @Override
         public String toString() {
-            return String.format("Employee{name='%s', department=%s}", name, department != null ? department.name : "없음");
+            return Renderer.render(this);
         }
     }
 }